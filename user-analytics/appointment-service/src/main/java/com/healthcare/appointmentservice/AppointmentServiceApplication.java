@@ -10,11 +10,14 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 @EnableFeignClients(basePackages = {
-        "com.example.common.security.client"
+        "com.example.common.security.client",
+        "com.healthcare.appointmentservice.client"
 })
 @ComponentScan(basePackages = {
         "com.example.common.security",
@@ -0,0 +1,26 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.client;
+
+import com.healthcare.appointmentservice.dto.DoctorPageDTO;
+import com.healthcare.appointmentservice.dto.DoctorScheduleDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@FeignClient(name = "doctor-service", url = "${doctor.service.url:}", path = "/doctor-service/api/v1/doctors",
+        configuration = ForwardAuthorizationConfiguration.class)
+public interface DoctorServiceClient {
+
+    @GetMapping("/{id}")
+    DoctorScheduleDTO getDoctor(@PathVariable("id") Long id);
+
+    @GetMapping("/specialization/{specialization}")
+    DoctorPageDTO getDoctorsBySpecialization(@PathVariable("specialization") String specialization,
+                                             @RequestParam("size") int size);
+}
@@ -0,0 +1,33 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.client;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Feign configuration for {@link DoctorServiceClient}: calls are made on behalf of the current
+ * request, so its bearer token is passed on. Deliberately not a {@code @Configuration} so it does
+ * not apply to every Feign client in the context.
+ */
+public class ForwardAuthorizationConfiguration {
+
+    @Bean
+    public RequestInterceptor forwardAuthorizationInterceptor() {
+        return template -> {
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                String authorization = attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+                if (authorization != null) {
+                    template.header(HttpHeaders.AUTHORIZATION, authorization);
+                }
+            }
+        };
+    }
+}
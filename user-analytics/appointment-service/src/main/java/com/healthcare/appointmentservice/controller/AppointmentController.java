@@ -9,8 +9,10 @@ package com.healthcare.appointmentservice.controller;
 import com.example.common.security.annotation.RequirePermission;
 import com.example.common.security.constants.PermissionConstants;
 import com.healthcare.appointmentservice.dto.AppointmentDTO;
+import com.healthcare.appointmentservice.dto.AvailableSlotDTO;
 import com.healthcare.appointmentservice.entity.AppointmentStatus;
 import com.healthcare.appointmentservice.service.AppointmentServiceImpl;
+import com.healthcare.appointmentservice.service.AvailabilityServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -30,6 +32,7 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentServiceImpl appointmentServiceImpl;
+    private final AvailabilityServiceImpl availabilityServiceImpl;
 
     @PostMapping
     @RequirePermission(PermissionConstants.APPOINTMENT_CREATE)
@@ -95,6 +98,31 @@ public class AppointmentController {
         return ResponseEntity.ok(appointments);
     }
 
+    @GetMapping("/availability/doctor/{doctorId}")
+    @RequirePermission(PermissionConstants.APPOINTMENT_READ)
+    public ResponseEntity<List<AvailableSlotDTO>> getFreeSlotsForDoctor(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to) {
+        List<AvailableSlotDTO> slots = availabilityServiceImpl.getFreeSlotsForDoctor(doctorId, from, to);
+        return ResponseEntity.ok(slots);
+    }
+
+    @GetMapping("/availability/specialization/{specialization}")
+    @RequirePermission(PermissionConstants.APPOINTMENT_READ)
+    public ResponseEntity<List<AvailableSlotDTO>> getFreeSlotsForSpecialization(
+            @PathVariable String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to) {
+        List<AvailableSlotDTO> slots = availabilityServiceImpl
+                .getFreeSlotsForSpecialization(specialization, from, to);
+        return ResponseEntity.ok(slots);
+    }
+
     @GetMapping("/today")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<List<AppointmentDTO>> getTodaysAppointments() {
@@ -0,0 +1,34 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the {@code appointment-events} topic, as read by notification-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentEventDTO {
+    private Long appointmentId;
+    private Long patientId;
+    private String patientName;
+    private String patientEmail;
+    private String patientPhone;
+    private Long doctorId;
+    private String doctorName;
+    private LocalDateTime appointmentTime;
+    private String eventType; // CREATED, UPDATED, CANCELLED
+    private String status;
+}
@@ -0,0 +1,29 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDTO {
+
+    private Long doctorId;
+
+    private String doctorName;
+
+    private String doctorSpecialization;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+}
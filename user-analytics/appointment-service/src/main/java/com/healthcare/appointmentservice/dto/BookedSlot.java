@@ -0,0 +1,23 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time occupied by one active appointment, as held in the doctor booking index.
+ */
+public record BookedSlot(Long appointmentId, LocalDateTime start, LocalDateTime end) {
+
+    public BookedSlot(Long appointmentId, LocalDateTime start, Integer durationMinutes) {
+        this(appointmentId, start, start.plusMinutes(durationMinutes));
+    }
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of doctor-service's doctor representation that availability is computed from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DoctorScheduleDTO {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String specialization;
+
+    private String status;
+
+    private List<ScheduleDTO> schedules = new ArrayList<>();
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
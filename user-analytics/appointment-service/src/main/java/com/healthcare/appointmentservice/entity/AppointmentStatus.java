@@ -13,5 +13,13 @@ public enum AppointmentStatus {
     COMPLETED,
     CANCELLED,
     NO_SHOW,
-    RESCHEDULED
+    RESCHEDULED;
+
+    /**
+     * Whether an appointment in this status still takes up the doctor's time; matches the
+     * {@code ex_appointments_doctor_overlap} constraint's predicate.
+     */
+    public boolean occupiesDoctor() {
+        return this != CANCELLED && this != NO_SHOW;
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.event;
+
+import com.example.common.outbox.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.appointmentservice.dto.AppointmentEventDTO;
+import com.healthcare.appointmentservice.entity.Appointment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records appointment events in the outbox, inside the caller's transaction. Events are keyed by
+ * patient, so all of a patient's events land on the same partition.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentEventPublisher {
+
+    static final String TOPIC = "appointment-events";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publishCreated(Appointment appointment) {
+        publish(appointment, "CREATED");
+    }
+
+    public void publishUpdated(Appointment appointment) {
+        publish(appointment, "UPDATED");
+    }
+
+    public void publishCancelled(Appointment appointment) {
+        publish(appointment, "CANCELLED");
+    }
+
+    private void publish(Appointment appointment, String eventType) {
+        AppointmentEventDTO event = AppointmentEventDTO.builder()
+                .appointmentId(appointment.getId())
+                .patientId(appointment.getPatientId())
+                .patientName(appointment.getPatientName())
+                .patientEmail(appointment.getPatientEmail())
+                .patientPhone(appointment.getPatientPhone())
+                .doctorId(appointment.getDoctorId())
+                .doctorName(appointment.getDoctorName())
+                .appointmentTime(appointment.getAppointmentDateTime())
+                .eventType(eventType)
+                .status(appointment.getStatus().name())
+                .build();
+        try {
+            outboxRepository.append(TOPIC, appointment.getPatientId().toString(),
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize appointment event", e);
+        }
+    }
+}
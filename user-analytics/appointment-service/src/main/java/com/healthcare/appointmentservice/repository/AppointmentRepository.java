@@ -6,6 +6,7 @@
 
 package com.healthcare.appointmentservice.repository;
 
+import com.healthcare.appointmentservice.dto.BookedSlot;
 import com.healthcare.appointmentservice.entity.Appointment;
 import com.healthcare.appointmentservice.entity.AppointmentStatus;
 import org.springframework.data.domain.Page;
@@ -63,14 +64,27 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("endDate") LocalDateTime endDate
     );
 
-    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctorId = :doctorId " +
-            "AND a.appointmentDateTime < :endTime " +
-            "AND FUNCTION('DATEADD', MINUTE, a.durationMinutes, a.appointmentDateTime) > :startTime " +
-            "AND a.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    /**
+     * Served by the GiST index behind {@code ex_appointments_doctor_overlap}; pass an
+     * {@code excludeId} of 0 when no existing appointment is being moved.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM appointments a WHERE a.doctor_id = :doctorId " +
+            "AND a.time_range && tsrange(:startTime, :endTime) AND a.id <> :excludeId " +
+            "AND a.status NOT IN ('CANCELLED', 'NO_SHOW'))", nativeQuery = true)
     boolean existsDoctorConflict(
             @Param("doctorId") Long doctorId,
             @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime
+            @Param("endTime") LocalDateTime endTime,
+            @Param("excludeId") Long excludeId
+    );
+
+    @Query("SELECT new com.healthcare.appointmentservice.dto.BookedSlot(" +
+            "a.id, a.appointmentDateTime, a.durationMinutes) FROM Appointment a " +
+            "WHERE a.doctorId = :doctorId AND a.appointmentDateTime >= :from " +
+            "AND a.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    List<BookedSlot> findDoctorBookedSlotsFrom(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from
     );
 
     @Query("SELECT a FROM Appointment a WHERE " +
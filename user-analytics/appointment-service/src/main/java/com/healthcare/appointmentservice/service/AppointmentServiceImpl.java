@@ -9,6 +9,7 @@ package com.healthcare.appointmentservice.service;
 import com.healthcare.appointmentservice.dto.AppointmentDTO;
 import com.healthcare.appointmentservice.entity.Appointment;
 import com.healthcare.appointmentservice.entity.AppointmentStatus;
+import com.healthcare.appointmentservice.event.AppointmentEventPublisher;
 import com.healthcare.appointmentservice.exception.AppointmentConflictException;
 import com.healthcare.appointmentservice.exception.AppointmentNotFoundException;
 import com.healthcare.appointmentservice.exception.InvalidAppointmentException;
@@ -17,11 +18,13 @@ import com.healthcare.appointmentservice.repository.AppointmentRepository;
 import com.healthcare.appointmentservice.service.impl.AppointmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,8 +35,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final int OPENING_HOUR = 8;
+    private static final int CLOSING_HOUR = 18;
+
+    private static final String DOCTOR_OVERLAP_CONSTRAINT = "ex_appointments_doctor_overlap";
+    private static final String DOCTOR_CONFLICT_MESSAGE = "Doctor already has an appointment at this time";
+
     private final AppointmentRepository appointmentRepository;
     private final AppointmentMapper appointmentMapper;
+    private final DoctorBookingIndex doctorBookingIndex;
+    private final AppointmentEventPublisher appointmentEventPublisher;
 
     @Override
     public AppointmentDTO createAppointment(AppointmentDTO appointmentDTO) {
@@ -45,18 +56,19 @@ public class AppointmentServiceImpl implements AppointmentService {
         LocalDateTime endTime = appointmentDTO.getAppointmentDateTime()
                 .plusMinutes(appointmentDTO.getDurationMinutes());
 
-        if (appointmentRepository.existsDoctorConflict(
+        if (doctorBookingIndex.hasConflict(
                 appointmentDTO.getDoctorId(),
                 appointmentDTO.getAppointmentDateTime(),
-                endTime)) {
-            throw new AppointmentConflictException(
-                    "Doctor already has an appointment at this time");
+                endTime,
+                null)) {
+            throw new AppointmentConflictException(DOCTOR_CONFLICT_MESSAGE);
         }
 
         appointmentDTO.checkUserId();
 
         Appointment appointment = appointmentMapper.toEntity(appointmentDTO);
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment = saveBooking(appointment);
+        appointmentEventPublisher.publishCreated(savedAppointment);
 
         log.info("Appointment created successfully with ID: {}", savedAppointment.getId());
         return appointmentMapper.toDTO(savedAppointment);
@@ -143,8 +155,21 @@ public class AppointmentServiceImpl implements AppointmentService {
             validateAppointmentTime(appointmentDTO.getAppointmentDateTime());
         }
 
+        // Checked before the entity is modified, so the index's queries do not flush the change
+        LocalDateTime startTime = appointmentDTO.getAppointmentDateTime() != null
+                ? appointmentDTO.getAppointmentDateTime() : existingAppointment.getAppointmentDateTime();
+        int durationMinutes = appointmentDTO.getDurationMinutes() != null
+                ? appointmentDTO.getDurationMinutes() : existingAppointment.getDurationMinutes();
+        AppointmentStatus status = appointmentDTO.getStatus() != null
+                ? appointmentDTO.getStatus() : existingAppointment.getStatus();
+
+        if (status.occupiesDoctor() && doctorBookingIndex.hasConflict(
+                existingAppointment.getDoctorId(), startTime, startTime.plusMinutes(durationMinutes), id)) {
+            throw new AppointmentConflictException(DOCTOR_CONFLICT_MESSAGE);
+        }
+
         appointmentMapper.updateEntityFromDTO(appointmentDTO, existingAppointment);
-        Appointment updatedAppointment = appointmentRepository.save(existingAppointment);
+        Appointment updatedAppointment = saveBooking(existingAppointment);
 
         log.info("Appointment updated successfully with ID: {}", id);
         return appointmentMapper.toDTO(updatedAppointment);
@@ -162,16 +187,16 @@ public class AppointmentServiceImpl implements AppointmentService {
 
         LocalDateTime endTime = newDateTime.plusMinutes(appointment.getDurationMinutes());
 
-        if (appointmentRepository.existsDoctorConflict(
-                appointment.getDoctorId(), newDateTime, endTime)) {
-            throw new AppointmentConflictException(
-                    "Doctor already has an appointment at this time");
+        if (doctorBookingIndex.hasConflict(
+                appointment.getDoctorId(), newDateTime, endTime, id)) {
+            throw new AppointmentConflictException(DOCTOR_CONFLICT_MESSAGE);
         }
 
         appointment.setAppointmentDateTime(newDateTime);
         appointment.setStatus(AppointmentStatus.RESCHEDULED);
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        Appointment updatedAppointment = saveBooking(appointment);
+        appointmentEventPublisher.publishUpdated(updatedAppointment);
 
         log.info("Appointment rescheduled successfully");
         return appointmentMapper.toDTO(updatedAppointment);
@@ -190,6 +215,8 @@ public class AppointmentServiceImpl implements AppointmentService {
         appointment.setCancellationReason(reason);
 
         Appointment cancelledAppointment = appointmentRepository.save(appointment);
+        doctorBookingIndex.removeAfterCommit(appointment.getDoctorId(), id);
+        appointmentEventPublisher.publishCancelled(cancelledAppointment);
 
         log.info("Appointment cancelled successfully");
         return appointmentMapper.toDTO(cancelledAppointment);
@@ -233,14 +260,34 @@ public class AppointmentServiceImpl implements AppointmentService {
     public void deleteAppointment(Long id) {
         log.info("Deleting appointment with ID: {}", id);
 
-        if (!appointmentRepository.existsById(id)) {
-            throw new AppointmentNotFoundException("Appointment not found with ID: " + id);
-        }
+        Appointment appointment = appointmentRepository.findById(id)
+                .orElseThrow(() -> new AppointmentNotFoundException(
+                        "Appointment not found with ID: " + id));
 
-        appointmentRepository.deleteById(id);
+        appointmentRepository.delete(appointment);
+        doctorBookingIndex.removeAfterCommit(appointment.getDoctorId(), id);
         log.info("Appointment deleted successfully");
     }
 
+    /**
+     * Saves a new or moved booking and flushes it, so an overlap that the booking index did not
+     * know about (another instance booked the same doctor concurrently) is rejected by the
+     * exclusion constraint here rather than at commit.
+     */
+    private Appointment saveBooking(Appointment appointment) {
+        try {
+            Appointment savedAppointment = appointmentRepository.saveAndFlush(appointment);
+            doctorBookingIndex.recordAfterCommit(savedAppointment);
+            return savedAppointment;
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(DOCTOR_OVERLAP_CONSTRAINT)) {
+                throw new AppointmentConflictException(DOCTOR_CONFLICT_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
     private void validateAppointmentTime(LocalDateTime appointmentTime) {
         if (appointmentTime.isBefore(LocalDateTime.now())) {
             throw new InvalidAppointmentException(
@@ -248,15 +295,28 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         int hour = appointmentTime.getHour();
-        if (hour < 8 || hour >= 18) {
+        if (hour < OPENING_HOUR || hour >= CLOSING_HOUR) {
             throw new InvalidAppointmentException(
                     "Appointments can only be scheduled between 8 AM and 6 PM");
         }
 
-        int dayOfWeek = appointmentTime.getDayOfWeek().getValue();
-        if (dayOfWeek == 6 || dayOfWeek == 7) {
+        if (isWeekend(appointmentTime)) {
             throw new InvalidAppointmentException(
                     "Appointments cannot be scheduled on weekends");
         }
     }
+
+    /**
+     * Whether an appointment may start at this time under the clinic's opening hours, without
+     * the check for past times.
+     */
+    static boolean isWithinOpeningHours(LocalDateTime appointmentTime) {
+        int hour = appointmentTime.getHour();
+        return hour >= OPENING_HOUR && hour < CLOSING_HOUR && !isWeekend(appointmentTime);
+    }
+
+    private static boolean isWeekend(LocalDateTime appointmentTime) {
+        DayOfWeek dayOfWeek = appointmentTime.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service;
+
+import com.healthcare.appointmentservice.dto.AvailableSlotDTO;
+import com.healthcare.appointmentservice.dto.BookedSlot;
+import com.healthcare.appointmentservice.dto.DoctorScheduleDTO;
+import com.healthcare.appointmentservice.dto.ScheduleDTO;
+import com.healthcare.appointmentservice.exception.InvalidAppointmentException;
+import com.healthcare.appointmentservice.service.impl.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Free appointment slots, expanded from the doctors' weekly schedules and checked against the
+ * in-memory booking index; neither step queries the appointments table once a doctor's bookings
+ * are indexed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    static final int MAX_RANGE_DAYS = 31;
+    private static final int DEFAULT_SLOT_MINUTES = 30;
+    private static final String ACTIVE_DOCTOR_STATUS = "ACTIVE";
+
+    private static final Comparator<AvailableSlotDTO> SLOT_ORDER = Comparator
+            .comparing(AvailableSlotDTO::getStartTime)
+            .thenComparing(AvailableSlotDTO::getDoctorId);
+
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final DoctorBookingIndex doctorBookingIndex;
+
+    @Override
+    public List<AvailableSlotDTO> getFreeSlotsForDoctor(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching free slots for doctor {} between {} and {}", doctorId, from, to);
+        validateRange(from, to);
+
+        DoctorScheduleDTO doctor = doctorScheduleCache.getDoctor(doctorId);
+        if (doctor == null || !isActive(doctor)) {
+            return List.of();
+        }
+        return freeSlots(doctor, notBeforeNow(from), to);
+    }
+
+    @Override
+    public List<AvailableSlotDTO> getFreeSlotsForSpecialization(
+            String specialization, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching free slots for specialization {} between {} and {}", specialization, from, to);
+        validateRange(from, to);
+
+        LocalDateTime start = notBeforeNow(from);
+        List<AvailableSlotDTO> slots = new ArrayList<>();
+        for (DoctorScheduleDTO doctor : doctorScheduleCache.getDoctorsBySpecialization(specialization)) {
+            if (isActive(doctor)) {
+                slots.addAll(freeSlots(doctor, start, to));
+            }
+        }
+        slots.sort(SLOT_ORDER);
+        return slots;
+    }
+
+    private List<AvailableSlotDTO> freeSlots(DoctorScheduleDTO doctor, LocalDateTime from, LocalDateTime to) {
+        List<AvailableSlotDTO> candidates = scheduledSlots(doctor, from, to);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        // Both lists are ordered by start and bookings are disjoint, so one pass finds every
+        // slot that no booking overlaps
+        List<BookedSlot> booked = doctorBookingIndex.bookedBetween(doctor.getId(), from, to);
+        List<AvailableSlotDTO> free = new ArrayList<>(candidates.size());
+        int next = 0;
+        for (AvailableSlotDTO slot : candidates) {
+            while (next < booked.size() && !booked.get(next).end().isAfter(slot.getStartTime())) {
+                next++;
+            }
+            if (next == booked.size() || !booked.get(next).start().isBefore(slot.getEndTime())) {
+                free.add(slot);
+            }
+        }
+        return free;
+    }
+
+    private List<AvailableSlotDTO> scheduledSlots(DoctorScheduleDTO doctor, LocalDateTime from, LocalDateTime to) {
+        List<AvailableSlotDTO> slots = new ArrayList<>();
+        if (doctor.getSchedules() == null) {
+            return slots;
+        }
+        for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+            for (ScheduleDTO schedule : doctor.getSchedules()) {
+                if (schedule.getDayOfWeek() != date.getDayOfWeek()
+                        || !Boolean.TRUE.equals(schedule.getIsAvailable())
+                        || schedule.getStartTime() == null || schedule.getEndTime() == null) {
+                    continue;
+                }
+                int slotMinutes = schedule.getSlotDurationMinutes() != null && schedule.getSlotDurationMinutes() > 0
+                        ? schedule.getSlotDurationMinutes() : DEFAULT_SLOT_MINUTES;
+                LocalDateTime shiftEnd = date.atTime(schedule.getEndTime());
+                for (LocalDateTime start = date.atTime(schedule.getStartTime());
+                     !start.plusMinutes(slotMinutes).isAfter(shiftEnd);
+                     start = start.plusMinutes(slotMinutes)) {
+                    LocalDateTime end = start.plusMinutes(slotMinutes);
+                    if (!start.isBefore(from) && !end.isAfter(to)
+                            && AppointmentServiceImpl.isWithinOpeningHours(start)) {
+                        slots.add(new AvailableSlotDTO(doctor.getId(), doctor.getFullName(),
+                                doctor.getSpecialization(), start, end));
+                    }
+                }
+            }
+        }
+        slots.sort(SLOT_ORDER);
+        return slots;
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidAppointmentException("Availability range end must be after its start");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(MAX_RANGE_DAYS)) > 0) {
+            throw new InvalidAppointmentException(
+                    "Availability can be requested for at most " + MAX_RANGE_DAYS + " days at a time");
+        }
+    }
+
+    private static LocalDateTime notBeforeNow(LocalDateTime from) {
+        LocalDateTime now = LocalDateTime.now();
+        return from.isBefore(now) ? now : from;
+    }
+
+    private static boolean isActive(DoctorScheduleDTO doctor) {
+        return doctor.getStatus() == null || ACTIVE_DOCTOR_STATUS.equals(doctor.getStatus());
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service;
+
+import com.healthcare.appointmentservice.dto.BookedSlot;
+import com.healthcare.appointmentservice.entity.Appointment;
+import com.healthcare.appointmentservice.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of each doctor's active bookings, used for conflict checks and free-slot
+ * listings. A doctor's bookings are loaded on first use, starting {@link #MAX_DURATION_MINUTES}
+ * before now so that appointments still running are included, and reloaded once the TTL has
+ * passed; the TTL bounds how long bookings made by other instances go unseen. Only the most
+ * recently used doctors are kept; an evicted doctor is loaded again on next use.
+ * <p>
+ * The {@code ex_appointments_doctor_overlap} constraint keeps one doctor's bookings disjoint, so a
+ * map ordered by start time is enough to find an overlap in O(log n): only the bookings starting
+ * just before the end of the requested interval can reach into it. The index is advisory. A
+ * conflict it reports is confirmed against the database, and a booking it has not seen yet is
+ * rejected by the constraint on insert.
+ */
+@Slf4j
+@Component
+public class DoctorBookingIndex {
+
+    /**
+     * Longest bookable appointment, see {@code AppointmentDTO.durationMinutes}.
+     */
+    static final int MAX_DURATION_MINUTES = 480;
+
+    private final AppointmentRepository appointmentRepository;
+    private final long ttlMs;
+    private final Map<Long, DoctorBookings> doctors;
+
+    public DoctorBookingIndex(AppointmentRepository appointmentRepository,
+                              @Value("${appointments.booking-index.ttl-ms:300000}") long ttlMs,
+                              @Value("${appointments.booking-index.max-doctors:1000}") int maxDoctors) {
+        this.appointmentRepository = appointmentRepository;
+        this.ttlMs = ttlMs;
+        this.doctors = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DoctorBookings> eldest) {
+                return size() > maxDoctors;
+            }
+        };
+    }
+
+    /**
+     * @param excludeId the appointment being moved, which cannot conflict with itself, or null
+     * @return whether the doctor has an active appointment overlapping {@code [start, end)}
+     */
+    public boolean hasConflict(Long doctorId, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        long excluded = excludeId != null ? excludeId : 0L;
+        DoctorBookings bookings = bookings(doctorId);
+        if (start.isBefore(bookings.coversFrom)) {
+            return appointmentRepository.existsDoctorConflict(doctorId, start, end, excluded);
+        }
+        if (bookings.findOverlap(start, end, excludeId) == null) {
+            return false;
+        }
+        if (appointmentRepository.existsDoctorConflict(doctorId, start, end, excluded)) {
+            return true;
+        }
+        log.debug("Booking index for doctor {} is stale, reloading on next use", doctorId);
+        synchronized (doctors) {
+            doctors.remove(doctorId, bookings);
+        }
+        return false;
+    }
+
+    /**
+     * @return the doctor's active bookings overlapping {@code [from, to)}, ordered by start
+     */
+    public List<BookedSlot> bookedBetween(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        DoctorBookings bookings = bookings(doctorId);
+        if (from.isBefore(bookings.coversFrom)) {
+            return appointmentRepository
+                    .findDoctorBookedSlotsFrom(doctorId, from.minusMinutes(MAX_DURATION_MINUTES))
+                    .stream()
+                    .filter(slot -> slot.overlaps(from, to))
+                    .sorted(Comparator.comparing(BookedSlot::start))
+                    .toList();
+        }
+        return bookings.between(from, to);
+    }
+
+    /**
+     * Applies the appointment's current time and status to the index once the surrounding
+     * transaction commits; a rolled back booking never becomes visible.
+     */
+    public void recordAfterCommit(Appointment appointment) {
+        Long doctorId = appointment.getDoctorId();
+        Long appointmentId = appointment.getId();
+        if (!appointment.getStatus().occupiesDoctor()) {
+            removeAfterCommit(doctorId, appointmentId);
+            return;
+        }
+        BookedSlot slot = new BookedSlot(appointmentId, appointment.getAppointmentDateTime(),
+                appointment.getDurationMinutes());
+        afterCommit(() -> {
+            DoctorBookings bookings = loaded(doctorId);
+            if (bookings != null) {
+                bookings.put(slot);
+            }
+        });
+    }
+
+    public void removeAfterCommit(Long doctorId, Long appointmentId) {
+        afterCommit(() -> {
+            DoctorBookings bookings = loaded(doctorId);
+            if (bookings != null) {
+                bookings.remove(appointmentId);
+            }
+        });
+    }
+
+    private DoctorBookings bookings(Long doctorId) {
+        long now = System.currentTimeMillis();
+        DoctorBookings bookings = loaded(doctorId);
+        if (bookings == null || bookings.loadedAt + ttlMs <= now) {
+            LocalDateTime from = LocalDateTime.now().minusMinutes(MAX_DURATION_MINUTES);
+            bookings = new DoctorBookings(from, now, appointmentRepository.findDoctorBookedSlotsFrom(doctorId, from));
+            synchronized (doctors) {
+                doctors.put(doctorId, bookings);
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * A doctor that is not loaded needs no update: its bookings are read from the database on
+     * next use.
+     */
+    private DoctorBookings loaded(Long doctorId) {
+        synchronized (doctors) {
+            return doctors.get(doctorId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class DoctorBookings {
+
+        private final LocalDateTime coversFrom;
+        private final long loadedAt;
+        private final NavigableMap<LocalDateTime, BookedSlot> byStart = new TreeMap<>();
+        private final Map<Long, BookedSlot> byId = new HashMap<>();
+
+        private DoctorBookings(LocalDateTime coversFrom, long loadedAt, List<BookedSlot> slots) {
+            this.coversFrom = coversFrom;
+            this.loadedAt = loadedAt;
+            slots.forEach(this::put);
+        }
+
+        synchronized BookedSlot findOverlap(LocalDateTime start, LocalDateTime end, Long excludeId) {
+            // Bookings are disjoint, so walking back from the last one starting before end stops
+            // at the first booking that ends by start
+            Map.Entry<LocalDateTime, BookedSlot> entry = byStart.lowerEntry(end);
+            while (entry != null && entry.getValue().end().isAfter(start)) {
+                if (!entry.getValue().appointmentId().equals(excludeId)) {
+                    return entry.getValue();
+                }
+                entry = byStart.lowerEntry(entry.getKey());
+            }
+            return null;
+        }
+
+        synchronized List<BookedSlot> between(LocalDateTime from, LocalDateTime to) {
+            List<BookedSlot> slots = new ArrayList<>();
+            Map.Entry<LocalDateTime, BookedSlot> running = byStart.lowerEntry(from);
+            if (running != null && running.getValue().end().isAfter(from)) {
+                slots.add(running.getValue());
+            }
+            slots.addAll(byStart.subMap(from, true, to, false).values());
+            return slots;
+        }
+
+        synchronized void put(BookedSlot slot) {
+            remove(slot.appointmentId());
+            // Anything still overlapping was moved or cancelled elsewhere; the database agrees
+            // with the newer booking
+            BookedSlot stale;
+            while ((stale = findOverlap(slot.start(), slot.end(), null)) != null) {
+                remove(stale.appointmentId());
+            }
+            byStart.put(slot.start(), slot);
+            byId.put(slot.appointmentId(), slot);
+        }
+
+        synchronized void remove(Long appointmentId) {
+            BookedSlot slot = byId.remove(appointmentId);
+            if (slot != null) {
+                byStart.remove(slot.start(), slot);
+            }
+        }
+    }
+}
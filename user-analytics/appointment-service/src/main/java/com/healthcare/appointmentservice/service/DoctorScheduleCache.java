@@ -0,0 +1,87 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service;
+
+import com.healthcare.appointmentservice.client.DoctorServiceClient;
+import com.healthcare.appointmentservice.dto.DoctorScheduleDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Doctors and their weekly schedules as served by doctor-service. Schedules change rarely and
+ * availability is asked for often, so they are kept for a TTL rather than fetched per request.
+ * Specializations come straight from the request path, so each map keeps at most
+ * {@code maxEntries} keys and drops the least recently used beyond that.
+ */
+@Slf4j
+@Component
+public class DoctorScheduleCache {
+
+    /**
+     * Upper bound on doctors considered for one specialization.
+     */
+    static final int MAX_DOCTORS_PER_SPECIALIZATION = 200;
+
+    private record Cached<T>(T value, long expiresAt) {
+    }
+
+    private final DoctorServiceClient doctorServiceClient;
+    private final long ttlMs;
+    private final Map<Long, Cached<DoctorScheduleDTO>> doctors;
+    private final Map<String, Cached<List<DoctorScheduleDTO>>> specializations;
+
+    public DoctorScheduleCache(DoctorServiceClient doctorServiceClient,
+                               @Value("${appointments.availability.schedule-ttl-ms:300000}") long ttlMs,
+                               @Value("${appointments.availability.schedule-max-entries:1000}") int maxEntries) {
+        this.doctorServiceClient = doctorServiceClient;
+        this.ttlMs = ttlMs;
+        this.doctors = boundedMap(maxEntries);
+        this.specializations = boundedMap(maxEntries);
+    }
+
+    public DoctorScheduleDTO getDoctor(Long doctorId) {
+        return get(doctors, doctorId, () -> doctorServiceClient.getDoctor(doctorId));
+    }
+
+    public List<DoctorScheduleDTO> getDoctorsBySpecialization(String specialization) {
+        return get(specializations, specialization.toLowerCase(Locale.ROOT), () -> doctorServiceClient
+                .getDoctorsBySpecialization(specialization, MAX_DOCTORS_PER_SPECIALIZATION)
+                .getContent());
+    }
+
+    private <K, T> T get(Map<K, Cached<T>> cache, K key, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        Cached<T> cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached == null || cached.expiresAt() <= now) {
+            log.debug("Loading doctor schedules for {}", key);
+            cached = new Cached<>(loader.get(), now + ttlMs);
+            synchronized (cache) {
+                cache.put(key, cached);
+            }
+        }
+        return cached.value();
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service.impl;
+
+import com.healthcare.appointmentservice.dto.AvailableSlotDTO;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AvailabilityService {
+
+    @Transactional(readOnly = true)
+    List<AvailableSlotDTO> getFreeSlotsForDoctor(Long doctorId, LocalDateTime from, LocalDateTime to);
+
+    @Transactional(readOnly = true)
+    List<AvailableSlotDTO> getFreeSlotsForSpecialization(String specialization, LocalDateTime from, LocalDateTime to);
+}
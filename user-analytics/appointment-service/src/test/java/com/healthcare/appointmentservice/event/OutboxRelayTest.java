@@ -0,0 +1,250 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.event;
+
+import com.example.common.outbox.OutboxRelay;
+import com.example.common.outbox.OutboxRepository;
+import com.healthcare.appointmentservice.AppointmentServiceApplication;
+import com.healthcare.appointmentservice.dto.AppointmentEventDTO;
+import com.healthcare.appointmentservice.testutil.AppointmentTestBuilder;
+import com.healthcare.appointmentservice.testutil.TestcontainersConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Appointment events committed to the outbox reach Kafka exactly once per row and in order per
+ * key, even with several relays draining the table at the same time; events of a rolled-back
+ * change never leave, and an event Kafka keeps rejecting is parked instead of blocking the rest.
+ */
+@SpringBootTest(classes = {AppointmentServiceApplication.class})
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@EmbeddedKafka(partitions = 3, topics = {AppointmentEventPublisher.TOPIC, OutboxRelayTest.PARKING_TOPIC},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+// The scheduled relay stays idle; the test drives relayBatch() itself
+@TestPropertySource(properties = {"outbox.relay.batch-size=100", "outbox.relay.max-batches-per-run=0"})
+class OutboxRelayTest {
+
+    private static final int EVENTS = 2000;
+    private static final int RELAYS = 4;
+    // Kept apart from the appointment topic, whose records the first test counts
+    static final String PARKING_TOPIC = "outbox-parking-test";
+
+    @Autowired
+    private AppointmentEventPublisher appointmentEventPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @BeforeEach
+    void clearOutbox() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void concurrentRelays_deliverEachCommittedRowExactlyOnceInOrder() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < EVENTS; i++) {
+                appointmentEventPublisher.publishCreated(new AppointmentTestBuilder()
+                        .withId((long) i)
+                        .withPatientId((long) (i % 50))
+                        .build());
+            }
+        });
+        Long rolledBackId = transactionTemplate.execute(status -> {
+            appointmentEventPublisher.publishCancelled(new AppointmentTestBuilder().withId(-1L).build());
+            status.setRollbackOnly();
+            return jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_events", Long.class);
+        });
+        assertEquals(EVENTS, outboxRepository.count());
+
+        ExecutorService relays = Executors.newFixedThreadPool(RELAYS);
+        List<Future<Integer>> sent = new ArrayList<>();
+        for (int i = 0; i < RELAYS; i++) {
+            sent.add(relays.submit(() -> {
+                int total = 0;
+                int batch;
+                while ((batch = outboxRelay.relayBatch()) > 0) {
+                    total += batch;
+                }
+                return total;
+            }));
+        }
+        int relayed = 0;
+        for (Future<Integer> future : sent) {
+            relayed += future.get();
+        }
+        relays.shutdown();
+
+        assertEquals(EVENTS, relayed);
+        assertEquals(0, outboxRepository.count());
+
+        List<ConsumerRecord<String, AppointmentEventDTO>> records = consumeAll(EVENTS);
+        assertEquals(EVENTS, records.size());
+
+        Set<Long> outboxIds = new HashSet<>();
+        Map<String, Long> lastIdByPatient = new HashMap<>();
+        for (ConsumerRecord<String, AppointmentEventDTO> record : records) {
+            long outboxId = outboxId(record);
+            assertTrue(outboxIds.add(outboxId), "outbox row " + outboxId + " delivered twice");
+            AppointmentEventDTO event = record.value();
+            assertEquals("CREATED", event.getEventType());
+            assertEquals(record.key(), event.getPatientId().toString());
+            assertEquals("john.doe@example.com", event.getPatientEmail());
+            assertEquals(LocalDateTime.of(2025, 6, 2, 10, 0), event.getAppointmentTime());
+            Long previous = lastIdByPatient.put(record.key(), outboxId);
+            assertTrue(previous == null || previous < outboxId,
+                    "outbox row " + outboxId + " overtook row " + previous + " of patient " + record.key());
+        }
+        assertEquals(50, lastIdByPatient.size());
+        assertFalse(outboxIds.contains(rolledBackId));
+    }
+
+    @Test
+    void rejectedEvent_isParkedAfterMaxAttemptsAndStopsBlockingTheOutbox() {
+        OutboxRelay relay = new OutboxRelay(outboxRepository, kafkaTemplate, transactionTemplate,
+                new SimpleMeterRegistry(), 100, 1, 30_000, 2);
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.append(PARKING_TOPIC, "first", "{}");
+            // Larger than the producer's max.request.size, so Kafka rejects it every time
+            outboxRepository.append(PARKING_TOPIC, "poison", "x".repeat(2 * 1024 * 1024));
+            outboxRepository.append(PARKING_TOPIC, "last", "{}");
+        });
+
+        relay.relay();
+        assertEquals(3, outboxRepository.count());
+        assertEquals(0, outboxRepository.countParked());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE event_key = 'poison'", Integer.class));
+
+        relay.relay();
+        assertEquals(1, outboxRepository.countParked());
+
+        relay.relay();
+        assertEquals(1, outboxRepository.count());
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT last_error FROM outbox_events WHERE event_key = 'poison'", String.class));
+    }
+
+    @Test
+    void append_shouldHoldASecondWriterOfTheKeyUntilTheFirstCommits() throws Exception {
+        CountDownLatch firstAppended = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+        Future<?> first = writers.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.append(PARKING_TOPIC, "same-key", "{\"n\":1}");
+            firstAppended.countDown();
+            await(releaseFirst);
+        }));
+        assertTrue(firstAppended.await(10, TimeUnit.SECONDS));
+
+        Future<?> second = writers.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                outboxRepository.append(PARKING_TOPIC, "same-key", "{\"n\":2}")));
+        // A different key is not held up
+        transactionTemplate.executeWithoutResult(status ->
+                outboxRepository.append(PARKING_TOPIC, "other-key", "{}"));
+        assertThrows(TimeoutException.class, () -> second.get(500, TimeUnit.MILLISECONDS));
+
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        writers.shutdown();
+
+        assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), jdbcTemplate.queryForList(
+                "SELECT payload FROM outbox_events WHERE event_key = 'same-key' ORDER BY id", String.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the topic the way notification-service's appointment listener does.
+     */
+    private List<ConsumerRecord<String, AppointmentEventDTO>> consumeAll(int expected) {
+        JsonDeserializer<AppointmentEventDTO> deserializer = new JsonDeserializer<>(AppointmentEventDTO.class);
+        deserializer.setRemoveTypeHeaders(false);
+        deserializer.addTrustedPackages("*");
+        deserializer.setUseTypeMapperForKey(false);
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-relay-test", "false", embeddedKafka);
+        try (Consumer<String, AppointmentEventDTO> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), deserializer).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, AppointmentEventPublisher.TOPIC);
+            List<ConsumerRecord<String, AppointmentEventDTO>> records = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (records.size() < expected && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, AppointmentEventDTO> polled = consumer.poll(Duration.ofMillis(500));
+                polled.forEach(records::add);
+            }
+            // Anything beyond the expected count would be a duplicate
+            consumer.poll(Duration.ofSeconds(1)).forEach(records::add);
+            return records;
+        }
+    }
+
+    private static long outboxId(ConsumerRecord<String, AppointmentEventDTO> record) {
+        Header header = record.headers().lastHeader(OutboxRelay.OUTBOX_ID_HEADER);
+        assertNotNull(header);
+        return Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+    }
+}
@@ -8,7 +8,10 @@ package com.healthcare.appointmentservice.repository;
 
 import com.example.common.security.client.AuthServiceClient;
 import com.healthcare.appointmentservice.AppointmentServiceApplication;
+import com.healthcare.appointmentservice.client.DoctorServiceClient;
+import com.healthcare.appointmentservice.dto.BookedSlot;
 import com.healthcare.appointmentservice.entity.Appointment;
+import com.healthcare.appointmentservice.entity.AppointmentStatus;
 import com.healthcare.appointmentservice.testutil.AppointmentTestBuilder;
 import com.healthcare.appointmentservice.testutil.TestcontainersConfiguration;
 import org.junit.jupiter.api.Test;
@@ -18,11 +21,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cloud.openfeign.FeignAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,6 +45,9 @@ class AppointmentRepositoryTest {
     @MockBean
     private AuthServiceClient authServiceClient;
 
+    @MockBean
+    private DoctorServiceClient doctorServiceClient;
+
     @Test
     @WithMockUser
     void testSaveAndFindById() {
@@ -86,4 +94,52 @@ class AppointmentRepositoryTest {
         Iterable<Appointment> all = appointmentRepository.findAll();
         assertTrue(all.iterator().hasNext());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void testOverlappingBookingRejectedByConstraint() {
+        LocalDateTime start = LocalDateTime.now().plusDays(5).withNano(0);
+        appointmentRepository.saveAndFlush(new AppointmentTestBuilder()
+                .withDoctorId(42L)
+                .withAppointmentDateTime(start)
+                .build());
+
+        Appointment overlapping = new AppointmentTestBuilder()
+                .withDoctorId(42L)
+                .withAppointmentDateTime(start.plusMinutes(15))
+                .build();
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> appointmentRepository.saveAndFlush(overlapping));
+        assertTrue(ex.getMostSpecificCause().getMessage().contains("ex_appointments_doctor_overlap"));
+    }
+
+    @Test
+    @WithMockUser
+    void testCancelledAndAdjacentBookingsDoNotConflict() {
+        LocalDateTime start = LocalDateTime.now().plusDays(6).withNano(0);
+        appointmentRepository.saveAndFlush(new AppointmentTestBuilder()
+                .withDoctorId(43L)
+                .withAppointmentDateTime(start)
+                .withStatus(AppointmentStatus.CANCELLED)
+                .build());
+        Appointment booked = appointmentRepository.saveAndFlush(new AppointmentTestBuilder()
+                .withDoctorId(43L)
+                .withAppointmentDateTime(start)
+                .build());
+        appointmentRepository.saveAndFlush(new AppointmentTestBuilder()
+                .withDoctorId(43L)
+                .withAppointmentDateTime(start.plusMinutes(30))
+                .build());
+
+        assertTrue(appointmentRepository.existsDoctorConflict(43L, start.plusMinutes(10), start.plusMinutes(20), 0L));
+        assertFalse(appointmentRepository.existsDoctorConflict(
+                43L, start.minusMinutes(30), start, 0L));
+        assertFalse(appointmentRepository.existsDoctorConflict(
+                43L, start.plusMinutes(10), start.plusMinutes(20), booked.getId()));
+
+        List<BookedSlot> slots = appointmentRepository.findDoctorBookedSlotsFrom(43L, start.minusHours(1));
+        assertEquals(2, slots.size());
+        assertTrue(slots.stream().anyMatch(slot -> slot.appointmentId().equals(booked.getId())
+                && slot.end().equals(start.plusMinutes(30))));
+    }
+}
@@ -9,6 +9,8 @@ package com.healthcare.appointmentservice.service;
 import com.example.common.security.util.SecurityUtils;
 import com.healthcare.appointmentservice.dto.AppointmentDTO;
 import com.healthcare.appointmentservice.entity.Appointment;
+import com.healthcare.appointmentservice.entity.AppointmentStatus;
+import com.healthcare.appointmentservice.event.AppointmentEventPublisher;
 import com.healthcare.appointmentservice.exception.AppointmentConflictException;
 import com.healthcare.appointmentservice.mapper.AppointmentMapper;
 import com.healthcare.appointmentservice.repository.AppointmentRepository;
@@ -22,7 +24,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +41,10 @@ class AppointmentServiceImplTest {
     private AppointmentRepository appointmentRepository;
     @Mock
     private AppointmentMapper appointmentMapper;
+    @Mock
+    private DoctorBookingIndex doctorBookingIndex;
+    @Mock
+    private AppointmentEventPublisher appointmentEventPublisher;
 
     @InjectMocks
     private AppointmentServiceImpl appointmentService;
@@ -57,29 +66,80 @@ class AppointmentServiceImplTest {
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(Optional.of(1L));
 
-            when(appointmentRepository.existsDoctorConflict(anyLong(), any(), any())).thenReturn(false);
+            when(doctorBookingIndex.hasConflict(anyLong(), any(), any(), isNull())).thenReturn(false);
             when(appointmentMapper.toEntity(appointmentDTO)).thenReturn(appointment);
-            when(appointmentRepository.save(appointment)).thenReturn(savedAppointment);
+            when(appointmentRepository.saveAndFlush(appointment)).thenReturn(savedAppointment);
             when(appointmentMapper.toDTO(savedAppointment)).thenReturn(appointmentDTO);
 
             AppointmentDTO result = appointmentService.createAppointment(appointmentDTO);
 
             assertNotNull(result);
-            verify(appointmentRepository).save(appointment);
+            verify(appointmentRepository).saveAndFlush(appointment);
+            verify(doctorBookingIndex).recordAfterCommit(savedAppointment);
+            verify(appointmentEventPublisher).publishCreated(savedAppointment);
             verify(appointmentMapper).toDTO(savedAppointment);
         }
     }
 
+    @Test
+    @DisplayName("Should translate a doctor overlap constraint violation into a conflict")
+    void createAppointment_concurrentBookingRejectedByConstraint() {
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(Optional.of(1L));
+
+            when(doctorBookingIndex.hasConflict(anyLong(), any(), any(), isNull())).thenReturn(false);
+            when(appointmentMapper.toEntity(appointmentDTO)).thenReturn(appointment);
+            when(appointmentRepository.saveAndFlush(appointment)).thenThrow(new DataIntegrityViolationException(
+                    "could not execute statement",
+                    new SQLException("conflicting key value violates exclusion constraint " +
+                            "\"ex_appointments_doctor_overlap\"")));
+
+            assertThrows(AppointmentConflictException.class,
+                    () -> appointmentService.createAppointment(appointmentDTO));
+            verify(doctorBookingIndex, never()).recordAfterCommit(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not count the rescheduled appointment as its own conflict")
+    void rescheduleAppointment_excludesItself() {
+        LocalDateTime newDateTime = appointmentDTO.getAppointmentDateTime().plusHours(1);
+        when(appointmentRepository.findById(100L)).thenReturn(Optional.of(savedAppointment));
+        when(doctorBookingIndex.hasConflict(1L, newDateTime, newDateTime.plusMinutes(30), 100L)).thenReturn(false);
+        when(appointmentRepository.saveAndFlush(savedAppointment)).thenReturn(savedAppointment);
+        when(appointmentMapper.toDTO(savedAppointment)).thenReturn(appointmentDTO);
+
+        appointmentService.rescheduleAppointment(100L, newDateTime);
+
+        assertEquals(newDateTime, savedAppointment.getAppointmentDateTime());
+        assertEquals(AppointmentStatus.RESCHEDULED, savedAppointment.getStatus());
+        verify(doctorBookingIndex).recordAfterCommit(savedAppointment);
+        verify(appointmentEventPublisher).publishUpdated(savedAppointment);
+    }
+
+    @Test
+    @DisplayName("Should free the doctor's time when an appointment is cancelled")
+    void cancelAppointment_removesBooking() {
+        when(appointmentRepository.findById(100L)).thenReturn(Optional.of(savedAppointment));
+        when(appointmentRepository.save(savedAppointment)).thenReturn(savedAppointment);
+        when(appointmentMapper.toDTO(savedAppointment)).thenReturn(appointmentDTO);
+
+        appointmentService.cancelAppointment(100L, "Patient request");
 
+        assertEquals(AppointmentStatus.CANCELLED, savedAppointment.getStatus());
+        verify(doctorBookingIndex).removeAfterCommit(1L, 100L);
+        verify(appointmentEventPublisher).publishCancelled(savedAppointment);
+    }
 
     @Test
     @DisplayName("Should throw conflict exception if doctor has appointment")
     void createAppointment_doctorConflict() {
-        when(appointmentRepository.existsDoctorConflict(
-                anyLong(), any(), any())).thenReturn(true);
+        when(doctorBookingIndex.hasConflict(
+                anyLong(), any(), any(), isNull())).thenReturn(true);
 
         assertThrows(AppointmentConflictException.class,
                 () -> appointmentService.createAppointment(appointmentDTO));
-        verify(appointmentRepository, never()).save(any());
+        verify(appointmentRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(appointmentEventPublisher);
     }
 }
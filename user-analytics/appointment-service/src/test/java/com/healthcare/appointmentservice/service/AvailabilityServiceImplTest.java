@@ -0,0 +1,100 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service;
+
+import com.healthcare.appointmentservice.dto.AvailableSlotDTO;
+import com.healthcare.appointmentservice.dto.BookedSlot;
+import com.healthcare.appointmentservice.dto.DoctorScheduleDTO;
+import com.healthcare.appointmentservice.dto.ScheduleDTO;
+import com.healthcare.appointmentservice.exception.InvalidAppointmentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Availability Service Tests")
+class AvailabilityServiceImplTest {
+
+    @Mock
+    private DoctorScheduleCache doctorScheduleCache;
+    @Mock
+    private DoctorBookingIndex doctorBookingIndex;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    private LocalDate monday;
+    private DoctorScheduleDTO doctor;
+
+    @BeforeEach
+    void setUp() {
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        doctor = new DoctorScheduleDTO(5L, "Gregory", "House", "Diagnostics", "ACTIVE", List.of(
+                new ScheduleDTO(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0), 30, true),
+                new ScheduleDTO(DayOfWeek.SATURDAY, LocalTime.of(9, 0), LocalTime.of(11, 0), 30, true)));
+    }
+
+    @Test
+    @DisplayName("Should expand schedules into slots and drop booked ones")
+    void getFreeSlotsForDoctor_skipsBookedSlots() {
+        LocalDateTime from = monday.atStartOfDay();
+        LocalDateTime to = monday.plusDays(7).atStartOfDay();
+        when(doctorScheduleCache.getDoctor(5L)).thenReturn(doctor);
+        when(doctorBookingIndex.bookedBetween(5L, from, to)).thenReturn(List.of(
+                new BookedSlot(1L, monday.atTime(9, 15), 30)));
+
+        List<AvailableSlotDTO> slots = availabilityService.getFreeSlotsForDoctor(5L, from, to);
+
+        // 9:00 and 9:30 overlap the 9:15 booking; Saturday is outside opening hours
+        assertEquals(List.of(monday.atTime(10, 0), monday.atTime(10, 30)),
+                slots.stream().map(AvailableSlotDTO::getStartTime).toList());
+        assertEquals("Gregory House", slots.get(0).getDoctorName());
+    }
+
+    @Test
+    @DisplayName("Should merge slots of a specialization's active doctors in start order")
+    void getFreeSlotsForSpecialization_mergesDoctors() {
+        LocalDateTime from = monday.atTime(9, 0);
+        LocalDateTime to = monday.atTime(10, 0);
+        DoctorScheduleDTO colleague = new DoctorScheduleDTO(6L, "Lisa", "Cuddy", "Diagnostics", "ACTIVE",
+                List.of(new ScheduleDTO(DayOfWeek.MONDAY, LocalTime.of(9, 30), LocalTime.of(10, 0), 30, true)));
+        DoctorScheduleDTO onLeave = new DoctorScheduleDTO(8L, "James", "Wilson", "Diagnostics", "ON_LEAVE",
+                doctor.getSchedules());
+        when(doctorScheduleCache.getDoctorsBySpecialization("Diagnostics"))
+                .thenReturn(List.of(colleague, doctor, onLeave));
+        when(doctorBookingIndex.bookedBetween(anyLong(), eq(from), eq(to))).thenReturn(List.of());
+
+        List<AvailableSlotDTO> slots = availabilityService.getFreeSlotsForSpecialization("Diagnostics", from, to);
+
+        assertEquals(List.of(5L, 5L, 6L), slots.stream().map(AvailableSlotDTO::getDoctorId).toList());
+        verify(doctorBookingIndex, never()).bookedBetween(eq(8L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject ranges longer than the maximum")
+    void getFreeSlotsForDoctor_rangeTooLong() {
+        LocalDateTime from = monday.atStartOfDay();
+
+        assertThrows(InvalidAppointmentException.class,
+                () -> availabilityService.getFreeSlotsForDoctor(5L, from, from.plusDays(32)));
+        verifyNoInteractions(doctorScheduleCache, doctorBookingIndex);
+    }
+}
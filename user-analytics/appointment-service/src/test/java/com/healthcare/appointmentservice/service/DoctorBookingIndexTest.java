@@ -0,0 +1,133 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service;
+
+import com.healthcare.appointmentservice.dto.BookedSlot;
+import com.healthcare.appointmentservice.entity.Appointment;
+import com.healthcare.appointmentservice.entity.AppointmentStatus;
+import com.healthcare.appointmentservice.repository.AppointmentRepository;
+import com.healthcare.appointmentservice.testutil.AppointmentTestBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Doctor Booking Index Tests")
+class DoctorBookingIndexTest {
+
+    private static final Long DOCTOR_ID = 7L;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private DoctorBookingIndex index;
+    private LocalDateTime nineAm;
+
+    @BeforeEach
+    void setUp() {
+        index = new DoctorBookingIndex(appointmentRepository, 60_000, 100);
+        nineAm = LocalDate.now().plusDays(1).atTime(9, 0);
+        when(appointmentRepository.findDoctorBookedSlotsFrom(eq(DOCTOR_ID), any())).thenReturn(List.of(
+                new BookedSlot(1L, nineAm, 30),
+                new BookedSlot(2L, nineAm.plusHours(1), 60)));
+    }
+
+    @Test
+    @DisplayName("Should report no conflict for free time without querying for conflicts")
+    void hasConflict_freeTime() {
+        assertFalse(index.hasConflict(DOCTOR_ID, nineAm.plusMinutes(30), nineAm.plusHours(1), null));
+        assertFalse(index.hasConflict(DOCTOR_ID, nineAm.plusHours(2), nineAm.plusHours(3), null));
+
+        verify(appointmentRepository, times(1)).findDoctorBookedSlotsFrom(eq(DOCTOR_ID), any());
+        verify(appointmentRepository, never()).existsDoctorConflict(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should confirm an indexed overlap against the database")
+    void hasConflict_confirmedOverlap() {
+        when(appointmentRepository.existsDoctorConflict(DOCTOR_ID, nineAm.plusMinutes(75),
+                nineAm.plusMinutes(90), 0L)).thenReturn(true);
+
+        assertTrue(index.hasConflict(DOCTOR_ID, nineAm.plusMinutes(75), nineAm.plusMinutes(90), null));
+    }
+
+    @Test
+    @DisplayName("Should not count the moved appointment as its own conflict")
+    void hasConflict_excludesMovedAppointment() {
+        assertFalse(index.hasConflict(DOCTOR_ID, nineAm.plusMinutes(15), nineAm.plusMinutes(45), 1L));
+        verify(appointmentRepository, never()).existsDoctorConflict(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reload a doctor whose indexed overlap the database does not confirm")
+    void hasConflict_staleIndexReloaded() {
+        when(appointmentRepository.existsDoctorConflict(anyLong(), any(), any(), anyLong())).thenReturn(false);
+
+        assertFalse(index.hasConflict(DOCTOR_ID, nineAm, nineAm.plusMinutes(30), null));
+        index.bookedBetween(DOCTOR_ID, nineAm, nineAm.plusHours(3));
+
+        verify(appointmentRepository, times(2)).findDoctorBookedSlotsFrom(eq(DOCTOR_ID), any());
+    }
+
+    @Test
+    @DisplayName("Should apply recorded and cancelled bookings to a loaded doctor")
+    void recordAndRemove() {
+        index.bookedBetween(DOCTOR_ID, nineAm, nineAm.plusHours(3));
+
+        Appointment moved = new AppointmentTestBuilder()
+                .withId(1L)
+                .withDoctorId(DOCTOR_ID)
+                .withAppointmentDateTime(nineAm.plusHours(2))
+                .build();
+        index.recordAfterCommit(moved);
+        Appointment cancelled = new AppointmentTestBuilder()
+                .withId(2L)
+                .withDoctorId(DOCTOR_ID)
+                .withAppointmentDateTime(nineAm.plusHours(1))
+                .withStatus(AppointmentStatus.CANCELLED)
+                .build();
+        index.recordAfterCommit(cancelled);
+
+        List<BookedSlot> booked = index.bookedBetween(DOCTOR_ID, nineAm, nineAm.plusHours(3));
+        assertEquals(List.of(new BookedSlot(1L, nineAm.plusHours(2), nineAm.plusMinutes(150))), booked);
+    }
+
+    @Test
+    @DisplayName("Should include a booking that started before the requested range")
+    void bookedBetween_includesRunningBooking() {
+        List<BookedSlot> booked = index.bookedBetween(DOCTOR_ID, nineAm.plusMinutes(90), nineAm.plusHours(3));
+
+        assertEquals(1, booked.size());
+        assertEquals(2L, booked.get(0).appointmentId());
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted doctor and still find the overlap")
+    void hasConflict_afterEviction() {
+        DoctorBookingIndex oneDoctor = new DoctorBookingIndex(appointmentRepository, 60_000, 1);
+        when(appointmentRepository.findDoctorBookedSlotsFrom(eq(8L), any())).thenReturn(List.of());
+        when(appointmentRepository.existsDoctorConflict(DOCTOR_ID, nineAm.plusMinutes(15),
+                nineAm.plusMinutes(45), 0L)).thenReturn(true);
+        oneDoctor.bookedBetween(DOCTOR_ID, nineAm, nineAm.plusHours(3));
+
+        // Loading another doctor evicts the first
+        oneDoctor.bookedBetween(8L, nineAm, nineAm.plusHours(3));
+
+        assertTrue(oneDoctor.hasConflict(DOCTOR_ID, nineAm.plusMinutes(15), nineAm.plusMinutes(45), null));
+        verify(appointmentRepository, times(2)).findDoctorBookedSlotsFrom(eq(DOCTOR_ID), any());
+    }
+}
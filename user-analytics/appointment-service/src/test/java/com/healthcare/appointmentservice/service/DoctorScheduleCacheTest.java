@@ -0,0 +1,62 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.appointmentservice.service;
+
+import com.healthcare.appointmentservice.client.DoctorServiceClient;
+import com.healthcare.appointmentservice.dto.DoctorPageDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Doctor Schedule Cache Tests")
+class DoctorScheduleCacheTest {
+
+    @Mock
+    private DoctorServiceClient doctorServiceClient;
+
+    @Test
+    @DisplayName("Should serve a specialization from the cache within the TTL, whatever its case")
+    void getDoctorsBySpecialization_cachesWithinTtl() {
+        when(doctorServiceClient.getDoctorsBySpecialization(anyString(), anyInt()))
+                .thenReturn(new DoctorPageDTO(List.of()));
+        DoctorScheduleCache cache = new DoctorScheduleCache(doctorServiceClient, 60_000, 10);
+
+        cache.getDoctorsBySpecialization("Cardiology");
+        cache.getDoctorsBySpecialization("cardiology");
+
+        verify(doctorServiceClient, times(1)).getDoctorsBySpecialization(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should drop the least recently used specialization beyond the size bound")
+    void getDoctorsBySpecialization_evictsBeyondMaxEntries() {
+        when(doctorServiceClient.getDoctorsBySpecialization(anyString(), anyInt()))
+                .thenReturn(new DoctorPageDTO(List.of()));
+        DoctorScheduleCache cache = new DoctorScheduleCache(doctorServiceClient, 60_000, 2);
+
+        cache.getDoctorsBySpecialization("cardiology");
+        cache.getDoctorsBySpecialization("neurology");
+        cache.getDoctorsBySpecialization("cardiology");
+        cache.getDoctorsBySpecialization("oncology");
+        cache.getDoctorsBySpecialization("cardiology");
+        cache.getDoctorsBySpecialization("neurology");
+
+        verify(doctorServiceClient, times(1))
+                .getDoctorsBySpecialization("cardiology", DoctorScheduleCache.MAX_DOCTORS_PER_SPECIALIZATION);
+        verify(doctorServiceClient, times(2))
+                .getDoctorsBySpecialization("neurology", DoctorScheduleCache.MAX_DOCTORS_PER_SPECIALIZATION);
+    }
+}
@@ -5,7 +5,10 @@ import com.healthcare.appointmentservice.entity.Appointment;
 import com.healthcare.appointmentservice.entity.AppointmentStatus;
 import com.healthcare.appointmentservice.entity.AppointmentType;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 
 public class AppointmentTestBuilder {
     private Long id;
@@ -153,7 +156,7 @@ public class AppointmentTestBuilder {
                 1L, // patientId
                 1L, // doctorId
                 1L, // userId
-                LocalDateTime.of(2026, 6, 2, 10, 0),
+                nextMondayAt10(),
                 30,
                 AppointmentStatus.SCHEDULED,
                 AppointmentType.CONSULTATION,
@@ -171,6 +174,10 @@ public class AppointmentTestBuilder {
         );
     }
 
+    private static LocalDateTime nextMondayAt10() {
+        return LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(10, 0);
+    }
+
     public static Appointment defaultAppointment() {
         return new AppointmentTestBuilder().build();
     }
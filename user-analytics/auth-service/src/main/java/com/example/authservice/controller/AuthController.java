@@ -15,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
@@ -45,6 +47,14 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<TokenValidationResponse>> validateTokens(
+            @Valid @RequestBody TokenBatchValidationRequest request) {
+        log.info("Batch token validation request received for {} tokens", request.getTokens().size());
+        List<TokenValidationResponse> responses = authService.validateTokens(request.getTokens());
+        return ResponseEntity.ok(responses);
+    }
+
     @PostMapping("/validate-header")
     public ResponseEntity<TokenValidationResponse> validateTokenFromHeader(
             @RequestHeader("Authorization") String authHeader) {
@@ -54,6 +64,12 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/revocations")
+    public ResponseEntity<List<TokenRevocationDTO>> getTokenRevocations(@RequestParam long since) {
+        log.debug("Token revocations requested since: {}", since);
+        return ResponseEntity.ok(authService.getTokenRevocationsSince(since));
+    }
+
     @PostMapping("/password-reset/request")
     public ResponseEntity<ApiResponse> requestPasswordReset(
             @Valid @RequestBody PasswordResetRequest request) {
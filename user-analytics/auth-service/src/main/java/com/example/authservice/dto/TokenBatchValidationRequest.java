@@ -0,0 +1,28 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenBatchValidationRequest {
+
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = 500, message = "At most 500 tokens can be validated per request")
+    private List<@NotBlank(message = "Token is required") String> tokens;
+}
@@ -0,0 +1,24 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tokens of {@code username} issued before the second of {@code revokedAt} (epoch millis) are no longer valid.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDTO {
+    private String username;
+    private Long revokedAt;
+}
@@ -27,5 +27,7 @@ public class TokenValidationResponse {
     private UserType userType;
     private Set<String> roles;
     private Set<String> permissions;
+    /** Expiry of the validated token, epoch millis. */
+    private Long expiresAt;
     private String message;
 }
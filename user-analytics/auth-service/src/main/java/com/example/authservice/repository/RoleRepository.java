@@ -12,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -26,4 +27,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByNameWithPermissions(@Param("name") String name);
 
     Set<Role> findByNameIn(Set<String> names);
+
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.permissions")
+    List<Role> findAllWithPermissions();
 }
@@ -14,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.isLocked = true AND u.updatedAt < :since")
     List<User> findLockedUsersSince(@Param("since") LocalDateTime since);
 
+    @Query("SELECT u FROM User u WHERE u.passwordChangedAt > :since " +
+            "OR (u.updatedAt > :since AND (u.isActive = false OR u.isLocked = true))")
+    List<User> findUsersWithRevokedTokensSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.example.authservice.repository.UserRoleRow(" +
+            "u.id, u.username, u.email, u.userType, u.isActive, u.isLocked, r.id) " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.username IN :usernames")
+    List<UserRoleRow> findRoleRowsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRoleName(@Param("roleName") String roleName);
 }
@@ -0,0 +1,17 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.repository;
+
+import com.example.authservice.model.UserType;
+
+/**
+ * What token validation needs from a user, one row per role ({@code roleId} is {@code null} for a
+ * user without roles), read without loading the role and permission graph.
+ */
+public record UserRoleRow(Long userId, String username, String email, UserType userType,
+                          Boolean isActive, Boolean isLocked, Long roleId) {
+}
@@ -21,22 +21,30 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies HS256 tokens. The signing key and parser are built once from the secret;
+ * both are immutable and safe to share between threads.
+ */
 @Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:your-very-long-secret-key-that-is-at-least-256-bits-long-for-hs256-algorithm}")
-    private String secret;
-
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
-
-    @Value("${jwt.refresh.expiration:604800000}") // 7 days in milliseconds
-    private Long refreshExpiration;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final Long expiration;
+    private final Long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    /**
+     * @param expiration        access token lifetime in milliseconds, 24 hours by default
+     * @param refreshExpiration refresh token lifetime in milliseconds, 7 days by default
+     */
+    public JwtUtil(@Value("${jwt.secret:your-very-long-secret-key-that-is-at-least-256-bits-long-for-hs256-algorithm}") String secret,
+                   @Value("${jwt.expiration:86400000}") Long expiration,
+                   @Value("${jwt.refresh.expiration:604800000}") Long refreshExpiration) {
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(User user) {
@@ -47,6 +55,11 @@ public class JwtUtil {
         claims.put("roles", user.getRoles().stream()
                 .map(role -> role.getName())
                 .collect(Collectors.toSet()));
+        // Lets downstream services build the principal without calling back into auth-service
+        claims.put("permissions", user.getRoles().stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .map(permission -> permission.getName())
+                .collect(Collectors.toSet()));
 
         return createToken(claims, user.getUsername(), expiration);
     }
@@ -68,17 +81,22 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(validity)
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * Verifies the token and returns its claims in a single parse.
+     *
+     * @return the claims, or {@code null} if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return getClaimsFromToken(token);
         } catch (SecurityException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -89,8 +107,10 @@ public class JwtUtil {
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("Invalid JWT: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     public String getUsernameFromToken(String token) {
@@ -127,11 +147,7 @@ public class JwtUtil {
     }
 
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Long getExpirationTime() {
@@ -0,0 +1,51 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates calls from the other services by the shared service token they send in
+ * {@value #HEADER}, as a principal with {@value #SERVICE_ROLE}. Without a configured token no
+ * request is authenticated, so service-only endpoints stay closed. Added to the security filter
+ * chain only, not as a servlet filter.
+ */
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Service-Token";
+    public static final String SERVICE_ROLE = "ROLE_SERVICE";
+
+    private final byte[] serviceToken;
+
+    public ServiceTokenFilter(String serviceToken) {
+        this.serviceToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (presented != null && serviceToken.length > 0
+                && MessageDigest.isEqual(serviceToken, presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "service", null, List.of(new SimpleGrantedAuthority(SERVICE_ROLE))));
+        }
+        chain.doFilter(request, response);
+    }
+}
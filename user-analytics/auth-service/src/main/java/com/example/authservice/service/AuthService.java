@@ -16,15 +16,23 @@ import com.example.authservice.model.User;
 import com.example.authservice.repository.PermissionRepository;
 import com.example.authservice.repository.RoleRepository;
 import com.example.authservice.repository.UserRepository;
+import com.example.authservice.repository.UserRoleRow;
 import com.example.authservice.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -40,6 +48,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final UserEventPublisher userEventPublisher;
+    private final RolePermissionCache rolePermissionCache;
 
     @Transactional
     public AuthResponse login(AuthRequest request) {
@@ -164,52 +173,106 @@ public class AuthService {
     }
 
     public TokenValidationResponse validateToken(String token) {
-        try {
-            if (!jwtUtil.validateToken(token)) {
-                return TokenValidationResponse.builder()
-                        .valid(false)
-                        .message("Invalid token")
-                        .build();
-            }
-
-            String username = jwtUtil.getUsernameFromToken(token);
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new AuthException("User not found"));
+        return validateTokens(List.of(token)).get(0);
+    }
 
-            if (!user.getIsActive() || user.getIsLocked()) {
-                return TokenValidationResponse.builder()
-                        .valid(false)
-                        .message("User account is not active")
-                        .build();
+    /**
+     * Validates many tokens at once: each token is parsed once, the users behind all of them are
+     * read in one query without their role graph, and roles and permissions come from
+     * {@link RolePermissionCache}.
+     *
+     * @return one response per token, in the order given
+     */
+    public List<TokenValidationResponse> validateTokens(List<String> tokens) {
+        List<Claims> claims = new ArrayList<>(tokens.size());
+        Set<String> usernames = new HashSet<>();
+        for (String token : tokens) {
+            Claims parsed = jwtUtil.parseValidClaims(token);
+            claims.add(parsed);
+            if (parsed != null && parsed.getSubject() != null) {
+                usernames.add(parsed.getSubject());
             }
+        }
 
-            Set<String> roles = user.getRoles().stream()
-                    .map(Role::getName)
-                    .collect(Collectors.toSet());
+        Map<String, List<UserRoleRow>> rowsByUsername;
+        try {
+            rowsByUsername = usernames.isEmpty() ? Map.of() : userRepository.findRoleRowsByUsernameIn(usernames)
+                    .stream()
+                    .collect(Collectors.groupingBy(UserRoleRow::username));
+        } catch (Exception e) {
+            log.error("Token validation failed: {}", e.getMessage());
+            TokenValidationResponse failed = invalid("Token validation failed: " + e.getMessage());
+            return tokens.stream().map(token -> failed).toList();
+        }
 
-            Set<String> permissions = user.getRoles().stream()
-                    .flatMap(role -> role.getPermissions().stream())
-                    .map(Permission::getName)
-                    .collect(Collectors.toSet());
+        return claims.stream()
+                .map(parsed -> parsed == null || parsed.getSubject() == null
+                        ? invalid("Invalid token")
+                        : toValidationResponse(parsed, rowsByUsername.get(parsed.getSubject())))
+                .toList();
+    }
 
-            return TokenValidationResponse.builder()
-                    .valid(true)
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .userId(user.getId())
-                    .userType(user.getUserType())
-                    .roles(roles)
-                    .permissions(permissions)
-                    .message("Token is valid")
-                    .build();
+    private TokenValidationResponse toValidationResponse(Claims claims, List<UserRoleRow> rows) {
+        if (rows == null) {
+            return invalid("Token validation failed: User not found");
+        }
+
+        UserRoleRow user = rows.get(0);
+        if (!user.isActive() || user.isLocked()) {
+            return invalid("User account is not active");
+        }
 
+        RolePermissionCache.Grants grants;
+        try {
+            // Loads the role graph on a cold or expired cache
+            grants = rolePermissionCache.grants(rows.stream()
+                    .map(UserRoleRow::roleId)
+                    .filter(Objects::nonNull)
+                    .toList());
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
-            return TokenValidationResponse.builder()
-                    .valid(false)
-                    .message("Token validation failed: " + e.getMessage())
-                    .build();
+            return invalid("Token validation failed: " + e.getMessage());
         }
+
+        return TokenValidationResponse.builder()
+                .valid(true)
+                .username(user.username())
+                .email(user.email())
+                .userId(user.userId())
+                .userType(user.userType())
+                .roles(grants.roles())
+                .permissions(grants.permissions())
+                .expiresAt(claims.getExpiration() != null ? claims.getExpiration().getTime() : null)
+                .message("Token is valid")
+                .build();
+    }
+
+    private static TokenValidationResponse invalid(String message) {
+        return TokenValidationResponse.builder()
+                .valid(false)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Users whose previously issued tokens must be rejected: password changed,
+     * or account deactivated/locked since {@code sinceEpochMillis}.
+     */
+    public List<TokenRevocationDTO> getTokenRevocationsSince(long sinceEpochMillis) {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceEpochMillis), ZoneId.systemDefault());
+
+        return userRepository.findUsersWithRevokedTokensSince(since).stream()
+                .map(user -> {
+                    LocalDateTime revokedAt = user.getPasswordChangedAt() != null
+                            && user.getPasswordChangedAt().isAfter(since)
+                            ? user.getPasswordChangedAt()
+                            : user.getUpdatedAt();
+                    return TokenRevocationDTO.builder()
+                            .username(user.getUsername())
+                            .revokedAt(revokedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -23,6 +23,7 @@ public class DatabaseInitializer implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final RolePermissionCache rolePermissionCache;
 
     @Override
     @Transactional
@@ -31,6 +32,7 @@ public class DatabaseInitializer implements CommandLineRunner {
 
         initializePermissions();
         initializeRoles();
+        rolePermissionCache.invalidate();
 
         log.info("Database initialization completed");
     }
@@ -0,0 +1,117 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.service;
+
+import com.example.authservice.model.Permission;
+import com.example.authservice.model.Role;
+import com.example.authservice.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Role names and permissions granted by a set of roles, so token validation does not walk
+ * {@code role.getPermissions()} for every request. All roles are loaded with their permissions in
+ * one query; the merged grants of each distinct role set are computed once and then shared by
+ * every user holding that set. Code that changes roles or their permissions calls
+ * {@link #invalidate()}; the snapshot is also reloaded after {@code ttl-ms} to pick up changes
+ * made outside this service.
+ */
+@Component
+public class RolePermissionCache {
+
+    public record Grants(Set<String> roles, Set<String> permissions) {
+    }
+
+    private record Snapshot(Map<Long, Grants> byRole, Map<Set<Long>, Grants> byRoleSet, long loadedAt) {
+    }
+
+    private final RoleRepository roleRepository;
+    private final long ttlMs;
+    private volatile Snapshot snapshot;
+
+    public RolePermissionCache(RoleRepository roleRepository,
+                               @Value("${security.permission-cache.ttl-ms:300000}") long ttlMs) {
+        this.roleRepository = roleRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    public Grants grants(Collection<Long> roleIds) {
+        Snapshot current = current();
+        Set<Long> key = Set.copyOf(roleIds);
+        if (!current.byRole().keySet().containsAll(key)) {
+            // A role created since the last load
+            current = reload(current);
+        }
+        Snapshot loaded = current;
+        return loaded.byRoleSet().computeIfAbsent(key, ids -> merge(loaded, ids));
+    }
+
+    /**
+     * Forces the next lookup to reload. Inside a transaction the snapshot is dropped again after
+     * commit so a concurrent reload cannot keep the old permissions.
+     */
+    public void invalidate() {
+        snapshot = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshot = null;
+                }
+            });
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() - current.loadedAt() > ttlMs) {
+            current = reload(current);
+        }
+        return current;
+    }
+
+    private synchronized Snapshot reload(Snapshot stale) {
+        // Another thread may have reloaded while this one waited
+        Snapshot current = snapshot;
+        if (current != null && current != stale) {
+            return current;
+        }
+
+        Map<Long, Grants> byRole = new HashMap<>();
+        for (Role role : roleRepository.findAllWithPermissions()) {
+            byRole.put(role.getId(), new Grants(
+                    Set.of(role.getName()),
+                    role.getPermissions().stream().map(Permission::getName).collect(Collectors.toUnmodifiableSet())));
+        }
+        current = new Snapshot(byRole, new ConcurrentHashMap<>(), System.currentTimeMillis());
+        snapshot = current;
+        return current;
+    }
+
+    private static Grants merge(Snapshot snapshot, Set<Long> roleIds) {
+        Set<String> roles = new HashSet<>();
+        Set<String> permissions = new HashSet<>();
+        for (Long roleId : roleIds) {
+            Grants grants = snapshot.byRole().get(roleId);
+            if (grants != null) {
+                roles.addAll(grants.roles());
+                permissions.addAll(grants.permissions());
+            }
+        }
+        return new Grants(Set.copyOf(roles), Set.copyOf(permissions));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.benchmark;
+
+import com.example.authservice.model.Permission;
+import com.example.authservice.model.Role;
+import com.example.authservice.model.User;
+import com.example.authservice.model.UserType;
+import com.example.authservice.repository.RoleRepository;
+import com.example.authservice.security.JwtUtil;
+import com.example.authservice.service.RolePermissionCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Token validations per second on one core, before and after the single-parse fast path. The
+ * user lookup is left out: it is one indexed query either way, and only its result shape changed.
+ * <p>
+ * Run with
+ * {@code mvn -pl auth-service test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-classpath %classpath com.example.authservice.benchmark.TokenValidationBenchmark"}
+ * <p>
+ * The benchmark forks a JVM from the runner's {@code java.class.path}, so the runner has to be a
+ * JVM of its own; under {@code exec:java} the test classes are only on Maven's class loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TokenValidationBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-key-that-is-at-least-256-bits-long-for-the-hs256-algorithm";
+
+    private JwtUtil jwtUtil;
+    private RolePermissionCache rolePermissionCache;
+    private Set<Role> roles;
+    private List<Long> roleIds;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        roles = Set.of(role(1L, "ROLE_DOCTOR", 12), role(2L, "ROLE_STAFF", 9));
+        roleIds = roles.stream().map(Role::getId).toList();
+
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.copyOf(roles));
+        rolePermissionCache = new RolePermissionCache(roleRepository, Long.MAX_VALUE);
+
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, 604_800_000L);
+        token = jwtUtil.generateToken(User.builder()
+                .id(42L)
+                .username("benchmark-user")
+                .email("benchmark@example.com")
+                .userType(UserType.DOCTOR)
+                .roles(roles)
+                .build());
+    }
+
+    /**
+     * The previous path: the token is parsed twice with a freshly derived key and parser, then
+     * the role graph is walked for roles and permissions.
+     */
+    @Benchmark
+    public void parseTwiceAndWalkRoles(Blackhole blackhole) {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(roles.stream().map(Role::getName).collect(Collectors.toSet()));
+        blackhole.consume(roles.stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .map(Permission::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    @Benchmark
+    public void parseOnceWithCachedGrants(Blackhole blackhole) {
+        Claims claims = jwtUtil.parseValidClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(rolePermissionCache.grants(roleIds));
+    }
+
+    private static Role role(Long id, String name, int permissionCount) {
+        Set<Permission> permissions = IntStream.range(0, permissionCount)
+                .mapToObj(i -> Permission.builder().id(id * 100 + i).name(name + "_PERMISSION_" + i).build())
+                .collect(Collectors.toCollection(HashSet::new));
+        return Role.builder().id(id).name(name).permissions(permissions).build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenValidationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
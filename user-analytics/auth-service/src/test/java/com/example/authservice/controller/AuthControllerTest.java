@@ -10,6 +10,7 @@ package com.example.authservice.controller;
 import com.example.authservice.dto.AuthRequest;
 import com.example.authservice.dto.RegisterRequest;
 import com.example.authservice.model.UserType;
+import com.example.authservice.security.ServiceTokenFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,7 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest(classes = {AuthServiceApplication.class})
+@SpringBootTest(classes = {AuthServiceApplication.class}, properties = "security.service-token=test-service-token")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Import(TestcontainersConfiguration.class)
@@ -52,6 +53,19 @@ class AuthControllerTest {
                 .andExpect((ResultMatcher) content().string("Auth Service is running"));
     }
 
+    @Test
+    void testRevocationsRequireTheServiceToken() throws Exception {
+        mockMvc.perform(get("/api/auth/revocations").param("since", "0"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/auth/revocations").param("since", "0")
+                        .header(ServiceTokenFilter.HEADER, "wrong-token"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/auth/revocations").param("since", "0")
+                        .header(ServiceTokenFilter.HEADER, "test-service-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
     @Test
     void testRegisterEndpoint() throws Exception {
         RegisterRequest request = RegisterRequest.builder()
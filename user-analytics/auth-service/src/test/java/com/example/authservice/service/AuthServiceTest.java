@@ -9,13 +9,18 @@ package com.example.authservice.service;
 import com.example.authservice.dto.AuthRequest;
 import com.example.authservice.dto.AuthResponse;
 import com.example.authservice.dto.RegisterRequest;
+import com.example.authservice.dto.TokenRevocationDTO;
+import com.example.authservice.dto.TokenValidationResponse;
 import com.example.authservice.exception.AuthException;
 import com.example.authservice.model.Role;
 import com.example.authservice.model.User;
 import com.example.authservice.model.UserType;
 import com.example.authservice.repository.RoleRepository;
 import com.example.authservice.repository.UserRepository;
+import com.example.authservice.repository.UserRoleRow;
 import com.example.authservice.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,10 +28,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -51,6 +59,9 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private RolePermissionCache rolePermissionCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -254,4 +265,100 @@ class AuthServiceTest {
                 user.getFailedLoginAttempts() == 1
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTokenRevocationsUsePasswordChangeTime() {
+        // Arrange
+        LocalDateTime changedAt = LocalDateTime.now().minusMinutes(5);
+        testUser.setPasswordChangedAt(changedAt);
+        long since = changedAt.minusMinutes(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        when(userRepository.findUsersWithRevokedTokensSince(any(LocalDateTime.class)))
+                .thenReturn(List.of(testUser));
+
+        // Act
+        List<TokenRevocationDTO> revocations = authService.getTokenRevocationsSince(since);
+
+        // Assert
+        assertThat(revocations).hasSize(1);
+        assertThat(revocations.get(0).getUsername()).isEqualTo("testuser");
+        assertThat(revocations.get(0).getRevokedAt())
+                .isEqualTo(changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    @Test
+    void testValidateTokenParsesOnceAndUsesCachedPermissions() {
+        // Arrange
+        when(jwtUtil.parseValidClaims("access-token")).thenReturn(claimsFor("testuser"));
+        when(userRepository.findRoleRowsByUsernameIn(Set.of("testuser")))
+                .thenReturn(List.of(roleRow("testuser", true, false, 1L)));
+        when(rolePermissionCache.grants(List.of(1L)))
+                .thenReturn(new RolePermissionCache.Grants(Set.of("ROLE_PATIENT"), Set.of("APPOINTMENT_READ")));
+
+        // Act
+        TokenValidationResponse response = authService.validateToken("access-token");
+
+        // Assert
+        assertThat(response.getValid()).isTrue();
+        assertThat(response.getUserId()).isEqualTo(1L);
+        assertThat(response.getRoles()).containsExactly("ROLE_PATIENT");
+        assertThat(response.getPermissions()).containsExactly("APPOINTMENT_READ");
+        verify(jwtUtil, times(1)).parseValidClaims("access-token");
+        verify(jwtUtil, never()).getUsernameFromToken(anyString());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testValidateTokensAnswersEachTokenInOrderWithOneUserQuery() {
+        // Arrange
+        when(jwtUtil.parseValidClaims("valid")).thenReturn(claimsFor("testuser"));
+        when(jwtUtil.parseValidClaims("garbage")).thenReturn(null);
+        when(jwtUtil.parseValidClaims("locked")).thenReturn(claimsFor("lockeduser"));
+        when(jwtUtil.parseValidClaims("unknown")).thenReturn(claimsFor("ghost"));
+        when(userRepository.findRoleRowsByUsernameIn(Set.of("testuser", "lockeduser", "ghost")))
+                .thenReturn(List.of(
+                        roleRow("testuser", true, false, 1L),
+                        roleRow("testuser", true, false, 2L),
+                        roleRow("lockeduser", true, true, 1L)));
+        when(rolePermissionCache.grants(List.of(1L, 2L)))
+                .thenReturn(new RolePermissionCache.Grants(Set.of("ROLE_PATIENT", "ROLE_STAFF"), Set.of("BILLING_READ")));
+
+        // Act
+        List<TokenValidationResponse> responses =
+                authService.validateTokens(List.of("valid", "garbage", "locked", "unknown"));
+
+        // Assert
+        assertThat(responses).extracting(TokenValidationResponse::getValid)
+                .containsExactly(true, false, false, false);
+        assertThat(responses.get(0).getRoles()).containsExactlyInAnyOrder("ROLE_PATIENT", "ROLE_STAFF");
+        assertThat(responses).extracting(TokenValidationResponse::getMessage)
+                .containsExactly("Token is valid", "Invalid token", "User account is not active",
+                        "Token validation failed: User not found");
+        verify(userRepository, times(1)).findRoleRowsByUsernameIn(any());
+    }
+
+    @Test
+    void testValidateTokenReportsInvalidWhenPermissionsCannotBeLoaded() {
+        // Arrange
+        when(jwtUtil.parseValidClaims("access-token")).thenReturn(claimsFor("testuser"));
+        when(userRepository.findRoleRowsByUsernameIn(Set.of("testuser")))
+                .thenReturn(List.of(roleRow("testuser", true, false, 1L)));
+        when(rolePermissionCache.grants(List.of(1L)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act
+        TokenValidationResponse response = authService.validateToken("access-token");
+
+        // Assert
+        assertThat(response.getValid()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Token validation failed: Connection refused");
+    }
+
+    private static Claims claimsFor(String username) {
+        return Jwts.claims().subject(username).build();
+    }
+
+    private static UserRoleRow roleRow(String username, boolean active, boolean locked, Long roleId) {
+        return new UserRoleRow(1L, username, username + "@example.com", UserType.PATIENT, active, locked, roleId);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.authservice.service;
+
+import com.example.authservice.model.Permission;
+import com.example.authservice.model.Role;
+import com.example.authservice.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Role Permission Cache Tests")
+@ExtendWith(MockitoExtension.class)
+class RolePermissionCacheTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Test
+    void testGrantsMergeRolesAndAreSharedPerRoleSet() {
+        // Arrange
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(
+                role(1L, "ROLE_PATIENT", "APPOINTMENT_READ", "BILLING_READ"),
+                role(2L, "ROLE_STAFF", "BILLING_READ", "BILLING_CREATE")));
+        RolePermissionCache cache = new RolePermissionCache(roleRepository, 300_000);
+
+        // Act
+        RolePermissionCache.Grants grants = cache.grants(List.of(1L, 2L));
+
+        // Assert
+        assertThat(grants.roles()).containsExactlyInAnyOrder("ROLE_PATIENT", "ROLE_STAFF");
+        assertThat(grants.permissions())
+                .containsExactlyInAnyOrder("APPOINTMENT_READ", "BILLING_READ", "BILLING_CREATE");
+        assertThat(cache.grants(List.of(2L, 1L))).isSameAs(grants);
+        verify(roleRepository, times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void testInvalidateAndUnknownRolesReload() {
+        // Arrange
+        when(roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(role(1L, "ROLE_PATIENT", "APPOINTMENT_READ")))
+                .thenReturn(List.of(role(1L, "ROLE_PATIENT", "APPOINTMENT_READ", "APPOINTMENT_CREATE")))
+                .thenReturn(List.of(role(1L, "ROLE_PATIENT", "APPOINTMENT_READ", "APPOINTMENT_CREATE"),
+                        role(3L, "ROLE_PHARMACIST", "PRESCRIPTION_READ")));
+        RolePermissionCache cache = new RolePermissionCache(roleRepository, 300_000);
+        assertThat(cache.grants(List.of(1L)).permissions()).containsExactly("APPOINTMENT_READ");
+
+        // Act
+        cache.invalidate();
+        RolePermissionCache.Grants afterInvalidate = cache.grants(List.of(1L));
+        RolePermissionCache.Grants withNewRole = cache.grants(List.of(3L));
+
+        // Assert
+        assertThat(afterInvalidate.permissions()).containsExactlyInAnyOrder("APPOINTMENT_READ", "APPOINTMENT_CREATE");
+        assertThat(withNewRole.roles()).containsExactly("ROLE_PHARMACIST");
+        verify(roleRepository, times(3)).findAllWithPermissions();
+    }
+
+    private static Role role(Long id, String name, String... permissions) {
+        return Role.builder()
+                .id(id)
+                .name(name)
+                .permissions(Arrays.stream(permissions)
+                        .map(permission -> Permission.builder().name(permission).build())
+                        .collect(Collectors.toCollection(HashSet::new)))
+                .build();
+    }
+}
@@ -1,21 +1,40 @@
 package com.healthcare.billingservice.controller;
 
+import com.example.common.search.SearchSlice;
 import com.example.common.security.annotation.RequirePermission;
 import com.example.common.security.constants.PermissionConstants;
+import com.example.common.security.util.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO;
 import com.healthcare.billingservice.dto.InvoiceDTO;
 import com.healthcare.billingservice.dto.PaymentDTO;
 import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.exception.UnauthorizedException;
+import com.healthcare.billingservice.service.BulkPaymentReader;
 import com.healthcare.billingservice.service.impl.BillingService;
+import com.healthcare.billingservice.service.impl.BulkPaymentService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -23,7 +42,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BillingController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final BillingService billingService;
+    private final BulkPaymentService bulkPaymentService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/invoices")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
@@ -33,6 +56,14 @@ public class BillingController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @PostMapping("/invoices/bulk")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    @RequirePermission(PermissionConstants.BILLING_CREATE)
+    public ResponseEntity<List<InvoiceDTO>> createInvoices(@RequestBody List<InvoiceDTO> invoiceDTOs) {
+        List<InvoiceDTO> created = billingService.createInvoices(invoiceDTOs);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
     @GetMapping("/invoices/{id}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     @RequirePermission(PermissionConstants.BILLING_READ)
@@ -95,6 +126,24 @@ public class BillingController {
         return ResponseEntity.ok(total);
     }
 
+    @GetMapping("/invoices/revenue")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<BigDecimal> getTotalRevenueBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        BigDecimal total = billingService.getTotalRevenueBetween(startDate, endDate);
+        return ResponseEntity.ok(total);
+    }
+
+    @GetMapping("/payments/total")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<BigDecimal> getTotalPaymentsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        BigDecimal total = billingService.getTotalPaymentsBetween(startDate, endDate);
+        return ResponseEntity.ok(total);
+    }
+
     @GetMapping("/invoices/search")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<Page<InvoiceDTO>> searchInvoices(
@@ -104,6 +153,16 @@ public class BillingController {
         return ResponseEntity.ok(invoices);
     }
 
+    @GetMapping("/invoices/search/scroll")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<SearchSlice<InvoiceDTO>> scrollInvoices(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchSlice<InvoiceDTO> invoices = billingService.searchInvoices(query, cursor, size);
+        return ResponseEntity.ok(invoices);
+    }
+
     @PutMapping("/invoices/{id}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<InvoiceDTO> updateInvoice(
@@ -142,4 +201,48 @@ public class BillingController {
         billingService.deleteInvoice(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Posts a clearinghouse payment file (NDJSON, or CSV with a header row) and streams back one
+     * NDJSON result per line as each batch commits.
+     */
+    @PostMapping(value = "/payments/bulk",
+            consumes = {APPLICATION_NDJSON, "text/csv"},
+            produces = APPLICATION_NDJSON)
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<StreamingResponseBody> postPayments(HttpServletRequest request) {
+        // The security context is not available on the thread that writes the response
+        Long userId = SecurityUtils.getCurrentUserId()
+                .orElseThrow(() -> new UnauthorizedException("User not authenticated"));
+        BulkPaymentReader.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? BulkPaymentReader.Format.CSV
+                : BulkPaymentReader.Format.NDJSON;
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            try {
+                bulkPaymentService.postPayments(in, format, userId, result -> writeLine(out, result));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, BulkPaymentResultDTO result) {
+        try {
+            // writeValue(OutputStream) would close the response stream after the first line
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
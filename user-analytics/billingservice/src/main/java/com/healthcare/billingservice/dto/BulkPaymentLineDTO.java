@@ -0,0 +1,35 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk payment file: the payment fields plus the invoice it pays, given either by
+ * id or by invoice number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentLineDTO {
+
+    private Long invoiceId;
+
+    @Size(max = 50, message = "Invoice number must not exceed 50 characters")
+    private String invoiceNumber;
+
+    @Valid
+    @NotNull(message = "Payment is required")
+    @JsonUnwrapped
+    private PaymentDTO payment;
+}
@@ -0,0 +1,59 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one line of a bulk payment file, written back in input order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkPaymentResultDTO {
+
+    public enum Outcome {
+        /**
+         * The payment was saved and applied to its invoice.
+         */
+        POSTED,
+        /**
+         * The line was invalid or did not fit its invoice; nothing was saved for it.
+         */
+        REJECTED,
+        /**
+         * The line was valid but its batch could not be committed; it can be resubmitted.
+         */
+        FAILED
+    }
+
+    private long line;
+
+    private Outcome outcome;
+
+    private Long invoiceId;
+
+    private String paymentReference;
+
+    private String error;
+
+    public static BulkPaymentResultDTO posted(long line, Long invoiceId, String paymentReference) {
+        return new BulkPaymentResultDTO(line, Outcome.POSTED, invoiceId, paymentReference, null);
+    }
+
+    public static BulkPaymentResultDTO rejected(long line, Long invoiceId, String error) {
+        return new BulkPaymentResultDTO(line, Outcome.REJECTED, invoiceId, null, error);
+    }
+
+    public static BulkPaymentResultDTO failed(long line, Long invoiceId, String error) {
+        return new BulkPaymentResultDTO(line, Outcome.FAILED, invoiceId, null, error);
+    }
+}
@@ -11,8 +11,10 @@ import com.healthcare.billingservice.entity.PaymentMethod;
 import com.healthcare.billingservice.entity.PaymentStatus;
 import com.healthcare.billingservice.exception.UnauthorizedException;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -34,6 +36,7 @@ public class PaymentDTO {
 
     @NotNull(message = "Amount is required")
     @Min(value = 0, message = "Amount cannot be negative")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 8 digits and 2 decimals")
     private BigDecimal amount;
 
     @NotNull(message = "Payment method is required")
@@ -41,16 +44,21 @@ public class PaymentDTO {
 
     private PaymentStatus status;
 
+    @Size(max = 100, message = "Transaction ID must not exceed 100 characters")
     private String transactionId;
 
+    @Size(max = 4, message = "Card last four must not exceed 4 characters")
     private String cardLastFour;
 
+    @Size(max = 20, message = "Card type must not exceed 20 characters")
     private String cardType;
 
+    @Size(max = 50, message = "Receipt number must not exceed 50 characters")
     private String receiptNumber;
 
     private String notes;
 
+    @Size(max = 100, message = "Processed by must not exceed 100 characters")
     private String processedBy;
 
     private LocalDateTime createdAt;
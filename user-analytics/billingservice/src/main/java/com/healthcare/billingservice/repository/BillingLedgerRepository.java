@@ -0,0 +1,135 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.repository;
+
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and maintains the invoice_daily_summary / payment_daily_summary ledger tables.
+ * Invoices are bucketed by invoice date, doctor and status, completed payments by payment
+ * day and doctor; doctor_id 0 stands for "no doctor".
+ */
+@Repository
+@RequiredArgsConstructor
+public class BillingLedgerRepository {
+
+    private static final String RAW_INVOICES =
+            "SELECT invoice_date AS summary_date, COALESCE(doctor_id, 0) AS doctor_id, status, " +
+            "COUNT(*) AS invoice_count, COALESCE(SUM(total_amount), 0) AS total_amount, " +
+            "COALESCE(SUM(balance_due), 0) AS balance_due " +
+            "FROM invoices GROUP BY invoice_date, COALESCE(doctor_id, 0), status";
+
+    private static final String RAW_PAYMENTS =
+            "SELECT CAST(p.payment_date AS DATE) AS summary_date, COALESCE(i.doctor_id, 0) AS doctor_id, " +
+            "COUNT(*) AS payment_count, SUM(p.amount) AS amount " +
+            "FROM payments p JOIN invoices i ON i.id = p.invoice_id WHERE p.status = 'COMPLETED' " +
+            "GROUP BY CAST(p.payment_date AS DATE), COALESCE(i.doctor_id, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Change to one invoice summary row; negative values take invoices out of the row.
+     */
+    public record InvoiceDelta(LocalDate day, long doctorId, InvoiceStatus status,
+                               long count, BigDecimal totalAmount, BigDecimal balanceDue) {
+    }
+
+    /**
+     * Change to one payment summary row.
+     */
+    public record PaymentDelta(LocalDate day, long doctorId, long count, BigDecimal amount) {
+    }
+
+    public void addInvoiceDeltas(List<InvoiceDelta> deltas) {
+        jdbcTemplate.batchUpdate("INSERT INTO invoice_daily_summary " +
+                        "(summary_date, doctor_id, status, invoice_count, total_amount, balance_due) " +
+                        "VALUES (?, ?, ?, ?, ?, ?) " +
+                        "ON CONFLICT (summary_date, doctor_id, status) DO UPDATE SET " +
+                        "invoice_count = invoice_daily_summary.invoice_count + EXCLUDED.invoice_count, " +
+                        "total_amount = invoice_daily_summary.total_amount + EXCLUDED.total_amount, " +
+                        "balance_due = invoice_daily_summary.balance_due + EXCLUDED.balance_due",
+                deltas.stream().map(delta -> new Object[]{Date.valueOf(delta.day()), delta.doctorId(),
+                        delta.status().name(), delta.count(), delta.totalAmount(), delta.balanceDue()}).toList());
+    }
+
+    public void addPaymentDeltas(List<PaymentDelta> deltas) {
+        jdbcTemplate.batchUpdate("INSERT INTO payment_daily_summary (summary_date, doctor_id, payment_count, amount) " +
+                        "VALUES (?, ?, ?, ?) " +
+                        "ON CONFLICT (summary_date, doctor_id) DO UPDATE SET " +
+                        "payment_count = payment_daily_summary.payment_count + EXCLUDED.payment_count, " +
+                        "amount = payment_daily_summary.amount + EXCLUDED.amount",
+                deltas.stream().map(delta -> new Object[]{Date.valueOf(delta.day()), delta.doctorId(),
+                        delta.count(), delta.amount()}).toList());
+    }
+
+    public BigDecimal sumBalanceDue(Collection<InvoiceStatus> statuses) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(balance_due), 0) FROM invoice_daily_summary " +
+                "WHERE status IN (" + inList(statuses) + ")", BigDecimal.class);
+    }
+
+    public BigDecimal sumTotalAmount(InvoiceStatus status, LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(total_amount), 0) FROM invoice_daily_summary " +
+                        "WHERE status = ? AND summary_date BETWEEN ? AND ?",
+                BigDecimal.class, status.name(), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public BigDecimal sumPayments(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM payment_daily_summary " +
+                        "WHERE summary_date BETWEEN ? AND ?",
+                BigDecimal.class, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Number of invoice summary rows that disagree with the invoices table. Both sides are read in
+     * one statement, so concurrent writers cannot make them look out of step.
+     */
+    public long countInvoiceMismatches() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + RAW_INVOICES + ") r " +
+                "FULL OUTER JOIN invoice_daily_summary s USING (summary_date, doctor_id, status) " +
+                "WHERE COALESCE(r.invoice_count, 0) <> COALESCE(s.invoice_count, 0) " +
+                "OR COALESCE(r.total_amount, 0) <> COALESCE(s.total_amount, 0) " +
+                "OR COALESCE(r.balance_due, 0) <> COALESCE(s.balance_due, 0)", Long.class);
+    }
+
+    public long countPaymentMismatches() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + RAW_PAYMENTS + ") r " +
+                "FULL OUTER JOIN payment_daily_summary s USING (summary_date, doctor_id) " +
+                "WHERE COALESCE(r.payment_count, 0) <> COALESCE(s.payment_count, 0) " +
+                "OR COALESCE(r.amount, 0) <> COALESCE(s.amount, 0)", Long.class);
+    }
+
+    /**
+     * Recomputes both summaries from the raw tables. Must run inside a transaction: the EXCLUSIVE
+     * locks wait for in-flight ledger writers to commit and hold new ones back until the rebuild
+     * commits, so no delta is lost or counted twice.
+     */
+    public void rebuild() {
+        jdbcTemplate.execute("LOCK TABLE invoice_daily_summary, payment_daily_summary IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM invoice_daily_summary");
+        jdbcTemplate.update("INSERT INTO invoice_daily_summary " +
+                "(summary_date, doctor_id, status, invoice_count, total_amount, balance_due) " + RAW_INVOICES);
+        jdbcTemplate.update("DELETE FROM payment_daily_summary");
+        jdbcTemplate.update("INSERT INTO payment_daily_summary " +
+                "(summary_date, doctor_id, payment_count, amount) " + RAW_PAYMENTS);
+    }
+
+    private static String inList(Collection<InvoiceStatus> statuses) {
+        return statuses.stream()
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.repository;
+
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.entity.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access for bulk payment posting: one query per batch to lock the affected invoices
+ * and one JDBC batch each for the payment inserts and invoice balance updates, instead of a
+ * find and two saves per payment.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkPaymentRepository {
+
+    /**
+     * The columns of a locked invoice that posting a payment reads and changes.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class InvoiceBalance {
+        private long id;
+        private Long doctorId;
+        private LocalDate invoiceDate;
+        private InvoiceStatus status;
+        private BigDecimal totalAmount;
+        private BigDecimal paidAmount;
+        private BigDecimal balanceDue;
+        private LocalDateTime paidAt;
+    }
+
+    /**
+     * A payment to insert and the invoice it pays.
+     */
+    public record NewPayment(long invoiceId, Payment payment) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<String, Long> findIdsByInvoiceNumber(Collection<String> invoiceNumbers) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, invoice_number FROM invoices WHERE invoice_number IN (:numbers)",
+                Map.of("numbers", invoiceNumbers),
+                rs -> {
+                    ids.put(rs.getString("invoice_number"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    /**
+     * Locks the invoices with {@code FOR UPDATE}. Postgres sorts before it locks, so concurrent
+     * batches always take their row locks in id order and cannot deadlock on each other.
+     */
+    public List<InvoiceBalance> lockInvoices(Collection<Long> ids) {
+        return jdbcTemplate.query("SELECT id, doctor_id, invoice_date, status, total_amount, paid_amount, " +
+                        "balance_due, paid_at FROM invoices WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                Map.of("ids", ids),
+                (rs, rowNum) -> new InvoiceBalance(
+                        rs.getLong("id"),
+                        rs.getObject("doctor_id", Long.class),
+                        rs.getObject("invoice_date", LocalDate.class),
+                        InvoiceStatus.valueOf(rs.getString("status")),
+                        orZero(rs.getBigDecimal("total_amount")),
+                        orZero(rs.getBigDecimal("paid_amount")),
+                        orZero(rs.getBigDecimal("balance_due")),
+                        rs.getObject("paid_at", LocalDateTime.class)));
+    }
+
+    public void insertPayments(List<NewPayment> payments) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate("INSERT INTO payments (invoice_id, payment_reference, " +
+                        "payment_date, amount, payment_method, status, transaction_id, card_last_four, card_type, " +
+                        "receipt_number, notes, processed_by, created_at, user_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                payments.stream().map(row -> {
+                    Payment payment = row.payment();
+                    return new Object[]{
+                            row.invoiceId(),
+                            payment.getPaymentReference(),
+                            Timestamp.valueOf(payment.getPaymentDate()),
+                            payment.getAmount(),
+                            payment.getPaymentMethod().name(),
+                            payment.getStatus().name(),
+                            payment.getTransactionId(),
+                            payment.getCardLastFour(),
+                            payment.getCardType(),
+                            payment.getReceiptNumber(),
+                            payment.getNotes(),
+                            payment.getProcessedBy(),
+                            now,
+                            payment.getUserId()};
+                }).toList());
+    }
+
+    public void updateBalances(Collection<InvoiceBalance> invoices) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate("UPDATE invoices SET paid_amount = ?, balance_due = ?, " +
+                        "status = ?, paid_at = ?, updated_at = ? WHERE id = ?",
+                invoices.stream().map(invoice -> new Object[]{
+                        invoice.getPaidAmount(),
+                        invoice.getBalanceDue(),
+                        invoice.getStatus().name(),
+                        invoice.getPaidAt() != null ? Timestamp.valueOf(invoice.getPaidAt()) : null,
+                        now,
+                        invoice.getId()}).toList());
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+}
@@ -6,6 +6,7 @@
 
 package com.healthcare.billingservice.repository;
 
+import com.example.common.search.SearchHit;
 import com.healthcare.billingservice.entity.Invoice;
 import com.healthcare.billingservice.entity.InvoiceStatus;
 import org.springframework.data.domain.Page;
@@ -23,6 +24,8 @@ import java.util.Optional;
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
+    String SEARCH_MATCH = "(i.search_text LIKE :pattern OR :term <% i.search_text)";
+
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 
     boolean existsByInvoiceNumber(String invoiceNumber);
@@ -74,8 +77,25 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
             "AND i.balanceDue > 0 ORDER BY i.dueDate ASC")
     List<Invoice> findPatientOutstandingInvoices(@Param("patientId") Long patientId);
 
-    @Query("SELECT i FROM Invoice i WHERE " +
-            "LOWER(i.invoiceNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(i.patientName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Invoice> searchInvoices(@Param("searchTerm") String searchTerm, Pageable pageable);
+    /**
+     * Substring or typo-tolerant match on the trigram-indexed {@code search_text} column,
+     * best matches first. Takes a {@link com.example.common.search.SearchTerm}; the pageable must be unsorted.
+     */
+    @Query(value = "SELECT i.* FROM invoices i WHERE " + SEARCH_MATCH +
+            " ORDER BY word_similarity(:term, i.search_text) DESC, i.id",
+            countQuery = "SELECT COUNT(*) FROM invoices i WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<Invoice> searchInvoices(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same matches as {@link #searchInvoices}, as a keyset page after ({@code afterRank}, {@code afterId}).
+     */
+    @Query(value = "SELECT s.id AS id, s.rank AS rank FROM (" +
+            "SELECT i.id, word_similarity(:term, i.search_text) AS rank FROM invoices i WHERE " + SEARCH_MATCH +
+            ") s WHERE s.rank < :afterRank OR (s.rank = :afterRank AND s.id > :afterId)" +
+            " ORDER BY s.rank DESC, s.id LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHit> searchInvoicesAfter(@Param("term") String term, @Param("pattern") String pattern,
+                                        @Param("afterRank") float afterRank, @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
 }
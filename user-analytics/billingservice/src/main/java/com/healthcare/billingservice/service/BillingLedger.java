@@ -0,0 +1,216 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.healthcare.billingservice.entity.Invoice;
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.entity.Payment;
+import com.healthcare.billingservice.entity.PaymentStatus;
+import com.healthcare.billingservice.repository.BillingLedgerRepository;
+import com.healthcare.billingservice.repository.BillingLedgerRepository.InvoiceDelta;
+import com.healthcare.billingservice.repository.BillingLedgerRepository.PaymentDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the daily billing summaries in step with invoices and payments. Every invoice change is
+ * recorded as the difference between its ledger entry before and after, in the transaction that
+ * makes the change, so dashboard totals are read from a few summary rows instead of every invoice.
+ */
+@Component
+@RequiredArgsConstructor
+public class BillingLedger {
+
+    /**
+     * Statuses whose balance counts as outstanding; matches {@code InvoiceRepository.getTotalOutstanding}.
+     */
+    static final Set<InvoiceStatus> OUTSTANDING_STATUSES = EnumSet.of(
+            InvoiceStatus.PENDING, InvoiceStatus.SENT, InvoiceStatus.PARTIALLY_PAID, InvoiceStatus.OVERDUE);
+
+    private static final long NO_DOCTOR = 0L;
+
+    // Summary rows are always written in this order, so two transactions touching the same
+    // rows cannot deadlock
+    private static final Comparator<InvoiceDelta> INVOICE_ROW_ORDER = Comparator
+            .comparing(InvoiceDelta::day)
+            .thenComparingLong(InvoiceDelta::doctorId)
+            .thenComparing(delta -> delta.status().name());
+    private static final Comparator<PaymentDelta> PAYMENT_ROW_ORDER = Comparator
+            .comparing(PaymentDelta::day)
+            .thenComparingLong(PaymentDelta::doctorId);
+
+    /**
+     * What one invoice contributes to its summary row.
+     */
+    public record Entry(LocalDate invoiceDate, long doctorId, InvoiceStatus status,
+                        BigDecimal totalAmount, BigDecimal balanceDue) {
+    }
+
+    /**
+     * Changes collected for one transaction and summed per summary row, so a batch of invoices
+     * and payments costs one upsert per row it touches.
+     */
+    public static final class Deltas {
+
+        private record InvoiceRow(LocalDate day, long doctorId, InvoiceStatus status) {
+        }
+
+        private record PaymentRow(LocalDate day, long doctorId) {
+        }
+
+        private final Map<InvoiceRow, InvoiceDelta> invoices = new HashMap<>();
+        private final Map<PaymentRow, PaymentDelta> payments = new HashMap<>();
+
+        /**
+         * @param before the invoice's entry before the change, or {@code null} for a new invoice
+         * @param after  the entry after the change, or {@code null} for a deleted invoice
+         */
+        public void invoiceChanged(Entry before, Entry after) {
+            if (before != null) {
+                addInvoice(before, -1);
+            }
+            if (after != null) {
+                addInvoice(after, 1);
+            }
+        }
+
+        public void paymentPosted(Payment payment, long doctorId) {
+            addPayment(payment, doctorId, 1);
+        }
+
+        public void paymentRemoved(Payment payment, long doctorId) {
+            addPayment(payment, doctorId, -1);
+        }
+
+        private void addInvoice(Entry entry, int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            invoices.merge(new InvoiceRow(entry.invoiceDate(), entry.doctorId(), entry.status()),
+                    new InvoiceDelta(entry.invoiceDate(), entry.doctorId(), entry.status(), sign,
+                            entry.totalAmount().multiply(factor), entry.balanceDue().multiply(factor)),
+                    (a, b) -> new InvoiceDelta(a.day(), a.doctorId(), a.status(), a.count() + b.count(),
+                            a.totalAmount().add(b.totalAmount()), a.balanceDue().add(b.balanceDue())));
+        }
+
+        private void addPayment(Payment payment, long doctorId, int sign) {
+            if (payment.getStatus() != PaymentStatus.COMPLETED) {
+                return;
+            }
+            LocalDate day = payment.getPaymentDate().toLocalDate();
+            payments.merge(new PaymentRow(day, doctorId),
+                    new PaymentDelta(day, doctorId, sign, payment.getAmount().multiply(BigDecimal.valueOf(sign))),
+                    (a, b) -> new PaymentDelta(a.day(), a.doctorId(), a.count() + b.count(),
+                            a.amount().add(b.amount())));
+        }
+
+        List<InvoiceDelta> invoiceDeltas() {
+            return invoices.values().stream()
+                    .filter(delta -> delta.count() != 0 || delta.totalAmount().signum() != 0
+                            || delta.balanceDue().signum() != 0)
+                    .sorted(INVOICE_ROW_ORDER)
+                    .toList();
+        }
+
+        List<PaymentDelta> paymentDeltas() {
+            return payments.values().stream()
+                    .filter(delta -> delta.count() != 0 || delta.amount().signum() != 0)
+                    .sorted(PAYMENT_ROW_ORDER)
+                    .toList();
+        }
+    }
+
+    private final BillingLedgerRepository billingLedgerRepository;
+
+    public static Entry entryOf(Invoice invoice) {
+        return new Entry(invoice.getInvoiceDate(),
+                doctorOf(invoice),
+                invoice.getStatus(),
+                orZero(invoice.getTotalAmount()),
+                orZero(invoice.getBalanceDue()));
+    }
+
+    public static long doctorOf(Invoice invoice) {
+        return doctorOf(invoice.getDoctorId());
+    }
+
+    public static long doctorOf(Long doctorId) {
+        return doctorId != null ? doctorId : NO_DOCTOR;
+    }
+
+    /**
+     * @param before the invoice's entry before the change, or {@code null} for a new invoice
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInvoice(Entry before, Invoice invoice) {
+        Deltas deltas = new Deltas();
+        deltas.invoiceChanged(before, entryOf(invoice));
+        apply(deltas);
+    }
+
+    /**
+     * Takes a deleted invoice and its completed payments back out of the summaries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeInvoice(Invoice invoice, Collection<Payment> payments) {
+        Deltas deltas = new Deltas();
+        deltas.invoiceChanged(entryOf(invoice), null);
+        payments.forEach(payment -> deltas.paymentRemoved(payment, doctorOf(invoice)));
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Payment payment) {
+        Deltas deltas = new Deltas();
+        deltas.paymentPosted(payment, doctorOf(payment.getInvoice()));
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Deltas deltas) {
+        List<InvoiceDelta> invoiceDeltas = deltas.invoiceDeltas();
+        if (!invoiceDeltas.isEmpty()) {
+            billingLedgerRepository.addInvoiceDeltas(invoiceDeltas);
+        }
+        List<PaymentDelta> paymentDeltas = deltas.paymentDeltas();
+        if (!paymentDeltas.isEmpty()) {
+            billingLedgerRepository.addPaymentDeltas(paymentDeltas);
+        }
+    }
+
+    public BigDecimal getTotalOutstanding() {
+        return billingLedgerRepository.sumBalanceDue(OUTSTANDING_STATUSES);
+    }
+
+    /**
+     * Total of paid invoices dated within the range, both ends inclusive.
+     */
+    public BigDecimal getRevenueBetween(LocalDate from, LocalDate to) {
+        return billingLedgerRepository.sumTotalAmount(InvoiceStatus.PAID, from, to);
+    }
+
+    /**
+     * Completed payments received within the range, both ends inclusive.
+     */
+    public BigDecimal getPaymentsBetween(LocalDate from, LocalDate to) {
+        return billingLedgerRepository.sumPayments(from, to);
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.healthcare.billingservice.repository.BillingLedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Nightly check of the billing ledger against raw sums over invoices and payments. Drift can only
+ * come from writes that bypass {@link BillingLedger}; when found it is logged and, unless repair is
+ * disabled, the summaries are rebuilt from the raw tables.
+ */
+@Slf4j
+@Component
+public class BillingLedgerVerifier {
+
+    private final BillingLedgerRepository billingLedgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean repair;
+
+    public BillingLedgerVerifier(BillingLedgerRepository billingLedgerRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${billing.ledger.repair:true}") boolean repair) {
+        this.billingLedgerRepository = billingLedgerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.repair = repair;
+    }
+
+    @Scheduled(cron = "${billing.ledger.verify-cron:0 30 2 * * *}")
+    public void verify() {
+        long invoiceMismatches = billingLedgerRepository.countInvoiceMismatches();
+        long paymentMismatches = billingLedgerRepository.countPaymentMismatches();
+        if (invoiceMismatches == 0 && paymentMismatches == 0) {
+            log.info("Billing ledger matches raw invoice and payment totals");
+            return;
+        }
+
+        log.warn("Billing ledger drifted: {} invoice summary rows and {} payment summary rows disagree with raw totals",
+                invoiceMismatches, paymentMismatches);
+        if (repair) {
+            transactionTemplate.executeWithoutResult(status -> billingLedgerRepository.rebuild());
+            log.info("Billing ledger rebuilt from raw invoice and payment totals");
+        }
+    }
+}
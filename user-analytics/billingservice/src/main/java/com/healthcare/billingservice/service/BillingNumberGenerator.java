@@ -0,0 +1,42 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.example.common.id.DocumentNumberGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invoice numbers and payment references, each backed by its own Postgres sequence. The sequences
+ * step by {@link #BLOCK_SIZE}, so a replica reserves that many numbers per round trip.
+ */
+@Component
+public class BillingNumberGenerator {
+
+    /**
+     * Must match {@code INCREMENT BY} of the sequences in changelog-v1.4-number-sequences.yaml.
+     */
+    static final int BLOCK_SIZE = 1000;
+
+    private final DocumentNumberGenerator invoiceNumbers;
+    private final DocumentNumberGenerator paymentReferences;
+
+    public BillingNumberGenerator(JdbcTemplate jdbcTemplate) {
+        this.invoiceNumbers = new DocumentNumberGenerator("INV",
+                () -> jdbcTemplate.queryForObject("SELECT nextval('invoice_number_seq')", Long.class), BLOCK_SIZE);
+        this.paymentReferences = new DocumentNumberGenerator("PAY",
+                () -> jdbcTemplate.queryForObject("SELECT nextval('payment_reference_seq')", Long.class), BLOCK_SIZE);
+    }
+
+    public String nextInvoiceNumber() {
+        return invoiceNumbers.next();
+    }
+
+    public String nextPaymentReference() {
+        return paymentReferences.next();
+    }
+}
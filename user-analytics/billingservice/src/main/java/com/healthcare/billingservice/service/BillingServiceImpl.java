@@ -7,6 +7,10 @@
 
 package com.healthcare.billingservice.service;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchSlice;
+import com.example.common.search.SearchTerm;
 import com.healthcare.billingservice.dto.InvoiceDTO;
 import com.healthcare.billingservice.dto.PaymentDTO;
 import com.healthcare.billingservice.entity.Invoice;
@@ -20,9 +24,12 @@ import com.healthcare.billingservice.mapper.PaymentMapper;
 import com.healthcare.billingservice.repository.InvoiceRepository;
 import com.healthcare.billingservice.repository.PaymentRepository;
 import com.healthcare.billingservice.service.impl.BillingService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,7 +39,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,17 +47,61 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional
 public class BillingServiceImpl implements BillingService {
+    static final int MAX_BULK_INVOICES = 1000;
+
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
     private final InvoiceMapper invoiceMapper;
     private final PaymentMapper paymentMapper;
+    private final BillingLedger billingLedger;
+    private final BillingNumberGenerator billingNumberGenerator;
+    private final Validator validator;
 
     @Override
     public InvoiceDTO createInvoice(InvoiceDTO invoiceDTO) {
         log.info("Creating invoice for patient: {}", invoiceDTO.getPatientId());
 
-        String invoiceNumber = generateInvoiceNumber();
-        invoiceDTO.setInvoiceNumber(invoiceNumber);
+        Invoice invoice = prepareInvoice(invoiceDTO);
+        Invoice savedInvoice = invoiceRepository.save(invoice);
+        billingLedger.recordInvoice(null, savedInvoice);
+
+        log.info("Invoice created successfully with number: {}", savedInvoice.getInvoiceNumber());
+        return invoiceMapper.toDTO(savedInvoice);
+    }
+
+    @Override
+    public List<InvoiceDTO> createInvoices(List<InvoiceDTO> invoiceDTOs) {
+        log.info("Creating {} invoices", invoiceDTOs.size());
+        if (invoiceDTOs.size() > MAX_BULK_INVOICES) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_BULK_INVOICES + " invoices can be created per request");
+        }
+        for (int i = 0; i < invoiceDTOs.size(); i++) {
+            Set<ConstraintViolation<InvoiceDTO>> violations = validator.validate(invoiceDTOs.get(i));
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException("Invoice " + i + ": " + violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+
+        List<Invoice> invoices = invoiceDTOs.stream().map(this::prepareInvoice).toList();
+        List<Invoice> savedInvoices = invoiceRepository.saveAll(invoices);
+
+        // One ledger upsert per summary row for the whole request
+        BillingLedger.Deltas deltas = new BillingLedger.Deltas();
+        savedInvoices.forEach(invoice -> deltas.invoiceChanged(null, BillingLedger.entryOf(invoice)));
+        billingLedger.apply(deltas);
+
+        log.info("{} invoices created successfully", savedInvoices.size());
+        return savedInvoices.stream()
+                .map(invoiceMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private Invoice prepareInvoice(InvoiceDTO invoiceDTO) {
+        invoiceDTO.setInvoiceNumber(billingNumberGenerator.nextInvoiceNumber());
 
         invoiceDTO.checkUserId();
         // Use the mapper method that handles items correctly
@@ -62,10 +113,7 @@ public class BillingServiceImpl implements BillingService {
         }
 
         invoice.calculateTotals();
-        Invoice savedInvoice = invoiceRepository.save(invoice);
-
-        log.info("Invoice created successfully with number: {}", invoiceNumber);
-        return invoiceMapper.toDTO(savedInvoice);
+        return invoice;
     }
 
     @Transactional(readOnly = true)
@@ -140,18 +188,46 @@ public class BillingServiceImpl implements BillingService {
     @Override
     public BigDecimal getTotalOutstanding() {
         log.info("Calculating total outstanding amount");
-        BigDecimal total = invoiceRepository.getTotalOutstanding();
-        return total != null ? total : BigDecimal.ZERO;
+        return billingLedger.getTotalOutstanding();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BigDecimal getTotalRevenueBetween(LocalDate startDate, LocalDate endDate) {
+        log.info("Calculating revenue between {} and {}", startDate, endDate);
+        return billingLedger.getRevenueBetween(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BigDecimal getTotalPaymentsBetween(LocalDate startDate, LocalDate endDate) {
+        log.info("Calculating payments between {} and {}", startDate, endDate);
+        return billingLedger.getPaymentsBetween(startDate, endDate);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Page<InvoiceDTO> searchInvoices(String searchTerm, Pageable pageable) {
         log.info("Searching invoices with term: {}", searchTerm);
-        return invoiceRepository.searchInvoices(searchTerm, pageable)
+        SearchTerm term = SearchTerm.of(searchTerm);
+        // Results are ordered by relevance; a client sort cannot be appended to the native query
+        return invoiceRepository.searchInvoices(term.term(), term.pattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(invoiceMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SearchSlice<InvoiceDTO> searchInvoices(String searchTerm, String cursor, int size) {
+        log.info("Searching invoices with term: {} after cursor: {}", searchTerm, cursor);
+        SearchTerm term = SearchTerm.of(searchTerm);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = SearchSlice.pageSize(size);
+        List<SearchHit> hits = invoiceRepository.searchInvoicesAfter(
+                term.term(), term.pattern(), after.rank(), after.id(), pageSize + 1);
+        return SearchSlice.of(hits, pageSize, invoiceRepository::findAllById, Invoice::getId, invoiceMapper::toDTO);
+    }
+
     @Override
     public InvoiceDTO updateInvoice(Long id, InvoiceDTO invoiceDTO) {
         log.info("Updating invoice with ID: {}", id);
@@ -160,6 +236,7 @@ public class BillingServiceImpl implements BillingService {
                 .orElseThrow(() -> new InvoiceNotFoundException(
                         "Invoice not found with ID: " + id));
 
+        BillingLedger.Entry before = BillingLedger.entryOf(existingInvoice);
         invoiceMapper.updateEntityFromDTO(invoiceDTO, existingInvoice);
 
         if (existingInvoice.getItems() != null) {
@@ -168,6 +245,7 @@ public class BillingServiceImpl implements BillingService {
 
         existingInvoice.calculateTotals();
         Invoice updatedInvoice = invoiceRepository.save(existingInvoice);
+        billingLedger.recordInvoice(before, updatedInvoice);
 
         log.info("Invoice updated successfully");
         return invoiceMapper.toDTO(updatedInvoice);
@@ -181,9 +259,11 @@ public class BillingServiceImpl implements BillingService {
                 .orElseThrow(() -> new InvoiceNotFoundException(
                         "Invoice not found with ID: " + id));
 
+        BillingLedger.Entry before = BillingLedger.entryOf(invoice);
         invoice.setStatus(InvoiceStatus.SENT);
         invoice.setSentAt(LocalDateTime.now());
         Invoice sentInvoice = invoiceRepository.save(invoice);
+        billingLedger.recordInvoice(before, sentInvoice);
 
         log.info("Invoice sent successfully");
         return invoiceMapper.toDTO(sentInvoice);
@@ -204,11 +284,13 @@ public class BillingServiceImpl implements BillingService {
 
         Payment payment = paymentMapper.toEntity(paymentDTO);
         payment.setInvoice(invoice);
-        payment.setPaymentReference(generatePaymentReference());
+        payment.setPaymentReference(billingNumberGenerator.nextPaymentReference());
 
         Payment savedPayment = paymentRepository.save(payment);
+        billingLedger.recordPayment(savedPayment);
 
         // Update invoice amounts
+        BillingLedger.Entry before = BillingLedger.entryOf(invoice);
         invoice.setPaidAmount(invoice.getPaidAmount().add(payment.getAmount()));
         invoice.setBalanceDue(invoice.getTotalAmount().subtract(invoice.getPaidAmount()));
 
@@ -221,6 +303,7 @@ public class BillingServiceImpl implements BillingService {
         }
 
         invoiceRepository.save(invoice);
+        billingLedger.recordInvoice(before, invoice);
 
         log.info("Payment added successfully");
         return paymentMapper.toDTO(savedPayment);
@@ -234,8 +317,10 @@ public class BillingServiceImpl implements BillingService {
                 .orElseThrow(() -> new InvoiceNotFoundException(
                         "Invoice not found with ID: " + id));
 
+        BillingLedger.Entry before = BillingLedger.entryOf(invoice);
         invoice.setStatus(InvoiceStatus.CANCELLED);
         Invoice cancelledInvoice = invoiceRepository.save(invoice);
+        billingLedger.recordInvoice(before, cancelledInvoice);
 
         log.info("Invoice cancelled successfully");
         return invoiceMapper.toDTO(cancelledInvoice);
@@ -245,21 +330,13 @@ public class BillingServiceImpl implements BillingService {
     public void deleteInvoice(Long id) {
         log.info("Deleting invoice with ID: {}", id);
 
-        if (!invoiceRepository.existsById(id)) {
-            throw new InvoiceNotFoundException("Invoice not found with ID: " + id);
-        }
+        Invoice invoice = invoiceRepository.findById(id)
+                .orElseThrow(() -> new InvoiceNotFoundException(
+                        "Invoice not found with ID: " + id));
 
-        invoiceRepository.deleteById(id);
+        // Payments go with the invoice, so they leave the ledger with it
+        billingLedger.removeInvoice(invoice, paymentRepository.findByInvoiceId(id));
+        invoiceRepository.delete(invoice);
         log.info("Invoice deleted successfully");
     }
-
-    private String generateInvoiceNumber() {
-        String prefix = "INV";
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        return prefix + "-" + timestamp.substring(timestamp.length() - 10);
-    }
-
-    private String generatePaymentReference() {
-        return "PAY-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
 }
@@ -0,0 +1,140 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.billingservice.dto.BulkPaymentLineDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a bulk payment file one line at a time, as NDJSON or as CSV with a header row naming the
+ * same properties. A line that cannot be parsed is returned with its error instead of failing the
+ * file. Line numbers count physical lines, header included, so they match the caller's editor.
+ */
+public class BulkPaymentReader {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * @param payment the parsed line, or {@code null} if {@code error} says why it could not be parsed
+     */
+    public record Line(long number, BulkPaymentLineDTO payment, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    public BulkPaymentReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return up to {@code max} lines, or an empty list at the end of the file
+     */
+    public List<Line> next(int max) {
+        List<Line> lines = new ArrayList<>(max);
+        String text;
+        while (lines.size() < max && (text = readLine()) != null) {
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = splitCsv(text).stream().map(String::trim).toList();
+                continue;
+            }
+            lines.add(parse(text));
+        }
+        return lines;
+    }
+
+    private Line parse(String text) {
+        try {
+            BulkPaymentLineDTO payment = format == Format.NDJSON
+                    ? objectMapper.readValue(text, BulkPaymentLineDTO.class)
+                    : objectMapper.convertValue(csvRow(text), BulkPaymentLineDTO.class);
+            return new Line(lineNumber, payment, null);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String reason = e.getMessage() != null ? e.getMessage().lines().findFirst().orElse("") : "";
+            return new Line(lineNumber, null, "Unreadable line: " + reason);
+        }
+    }
+
+    private Map<String, String> csvRow(String text) {
+        List<String> values = splitCsv(text);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException(
+                    "expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                row.put(header.get(i), value);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Splits one CSV record; double quotes enclose values containing commas, {@code ""} escapes a quote.
+     */
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private String readLine() {
+        try {
+            String text = reader.readLine();
+            if (text != null) {
+                lineNumber++;
+            }
+            return text;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
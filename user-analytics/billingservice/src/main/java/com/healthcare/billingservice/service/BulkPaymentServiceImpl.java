@@ -0,0 +1,256 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.billingservice.dto.BulkPaymentLineDTO;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO.Outcome;
+import com.healthcare.billingservice.dto.PaymentDTO;
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.entity.Payment;
+import com.healthcare.billingservice.mapper.PaymentMapper;
+import com.healthcare.billingservice.repository.BulkPaymentRepository;
+import com.healthcare.billingservice.repository.BulkPaymentRepository.InvoiceBalance;
+import com.healthcare.billingservice.repository.BulkPaymentRepository.NewPayment;
+import com.healthcare.billingservice.service.impl.BulkPaymentService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Posts clearinghouse payment files. Lines are taken in batches; each batch locks its invoices in
+ * id order, checks every payment against the running balance of its invoice and writes payments,
+ * balances and ledger deltas with one JDBC batch each, so a batch costs a handful of round trips
+ * however many payments it holds. Lines are validated against the column limits up front; should
+ * a batch still fail to save, it is split in halves and retried, so only the lines that cannot be
+ * saved on their own are reported as failed.
+ */
+@Service
+@Slf4j
+public class BulkPaymentServiceImpl implements BulkPaymentService {
+
+    private final BulkPaymentRepository bulkPaymentRepository;
+    private final BillingLedger billingLedger;
+    private final BillingNumberGenerator billingNumberGenerator;
+    private final PaymentMapper paymentMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BulkPaymentServiceImpl(BulkPaymentRepository bulkPaymentRepository,
+                                  BillingLedger billingLedger,
+                                  BillingNumberGenerator billingNumberGenerator,
+                                  PaymentMapper paymentMapper,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${billing.bulk.batch-size:1000}") int batchSize) {
+        this.bulkPaymentRepository = bulkPaymentRepository;
+        this.billingLedger = billingLedger;
+        this.billingNumberGenerator = billingNumberGenerator;
+        this.paymentMapper = paymentMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void postPayments(BufferedReader input, BulkPaymentReader.Format format, Long userId,
+                             Consumer<BulkPaymentResultDTO> results) {
+        BulkPaymentReader reader = new BulkPaymentReader(input, format, objectMapper);
+        long startedAt = System.nanoTime();
+        long lines = 0;
+        long posted = 0;
+
+        List<BulkPaymentReader.Line> batch;
+        while (!(batch = reader.next(batchSize)).isEmpty()) {
+            for (BulkPaymentResultDTO result : postBatch(batch, userId)) {
+                lines++;
+                if (result.getOutcome() == Outcome.POSTED) {
+                    posted++;
+                }
+                results.accept(result);
+            }
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Bulk payment file processed: {} lines, {} posted in {} ms ({} lines/s)",
+                lines, posted, elapsedMs, lines * 1000 / elapsedMs);
+    }
+
+    List<BulkPaymentResultDTO> postBatch(List<BulkPaymentReader.Line> lines, Long userId) {
+        BulkPaymentResultDTO[] results = new BulkPaymentResultDTO[lines.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyBatch(lines, userId, results));
+            return List.of(results);
+        } catch (RuntimeException e) {
+            if (lines.size() > 1) {
+                log.warn("Bulk payment batch of lines {}-{} rolled back, retrying in halves: {}",
+                        lines.get(0).number(), lines.get(lines.size() - 1).number(), e.getMessage());
+                int half = lines.size() / 2;
+                List<BulkPaymentResultDTO> retried = new ArrayList<>(postBatch(lines.subList(0, half), userId));
+                retried.addAll(postBatch(lines.subList(half, lines.size()), userId));
+                return retried;
+            }
+            log.error("Bulk payment line {} could not be saved", lines.get(0).number(), e);
+            BulkPaymentResultDTO result = results[0];
+            if (result == null || result.getOutcome() == Outcome.POSTED) {
+                result = BulkPaymentResultDTO.failed(lines.get(0).number(),
+                        result != null ? result.getInvoiceId() : null,
+                        "Payment could not be saved; resubmit this line");
+            }
+            return List.of(result);
+        }
+    }
+
+    private void applyBatch(List<BulkPaymentReader.Line> lines, Long userId, BulkPaymentResultDTO[] results) {
+        Long[] invoiceIds = resolveInvoices(lines, results);
+        Set<Long> ids = new TreeSet<>();
+        for (Long id : invoiceIds) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<Long, InvoiceBalance> invoices = new HashMap<>();
+        bulkPaymentRepository.lockInvoices(ids).forEach(invoice -> invoices.put(invoice.getId(), invoice));
+
+        Map<Long, BillingLedger.Entry> before = new LinkedHashMap<>();
+        List<NewPayment> payments = new ArrayList<>();
+        BillingLedger.Deltas deltas = new BillingLedger.Deltas();
+        for (int i = 0; i < lines.size(); i++) {
+            Long invoiceId = invoiceIds[i];
+            if (invoiceId == null) {
+                continue;
+            }
+            long line = lines.get(i).number();
+            InvoiceBalance invoice = invoices.get(invoiceId);
+            PaymentDTO paymentDTO = lines.get(i).payment().getPayment();
+            if (invoice == null) {
+                results[i] = BulkPaymentResultDTO.rejected(line, invoiceId, "Invoice not found with ID: " + invoiceId);
+                continue;
+            }
+            if (paymentDTO.getAmount().compareTo(invoice.getBalanceDue()) > 0) {
+                results[i] = BulkPaymentResultDTO.rejected(line, invoiceId, "Payment amount exceeds balance due");
+                continue;
+            }
+
+            before.computeIfAbsent(invoiceId, id -> entryOf(invoice));
+            Payment payment = paymentMapper.toEntity(paymentDTO);
+            payment.setPaymentReference(billingNumberGenerator.nextPaymentReference());
+            payment.setUserId(paymentDTO.getUserId() != null ? paymentDTO.getUserId() : userId);
+            applyPayment(invoice, payment.getAmount());
+            payments.add(new NewPayment(invoiceId, payment));
+            deltas.paymentPosted(payment, BillingLedger.doctorOf(invoice.getDoctorId()));
+            results[i] = BulkPaymentResultDTO.posted(line, invoiceId, payment.getPaymentReference());
+        }
+
+        if (payments.isEmpty()) {
+            return;
+        }
+        bulkPaymentRepository.insertPayments(payments);
+        List<InvoiceBalance> changed = before.keySet().stream().map(invoices::get).toList();
+        bulkPaymentRepository.updateBalances(changed);
+        changed.forEach(invoice -> deltas.invoiceChanged(before.get(invoice.getId()), entryOf(invoice)));
+        billingLedger.apply(deltas);
+    }
+
+    /**
+     * Rejects unreadable and invalid lines and returns the invoice id of every remaining line,
+     * looking up invoice numbers in one query.
+     */
+    private Long[] resolveInvoices(List<BulkPaymentReader.Line> lines, BulkPaymentResultDTO[] results) {
+        Long[] invoiceIds = new Long[lines.size()];
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            BulkPaymentReader.Line line = lines.get(i);
+            String error = line.error() != null ? line.error() : validate(line.payment());
+            if (error != null) {
+                results[i] = BulkPaymentResultDTO.rejected(line.number(),
+                        line.payment() != null ? line.payment().getInvoiceId() : null, error);
+            } else if (line.payment().getInvoiceId() != null) {
+                invoiceIds[i] = line.payment().getInvoiceId();
+            } else {
+                numbers.add(line.payment().getInvoiceNumber());
+            }
+        }
+        if (numbers.isEmpty()) {
+            return invoiceIds;
+        }
+
+        Map<String, Long> idsByNumber = bulkPaymentRepository.findIdsByInvoiceNumber(numbers);
+        for (int i = 0; i < lines.size(); i++) {
+            BulkPaymentReader.Line line = lines.get(i);
+            if (results[i] != null || invoiceIds[i] != null) {
+                continue;
+            }
+            String number = line.payment().getInvoiceNumber();
+            invoiceIds[i] = idsByNumber.get(number);
+            if (invoiceIds[i] == null) {
+                results[i] = BulkPaymentResultDTO.rejected(line.number(), null,
+                        "Invoice not found with number: " + number);
+            }
+        }
+        return invoiceIds;
+    }
+
+    private String validate(BulkPaymentLineDTO line) {
+        if (line.getInvoiceId() == null && (line.getInvoiceNumber() == null || line.getInvoiceNumber().isBlank())) {
+            return "invoiceId or invoiceNumber is required";
+        }
+        Set<ConstraintViolation<BulkPaymentLineDTO>> violations = validator.validate(line);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Same balance and status rules as {@code BillingServiceImpl.addPayment}.
+     */
+    private static void applyPayment(InvoiceBalance invoice, BigDecimal amount) {
+        invoice.setPaidAmount(invoice.getPaidAmount().add(amount));
+        invoice.setBalanceDue(invoice.getTotalAmount().subtract(invoice.getPaidAmount()));
+        if (invoice.getBalanceDue().compareTo(BigDecimal.ZERO) == 0) {
+            invoice.setStatus(InvoiceStatus.PAID);
+            invoice.setPaidAt(LocalDateTime.now());
+        } else if (invoice.getPaidAmount().compareTo(BigDecimal.ZERO) > 0) {
+            invoice.setStatus(InvoiceStatus.PARTIALLY_PAID);
+        }
+    }
+
+    private static BillingLedger.Entry entryOf(InvoiceBalance invoice) {
+        return new BillingLedger.Entry(invoice.getInvoiceDate(), BillingLedger.doctorOf(invoice.getDoctorId()),
+                invoice.getStatus(), invoice.getTotalAmount(), invoice.getBalanceDue());
+    }
+}
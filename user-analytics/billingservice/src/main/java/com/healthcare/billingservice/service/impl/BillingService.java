@@ -6,6 +6,7 @@
 
 package com.healthcare.billingservice.service.impl;
 
+import com.example.common.search.SearchSlice;
 import com.healthcare.billingservice.dto.InvoiceDTO;
 import com.healthcare.billingservice.dto.PaymentDTO;
 import com.healthcare.billingservice.entity.InvoiceStatus;
@@ -14,11 +15,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface BillingService {
     InvoiceDTO createInvoice(InvoiceDTO invoiceDTO);
 
+    /**
+     * Creates all invoices in one transaction, or none if any of them is invalid.
+     */
+    List<InvoiceDTO> createInvoices(List<InvoiceDTO> invoiceDTOs);
+
     @Transactional(readOnly = true)
     InvoiceDTO getInvoiceById(Long id);
 
@@ -43,9 +50,18 @@ public interface BillingService {
     @Transactional(readOnly = true)
     BigDecimal getTotalOutstanding();
 
+    @Transactional(readOnly = true)
+    BigDecimal getTotalRevenueBetween(LocalDate startDate, LocalDate endDate);
+
+    @Transactional(readOnly = true)
+    BigDecimal getTotalPaymentsBetween(LocalDate startDate, LocalDate endDate);
+
     @Transactional(readOnly = true)
     Page<InvoiceDTO> searchInvoices(String searchTerm, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    SearchSlice<InvoiceDTO> searchInvoices(String searchTerm, String cursor, int size);
+
     InvoiceDTO updateInvoice(Long id, InvoiceDTO invoiceDTO);
 
     InvoiceDTO sendInvoice(Long id);
@@ -0,0 +1,25 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service.impl;
+
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO;
+import com.healthcare.billingservice.service.BulkPaymentReader;
+
+import java.io.BufferedReader;
+import java.util.function.Consumer;
+
+public interface BulkPaymentService {
+
+    /**
+     * Posts every payment in the file, one transaction per batch, and reports each line's outcome
+     * in input order as soon as its batch commits.
+     *
+     * @param userId recorded on payments whose line does not name a user
+     */
+    void postPayments(BufferedReader input, BulkPaymentReader.Format format, Long userId,
+                      Consumer<BulkPaymentResultDTO> results);
+}
@@ -0,0 +1,131 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.billingservice.BillingServiceApplication;
+import com.healthcare.billingservice.config.WithMockUserPrincipal;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO.Outcome;
+import com.healthcare.billingservice.entity.Invoice;
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.repository.BillingLedgerRepository;
+import com.healthcare.billingservice.repository.InvoiceRepository;
+import com.healthcare.billingservice.service.BillingLedger;
+import com.healthcare.billingservice.testutil.InvoiceTestBuilder;
+import com.healthcare.billingservice.testutil.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Uploads a CSV payment file through the streaming endpoint. The response body is written on the
+ * async thread, outside any test transaction, so the invoice is committed and removed afterwards.
+ */
+@SpringBootTest(classes = {BillingServiceApplication.class})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+class BulkPaymentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BillingLedger billingLedger;
+
+    @Autowired
+    private BillingLedgerRepository billingLedgerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeInvoice() {
+        transactionTemplate.executeWithoutResult(status -> {
+            String invoices = "SELECT id FROM invoices WHERE invoice_number = 'INV-CSV'";
+            jdbcTemplate.update("DELETE FROM payments WHERE invoice_id IN (" + invoices + ")");
+            jdbcTemplate.update("DELETE FROM invoice_items WHERE invoice_id IN (" + invoices + ")");
+            jdbcTemplate.update("DELETE FROM invoices WHERE invoice_number = 'INV-CSV'");
+            billingLedgerRepository.rebuild();
+        });
+    }
+
+    @Test
+    @WithMockUserPrincipal(userId = 7L, roles = {"ROLE_STAFF"})
+    @DisplayName("POST /api/v1/billing/payments/bulk - CSV file streams one result per line")
+    void testPostPayments_csv() throws Exception {
+        Invoice invoice = transactionTemplate.execute(status -> {
+            Invoice saved = invoiceRepository.save(InvoiceTestBuilder.anInvoice()
+                    .withId(null)
+                    .withInvoiceNumber("INV-CSV")
+                    .withStatus(InvoiceStatus.SENT)
+                    .withTotalAmount(new BigDecimal("100.00"))
+                    .withBalanceDue(new BigDecimal("100.00"))
+                    .build());
+            billingLedger.recordInvoice(null, saved);
+            return saved;
+        });
+        String csv = "invoiceNumber,paymentDate,amount,paymentMethod,notes\n" +
+                "INV-CSV,2025-04-02T10:00:00,60.00,CASH,\"first, partial\"\n" +
+                "INV-CSV,2025-04-02T11:00:00,60.00,CASH,\n" +
+                "INV-CSV,2025-04-02T12:00:00,40.00,CASH,\n";
+
+        MvcResult started = mockMvc.perform(post("/api/v1/billing/payments/bulk")
+                        .contentType("text/csv")
+                        .accept("application/x-ndjson")
+                        .content(csv))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<BulkPaymentResultDTO> results = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, BulkPaymentResultDTO.class);
+                    } catch (Exception e) {
+                        throw new AssertionError("Not a result line: " + line, e);
+                    }
+                })
+                .toList();
+        assertEquals(List.of(Outcome.POSTED, Outcome.REJECTED, Outcome.POSTED),
+                results.stream().map(BulkPaymentResultDTO::getOutcome).toList());
+        assertEquals("Payment amount exceeds balance due", results.get(1).getError());
+        assertEquals(InvoiceStatus.PAID, invoiceRepository.findById(invoice.getId()).orElseThrow().getStatus());
+        assertEquals(7L, jdbcTemplate.queryForObject(
+                "SELECT MIN(user_id) FROM payments WHERE invoice_id = ?", Long.class, invoice.getId()));
+    }
+}
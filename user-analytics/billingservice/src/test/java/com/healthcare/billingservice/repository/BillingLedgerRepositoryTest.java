@@ -0,0 +1,131 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.repository;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.healthcare.billingservice.BillingServiceApplication;
+import com.healthcare.billingservice.entity.Invoice;
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.entity.Payment;
+import com.healthcare.billingservice.service.BillingLedger;
+import com.healthcare.billingservice.testutil.InvoiceTestBuilder;
+import com.healthcare.billingservice.testutil.PaymentTestBuilder;
+import com.healthcare.billingservice.testutil.TestcontainersConfiguration;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {BillingServiceApplication.class})
+@Import({TestcontainersConfiguration.class, FeignAutoConfiguration.class,
+        BillingLedger.class, BillingLedgerRepository.class})
+class BillingLedgerRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private BillingLedgerRepository billingLedgerRepository;
+
+    @Autowired
+    private BillingLedger billingLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @Test
+    void recordedChanges_matchRawTotals() {
+        BigDecimal outstanding = billingLedger.getTotalOutstanding();
+        Invoice paid = createInvoice("INV-L1", 10L, new BigDecimal("100.00"));
+        Invoice open = createInvoice("INV-L2", null, new BigDecimal("60.00"));
+
+        Payment payment = paymentRepository.save(new PaymentTestBuilder()
+                .withId(null)
+                .withInvoice(paid)
+                .withPaymentReference("PAY-L1")
+                .withPaymentDate(DAY.atTime(11, 0))
+                .withAmount(new BigDecimal("100.00"))
+                .build());
+        billingLedger.recordPayment(payment);
+        BillingLedger.Entry before = BillingLedger.entryOf(paid);
+        paid.setPaidAmount(new BigDecimal("100.00"));
+        paid.setBalanceDue(BigDecimal.ZERO);
+        paid.setStatus(InvoiceStatus.PAID);
+        billingLedger.recordInvoice(before, invoiceRepository.save(paid));
+        entityManager.flush();
+
+        assertEquals(0, billingLedgerRepository.countInvoiceMismatches());
+        assertEquals(0, billingLedgerRepository.countPaymentMismatches());
+        assertEquals(0, outstanding.add(new BigDecimal("60.00")).compareTo(billingLedger.getTotalOutstanding()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(billingLedger.getRevenueBetween(DAY, DAY)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(billingLedger.getRevenueBetween(DAY.plusDays(1), DAY.plusDays(7))));
+        assertEquals(0, new BigDecimal("100.00").compareTo(billingLedger.getPaymentsBetween(DAY, DAY)));
+
+        billingLedger.removeInvoice(open, List.of());
+        invoiceRepository.delete(open);
+        entityManager.flush();
+
+        assertEquals(0, billingLedgerRepository.countInvoiceMismatches());
+        assertEquals(0, outstanding.compareTo(billingLedger.getTotalOutstanding()));
+    }
+
+    @Test
+    void rebuild_repairsDrift() {
+        BigDecimal outstanding = billingLedger.getTotalOutstanding();
+        createInvoice("INV-L3", 10L, new BigDecimal("80.00"));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE invoices SET balance_due = 30.00 WHERE invoice_number = 'INV-L3'");
+
+        assertEquals(1, billingLedgerRepository.countInvoiceMismatches());
+
+        billingLedgerRepository.rebuild();
+
+        assertEquals(0, billingLedgerRepository.countInvoiceMismatches());
+        assertEquals(0, outstanding.add(new BigDecimal("30.00")).compareTo(billingLedger.getTotalOutstanding()));
+    }
+
+    private Invoice createInvoice(String invoiceNumber, Long doctorId, BigDecimal amount) {
+        Invoice invoice = invoiceRepository.save(InvoiceTestBuilder.anInvoice()
+                .withId(null)
+                .withInvoiceNumber(invoiceNumber)
+                .withDoctorId(doctorId)
+                .withInvoiceDate(DAY)
+                .withStatus(InvoiceStatus.SENT)
+                .withTotalAmount(amount)
+                .withBalanceDue(amount)
+                .build());
+        billingLedger.recordInvoice(null, invoice);
+        return invoice;
+    }
+}
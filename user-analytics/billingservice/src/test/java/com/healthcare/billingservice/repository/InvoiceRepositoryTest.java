@@ -1,5 +1,8 @@
 package com.healthcare.billingservice.repository;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchTerm;
 import com.example.common.security.client.AuthServiceClient;
 import com.healthcare.billingservice.BillingServiceApplication;
 import com.healthcare.billingservice.entity.Invoice;
@@ -21,8 +24,11 @@ import org.springframework.test.context.ContextConfiguration;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -128,4 +134,61 @@ class InvoiceRepositoryTest {
         assertEquals(1, outstanding.size());
         assertEquals("INV-002", outstanding.get(0).getInvoiceNumber());
     }
+
+    @Test
+    @WithMockUser
+    void testSearchInvoicesToleratesTyposAndRanksTheClosestMatchFirst() {
+        Invoice marley = invoiceRepository.save(searchable("INV-SEARCH-1", "Bob Marley"));
+        invoiceRepository.save(searchable("INV-SEARCH-2", "Margaret Smith"));
+
+        SearchTerm term = SearchTerm.of("Marly");
+        var page = invoiceRepository.searchInvoices(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertFalse(page.isEmpty());
+        assertEquals(marley.getId(), page.getContent().get(0).getId());
+    }
+
+    @Test
+    @WithMockUser
+    void testSearchInvoicesMatchesAnInvoiceNumberSubstring() {
+        Invoice invoice = invoiceRepository.save(searchable("INV-2026-00417", "Ada Byron"));
+
+        SearchTerm term = SearchTerm.of("2026-004");
+        var page = invoiceRepository.searchInvoices(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertTrue(page.getContent().stream().anyMatch(found -> found.getId().equals(invoice.getId())));
+        assertEquals(page.getContent().size(), page.getTotalElements());
+    }
+
+    @Test
+    @WithMockUser
+    void testSearchInvoicesAfterPagesByKeysetWithoutGapsOrRepeats() {
+        Set<Long> saved = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(invoiceRepository.save(searchable("INV-KEYSET-" + i, "Keyset Patient" + i)).getId());
+        }
+        SearchTerm term = SearchTerm.of("keyset");
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = SearchCursor.FIRST;
+        List<SearchHit> hits;
+        do {
+            hits = invoiceRepository.searchInvoicesAfter(term.term(), term.pattern(), cursor.rank(), cursor.id(), 2);
+            hits.forEach(hit -> seen.add(hit.getId()));
+            if (!hits.isEmpty()) {
+                cursor = SearchCursor.decode(SearchCursor.after(hits.get(hits.size() - 1)).encode());
+            }
+        } while (hits.size() == 2);
+
+        assertEquals(5, seen.size());
+        assertEquals(saved, new HashSet<>(seen));
+    }
+
+    private static Invoice searchable(String invoiceNumber, String patientName) {
+        return InvoiceTestBuilder.anInvoice()
+                .withId(null)
+                .withInvoiceNumber(invoiceNumber)
+                .withPatientName(patientName)
+                .build();
+    }
 }
@@ -13,6 +13,8 @@ import com.healthcare.billingservice.repository.PaymentRepository;
 import com.healthcare.billingservice.testutil.InvoiceItemDTOTestBuilder;
 import com.healthcare.billingservice.testutil.InvoiceTestBuilder;
 import com.healthcare.billingservice.testutil.PaymentTestBuilder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,6 +35,9 @@ class BillingServiceImplTest {
     @Mock private PaymentRepository paymentRepository;
     @Mock private InvoiceMapper invoiceMapper;
     @Mock private PaymentMapper paymentMapper;
+    @Mock private BillingLedger billingLedger;
+    @Mock private BillingNumberGenerator billingNumberGenerator;
+    @Mock private Validator validator;
 
     @InjectMocks
     private BillingServiceImpl billingService;
@@ -79,6 +84,7 @@ class BillingServiceImplTest {
                     .withStatus(InvoiceStatus.DRAFT)
                     .build();
 
+            when(billingNumberGenerator.nextInvoiceNumber()).thenReturn("INV-10000000000");
             when(invoiceMapper.toEntitywithItems(any())).thenReturn(invoice);
             when(invoiceMapper.toEntity(any(InvoiceDTO.class))).thenReturn(invoice);
             when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
@@ -87,10 +93,53 @@ class BillingServiceImplTest {
             InvoiceDTO result = billingService.createInvoice(invoiceDTO);
 
             assertNotNull(result);
+            assertEquals("INV-10000000000", invoiceDTO.getInvoiceNumber());
             verify(invoiceRepository).save(any(Invoice.class));
+            verify(billingLedger).recordInvoice(null, invoice);
         }
     }
 
+    @Test
+    void testCreateInvoices_savesAllAndAppliesLedgerOnce() {
+        try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
+            mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(Optional.of(1L));
+            List<InvoiceDTO> invoiceDTOs = List.of(
+                    new InvoiceTestBuilder().withPatientId(1L).buildDTO(),
+                    new InvoiceTestBuilder().withPatientId(2L).buildDTO());
+            Invoice invoice = new InvoiceTestBuilder().withId(null).build();
+
+            when(validator.validate(any(InvoiceDTO.class))).thenReturn(Set.of());
+            when(billingNumberGenerator.nextInvoiceNumber()).thenReturn("INV-10000000000", "INV-10000000001");
+            when(invoiceMapper.toEntitywithItems(any())).thenReturn(invoice);
+            when(invoiceRepository.saveAll(anyList())).thenReturn(List.of(invoice, invoice));
+            when(invoiceMapper.toDTO(any(Invoice.class))).thenReturn(new InvoiceDTO());
+
+            List<InvoiceDTO> result = billingService.createInvoices(invoiceDTOs);
+
+            assertEquals(2, result.size());
+            assertEquals("INV-10000000001", invoiceDTOs.get(1).getInvoiceNumber());
+            verify(invoiceRepository).saveAll(anyList());
+            verify(invoiceRepository, never()).save(any(Invoice.class));
+            verify(billingLedger).apply(any(BillingLedger.Deltas.class));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateInvoices_invalidInvoiceSavesNothing() {
+        ConstraintViolation<InvoiceDTO> violation = mock(ConstraintViolation.class);
+        when(violation.getPropertyPath()).thenReturn(null);
+        when(violation.getMessage()).thenReturn("Patient ID is required");
+        when(validator.validate(any(InvoiceDTO.class))).thenReturn(Set.of(), Set.of(violation));
+
+        List<InvoiceDTO> invoiceDTOs = List.of(new InvoiceDTO(), new InvoiceDTO());
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> billingService.createInvoices(invoiceDTOs));
+
+        assertTrue(ex.getMessage().startsWith("Invoice 1:"));
+        verifyNoInteractions(invoiceRepository, billingLedger);
+    }
+
 
     @Test
     void testGetInvoiceById_found() {
@@ -131,6 +180,7 @@ class BillingServiceImplTest {
 
         when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
         when(paymentMapper.toEntity(paymentDTO)).thenReturn(payment);
+        when(billingNumberGenerator.nextPaymentReference()).thenReturn("PAY-10000000000");
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
         when(paymentMapper.toDTO(payment)).thenReturn(paymentDTO);
         when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
@@ -140,6 +190,10 @@ class BillingServiceImplTest {
         assertNotNull(result);
         verify(paymentRepository).save(any(Payment.class));
         verify(invoiceRepository, atLeastOnce()).save(any(Invoice.class));
+        assertEquals("PAY-10000000000", payment.getPaymentReference());
+        verify(billingLedger).recordPayment(payment);
+        verify(billingLedger).recordInvoice(argThat(before -> before.status() == InvoiceStatus.SENT
+                && before.balanceDue().compareTo(new BigDecimal("100.00")) == 0), eq(invoice));
     }
 
     @Test
@@ -161,18 +215,51 @@ class BillingServiceImplTest {
 
     @Test
     void testDeleteInvoice_success() {
-        when(invoiceRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(invoiceRepository).deleteById(1L);
+        Invoice invoice = new InvoiceTestBuilder().withId(1L).build();
+        List<Payment> payments = List.of(new PaymentTestBuilder().withInvoice(invoice).build());
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+        when(paymentRepository.findByInvoiceId(1L)).thenReturn(payments);
 
         billingService.deleteInvoice(1L);
 
-        verify(invoiceRepository).deleteById(1L);
+        verify(billingLedger).removeInvoice(invoice, payments);
+        verify(invoiceRepository).delete(invoice);
     }
 
     @Test
     void testDeleteInvoice_notFound() {
-        when(invoiceRepository.existsById(1L)).thenReturn(false);
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(InvoiceNotFoundException.class, () -> billingService.deleteInvoice(1L));
+        verifyNoInteractions(billingLedger);
+    }
+
+    @Test
+    void testCancelInvoice_recordsLedgerChange() {
+        Invoice invoice = new InvoiceTestBuilder()
+                .withId(1L)
+                .withStatus(InvoiceStatus.SENT)
+                .build();
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.save(invoice)).thenReturn(invoice);
+
+        billingService.cancelInvoice(1L);
+
+        verify(billingLedger).recordInvoice(argThat(before -> before.status() == InvoiceStatus.SENT), eq(invoice));
+        assertEquals(InvoiceStatus.CANCELLED, invoice.getStatus());
+    }
+
+    @Test
+    void testTotals_readFromLedger() {
+        LocalDate from = LocalDate.now().minusDays(7);
+        LocalDate to = LocalDate.now();
+        when(billingLedger.getTotalOutstanding()).thenReturn(new BigDecimal("250.00"));
+        when(billingLedger.getRevenueBetween(from, to)).thenReturn(new BigDecimal("900.00"));
+        when(billingLedger.getPaymentsBetween(from, to)).thenReturn(new BigDecimal("700.00"));
+
+        assertEquals(new BigDecimal("250.00"), billingService.getTotalOutstanding());
+        assertEquals(new BigDecimal("900.00"), billingService.getTotalRevenueBetween(from, to));
+        assertEquals(new BigDecimal("700.00"), billingService.getTotalPaymentsBetween(from, to));
+        verifyNoInteractions(invoiceRepository, paymentRepository);
     }
 
     // Add more tests for updateInvoice, sendInvoice, getAllInvoices, etc. as needed
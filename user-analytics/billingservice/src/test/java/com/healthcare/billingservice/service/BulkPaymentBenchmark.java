@@ -0,0 +1,171 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.billingservice.BillingServiceApplication;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO.Outcome;
+import com.healthcare.billingservice.entity.Invoice;
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.mapper.PaymentMapper;
+import com.healthcare.billingservice.repository.BillingLedgerRepository;
+import com.healthcare.billingservice.repository.BulkPaymentRepository;
+import com.healthcare.billingservice.repository.InvoiceRepository;
+import com.healthcare.billingservice.testutil.InvoiceTestBuilder;
+import com.healthcare.billingservice.testutil.TestcontainersConfiguration;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures bulk payment posting against PostgreSQL at several batch sizes. Every batch touches
+ * every invoice, so each one takes all the invoice row locks in sorted order. Needs Docker:
+ * <pre>
+ * mvn test -pl billingservice -Dtest=BulkPaymentBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {BillingServiceApplication.class})
+@Import({TestcontainersConfiguration.class, FeignAutoConfiguration.class,
+        JacksonAutoConfiguration.class, ValidationAutoConfiguration.class,
+        BillingLedger.class, BillingLedgerRepository.class, BillingNumberGenerator.class,
+        PaymentMapper.class, BulkPaymentRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkPaymentBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 1);
+    private static final int INVOICES = 500;
+    private static final int PAYMENTS_PER_INVOICE = 100;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BillingLedgerRepository billingLedgerRepository;
+
+    @Autowired
+    private BillingLedger billingLedger;
+
+    @Autowired
+    private BillingNumberGenerator billingNumberGenerator;
+
+    @Autowired
+    private BulkPaymentRepository bulkPaymentRepository;
+
+    @Autowired
+    private PaymentMapper paymentMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @AfterEach
+    void removeInvoices() {
+        transactionTemplate.executeWithoutResult(status -> {
+            String invoices = "SELECT id FROM invoices WHERE invoice_number LIKE 'INV-BENCH%'";
+            jdbcTemplate.update("DELETE FROM payments WHERE invoice_id IN (" + invoices + ")");
+            jdbcTemplate.update("DELETE FROM invoice_items WHERE invoice_id IN (" + invoices + ")");
+            jdbcTemplate.update("DELETE FROM invoices WHERE invoice_number LIKE 'INV-BENCH%'");
+            billingLedgerRepository.rebuild();
+        });
+    }
+
+    @ParameterizedTest(name = "batch size {0}")
+    @ValueSource(ints = {100, 1000, 5000})
+    void postPayments_linesPerSecond(int batchSize) {
+        List<Invoice> invoices = createInvoices();
+        StringBuilder file = new StringBuilder();
+        for (int p = 0; p < PAYMENTS_PER_INVOICE; p++) {
+            for (Invoice invoice : invoices) {
+                file.append("{\"invoiceId\":").append(invoice.getId())
+                        .append(",\"paymentDate\":\"2025-04-02T10:00:00\",\"amount\":1.00,\"paymentMethod\":\"CASH\"}\n");
+            }
+        }
+        int lines = INVOICES * PAYMENTS_PER_INVOICE;
+        BulkPaymentServiceImpl service = new BulkPaymentServiceImpl(bulkPaymentRepository, billingLedger,
+                billingNumberGenerator, paymentMapper, validator, objectMapper, transactionTemplate, batchSize);
+        AtomicInteger posted = new AtomicInteger();
+
+        long startedAt = System.nanoTime();
+        service.postPayments(new BufferedReader(new StringReader(file.toString())), BulkPaymentReader.Format.NDJSON,
+                1L, result -> {
+                    if (result.getOutcome() == Outcome.POSTED) {
+                        posted.incrementAndGet();
+                    }
+                });
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+
+        log.info("Bulk payments, batch size {}: {} lines in {} ms ({} lines/s)",
+                batchSize, lines, elapsedMs, lines * 1_000L / elapsedMs);
+        assertEquals(lines, posted.get());
+    }
+
+    private List<Invoice> createInvoices() {
+        return transactionTemplate.execute(status -> {
+            List<Invoice> invoices = new ArrayList<>();
+            for (int i = 0; i < INVOICES; i++) {
+                Invoice invoice = invoiceRepository.save(InvoiceTestBuilder.anInvoice()
+                        .withId(null)
+                        .withInvoiceNumber("INV-BENCH" + i)
+                        .withDoctorId((long) (i % 7))
+                        .withInvoiceDate(DAY)
+                        .withStatus(InvoiceStatus.SENT)
+                        .withTotalAmount(BigDecimal.valueOf(PAYMENTS_PER_INVOICE))
+                        .withBalanceDue(BigDecimal.valueOf(PAYMENTS_PER_INVOICE))
+                        .build());
+                billingLedger.recordInvoice(null, invoice);
+                invoices.add(invoice);
+            }
+            return invoices;
+        });
+    }
+}
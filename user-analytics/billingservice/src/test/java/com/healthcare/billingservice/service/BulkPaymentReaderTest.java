@@ -0,0 +1,75 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.healthcare.billingservice.entity.PaymentMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulk Payment Reader Tests")
+class BulkPaymentReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void readsNdjsonInBatchesAndKeepsPhysicalLineNumbers() {
+        BulkPaymentReader reader = reader(BulkPaymentReader.Format.NDJSON, """
+                {"invoiceId":1,"paymentDate":"2025-04-02T10:00:00","amount":10.50,"paymentMethod":"CASH"}
+
+                {"invoiceNumber":"INV-2","paymentDate":"2025-04-02T11:00:00","amount":5,"paymentMethod":"CHECK"}
+                {"invoiceId":
+                """);
+
+        List<BulkPaymentReader.Line> first = reader.next(2);
+        assertEquals(2, first.size());
+        assertEquals(1, first.get(0).number());
+        assertEquals(1L, first.get(0).payment().getInvoiceId());
+        assertEquals(0, new BigDecimal("10.50").compareTo(first.get(0).payment().getPayment().getAmount()));
+        assertEquals(3, first.get(1).number());
+        assertEquals("INV-2", first.get(1).payment().getInvoiceNumber());
+
+        List<BulkPaymentReader.Line> second = reader.next(2);
+        assertEquals(1, second.size());
+        assertNull(second.get(0).payment());
+        assertTrue(second.get(0).error().startsWith("Unreadable line"));
+
+        assertTrue(reader.next(2).isEmpty());
+    }
+
+    @Test
+    void readsCsvWithHeaderAndQuotedValues() {
+        BulkPaymentReader reader = reader(BulkPaymentReader.Format.CSV, """
+                invoiceNumber,paymentDate,amount,paymentMethod,notes
+                INV-7,2025-04-02T10:00:00,20.00,CREDIT_CARD,"Remit 42, ""final"""
+                INV-8,2025-04-02T10:00:00,20.00
+                """);
+
+        List<BulkPaymentReader.Line> lines = reader.next(10);
+        assertEquals(2, lines.size());
+        BulkPaymentReader.Line line = lines.get(0);
+        assertEquals(2, line.number());
+        assertEquals("INV-7", line.payment().getInvoiceNumber());
+        assertEquals(LocalDateTime.of(2025, 4, 2, 10, 0), line.payment().getPayment().getPaymentDate());
+        assertEquals(PaymentMethod.CREDIT_CARD, line.payment().getPayment().getPaymentMethod());
+        assertEquals("Remit 42, \"final\"", line.payment().getPayment().getNotes());
+        assertEquals("Unreadable line: expected 5 columns but found 3", lines.get(1).error());
+    }
+
+    private BulkPaymentReader reader(BulkPaymentReader.Format format, String text) {
+        return new BulkPaymentReader(new BufferedReader(new StringReader(text)), format, objectMapper);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.billingservice.service;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.healthcare.billingservice.BillingServiceApplication;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO;
+import com.healthcare.billingservice.dto.BulkPaymentResultDTO.Outcome;
+import com.healthcare.billingservice.entity.Invoice;
+import com.healthcare.billingservice.entity.InvoiceStatus;
+import com.healthcare.billingservice.mapper.PaymentMapper;
+import com.healthcare.billingservice.repository.BillingLedgerRepository;
+import com.healthcare.billingservice.repository.BulkPaymentRepository;
+import com.healthcare.billingservice.repository.BulkPaymentRepository.NewPayment;
+import com.healthcare.billingservice.repository.InvoiceRepository;
+import com.healthcare.billingservice.testutil.InvoiceTestBuilder;
+import com.healthcare.billingservice.testutil.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Posts payment files against the Postgres container. Batches commit for real, as they do in
+ * production, so the invoices a test creates are removed and the ledger rebuilt afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {BillingServiceApplication.class})
+@Import({TestcontainersConfiguration.class, FeignAutoConfiguration.class,
+        JacksonAutoConfiguration.class, ValidationAutoConfiguration.class,
+        BillingLedger.class, BillingLedgerRepository.class, BillingNumberGenerator.class,
+        PaymentMapper.class, BulkPaymentRepository.class, BulkPaymentServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkPaymentServiceIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 1);
+    private static final int INVOICES = 200;
+    private static final int PAYMENTS_PER_INVOICE = 25;
+    private static final String POISON = "POISON";
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BillingLedgerRepository billingLedgerRepository;
+
+    @Autowired
+    private BillingLedger billingLedger;
+
+    @Autowired
+    private BulkPaymentServiceImpl bulkPaymentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private BulkPaymentRepository bulkPaymentRepository;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @BeforeEach
+    void failPoisonedInserts() {
+        // Stands in for a write the database refuses although the line passed validation
+        doAnswer(invocation -> {
+            List<NewPayment> payments = invocation.getArgument(0);
+            if (payments.stream().anyMatch(payment -> POISON.equals(payment.payment().getTransactionId()))) {
+                throw new DataIntegrityViolationException("rejected by the database");
+            }
+            return invocation.callRealMethod();
+        }).when(bulkPaymentRepository).insertPayments(anyList());
+    }
+
+    @AfterEach
+    void removeInvoices() {
+        transactionTemplate.executeWithoutResult(status -> {
+            String invoices = "SELECT id FROM invoices WHERE invoice_number LIKE 'INV-B%'";
+            jdbcTemplate.update("DELETE FROM payments WHERE invoice_id IN (" + invoices + ")");
+            jdbcTemplate.update("DELETE FROM invoice_items WHERE invoice_id IN (" + invoices + ")");
+            jdbcTemplate.update("DELETE FROM invoices WHERE invoice_number LIKE 'INV-B%'");
+            billingLedgerRepository.rebuild();
+        });
+    }
+
+    @Test
+    void postPayments_paysInvoicesInFullAndKeepsLedgerInStep() {
+        List<Invoice> invoices = createInvoices(INVOICES, PAYMENTS_PER_INVOICE);
+
+        // Payments for each invoice are spread across the file so every batch touches every invoice
+        StringBuilder file = new StringBuilder();
+        for (int p = 0; p < PAYMENTS_PER_INVOICE; p++) {
+            for (int i = 0; i < INVOICES; i++) {
+                String invoiceRef = i % 2 == 0
+                        ? "\"invoiceId\":" + invoices.get(i).getId()
+                        : "\"invoiceNumber\":\"INV-B" + i + "\"";
+                file.append('{').append(invoiceRef)
+                        .append(",\"paymentDate\":\"2025-04-02T10:00:00\",\"amount\":1.00,\"paymentMethod\":\"CASH\"}\n");
+            }
+        }
+        file.append("{\"invoiceId\":").append(invoices.get(0).getId())
+                .append(",\"paymentDate\":\"2025-04-02T10:00:00\",\"amount\":1.00,\"paymentMethod\":\"CASH\"}\n");
+        file.append("{\"invoiceNumber\":\"INV-MISSING\",\"paymentDate\":\"2025-04-02T10:00:00\",\"amount\":1.00,\"paymentMethod\":\"CASH\"}\n");
+        file.append("not json\n");
+        int lines = INVOICES * PAYMENTS_PER_INVOICE + 3;
+
+        List<BulkPaymentResultDTO> results = post(file.toString(), BulkPaymentReader.Format.NDJSON);
+
+        assertEquals(lines, results.size());
+        assertEquals(INVOICES * PAYMENTS_PER_INVOICE,
+                results.stream().filter(result -> result.getOutcome() == Outcome.POSTED).count());
+        assertEquals("Payment amount exceeds balance due", results.get(lines - 3).getError());
+        assertEquals("Invoice not found with number: INV-MISSING", results.get(lines - 2).getError());
+        assertEquals(Outcome.REJECTED, results.get(lines - 1).getOutcome());
+        assertEquals(lines, results.get(lines - 1).getLine());
+
+        for (Invoice invoice : invoiceRepository.findAllById(invoices.stream().map(Invoice::getId).toList())) {
+            assertEquals(InvoiceStatus.PAID, invoice.getStatus());
+            assertEquals(0, BigDecimal.ZERO.compareTo(invoice.getBalanceDue()));
+            assertEquals(PAYMENTS_PER_INVOICE, countPayments(invoice.getId()));
+        }
+        assertEquals(0, billingLedgerRepository.countInvoiceMismatches());
+        assertEquals(0, billingLedgerRepository.countPaymentMismatches());
+    }
+
+    @Test
+    void postPayments_failsOnlyTheLineTheDatabaseRefuses() {
+        List<Invoice> invoices = createInvoices(4, 10);
+        String file = "invoiceNumber,paymentDate,amount,paymentMethod,transactionId,cardLastFour\n" +
+                "INV-B0,2025-04-02T10:00:00,1.00,CASH,TX-1,\n" +
+                "INV-B1,2025-04-02T10:00:00,1.00,CASH," + POISON + ",\n" +
+                "INV-B2,2025-04-02T10:00:00,1.00,CREDIT_CARD,TX-3,12345\n" +
+                "INV-B3,2025-04-02T10:00:00,1.00,CASH,TX-4,\n" +
+                "INV-B0,2025-04-02T10:00:00,2.00,CASH,TX-5,\n";
+
+        List<BulkPaymentResultDTO> results = post(file, BulkPaymentReader.Format.CSV);
+
+        assertEquals(List.of(Outcome.POSTED, Outcome.FAILED, Outcome.REJECTED, Outcome.POSTED, Outcome.POSTED),
+                results.stream().map(BulkPaymentResultDTO::getOutcome).toList());
+        // Line numbers count the header row
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), results.stream().map(BulkPaymentResultDTO::getLine).toList());
+        assertEquals(invoices.get(1).getId(), results.get(1).getInvoiceId());
+        assertEquals("Card last four must not exceed 4 characters", results.get(2).getError());
+
+        assertEquals(2, countPayments(invoices.get(0).getId()));
+        assertEquals(0, countPayments(invoices.get(1).getId()));
+        assertEquals(0, countPayments(invoices.get(2).getId()));
+        assertEquals(1, countPayments(invoices.get(3).getId()));
+        assertEquals(0, billingLedgerRepository.countInvoiceMismatches());
+        assertEquals(0, billingLedgerRepository.countPaymentMismatches());
+    }
+
+    private List<BulkPaymentResultDTO> post(String file, BulkPaymentReader.Format format) {
+        List<BulkPaymentResultDTO> results = new ArrayList<>();
+        bulkPaymentService.postPayments(new BufferedReader(new StringReader(file)), format, 1L, results::add);
+        return results;
+    }
+
+    private List<Invoice> createInvoices(int count, int total) {
+        return transactionTemplate.execute(status -> {
+            List<Invoice> invoices = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Invoice invoice = invoiceRepository.save(InvoiceTestBuilder.anInvoice()
+                        .withId(null)
+                        .withInvoiceNumber("INV-B" + i)
+                        .withDoctorId((long) (i % 7))
+                        .withInvoiceDate(DAY)
+                        .withStatus(InvoiceStatus.SENT)
+                        .withTotalAmount(BigDecimal.valueOf(total))
+                        .withBalanceDue(BigDecimal.valueOf(total))
+                        .build());
+                billingLedger.recordInvoice(null, invoice);
+                invoices.add(invoice);
+            }
+            return invoices;
+        });
+    }
+
+    private long countPayments(Long invoiceId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE invoice_id = ?", Long.class, invoiceId);
+    }
+}
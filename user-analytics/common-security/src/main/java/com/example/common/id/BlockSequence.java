@@ -0,0 +1,58 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Unique, increasing ids handed out from blocks reserved in the database. Each block costs one
+ * round trip (a {@code nextval} on a sequence whose {@code INCREMENT BY} equals the block size);
+ * ids within a block are taken with a single atomic increment, so callers on any number of
+ * threads or replicas never see the same id twice.
+ */
+public final class BlockSequence {
+
+    private record Block(AtomicLong next, long limit) {
+    }
+
+    private final LongSupplier blockStarts;
+    private final int blockSize;
+    private volatile Block block = new Block(new AtomicLong(), 0);
+
+    /**
+     * @param blockStarts returns the first id of a fresh block; successive calls must be at least
+     *                    {@code blockSize} apart, as {@code nextval} of the matching sequence is
+     * @param blockSize   ids per block, equal to the sequence's {@code INCREMENT BY}
+     */
+    public BlockSequence(LongSupplier blockStarts, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockStarts = blockStarts;
+        this.blockSize = blockSize;
+    }
+
+    public long next() {
+        while (true) {
+            Block current = block;
+            long id = current.next().getAndIncrement();
+            if (id < current.limit()) {
+                return id;
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // Threads that found the same block exhausted wait here; only the first one fetches
+        if (block == exhausted) {
+            long start = blockStarts.getAsLong();
+            block = new Block(new AtomicLong(start), start + blockSize);
+        }
+    }
+}
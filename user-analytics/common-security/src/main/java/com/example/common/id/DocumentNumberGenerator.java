@@ -0,0 +1,35 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.id;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Human-readable document numbers such as {@code INV-10000000042}: a fixed prefix and an id from a
+ * {@link BlockSequence}. Sequences start at {@link #FIRST_ID}, so every number has at least eleven
+ * digits and never matches the ten-digit, timestamp-based numbers issued before.
+ */
+public final class DocumentNumberGenerator {
+
+    public static final long FIRST_ID = 10_000_000_000L;
+
+    private final String prefix;
+    private final BlockSequence sequence;
+
+    public DocumentNumberGenerator(String prefix, BlockSequence sequence) {
+        this.prefix = prefix + "-";
+        this.sequence = sequence;
+    }
+
+    public DocumentNumberGenerator(String prefix, LongSupplier blockStarts, int blockSize) {
+        this(prefix, new BlockSequence(blockStarts, blockSize));
+    }
+
+    public String next() {
+        return prefix + sequence.next();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires the outbox for services that set {@code outbox.enabled=true} and keep an
+ * {@code outbox_events} table: the repository their publishers append to and the relay that moves
+ * the events to Kafka. The producer is idempotent, so broker retries cannot duplicate or reorder
+ * records, and lingers briefly so each batch leaves as a few compressed requests. It runs before
+ * Boot's Kafka auto-configuration, which then backs off.
+ */
+@AutoConfiguration(before = KafkaAutoConfiguration.class,
+        after = {JdbcTemplateAutoConfiguration.class, TransactionAutoConfiguration.class})
+@ConditionalOnClass({KafkaTemplate.class, JdbcTemplate.class})
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProducerFactory<String, String> producerFactory(
+            @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+            @Value("${outbox.producer.linger-ms:20}") int lingerMs,
+            @Value("${outbox.producer.batch-size-bytes:65536}") int batchSizeBytes,
+            @Value("${outbox.producer.compression-type:lz4}") String compressionType) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSizeBytes);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   KafkaTemplate<String, String> kafkaTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${outbox.relay.batch-size:500}") int batchSize,
+                                   @Value("${outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                                   @Value("${outbox.relay.send-timeout-ms:30000}") long sendTimeoutMs,
+                                   @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        return new OutboxRelay(outboxRepository, kafkaTemplate, transactionTemplate, meterRegistry,
+                batchSize, maxBatchesPerRun, sendTimeoutMs, maxAttempts);
+    }
+}
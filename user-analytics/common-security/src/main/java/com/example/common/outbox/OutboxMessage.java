@@ -0,0 +1,15 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.outbox;
+
+/**
+ * One row of the {@code outbox_events} table: a serialized event waiting to be sent to Kafka.
+ *
+ * @param key the Kafka record key; events with the same key keep their order
+ */
+public record OutboxMessage(long id, String topic, String key, String payload) {
+}
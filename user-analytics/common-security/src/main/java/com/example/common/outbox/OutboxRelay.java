@@ -0,0 +1,208 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code outbox_events} to Kafka in batches. A batch is read in id order, sent without
+ * waiting on each record, flushed, and deleted only once the broker has acknowledged every record,
+ * all in one database transaction: a failed batch stays in the table and is sent again on the next
+ * run. Only one relay per database sends at a time, under a transaction-scoped advisory lock, so
+ * events of the same key reach Kafka in order whichever replica sends them.
+ * <p>
+ * A record Kafka rejects counts a failed attempt against its row; after {@code maxAttempts} the row
+ * is parked and left in the table, so it cannot hold back the rest of the outbox. Broker timeouts
+ * are not counted, as they say nothing about the record.
+ * <p>
+ * With an idempotent producer, broker retries never duplicate a record; a relay that dies after
+ * the send but before the commit resends its batch, so every record carries its row id in the
+ * {@value #OUTBOX_ID_HEADER} header for consumers that must drop repeats.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    public static final String OUTBOX_ID_HEADER = "outbox-id";
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+    private final Counter publishedCounter;
+    private final Counter failedBatchCounter;
+    private final Counter parkedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       int batchSize,
+                       int maxBatchesPerRun,
+                       long sendTimeoutMs,
+                       int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failedBatchCounter = Counter.builder("outbox.relay.failed.batches")
+                .description("Outbox batches rolled back because Kafka did not acknowledge them")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.relay.parked")
+                .description("Outbox events parked after Kafka rejected them maxAttempts times")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to lock, send and delete one outbox batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends batches until the outbox is empty, a batch fails or the per-run limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int sent;
+            try {
+                sent = relayBatch();
+            } catch (RejectedEventException e) {
+                failedBatchCounter.increment();
+                recordRejection(e);
+                return;
+            } catch (RuntimeException e) {
+                failedBatchCounter.increment();
+                log.warn("Outbox batch rolled back, will retry on the next run: {}", e.getMessage());
+                return;
+            }
+            if (sent < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends and deletes one batch.
+     *
+     * @return the number of events sent, 0 when the outbox is empty or another relay is sending
+     * @throws RejectedEventException when Kafka rejected one of the events; the batch is rolled back
+     */
+    public int relayBatch() {
+        Integer sent = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockRelay()) {
+                return 0;
+            }
+            List<OutboxMessage> messages = outboxRepository.findBatch(batchSize);
+            if (messages.isEmpty()) {
+                return 0;
+            }
+            CompletableFuture<?>[] acks = messages.stream()
+                    .map(message -> kafkaTemplate.send(toRecord(message)))
+                    .toArray(CompletableFuture[]::new);
+            kafkaTemplate.flush();
+            awaitAll(messages, acks);
+            outboxRepository.delete(messages);
+            return messages.size();
+        }));
+        int count = sent != null ? sent : 0;
+        publishedCounter.increment(count);
+        return count;
+    }
+
+    private void recordRejection(RejectedEventException e) {
+        OutboxMessage message = e.getOutboxMessage();
+        try {
+            if (outboxRepository.recordFailure(message.id(), String.valueOf(e.getCause()), maxAttempts)) {
+                parkedCounter.increment();
+                log.error("Parked outbox event {} for topic {} after {} rejected attempts: {}",
+                        message.id(), message.topic(), maxAttempts, e.getCause().toString());
+            } else {
+                log.warn("Kafka rejected outbox event {}, will retry on the next run: {}",
+                        message.id(), e.getCause().toString());
+            }
+        } catch (RuntimeException failure) {
+            log.warn("Could not record the rejection of outbox event {}: {}", message.id(), failure.getMessage());
+        }
+    }
+
+    private void awaitAll(List<OutboxMessage> messages, CompletableFuture<?>[] acks) {
+        try {
+            CompletableFuture.allOf(acks).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Blame the first rejected record; the ones behind it may only have failed along with it
+            for (int i = 0; i < acks.length; i++) {
+                if (acks[i].isCompletedExceptionally()) {
+                    throw new RejectedEventException(messages.get(i), causeOf(acks[i]));
+                }
+            }
+            throw new IllegalStateException("Kafka rejected an outbox event", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Kafka did not acknowledge the outbox batch within "
+                    + sendTimeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Kafka", e);
+        }
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> ack) {
+        try {
+            ack.join();
+            return null;
+        } catch (CompletionException | CancellationException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private static ProducerRecord<String, String> toRecord(OutboxMessage message) {
+        ProducerRecord<String, String> record =
+                new ProducerRecord<>(message.topic(), message.key(), message.payload());
+        record.headers().add(OUTBOX_ID_HEADER, Long.toString(message.id()).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    /**
+     * Kafka rejected an event of the batch, which was rolled back.
+     */
+    public static class RejectedEventException extends RuntimeException {
+
+        private final transient OutboxMessage outboxMessage;
+
+        RejectedEventException(OutboxMessage outboxMessage, Throwable cause) {
+            super("Kafka rejected outbox event " + outboxMessage.id(), cause);
+            this.outboxMessage = outboxMessage;
+        }
+
+        public OutboxMessage getOutboxMessage() {
+            return outboxMessage;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The {@code outbox_events} table every publishing service keeps in its own database. Events are
+ * appended in the transaction of the state change they describe, so they exist exactly when that
+ * change commits, and {@link OutboxRelay} later moves them to Kafka.
+ */
+public class OutboxRepository {
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("topic"),
+            rs.getString("event_key"),
+            rs.getString("payload"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ids come from a sequence when the row is inserted, not when it commits, so two transactions
+     * could otherwise commit events of one key in the opposite order of their ids, and the relay
+     * would send the later event first. Appending takes a transaction-scoped lock on the key, so a
+     * second writer of the key waits for the first to end and always gets the higher id. Events
+     * without a key have no order to keep.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, String payload) {
+        if (key != null) {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('outbox_events'), hashtext(?))",
+                    Object.class, key);
+        }
+        jdbcTemplate.update("INSERT INTO outbox_events (topic, event_key, payload) VALUES (?, ?, ?)",
+                topic, key, payload);
+    }
+
+    /**
+     * Makes the calling transaction the only relay of this database until it ends. Relays on other
+     * replicas get {@code false} and leave the batch to it, so events of one key are never sent by
+     * two relays at once and keep their order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('outbox_events'))", Boolean.class));
+    }
+
+    /**
+     * The oldest {@code limit} events that are not parked, in id order. Across keys a lower id may
+     * still commit after a higher one is sent; within one key, {@link #append} makes id order the
+     * commit order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxMessage> findBatch(int limit) {
+        return jdbcTemplate.query("SELECT id, topic, event_key, payload FROM outbox_events " +
+                "WHERE parked_at IS NULL ORDER BY id LIMIT ?", ROW_MAPPER, limit);
+    }
+
+    /**
+     * Counts a failed delivery of the event and parks it once it has failed {@code maxAttempts}
+     * times, so it no longer holds back the events behind it. Parked events stay in the table
+     * for inspection.
+     *
+     * @return true if the event is now parked
+     */
+    @Transactional
+    public boolean recordFailure(long id, String error, int maxAttempts) {
+        List<Boolean> parked = jdbcTemplate.queryForList("UPDATE outbox_events SET attempts = attempts + 1, " +
+                        "last_error = ?, parked_at = CASE WHEN attempts + 1 >= ? THEN CURRENT_TIMESTAMP END " +
+                        "WHERE id = ? RETURNING parked_at IS NOT NULL",
+                Boolean.class, error != null && error.length() > 1000 ? error.substring(0, 1000) : error,
+                maxAttempts, id);
+        return !parked.isEmpty() && Boolean.TRUE.equals(parked.get(0));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(List<OutboxMessage> messages) {
+        jdbcTemplate.batchUpdate("DELETE FROM outbox_events WHERE id = ?",
+                messages.stream().map(message -> new Object[]{message.id()}).toList());
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class);
+        return count != null ? count : 0;
+    }
+
+    public long countParked() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE parked_at IS NOT NULL", Long.class);
+        return count != null ? count : 0;
+    }
+}
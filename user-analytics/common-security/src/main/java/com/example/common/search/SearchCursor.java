@@ -0,0 +1,50 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in results ordered by {@code rank DESC, id ASC}: the next page starts after the
+ * row with this rank and id. Clients see it as an opaque string.
+ */
+public record SearchCursor(float rank, long id) {
+
+    /**
+     * Before every row; ranks are word similarities in [0, 1].
+     */
+    public static final SearchCursor FIRST = new SearchCursor(Float.MAX_VALUE, 0L);
+
+    public static SearchCursor after(SearchHit hit) {
+        return new SearchCursor(hit.getRank(), hit.getId());
+    }
+
+    /**
+     * @param cursor a value from {@link #encode()}, or null/blank for the first page
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new SearchCursor(Float.parseFloat(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        // Float.toString round-trips exactly, so the next page compares against the same rank
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((rank + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
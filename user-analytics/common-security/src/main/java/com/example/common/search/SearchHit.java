@@ -0,0 +1,17 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.search;
+
+/**
+ * Projection of a ranked search query: the matching row's id and its trigram word similarity.
+ */
+public interface SearchHit {
+
+    Long getId();
+
+    Float getRank();
+}
@@ -0,0 +1,53 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One page of ranked search results and the cursor of the next page, which is null on the last page.
+ */
+public record SearchSlice<T>(List<T> content, String nextCursor) {
+
+    public static final int MAX_SIZE = 100;
+
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from hits fetched with a limit of {@code size + 1}, where the extra hit only
+     * signals that another page exists. Rows are loaded by id in one query and returned in hit
+     * order; rows deleted since the search are skipped.
+     */
+    public static <E, T> SearchSlice<T> of(List<? extends SearchHit> hits, int size,
+                                           Function<List<Long>, List<E>> loader,
+                                           Function<E, Long> idOf,
+                                           Function<E, T> mapper) {
+        List<? extends SearchHit> page = hits.size() > size ? hits.subList(0, size) : hits;
+        String nextCursor = hits.size() > size ? SearchCursor.after(page.get(size - 1)).encode() : null;
+
+        List<Long> ids = page.stream().map(SearchHit::getId).toList();
+        Map<Long, E> rowsById = new HashMap<>();
+        for (E row : loader.apply(ids)) {
+            rowsById.put(idOf.apply(row), row);
+        }
+
+        List<T> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            E row = rowsById.get(id);
+            if (row != null) {
+                content.add(mapper.apply(row));
+            }
+        }
+        return new SearchSlice<>(content, nextCursor);
+    }
+}
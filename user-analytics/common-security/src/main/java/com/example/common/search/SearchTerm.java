@@ -0,0 +1,42 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.search;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Free-text search input normalized for the trigram-indexed {@code search_text} columns.
+ * Those columns are generated lower-cased, so {@link #term()} is lower-cased as well and
+ * {@link #pattern()} is a substring LIKE pattern with the term's own wildcards escaped.
+ */
+public record SearchTerm(String term, String pattern) {
+
+    public static final int MAX_LENGTH = 100;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static SearchTerm of(String raw) {
+        String term = raw == null ? "" : WHITESPACE.matcher(raw.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        if (term.length() > MAX_LENGTH) {
+            term = term.substring(0, MAX_LENGTH);
+        }
+        return new SearchTerm(term, "%" + escapeLike(term) + "%");
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
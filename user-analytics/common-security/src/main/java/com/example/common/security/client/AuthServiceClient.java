@@ -6,19 +6,33 @@
 
 package com.example.common.security.client;
 
+import com.example.common.security.dto.TokenRevocation;
 import com.example.common.security.dto.TokenValidationRequest;
 import com.example.common.security.dto.TokenValidationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "auth-service", url = "${auth.service.url:}", path = "/api/auth", fallback = AuthServiceClientFallback.class)
 public interface AuthServiceClient {
 
+    /**
+     * Header carrying the shared service token, which auth-service requires for service-only endpoints
+     */
+    String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
     @PostMapping("/validate")
     TokenValidationResponse validateToken(@RequestBody TokenValidationRequest request);
 
     @PostMapping("/validate-header")
     TokenValidationResponse validateTokenFromHeader(@RequestHeader("Authorization") String authHeader);
+
+    @GetMapping("/revocations")
+    List<TokenRevocation> getTokenRevocations(@RequestHeader(SERVICE_TOKEN_HEADER) String serviceToken,
+                                              @RequestParam("since") long since);
 }
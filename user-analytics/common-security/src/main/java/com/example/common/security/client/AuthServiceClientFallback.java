@@ -6,11 +6,15 @@
 
 package com.example.common.security.client;
 
+import com.example.common.security.dto.TokenRevocation;
 import com.example.common.security.dto.TokenValidationRequest;
 import com.example.common.security.dto.TokenValidationResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.List;
+
 @Slf4j
 @Component
 public class AuthServiceClientFallback implements AuthServiceClient {
@@ -32,4 +36,10 @@ public class AuthServiceClientFallback implements AuthServiceClient {
                 .message("Authentication service is temporarily unavailable")
                 .build();
     }
+
+    @Override
+    public List<TokenRevocation> getTokenRevocations(String serviceToken, long since) {
+        log.warn("Auth service is unavailable. Fallback triggered for token revocations.");
+        return Collections.emptyList();
+    }
 }
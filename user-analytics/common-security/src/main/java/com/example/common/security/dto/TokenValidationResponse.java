@@ -24,5 +24,7 @@ public class TokenValidationResponse {
     private String userType;
     private Set<String> roles;
     private Set<String> permissions;
+    /** Expiry of the validated token, epoch millis. */
+    private Long expiresAt;
     private String message;
 }
@@ -9,12 +9,18 @@ package com.example.common.security.filter;
 import com.example.common.security.client.AuthServiceClient;
 import com.example.common.security.dto.TokenValidationResponse;
 import com.example.common.security.dto.UserPrincipal;
+import com.example.common.security.jwt.LocalJwtValidator;
+import com.example.common.security.jwt.VerifiedTokenCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -23,13 +29,48 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Base64;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Validate every token against auth-service (default). */
+    public static final String MODE_REMOTE = "remote";
+    /** Verify the token signature locally with the shared secret. */
+    public static final String MODE_LOCAL = "local";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final AuthServiceClient authServiceClient;
+    private final LocalJwtValidator localJwtValidator;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean localMode;
+    private final long remoteCacheTtlMs;
+    private final Timer validationTimer;
+
+    public JwtAuthenticationFilter(AuthServiceClient authServiceClient,
+                                   LocalJwtValidator localJwtValidator,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${security.jwt.validation-mode:remote}") String validationMode,
+                                   @Value("${security.jwt.cache.remote-ttl-ms:60000}") long remoteCacheTtlMs) {
+        this.authServiceClient = authServiceClient;
+        this.localJwtValidator = localJwtValidator;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.localMode = MODE_LOCAL.equalsIgnoreCase(validationMode);
+        this.remoteCacheTtlMs = remoteCacheTtlMs;
+
+        if (localMode && !localJwtValidator.isConfigured()) {
+            throw new IllegalStateException(
+                    "security.jwt.secret must be set when security.jwt.validation-mode is 'local'");
+        }
+
+        this.validationTimer = Timer.builder("security.token.validation")
+                .tag("mode", localMode ? MODE_LOCAL : MODE_REMOTE)
+                .description("Time to validate a token that was not in the cache")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -40,12 +81,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                TokenValidationResponse validationResponse =
-                        authServiceClient.validateTokenFromHeader("Bearer " + jwt);
+                String tokenHash = VerifiedTokenCache.hash(jwt);
+                UserPrincipal userPrincipal = verifiedTokenCache.get(tokenHash);
 
-                if (validationResponse != null && Boolean.TRUE.equals(validationResponse.getValid())) {
-                    UserPrincipal userPrincipal = UserPrincipal.fromTokenValidation(validationResponse);
+                if (userPrincipal == null) {
+                    VerifiedTokenCache.Entry entry = validationTimer.record(() -> validate(jwt));
+                    if (entry != null) {
+                        verifiedTokenCache.put(tokenHash, entry);
+                        userPrincipal = entry.principal();
+                    }
+                }
 
+                if (userPrincipal != null) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     userPrincipal,
@@ -57,9 +104,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
                     log.debug("Set authentication for user: {}", userPrincipal.getUsername());
-                } else {
-                    log.warn("Token validation failed: {}",
-                            validationResponse != null ? validationResponse.getMessage() : "Unknown error");
                 }
             }
         } catch (Exception ex) {
@@ -69,6 +113,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private VerifiedTokenCache.Entry validate(String jwt) {
+        if (localMode) {
+            return localJwtValidator.validate(jwt);
+        }
+
+        TokenValidationResponse validationResponse =
+                authServiceClient.validateTokenFromHeader("Bearer " + jwt);
+
+        if (validationResponse != null && Boolean.TRUE.equals(validationResponse.getValid())) {
+            long now = System.currentTimeMillis();
+            long expiresAt = now + remoteCacheTtlMs;
+            // Never serve the token from the cache past its own expiry
+            Long tokenExpiresAt = validationResponse.getExpiresAt() != null
+                    ? validationResponse.getExpiresAt()
+                    : unverifiedExpiry(jwt);
+            if (tokenExpiresAt != null) {
+                expiresAt = Math.min(expiresAt, tokenExpiresAt);
+            }
+            return new VerifiedTokenCache.Entry(
+                    UserPrincipal.fromTokenValidation(validationResponse), now, expiresAt);
+        }
+
+        log.warn("Token validation failed: {}",
+                validationResponse != null ? validationResponse.getMessage() : "Unknown error");
+        return null;
+    }
+
+    /**
+     * Reads the {@code exp} claim without checking the signature. Only used to shorten the cache
+     * entry of a token auth-service has already accepted.
+     *
+     * @return the expiry in epoch millis, or {@code null} if the token carries none
+     */
+    private static Long unverifiedExpiry(String jwt) {
+        String[] parts = jwt.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode exp = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong() ? exp.asLong() * 1_000 : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,99 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.security.jwt;
+
+import com.example.common.security.dto.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies HS256 tokens issued by auth-service with the shared secret, without a network call.
+ */
+@Slf4j
+@Component
+public class LocalJwtValidator {
+
+    private final JwtParser parser;
+    private final TokenRevocationRegistry revocationRegistry;
+
+    public LocalJwtValidator(TokenRevocationRegistry revocationRegistry,
+                             @Value("${security.jwt.secret:${jwt.secret:}}") String secret) {
+        this.revocationRegistry = revocationRegistry;
+        this.parser = StringUtils.hasText(secret)
+                ? Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))).build()
+                : null;
+    }
+
+    public boolean isConfigured() {
+        return parser != null;
+    }
+
+    /**
+     * @return the verified entry, or {@code null} if the token is invalid, expired or revoked
+     */
+    public VerifiedTokenCache.Entry validate(String token) {
+        if (parser == null) {
+            throw new IllegalStateException("security.jwt.secret is not configured");
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+
+            // Refresh tokens carry no roles and must not authenticate API calls
+            if ("refresh".equals(claims.get("type", String.class)) || claims.getExpiration() == null) {
+                return null;
+            }
+
+            String username = claims.getSubject();
+            long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+            if (revocationRegistry.isRevoked(username, issuedAt)) {
+                log.debug("Token for user {} has been revoked", username);
+                return null;
+            }
+
+            UserPrincipal principal = UserPrincipal.builder()
+                    .userId(claims.get("userId", Long.class))
+                    .username(username)
+                    .email(claims.get("email", String.class))
+                    .userType(claims.get("userType", String.class))
+                    .roles(toStringSet(claims.get("roles")))
+                    .permissions(toStringSet(claims.get("permissions")))
+                    .accountNonExpired(true)
+                    .accountNonLocked(true)
+                    .credentialsNonExpired(true)
+                    .enabled(true)
+                    .build();
+
+            return new VerifiedTokenCache.Entry(principal, issuedAt, claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Local token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Set<String> toStringSet(Object claim) {
+        if (claim instanceof Collection<?> values) {
+            return values.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.toSet());
+        }
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.security.jwt;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.example.common.security.dto.TokenRevocation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulls revoked users from auth-service on a fixed interval and remembers, per username,
+ * the instant before which that user's tokens must be rejected.
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    private final AuthServiceClient authServiceClient;
+    private final String serviceToken;
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final long lookbackMs;
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long lastPolledAt;
+
+    public TokenRevocationRegistry(AuthServiceClient authServiceClient,
+                                   @Value("${security.service-token:}") String serviceToken,
+                                   @Value("${security.jwt.revocation.enabled:true}") boolean enabled,
+                                   @Value("${security.jwt.revocation.poll-interval-ms:30000}") long pollIntervalMs,
+                                   @Value("${security.jwt.revocation.lookback-ms:86400000}") long lookbackMs) {
+        this.authServiceClient = authServiceClient;
+        this.serviceToken = serviceToken;
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.lookbackMs = lookbackMs;
+        this.lastPolledAt = System.currentTimeMillis() - lookbackMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            if (serviceToken.isBlank()) {
+                log.warn("security.service-token is not set, auth-service will refuse token revocation polls");
+            }
+            scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The {@code iat} claim has second precision, so tokens are compared against the revocation time
+     * truncated to its second: a token issued in the second of the revocation, such as the one the user
+     * got by logging in again right after a password change, stays valid.
+     *
+     * @return {@code true} if a token for {@code username} issued at {@code issuedAtMillis} has been revoked
+     */
+    public boolean isRevoked(String username, long issuedAtMillis) {
+        Long revokedAt = revokedBefore.get(username);
+        return revokedAt != null && issuedAtMillis < revokedAt - Math.floorMod(revokedAt, 1_000L);
+    }
+
+    public void revoke(String username, long revokedAtMillis) {
+        revokedBefore.merge(username, revokedAtMillis, Math::max);
+    }
+
+    void poll() {
+        long pollStartedAt = System.currentTimeMillis();
+        try {
+            // Overlap the window slightly so rows committed during the previous poll are not missed
+            List<TokenRevocation> revocations =
+                    authServiceClient.getTokenRevocations(serviceToken, lastPolledAt - pollIntervalMs);
+            if (revocations != null) {
+                for (TokenRevocation revocation : revocations) {
+                    revoke(revocation.getUsername(), revocation.getRevokedAt());
+                }
+            }
+            lastPolledAt = pollStartedAt;
+
+            // Tokens older than the lookback window have expired anyway
+            revokedBefore.values().removeIf(revokedAt -> revokedAt < pollStartedAt - lookbackMs);
+        } catch (Exception e) {
+            log.warn("Could not fetch token revocations: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.security.jwt;
+
+import com.example.common.security.dto.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of already verified tokens. Keys are SHA-256 hashes so raw tokens
+ * are never held in memory; entries expire with the token and are dropped once the
+ * user shows up in {@link TokenRevocationRegistry}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * @param issuedAt  token issue time (or validation time when the token was checked remotely), epoch millis
+     * @param expiresAt time after which the entry must not be served, epoch millis
+     */
+    public record Entry(UserPrincipal principal, long issuedAt, long expiresAt) {
+    }
+
+    private final TokenRevocationRegistry revocationRegistry;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(TokenRevocationRegistry revocationRegistry,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.jwt.cache.max-size:10000}") int maxSize) {
+        this.revocationRegistry = revocationRegistry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        this.hits = Counter.builder("security.token.cache")
+                .tag("result", "hit")
+                .description("Verified-token cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("security.token.cache")
+                .tag("result", "miss")
+                .description("Verified-token cache lookups")
+                .register(meterRegistry);
+        Gauge.builder("security.token.cache.size", this, VerifiedTokenCache::size)
+                .register(meterRegistry);
+    }
+
+    public UserPrincipal get(String tokenHash) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(tokenHash);
+            if (entry != null && (entry.expiresAt() <= System.currentTimeMillis()
+                    || revocationRegistry.isRevoked(entry.principal().getUsername(), entry.issuedAt()))) {
+                entries.remove(tokenHash);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal();
+    }
+
+    public void put(String tokenHash, Entry entry) {
+        synchronized (entries) {
+            entries.put(tokenHash, entry);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
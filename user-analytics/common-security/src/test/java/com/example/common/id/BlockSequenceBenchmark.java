@@ -0,0 +1,74 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how many ids {@link BlockSequence} hands out per second when every core asks at once:
+ * <pre>
+ * mvn test -pl common-security -Dtest=BlockSequenceBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BlockSequenceBenchmark {
+
+    private static final int BLOCK_SIZE = 1000;
+    private static final int PER_THREAD = 2_000_000;
+
+    @Test
+    void next_shouldGenerateMillionsOfIdsPerSecondAcrossThreads() {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        AtomicLong database = new AtomicLong(DocumentNumberGenerator.FIRST_ID);
+        BlockSequence sequence = new BlockSequence(() -> database.getAndAdd(BLOCK_SIZE), BLOCK_SIZE);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<CompletableFuture<Long>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(start);
+                long last = 0;
+                for (int i = 0; i < PER_THREAD; i++) {
+                    last = sequence.next();
+                }
+                return last;
+            }, runnable -> new Thread(runnable).start()));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        workers.forEach(CompletableFuture::join);
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long ids = (long) threads * PER_THREAD;
+        double idsPerSecond = ids * 1_000_000_000.0 / elapsedNanos;
+        log.info("Block sequence: {} ids on {} threads in {} ms, {} ids/s",
+                ids, threads, elapsedNanos / 1_000_000, (long) idsPerSecond);
+        assertTrue(idsPerSecond > 1_000_000, "generated " + (long) idsPerSecond + " ids/s");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
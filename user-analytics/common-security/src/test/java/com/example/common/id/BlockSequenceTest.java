@@ -0,0 +1,121 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Block Sequence Tests")
+class BlockSequenceTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    /**
+     * Stands in for {@code nextval} on a sequence with {@code INCREMENT BY BLOCK_SIZE}.
+     */
+    private static class FakeSequence {
+        final AtomicLong value = new AtomicLong(DocumentNumberGenerator.FIRST_ID);
+        final AtomicInteger calls = new AtomicInteger();
+
+        long nextval() {
+            calls.incrementAndGet();
+            return value.getAndAdd(BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out consecutive ids and fetch one block per BLOCK_SIZE ids")
+    void next_consecutiveWithinBlocks() {
+        FakeSequence database = new FakeSequence();
+        BlockSequence sequence = new BlockSequence(database::nextval, BLOCK_SIZE);
+
+        for (long i = 0; i < 2500; i++) {
+            assertEquals(DocumentNumberGenerator.FIRST_ID + i, sequence.next());
+        }
+        assertEquals(3, database.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep working after a failed block fetch")
+    void next_retriesFailedFetch() {
+        FakeSequence database = new FakeSequence();
+        AtomicInteger attempts = new AtomicInteger();
+        BlockSequence sequence = new BlockSequence(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return database.nextval();
+        }, BLOCK_SIZE);
+
+        assertThrows(IllegalStateException.class, sequence::next);
+        assertEquals(DocumentNumberGenerator.FIRST_ID, sequence.next());
+    }
+
+    @Test
+    @DisplayName("Should format numbers that cannot match legacy ten-digit numbers")
+    void documentNumber_format() {
+        FakeSequence database = new FakeSequence();
+        DocumentNumberGenerator numbers = new DocumentNumberGenerator("INV", database::nextval, BLOCK_SIZE);
+
+        assertEquals("INV-10000000000", numbers.next());
+        assertEquals("INV-10000000001", numbers.next());
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids across threads")
+    void next_uniqueAcrossThreads() {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int perThread = 20_000;
+        FakeSequence database = new FakeSequence();
+        BlockSequence sequence = new BlockSequence(database::nextval, BLOCK_SIZE);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<CompletableFuture<long[]>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(CompletableFuture.supplyAsync(() -> {
+                long[] ids = new long[perThread];
+                awaitQuietly(start);
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = sequence.next();
+                }
+                return ids;
+            }, runnable -> new Thread(runnable).start()));
+        }
+
+        start.countDown();
+        long[] all = workers.stream()
+                .map(CompletableFuture::join)
+                .flatMapToLong(Arrays::stream)
+                .toArray();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "duplicate id " + all[i]);
+        }
+        assertEquals((long) threads * perThread, all.length);
+        // Blocks are only ever fetched for ids that were used, apart from each thread's last miss
+        assertTrue(database.calls.get() <= all.length / BLOCK_SIZE + threads + 1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.security.filter;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.example.common.security.dto.TokenValidationResponse;
+import com.example.common.security.jwt.LocalJwtValidator;
+import com.example.common.security.jwt.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JWT Authentication Filter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final long REMOTE_TTL_MS = 60_000;
+
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+    private final VerifiedTokenCache verifiedTokenCache = mock(VerifiedTokenCache.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(authServiceClient,
+            mock(LocalJwtValidator.class), verifiedTokenCache, new SimpleMeterRegistry(),
+            JwtAuthenticationFilter.MODE_REMOTE, REMOTE_TTL_MS);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void remoteValidation_shouldNotCacheTheTokenPastTheExpiryAuthServiceReports() throws Exception {
+        // Whole seconds, as exp is carried in the token
+        long exp = System.currentTimeMillis() / 1_000 * 1_000 + 5_000;
+        String token = token(exp);
+        when(authServiceClient.validateTokenFromHeader("Bearer " + token)).thenReturn(valid(exp));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(exp, cachedEntry(token).expiresAt());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void remoteValidation_shouldFallBackToTheExpClaimOfTheToken() throws Exception {
+        long exp = System.currentTimeMillis() / 1_000 * 1_000 + 5_000;
+        String token = token(exp);
+        when(authServiceClient.validateTokenFromHeader("Bearer " + token)).thenReturn(valid(null));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(exp, cachedEntry(token).expiresAt());
+    }
+
+    @Test
+    void remoteValidation_shouldKeepTheTtlForTokensThatOutliveIt() throws Exception {
+        long exp = System.currentTimeMillis() + 3_600_000;
+        String token = token(exp);
+        when(authServiceClient.validateTokenFromHeader("Bearer " + token)).thenReturn(valid(exp));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        VerifiedTokenCache.Entry entry = cachedEntry(token);
+        assertEquals(entry.issuedAt() + REMOTE_TTL_MS, entry.expiresAt());
+    }
+
+    private VerifiedTokenCache.Entry cachedEntry(String token) {
+        ArgumentCaptor<VerifiedTokenCache.Entry> entry = ArgumentCaptor.forClass(VerifiedTokenCache.Entry.class);
+        verify(verifiedTokenCache).put(eq(VerifiedTokenCache.hash(token)), entry.capture());
+        return entry.getValue();
+    }
+
+    private static String token(long expiresAt) {
+        return Jwts.builder()
+                .subject("alice")
+                .expiration(new Date(expiresAt))
+                .signWith(Keys.hmacShaKeyFor("a-secret-only-auth-service-knows-for-these-tests"
+                        .getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static TokenValidationResponse valid(Long expiresAt) {
+        return TokenValidationResponse.builder()
+                .valid(true)
+                .username("alice")
+                .userId(1L)
+                .userType("PATIENT")
+                .roles(Set.of("ROLE_PATIENT"))
+                .permissions(Set.of())
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
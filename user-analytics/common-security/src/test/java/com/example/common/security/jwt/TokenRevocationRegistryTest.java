@@ -0,0 +1,58 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.common.security.jwt;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.example.common.security.dto.TokenRevocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Token Revocation Registry Tests")
+class TokenRevocationRegistryTest {
+
+    // Half a second into a recent second, so the registry's lookback keeps it
+    private static final long REVOKED_AT = System.currentTimeMillis() / 1_000 * 1_000 - 60_000 + 500;
+
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+    private final TokenRevocationRegistry registry =
+            new TokenRevocationRegistry(authServiceClient, "service-token", false, 30_000, 86_400_000);
+
+    @Test
+    void isRevoked_shouldRejectTokensIssuedInAnEarlierSecond() {
+        registry.revoke("alice", REVOKED_AT);
+
+        assertTrue(registry.isRevoked("alice", REVOKED_AT - 1_500));
+        assertFalse(registry.isRevoked("bob", REVOKED_AT - 1_500));
+    }
+
+    @Test
+    void isRevoked_shouldAcceptATokenIssuedInTheSecondOfTheRevocation() {
+        registry.revoke("alice", REVOKED_AT);
+
+        // iat of a token issued 300 ms after the revocation, e.g. on logging in again, is truncated to its second
+        assertFalse(registry.isRevoked("alice", REVOKED_AT - 500));
+        assertFalse(registry.isRevoked("alice", REVOKED_AT + 500));
+        assertTrue(registry.isRevoked("alice", REVOKED_AT - 501));
+    }
+
+    @Test
+    void poll_shouldSendTheServiceToken() {
+        when(authServiceClient.getTokenRevocations(eq("service-token"), anyLong()))
+                .thenReturn(List.of(TokenRevocation.builder().username("alice").revokedAt(REVOKED_AT).build()));
+
+        registry.poll();
+
+        assertTrue(registry.isRevoked("alice", REVOKED_AT - 1_500));
+    }
+}
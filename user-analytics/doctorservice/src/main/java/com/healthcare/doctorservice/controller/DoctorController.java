@@ -1,4 +1,5 @@
 package com.healthcare.doctorservice.controller;
+import com.example.common.search.SearchSlice;
 import com.healthcare.doctorservice.dto.DoctorDTO;
 import com.healthcare.doctorservice.entity.DoctorStatus;
 import com.healthcare.doctorservice.service.impl.DoctorService;
@@ -98,6 +99,16 @@ public class DoctorController {
         return ResponseEntity.ok(doctors);
     }
 
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<SearchSlice<DoctorDTO>> scrollDoctors(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchSlice<DoctorDTO> doctors = doctorService.searchDoctors(query, cursor, size);
+        return ResponseEntity.ok(doctors);
+    }
+
     @GetMapping("/specializations")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<List<String>> getAllSpecializations() {
@@ -1,5 +1,6 @@
 package com.healthcare.doctorservice.repository;
 
+import com.example.common.search.SearchHit;
 import com.healthcare.doctorservice.entity.Doctor;
 import com.healthcare.doctorservice.entity.DoctorStatus;
 import org.springframework.data.domain.Page;
@@ -15,6 +16,8 @@ import java.util.Optional;
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
+    String SEARCH_MATCH = "(d.search_text LIKE :pattern OR :term <% d.search_text)";
+
     Optional<Doctor> findByEmail(String email);
 
     Optional<Doctor> findByLicenseNumber(String licenseNumber);
@@ -38,12 +41,27 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     @Query("SELECT d FROM Doctor d WHERE d.status = 'ACTIVE'")
     List<Doctor> findAllActiveDoctors();
 
-    @Query("SELECT d FROM Doctor d WHERE " +
-            "LOWER(d.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(d.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(d.specialization) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(d.department) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Doctor> searchDoctors(@Param("searchTerm") String searchTerm, Pageable pageable);
+    /**
+     * Substring or typo-tolerant match on the trigram-indexed {@code search_text} column,
+     * best matches first. Takes a {@link com.example.common.search.SearchTerm}; the pageable must be unsorted.
+     */
+    @Query(value = "SELECT d.* FROM doctors d WHERE " + SEARCH_MATCH +
+            " ORDER BY word_similarity(:term, d.search_text) DESC, d.id",
+            countQuery = "SELECT COUNT(*) FROM doctors d WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<Doctor> searchDoctors(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same matches as {@link #searchDoctors}, as a keyset page after ({@code afterRank}, {@code afterId}).
+     */
+    @Query(value = "SELECT s.id AS id, s.rank AS rank FROM (" +
+            "SELECT d.id, word_similarity(:term, d.search_text) AS rank FROM doctors d WHERE " + SEARCH_MATCH +
+            ") s WHERE s.rank < :afterRank OR (s.rank = :afterRank AND s.id > :afterId)" +
+            " ORDER BY s.rank DESC, s.id LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHit> searchDoctorsAfter(@Param("term") String term, @Param("pattern") String pattern,
+                                       @Param("afterRank") float afterRank, @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
 
     @Query("SELECT DISTINCT d.specialization FROM Doctor d WHERE d.status = 'ACTIVE' ORDER BY d.specialization")
     List<String> findAllSpecializations();
@@ -1,5 +1,9 @@
 package com.healthcare.doctorservice.service;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchSlice;
+import com.example.common.search.SearchTerm;
 import com.healthcare.doctorservice.dto.DoctorDTO;
 import com.healthcare.doctorservice.entity.Doctor;
 import com.healthcare.doctorservice.entity.DoctorStatus;
@@ -11,6 +15,7 @@ import com.healthcare.doctorservice.service.impl.DoctorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -132,10 +137,25 @@ public class DoctorServiceImpl implements DoctorService {
     @Override
     public Page<DoctorDTO> searchDoctors(String searchTerm, Pageable pageable) {
         log.info("Searching doctors with term: {}", searchTerm);
-        return doctorRepository.searchDoctors(searchTerm, pageable)
+        SearchTerm term = SearchTerm.of(searchTerm);
+        // Results are ordered by relevance; a client sort cannot be appended to the native query
+        return doctorRepository.searchDoctors(term.term(), term.pattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(doctorMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SearchSlice<DoctorDTO> searchDoctors(String searchTerm, String cursor, int size) {
+        log.info("Searching doctors with term: {} after cursor: {}", searchTerm, cursor);
+        SearchTerm term = SearchTerm.of(searchTerm);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = SearchSlice.pageSize(size);
+        List<SearchHit> hits = doctorRepository.searchDoctorsAfter(
+                term.term(), term.pattern(), after.rank(), after.id(), pageSize + 1);
+        return SearchSlice.of(hits, pageSize, doctorRepository::findAllById, Doctor::getId, doctorMapper::toDTO);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<String> getAllSpecializations() {
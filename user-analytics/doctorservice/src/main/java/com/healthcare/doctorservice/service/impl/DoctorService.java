@@ -6,6 +6,7 @@
 
 package com.healthcare.doctorservice.service.impl;
 
+import com.example.common.search.SearchSlice;
 import com.healthcare.doctorservice.dto.DoctorDTO;
 import com.healthcare.doctorservice.entity.DoctorStatus;
 import org.springframework.data.domain.Page;
@@ -44,6 +45,9 @@ public interface DoctorService {
     @Transactional(readOnly = true)
     Page<DoctorDTO> searchDoctors(String searchTerm, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    SearchSlice<DoctorDTO> searchDoctors(String searchTerm, String cursor, int size);
+
     @Transactional(readOnly = true)
     List<String> getAllSpecializations();
 
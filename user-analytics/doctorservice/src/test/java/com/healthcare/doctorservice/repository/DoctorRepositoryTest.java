@@ -1,5 +1,8 @@
 package com.healthcare.doctorservice.repository;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchTerm;
 import com.example.common.security.client.AuthServiceClient;
 import com.healthcare.doctorservice.DoctorServiceApplication;
 import com.healthcare.doctorservice.entity.Doctor;
@@ -14,10 +17,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cloud.openfeign.FeignAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,4 +80,67 @@ class DoctorRepositoryTest {
         List<Doctor> activeDoctors = doctorRepository.findAllActiveDoctors();
         assertThat(activeDoctors).extracting(Doctor::getStatus).containsOnly(DoctorStatus.ACTIVE);
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should match misspelled search terms and rank the closest match first")
+    void shouldSearchDoctorsToleratingTypos() {
+        Doctor marley = doctorRepository.save(doctor("Bob", "Marley", "Neurology", 1));
+        doctorRepository.save(doctor("Margaret", "Smith", "Dermatology", 2));
+
+        SearchTerm term = SearchTerm.of("Marly");
+        Page<Doctor> page = doctorRepository.searchDoctors(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent().get(0).getId()).isEqualTo(marley.getId());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should match a substring of the specialization")
+    void shouldSearchDoctorsBySubstring() {
+        Doctor doctor = doctorRepository.save(doctor("Ada", "Byron", "Otorhinolaryngology", 1));
+
+        SearchTerm term = SearchTerm.of("RHINO");
+        Page<Doctor> page = doctorRepository.searchDoctors(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(Doctor::getId).contains(doctor.getId());
+        assertThat(page.getTotalElements()).isEqualTo(page.getContent().size());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should page through search results by keyset without gaps or repeats")
+    void shouldSearchDoctorsAfterKeyset() {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(doctorRepository.save(doctor("Keyset", "Doctor" + i, "Cardiology", i)).getId());
+        }
+        SearchTerm term = SearchTerm.of("keyset");
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = SearchCursor.FIRST;
+        List<SearchHit> hits;
+        do {
+            hits = doctorRepository.searchDoctorsAfter(term.term(), term.pattern(), cursor.rank(), cursor.id(), 2);
+            hits.forEach(hit -> seen.add(hit.getId()));
+            if (!hits.isEmpty()) {
+                cursor = SearchCursor.decode(SearchCursor.after(hits.get(hits.size() - 1)).encode());
+            }
+        } while (hits.size() == 2);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(saved);
+    }
+
+    private static Doctor doctor(String firstName, String lastName, String specialization, int n) {
+        return DoctorTestBuilder.aDoctor()
+                .withId(null)
+                .withFirstName(firstName)
+                .withLastName(lastName)
+                .withSpecialization(specialization)
+                .withDepartment(specialization)
+                .withEmail(lastName.toLowerCase() + n + "@example.com")
+                .withLicenseNumber("SEARCH-" + lastName + "-" + n)
+                .build();
+    }
 }
@@ -6,6 +6,7 @@
 
 package com.healthcare.medicalrecordservice.controller;
 
+import com.example.common.search.SearchSlice;
 import com.example.common.security.annotation.RequirePermission;
 import com.example.common.security.constants.PermissionConstants;
 import com.healthcare.medicalrecordservice.dto.MedicalRecordDTO;
@@ -66,6 +67,16 @@ public class MedicalRecordController {
         return ResponseEntity.ok(records);
     }
 
+    @GetMapping("/patient/{patientId}/chart")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    @RequirePermission(PermissionConstants.MEDICAL_RECORD_READ)
+    public ResponseEntity<Page<MedicalRecordDTO>> getPatientChart(
+            @PathVariable Long patientId,
+            Pageable pageable) {
+        Page<MedicalRecordDTO> records = medicalRecordService.getPatientChart(patientId, pageable);
+        return ResponseEntity.ok(records);
+    }
+
     @GetMapping("/doctor/{doctorId}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<Page<MedicalRecordDTO>> getMedicalRecordsByDoctor(
@@ -142,6 +153,16 @@ public class MedicalRecordController {
         return ResponseEntity.ok(records);
     }
 
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<SearchSlice<MedicalRecordDTO>> scrollMedicalRecords(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchSlice<MedicalRecordDTO> records = medicalRecordService.searchMedicalRecords(query, cursor, size);
+        return ResponseEntity.ok(records);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<MedicalRecordDTO> updateMedicalRecord(
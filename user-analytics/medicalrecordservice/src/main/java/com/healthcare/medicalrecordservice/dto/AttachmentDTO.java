@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-class AttachmentDTO {
+public class AttachmentDTO {
 
     private Long id;
 
@@ -20,7 +20,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-class LabResultDTO {
+public class LabResultDTO {
 
     private Long id;
 
@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-class PrescriptionDTO {
+public class PrescriptionDTO {
 
     private Long id;
 
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-class VitalSignDTO {
+public class VitalSignDTO {
     private String vitalType;
     private String value;
     private String unit;
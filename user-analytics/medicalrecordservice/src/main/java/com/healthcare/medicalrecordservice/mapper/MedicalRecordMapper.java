@@ -6,11 +6,23 @@
 
 package com.healthcare.medicalrecordservice.mapper;
 
+import com.healthcare.medicalrecordservice.dto.AttachmentDTO;
+import com.healthcare.medicalrecordservice.dto.LabResultDTO;
 import com.healthcare.medicalrecordservice.dto.MedicalRecordDTO;
+import com.healthcare.medicalrecordservice.dto.PrescriptionDTO;
+import com.healthcare.medicalrecordservice.dto.VitalSignDTO;
+import com.healthcare.medicalrecordservice.entity.Attachment;
+import com.healthcare.medicalrecordservice.entity.LabResult;
 import com.healthcare.medicalrecordservice.entity.MedicalRecord;
+import com.healthcare.medicalrecordservice.entity.Prescription;
 import com.healthcare.medicalrecordservice.entity.RecordStatus;
+import com.healthcare.medicalrecordservice.entity.VitalSign;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 @Component
 public class MedicalRecordMapper {
 
@@ -41,15 +53,97 @@ public class MedicalRecordMapper {
         dto.setSignedBy(record.getSignedBy());
         dto.setUserId(record.getUserId());
 
-        // Map nested collections if needed
-        // dto.setPrescriptions(...);
-        // dto.setLabResults(...);
-        // dto.setAttachments(...);
-        // dto.setVitalSigns(...);
+        // Nested collections are left out here so that list and page reads do not load them
+        // record by record; see toDetailDTO
+
+        return dto;
+    }
+
+    /**
+     * Full record including its prescriptions, lab results, attachments and vital signs. Each
+     * collection is read, so load them up front (see {@code MedicalRecordRepository.fetchPrescriptions}
+     * and its siblings) rather than lazily per record.
+     */
+    public MedicalRecordDTO toDetailDTO(MedicalRecord record) {
+        MedicalRecordDTO dto = toDTO(record);
+        if (dto == null) {
+            return null;
+        }
+
+        dto.setPrescriptions(mapAll(record.getPrescriptions(), this::toPrescriptionDTO));
+        dto.setLabResults(mapAll(record.getLabResults(), this::toLabResultDTO));
+        dto.setAttachments(mapAll(record.getAttachments(), this::toAttachmentDTO));
+        dto.setVitalSigns(mapAll(record.getVitalSigns(), this::toVitalSignDTO));
+
+        return dto;
+    }
+
+    private PrescriptionDTO toPrescriptionDTO(Prescription prescription) {
+        PrescriptionDTO dto = new PrescriptionDTO();
+        dto.setId(prescription.getId());
+        dto.setMedicationName(prescription.getMedicationName());
+        dto.setDosage(prescription.getDosage());
+        dto.setFrequency(prescription.getFrequency());
+        dto.setDuration(prescription.getDuration());
+        dto.setQuantity(prescription.getQuantity());
+        dto.setRefills(prescription.getRefills());
+        dto.setInstructions(prescription.getInstructions());
+        dto.setStartDate(prescription.getStartDate());
+        dto.setEndDate(prescription.getEndDate());
+        dto.setStatus(prescription.getStatus());
+        dto.setPrescribedAt(prescription.getPrescribedAt());
+        return dto;
+    }
+
+    private LabResultDTO toLabResultDTO(LabResult labResult) {
+        LabResultDTO dto = new LabResultDTO();
+        dto.setId(labResult.getId());
+        dto.setTestName(labResult.getTestName());
+        dto.setTestCode(labResult.getTestCode());
+        dto.setResultValue(labResult.getResultValue());
+        dto.setUnit(labResult.getUnit());
+        dto.setReferenceRange(labResult.getReferenceRange());
+        dto.setIsAbnormal(labResult.getIsAbnormal());
+        dto.setInterpretation(labResult.getInterpretation());
+        dto.setTestDate(labResult.getTestDate());
+        dto.setResultDate(labResult.getResultDate());
+        dto.setLaboratoryName(labResult.getLaboratoryName());
+        dto.setPerformedBy(labResult.getPerformedBy());
+        dto.setStatus(labResult.getStatus());
+        dto.setCreatedAt(labResult.getCreatedAt());
+        return dto;
+    }
 
+    private AttachmentDTO toAttachmentDTO(Attachment attachment) {
+        AttachmentDTO dto = new AttachmentDTO();
+        dto.setId(attachment.getId());
+        dto.setFileName(attachment.getFileName());
+        dto.setFilePath(attachment.getFilePath());
+        dto.setFileType(attachment.getFileType());
+        dto.setFileSize(attachment.getFileSize());
+        dto.setAttachmentType(attachment.getAttachmentType());
+        dto.setDescription(attachment.getDescription());
+        dto.setUploadedBy(attachment.getUploadedBy());
+        dto.setUploadedAt(attachment.getUploadedAt());
         return dto;
     }
 
+    private VitalSignDTO toVitalSignDTO(VitalSign vitalSign) {
+        return new VitalSignDTO(vitalSign.getVitalType(), vitalSign.getValue(),
+                vitalSign.getUnit(), vitalSign.getRecordedAt());
+    }
+
+    private static <E, D> List<D> mapAll(List<E> entities, Function<E, D> mapper) {
+        if (entities == null) {
+            return new ArrayList<>();
+        }
+        List<D> dtos = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            dtos.add(mapper.apply(entity));
+        }
+        return dtos;
+    }
+
     public MedicalRecord toEntity(MedicalRecordDTO dto) {
         if (dto == null) {
             return null;
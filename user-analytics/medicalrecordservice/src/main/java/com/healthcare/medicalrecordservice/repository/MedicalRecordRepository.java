@@ -6,6 +6,7 @@
 
 package com.healthcare.medicalrecordservice.repository;
 
+import com.example.common.search.SearchHit;
 import com.healthcare.medicalrecordservice.entity.MedicalRecord;
 import com.healthcare.medicalrecordservice.entity.RecordStatus;
 import com.healthcare.medicalrecordservice.entity.RecordType;
@@ -17,11 +18,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
 
+    String SEARCH_MATCH = "(m.search_text LIKE :pattern OR :term <% m.search_text)";
+
     Page<MedicalRecord> findByPatientId(Long patientId, Pageable pageable);
 
     Page<MedicalRecord> findByDoctorId(Long doctorId, Pageable pageable);
@@ -63,12 +67,44 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Lo
             "AND m.status = 'SIGNED' ORDER BY m.recordDate DESC")
     List<MedicalRecord> findSignedRecordsByPatient(@Param("patientId") Long patientId);
 
+    // Each fetch query initializes one collection of records already loaded in the persistence
+    // context; Hibernate cannot fetch several bags in one query, and one query per collection keeps
+    // the cost of a page of detailed records independent of its size.
+
+    @Query("SELECT m FROM MedicalRecord m LEFT JOIN FETCH m.prescriptions p WHERE m.id IN :ids ORDER BY p.id")
+    List<MedicalRecord> fetchPrescriptions(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m FROM MedicalRecord m LEFT JOIN FETCH m.labResults l WHERE m.id IN :ids ORDER BY l.id")
+    List<MedicalRecord> fetchLabResults(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m FROM MedicalRecord m LEFT JOIN FETCH m.attachments a WHERE m.id IN :ids ORDER BY a.id")
+    List<MedicalRecord> fetchAttachments(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m FROM MedicalRecord m LEFT JOIN FETCH m.vitalSigns WHERE m.id IN :ids")
+    List<MedicalRecord> fetchVitalSigns(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(m) FROM MedicalRecord m WHERE m.patientId = :patientId")
     Long countByPatientId(@Param("patientId") Long patientId);
 
-    @Query("SELECT m FROM MedicalRecord m WHERE " +
-            "LOWER(m.diagnosis) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(m.symptoms) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(m.title) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<MedicalRecord> searchRecords(@Param("searchTerm") String searchTerm, Pageable pageable);
+    /**
+     * Substring or typo-tolerant match on the trigram-indexed {@code search_text} column,
+     * best matches first. Takes a {@link com.example.common.search.SearchTerm}; the pageable must be unsorted.
+     */
+    @Query(value = "SELECT m.* FROM medical_records m WHERE " + SEARCH_MATCH +
+            " ORDER BY word_similarity(:term, m.search_text) DESC, m.id",
+            countQuery = "SELECT COUNT(*) FROM medical_records m WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<MedicalRecord> searchRecords(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same matches as {@link #searchRecords}, as a keyset page after ({@code afterRank}, {@code afterId}).
+     */
+    @Query(value = "SELECT s.id AS id, s.rank AS rank FROM (" +
+            "SELECT m.id, word_similarity(:term, m.search_text) AS rank FROM medical_records m WHERE " + SEARCH_MATCH +
+            ") s WHERE s.rank < :afterRank OR (s.rank = :afterRank AND s.id > :afterId)" +
+            " ORDER BY s.rank DESC, s.id LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHit> searchRecordsAfter(@Param("term") String term, @Param("pattern") String pattern,
+                                       @Param("afterRank") float afterRank, @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
 }
@@ -7,6 +7,10 @@
 
 package com.healthcare.medicalrecordservice.service;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchSlice;
+import com.example.common.search.SearchTerm;
 import com.healthcare.medicalrecordservice.entity.RecordStatus;
 import com.healthcare.medicalrecordservice.entity.RecordType;
 import com.healthcare.medicalrecordservice.service.impl.MedicalRecordService;
@@ -20,6 +24,7 @@ import com.healthcare.medicalrecordservice.repository.MedicalRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -59,7 +64,8 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
                 .orElseThrow(() -> new MedicalRecordNotFoundException(
                         "Medical record not found with ID: " + id));
 
-        return medicalRecordMapper.toDTO(record);
+        fetchDetails(List.of(record));
+        return medicalRecordMapper.toDetailDTO(record);
     }
 
     @Transactional(readOnly = true)
@@ -78,6 +84,15 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
                 .map(medicalRecordMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<MedicalRecordDTO> getPatientChart(Long patientId, Pageable pageable) {
+        log.info("Fetching chart for patient: {}", patientId);
+        Page<MedicalRecord> records = medicalRecordRepository.findByPatientId(patientId, pageable);
+        fetchDetails(records.getContent());
+        return records.map(medicalRecordMapper::toDetailDTO);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<MedicalRecordDTO> getMedicalRecordsByDoctor(Long doctorId, Pageable pageable) {
@@ -147,10 +162,26 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
     @Override
     public Page<MedicalRecordDTO> searchMedicalRecords(String searchTerm, Pageable pageable) {
         log.info("Searching medical records with term: {}", searchTerm);
-        return medicalRecordRepository.searchRecords(searchTerm, pageable)
+        SearchTerm term = SearchTerm.of(searchTerm);
+        // Results are ordered by relevance; a client sort cannot be appended to the native query
+        return medicalRecordRepository.searchRecords(term.term(), term.pattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(medicalRecordMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SearchSlice<MedicalRecordDTO> searchMedicalRecords(String searchTerm, String cursor, int size) {
+        log.info("Searching medical records with term: {} after cursor: {}", searchTerm, cursor);
+        SearchTerm term = SearchTerm.of(searchTerm);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = SearchSlice.pageSize(size);
+        List<SearchHit> hits = medicalRecordRepository.searchRecordsAfter(
+                term.term(), term.pattern(), after.rank(), after.id(), pageSize + 1);
+        return SearchSlice.of(hits, pageSize, medicalRecordRepository::findAllById, MedicalRecord::getId,
+                medicalRecordMapper::toDTO);
+    }
+
     @Override
     public MedicalRecordDTO updateMedicalRecord(Long id, MedicalRecordDTO recordDTO) {
         log.info("Updating medical record with ID: {}", id);
@@ -226,4 +257,18 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
         medicalRecordRepository.deleteById(id);
         log.info("Medical record deleted successfully");
     }
+
+    /**
+     * Loads the nested collections of the given managed records with one query per collection.
+     */
+    private void fetchDetails(List<MedicalRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<Long> ids = records.stream().map(MedicalRecord::getId).toList();
+        medicalRecordRepository.fetchPrescriptions(ids);
+        medicalRecordRepository.fetchLabResults(ids);
+        medicalRecordRepository.fetchAttachments(ids);
+        medicalRecordRepository.fetchVitalSigns(ids);
+    }
 }
@@ -6,6 +6,7 @@
 
 package com.healthcare.medicalrecordservice.service.impl;
 
+import com.example.common.search.SearchSlice;
 import com.healthcare.medicalrecordservice.dto.MedicalRecordDTO;
 import com.healthcare.medicalrecordservice.entity.RecordStatus;
 import com.healthcare.medicalrecordservice.entity.RecordType;
@@ -28,6 +29,13 @@ public interface MedicalRecordService {
     @Transactional(readOnly = true)
     Page<MedicalRecordDTO> getMedicalRecordsByPatient(Long patientId, Pageable pageable);
 
+    /**
+     * A page of the patient's records with their prescriptions, lab results, attachments and
+     * vital signs; the number of queries does not depend on the page size.
+     */
+    @Transactional(readOnly = true)
+    Page<MedicalRecordDTO> getPatientChart(Long patientId, Pageable pageable);
+
     @Transactional(readOnly = true)
     Page<MedicalRecordDTO> getMedicalRecordsByDoctor(Long doctorId, Pageable pageable);
 
@@ -55,6 +63,9 @@ public interface MedicalRecordService {
     @Transactional(readOnly = true)
     Page<MedicalRecordDTO> searchMedicalRecords(String searchTerm, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    SearchSlice<MedicalRecordDTO> searchMedicalRecords(String searchTerm, String cursor, int size);
+
     MedicalRecordDTO updateMedicalRecord(Long id, MedicalRecordDTO recordDTO);
 
     MedicalRecordDTO finalizeMedicalRecord(Long id);
@@ -0,0 +1,143 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.medicalrecordservice.repository;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.healthcare.medicalrecordservice.MedicalRecordServiceApplication;
+import com.healthcare.medicalrecordservice.dto.MedicalRecordDTO;
+import com.healthcare.medicalrecordservice.entity.Attachment;
+import com.healthcare.medicalrecordservice.entity.LabResult;
+import com.healthcare.medicalrecordservice.entity.MedicalRecord;
+import com.healthcare.medicalrecordservice.entity.Prescription;
+import com.healthcare.medicalrecordservice.entity.VitalSign;
+import com.healthcare.medicalrecordservice.mapper.MedicalRecordMapper;
+import com.healthcare.medicalrecordservice.service.MedicalRecordServiceImpl;
+import com.healthcare.medicalrecordservice.testutil.MedicalRecordTestBuilder;
+import com.healthcare.medicalrecordservice.testutil.TestcontainersConfiguration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the patient chart against N+1 loading: one page query, one count query and one query
+ * per nested collection, whatever the page size.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {MedicalRecordServiceApplication.class})
+@Import({TestcontainersConfiguration.class, FeignAutoConfiguration.class,
+        MedicalRecordServiceImpl.class, MedicalRecordMapper.class})
+class MedicalRecordChartQueryCountTest {
+
+    private static final long PATIENT_ID = 4242L;
+    private static final int RECORDS = 25;
+    private static final long QUERIES_PER_PAGE = 6;
+
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Autowired
+    private MedicalRecordServiceImpl medicalRecordService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @BeforeEach
+    void seedChart() {
+        for (int i = 0; i < RECORDS; i++) {
+            MedicalRecord record = new MedicalRecordTestBuilder()
+                    .withId(null)
+                    .withPatientId(PATIENT_ID)
+                    .withRecordDate(LocalDate.now().minusDays(i))
+                    .build();
+            record.setPrescriptions(new ArrayList<>(List.of(prescription(record, "Amoxicillin"),
+                    prescription(record, "Ibuprofen"))));
+            record.setLabResults(new ArrayList<>(List.of(labResult(record, "CBC"), labResult(record, "HbA1c"))));
+            record.setAttachments(new ArrayList<>(List.of(attachment(record, "xray.png"))));
+            record.setVitalSigns(new ArrayList<>(List.of(
+                    new VitalSign("Heart Rate", "72", "bpm", LocalDateTime.now()),
+                    new VitalSign("Temperature", "36.6", "C", LocalDateTime.now()))));
+            medicalRecordRepository.save(record);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 5, 20})
+    void patientChart_shouldUseConstantQueriesPerPage(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<MedicalRecordDTO> chart = medicalRecordService.getPatientChart(
+                PATIENT_ID, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "recordDate")));
+
+        assertThat(chart.getContent()).hasSize(pageSize);
+        assertThat(chart.getTotalElements()).isEqualTo(RECORDS);
+        assertThat(chart.getContent()).allSatisfy(record -> {
+            assertThat(record.getPrescriptions()).hasSize(2);
+            assertThat(record.getLabResults()).hasSize(2);
+            assertThat(record.getAttachments()).hasSize(1);
+            assertThat(record.getVitalSigns()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(QUERIES_PER_PAGE);
+    }
+
+    private static Prescription prescription(MedicalRecord record, String medication) {
+        Prescription prescription = new Prescription();
+        prescription.setMedicalRecord(record);
+        prescription.setMedicationName(medication);
+        prescription.setDosage("500mg");
+        prescription.setFrequency("Twice daily");
+        return prescription;
+    }
+
+    private static LabResult labResult(MedicalRecord record, String testName) {
+        LabResult labResult = new LabResult();
+        labResult.setMedicalRecord(record);
+        labResult.setTestName(testName);
+        labResult.setTestDate(LocalDate.now());
+        return labResult;
+    }
+
+    private static Attachment attachment(MedicalRecord record, String fileName) {
+        Attachment attachment = new Attachment();
+        attachment.setMedicalRecord(record);
+        attachment.setFileName(fileName);
+        attachment.setFilePath("/records/" + fileName);
+        return attachment;
+    }
+}
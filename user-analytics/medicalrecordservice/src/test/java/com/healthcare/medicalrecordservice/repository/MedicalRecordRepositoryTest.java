@@ -6,6 +6,9 @@
 
 package com.healthcare.medicalrecordservice.repository;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchTerm;
 import com.example.common.security.client.AuthServiceClient;
 import com.healthcare.medicalrecordservice.MedicalRecordServiceApplication;
 import com.healthcare.medicalrecordservice.entity.MedicalRecord;
@@ -25,6 +28,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -82,4 +88,60 @@ class MedicalRecordRepositoryTest {
         assertThat(found.getContent()).extracting(MedicalRecord::getRecordType).contains(RecordType.LAB_RESULT);
     }
 
-}
\ No newline at end of file
+    @Test
+    @WithMockUser
+    void shouldSearchRecordsToleratingTyposWithTheClosestMatchFirst() {
+        MedicalRecord pneumonia = medicalRecordRepository.save(searchable("Chest X-ray", "Pneumonia", "Cough"));
+        medicalRecordRepository.save(searchable("Headache", "Migraine", "Nausea"));
+
+        SearchTerm term = SearchTerm.of("pnemonia");
+        Page<MedicalRecord> page = medicalRecordRepository.searchRecords(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent().get(0).getId()).isEqualTo(pneumonia.getId());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchRecordsBySymptomSubstring() {
+        MedicalRecord record = medicalRecordRepository.save(searchable("Follow-up", "Hypertension", "Palpitations"));
+
+        SearchTerm term = SearchTerm.of("PALPITAT");
+        Page<MedicalRecord> page = medicalRecordRepository.searchRecords(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(MedicalRecord::getId).contains(record.getId());
+        assertThat(page.getTotalElements()).isEqualTo(page.getContent().size());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchRecordsAfterKeysetWithoutGapsOrRepeats() {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(medicalRecordRepository.save(searchable("Keyset visit " + i, "Keyset", null)).getId());
+        }
+        SearchTerm term = SearchTerm.of("keyset");
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = SearchCursor.FIRST;
+        List<SearchHit> hits;
+        do {
+            hits = medicalRecordRepository.searchRecordsAfter(term.term(), term.pattern(), cursor.rank(), cursor.id(), 2);
+            hits.forEach(hit -> seen.add(hit.getId()));
+            if (!hits.isEmpty()) {
+                cursor = SearchCursor.decode(SearchCursor.after(hits.get(hits.size() - 1)).encode());
+            }
+        } while (hits.size() == 2);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(saved);
+    }
+
+    private static MedicalRecord searchable(String title, String diagnosis, String symptoms) {
+        return new MedicalRecordTestBuilder()
+                .withId(null)
+                .withTitle(title)
+                .withDiagnosis(diagnosis)
+                .withSymptoms(symptoms)
+                .build();
+    }
+}
@@ -71,11 +71,29 @@ class MedicalRecordServiceImplTest {
     @Test
     void shouldGetMedicalRecordById() {
         when(medicalRecordRepository.findById(1L)).thenReturn(Optional.of(record));
-        when(medicalRecordMapper.toDTO(record)).thenReturn(recordDTO);
+        when(medicalRecordMapper.toDetailDTO(record)).thenReturn(recordDTO);
 
         MedicalRecordDTO result = medicalRecordService.getMedicalRecordById(1L);
 
         assertThat(result).isEqualTo(recordDTO);
+        verify(medicalRecordRepository).fetchPrescriptions(List.of(record.getId()));
+        verify(medicalRecordRepository).fetchVitalSigns(List.of(record.getId()));
+    }
+
+    @Test
+    void shouldGetPatientChartWithOneFetchPerCollection() {
+        Page<MedicalRecord> page = new PageImpl<>(List.of(record));
+        when(medicalRecordRepository.findByPatientId(eq(1L), any(PageRequest.class))).thenReturn(page);
+        when(medicalRecordMapper.toDetailDTO(record)).thenReturn(recordDTO);
+
+        Page<MedicalRecordDTO> result = medicalRecordService.getPatientChart(1L, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(recordDTO);
+        verify(medicalRecordRepository).fetchPrescriptions(List.of(record.getId()));
+        verify(medicalRecordRepository).fetchLabResults(List.of(record.getId()));
+        verify(medicalRecordRepository).fetchAttachments(List.of(record.getId()));
+        verify(medicalRecordRepository).fetchVitalSigns(List.of(record.getId()));
+        verify(medicalRecordMapper, never()).toDTO(record);
     }
 
     @Test
@@ -28,5 +28,5 @@ public class PrescriptionEventDTO implements Serializable {
     private String dosage;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
-    private String eventType; // CREATED, READY, REMINDER
+    private String eventType; // CREATED, READY, DISPENSED, REMINDER
 }
@@ -58,6 +58,7 @@ public class NotificationEventListener {
             switch (event.getEventType()) {
                 case "CREATED" -> sendPrescriptionCreated(event);
                 case "READY" -> sendPrescriptionReady(event);
+                case "DISPENSED" -> sendPrescriptionDispensed(event);
                 case "REMINDER" -> sendPrescriptionReminder(event);
             }
         } catch (Exception e) {
@@ -210,6 +211,28 @@ public class NotificationEventListener {
         notificationService.createNotification(request);
     }
 
+    private void sendPrescriptionDispensed(PrescriptionEventDTO event) {
+        String message = String.format(
+                "Dear %s, your prescription for %s (%s) has been dispensed.",
+                event.getPatientName(),
+                event.getMedicationName(),
+                event.getDosage()
+        );
+
+        NotificationRequest request = NotificationRequest.builder()
+                .recipientId(event.getPatientId())
+                .recipientEmail(event.getPatientEmail())
+                .recipientPhone(event.getPatientPhone())
+                .recipientName(event.getPatientName())
+                .notificationType(NotificationType.PRESCRIPTION_DISPENSED)
+                .channel(NotificationChannel.EMAIL)
+                .subject("Prescription Dispensed")
+                .message(message)
+                .build();
+
+        notificationService.createNotification(request);
+    }
+
     private void sendPrescriptionReminder(PrescriptionEventDTO event) {
         String message = String.format(
                 "Reminder: Take your medication - %s (%s)",
@@ -70,6 +70,9 @@ public class Notification {
     @Column(name = "retry_count")
     private Integer retryCount = 0;
 
+    @Column(name = "next_attempt_time")
+    private LocalDateTime nextAttemptTime;
+
     @Column(name = "metadata", columnDefinition = "TEXT")
     private String metadata; // JSON string for additional data
 
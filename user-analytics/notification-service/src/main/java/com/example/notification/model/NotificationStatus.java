@@ -9,6 +9,7 @@ package com.example.notification.model;
 public enum NotificationStatus {
     PENDING,
     SCHEDULED,
+    SENDING,
     SENT,
     FAILED,
     CANCELLED
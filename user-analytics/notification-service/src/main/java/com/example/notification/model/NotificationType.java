@@ -13,6 +13,7 @@ public enum NotificationType {
     TEST_RESULT_ALERT,
     PRESCRIPTION_REMINDER,
     PRESCRIPTION_READY,
+    PRESCRIPTION_DISPENSED,
     BILLING_NOTIFICATION,
     GENERAL_NOTIFICATION,
     EMERGENCY_ALERT
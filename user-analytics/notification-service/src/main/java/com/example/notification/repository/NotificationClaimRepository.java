@@ -0,0 +1,190 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.repository;
+
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationChannel;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.model.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Claims due notifications for sending. Each claim is a single statement that locks a bounded
+ * batch with {@code FOR UPDATE SKIP LOCKED} and flips it to {@code SENDING}, so several replicas
+ * can poll the same table without picking up each other's rows and no lock outlives the statement.
+ * Rows left in {@code SENDING} by a replica that died mid-batch are claimed again once stale.
+ * <p>
+ * The due-time lookups feed the timing wheel: a notification is due at its {@code scheduled_time}
+ * while {@code SCHEDULED}, and at its {@code next_attempt_time} while {@code FAILED} with retries left.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationClaimRepository {
+
+    private static final String RETURNING_COLUMNS =
+            " RETURNING id, recipient_id, recipient_email, recipient_phone, recipient_name, notification_type, " +
+            "channel, subject, message, status, scheduled_time, sent_time, error_message, retry_count, " +
+            "next_attempt_time, metadata, user_id, created_at, updated_at";
+
+    private static final String CLAIM_SCHEDULED =
+            "UPDATE notifications SET status = 'SENDING', updated_at = ? WHERE id IN (" +
+            "SELECT id FROM notifications " +
+            "WHERE (status = 'SCHEDULED' AND scheduled_time <= ?) OR (status = 'SENDING' AND updated_at < ?) " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)" +
+            RETURNING_COLUMNS;
+
+    private static final String CLAIM_FAILED =
+            "UPDATE notifications SET status = 'SENDING', updated_at = ? WHERE id IN (" +
+            "SELECT id FROM notifications WHERE status = 'FAILED' AND retry_count < ? " +
+            "AND (next_attempt_time IS NULL OR next_attempt_time <= ?) " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)" +
+            RETURNING_COLUMNS;
+
+    private static final String CLAIM_DUE_BY_ID =
+            "UPDATE notifications SET status = 'SENDING', updated_at = ? WHERE id IN (" +
+            "SELECT id FROM notifications WHERE id IN (%s) " +
+            "AND ((status = 'SCHEDULED' AND scheduled_time <= ?) " +
+            "OR (status = 'FAILED' AND retry_count < ? AND (next_attempt_time IS NULL OR next_attempt_time <= ?))) " +
+            "FOR UPDATE SKIP LOCKED)" +
+            RETURNING_COLUMNS;
+
+    // Two index range scans, on (status, scheduled_time) and (status, next_attempt_time)
+    private static final String FIND_DUE_BETWEEN =
+            "SELECT id, scheduled_time AS due_time FROM notifications " +
+            "WHERE status = 'SCHEDULED' AND scheduled_time > ? AND scheduled_time <= ? " +
+            "UNION ALL " +
+            "SELECT id, next_attempt_time AS due_time FROM notifications " +
+            "WHERE status = 'FAILED' AND next_attempt_time > ? AND next_attempt_time <= ? AND retry_count < ?";
+
+    private static final String FIND_INSERTED_AFTER =
+            "SELECT id, CASE WHEN status = 'SCHEDULED' THEN scheduled_time " +
+            "WHEN status = 'FAILED' AND retry_count < ? THEN next_attempt_time END AS due_time " +
+            "FROM notifications WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_RESULT =
+            "UPDATE notifications SET status = ?, sent_time = ?, error_message = ?, retry_count = ?, " +
+            "next_attempt_time = ?, updated_at = ? " +
+            "WHERE id = ? AND status = 'SENDING'";
+
+    private static final RowMapper<Notification> ROW_MAPPER = (rs, rowNum) -> Notification.builder()
+            .id(rs.getLong("id"))
+            .recipientId(rs.getLong("recipient_id"))
+            .recipientEmail(rs.getString("recipient_email"))
+            .recipientPhone(rs.getString("recipient_phone"))
+            .recipientName(rs.getString("recipient_name"))
+            .notificationType(NotificationType.valueOf(rs.getString("notification_type")))
+            .channel(NotificationChannel.valueOf(rs.getString("channel")))
+            .subject(rs.getString("subject"))
+            .message(rs.getString("message"))
+            .status(NotificationStatus.valueOf(rs.getString("status")))
+            .scheduledTime(rs.getObject("scheduled_time", LocalDateTime.class))
+            .sentTime(rs.getObject("sent_time", LocalDateTime.class))
+            .errorMessage(rs.getString("error_message"))
+            .retryCount(rs.getInt("retry_count"))
+            .nextAttemptTime(rs.getObject("next_attempt_time", LocalDateTime.class))
+            .metadata(rs.getString("metadata"))
+            .userId(rs.getObject("user_id", Long.class))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .build();
+
+    private static final RowMapper<DueNotification> DUE_ROW_MAPPER = (rs, rowNum) ->
+            new DueNotification(rs.getLong("id"), rs.getObject("due_time", LocalDateTime.class));
+
+    /**
+     * @param dueTime when the notification should next be sent, or {@code null} if it is not waiting to be
+     */
+    public record DueNotification(long id, LocalDateTime dueTime) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims up to {@code limit} scheduled notifications due at {@code now}, plus any still
+     * marked {@code SENDING} since before {@code staleBefore}.
+     */
+    public List<Notification> claimScheduled(LocalDateTime now, LocalDateTime staleBefore, int limit) {
+        return jdbcTemplate.query(CLAIM_SCHEDULED, ROW_MAPPER,
+                Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(staleBefore), limit);
+    }
+
+    /**
+     * Claims up to {@code limit} failed notifications that have been tried fewer than {@code maxRetries} times
+     * and whose backoff has run out.
+     */
+    public List<Notification> claimFailedForRetry(LocalDateTime now, int maxRetries, int limit) {
+        return jdbcTemplate.query(CLAIM_FAILED, ROW_MAPPER,
+                Timestamp.valueOf(now), maxRetries, Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * Claims the given notifications that are still due at {@code now}; ids that were cancelled,
+     * rescheduled or already claimed elsewhere are skipped.
+     */
+    public List<Notification> claimDue(Collection<Long> ids, LocalDateTime now, int maxRetries) {
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(now));
+        args.addAll(ids);
+        args.add(Timestamp.valueOf(now));
+        args.add(maxRetries);
+        args.add(Timestamp.valueOf(now));
+        String sql = CLAIM_DUE_BY_ID.formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Notifications that become due after {@code after} and no later than {@code until}.
+     */
+    public List<DueNotification> findDueBetween(LocalDateTime after, LocalDateTime until, int maxRetries) {
+        return jdbcTemplate.query(FIND_DUE_BETWEEN, DUE_ROW_MAPPER,
+                Timestamp.valueOf(after), Timestamp.valueOf(until),
+                Timestamp.valueOf(after), Timestamp.valueOf(until), maxRetries);
+    }
+
+    /**
+     * Up to {@code limit} notifications inserted with an id above {@code afterId}, in id order.
+     */
+    public List<DueNotification> findInsertedAfter(long afterId, int maxRetries, int limit) {
+        return jdbcTemplate.query(FIND_INSERTED_AFTER, DUE_ROW_MAPPER, maxRetries, afterId, limit);
+    }
+
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM notifications", Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+
+    /**
+     * Writes the outcome of a sent batch in one JDBC batch. Rows cancelled while they were
+     * being sent are left alone.
+     */
+    public void updateResults(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(UPDATE_RESULT, notifications, notifications.size(), (ps, notification) -> {
+            ps.setString(1, notification.getStatus().name());
+            ps.setTimestamp(2, toTimestamp(notification.getSentTime()));
+            ps.setString(3, notification.getErrorMessage());
+            ps.setInt(4, notification.getRetryCount());
+            ps.setTimestamp(5, toTimestamp(notification.getNextAttemptTime()));
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+            ps.setLong(7, notification.getId());
+        });
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -7,6 +7,7 @@
 package com.example.notification.scheduler;
 
 import com.example.notification.service.NotificationService;
+import com.example.notification.service.RetryBackoff;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -18,11 +19,12 @@ import org.springframework.stereotype.Component;
 public class NotificationScheduler {
 
     private final NotificationService notificationService;
+    private final RetryBackoff retryBackoff;
 
     /**
-     * Process scheduled notifications every 5 minutes
+     * Safety sweep for due notifications the {@link NotificationTimer} did not fire, every 5 minutes
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    @Scheduled(fixedRateString = "${scheduler.notification.process-interval:300000}")
     public void processScheduledNotifications() {
         log.info("Running scheduled notification processor");
         try {
@@ -33,13 +35,13 @@ public class NotificationScheduler {
     }
 
     /**
-     * Retry failed notifications every 30 minutes
+     * Safety sweep for failed notifications whose backoff has run out, every 30 minutes
      */
-    @Scheduled(fixedRate = 1800000) // 30 minutes
+    @Scheduled(fixedRateString = "${scheduler.notification.retry-interval:1800000}")
     public void retryFailedNotifications() {
         log.info("Running failed notification retry");
         try {
-            notificationService.retryFailedNotifications(3); // Max 3 retries
+            notificationService.retryFailedNotifications(retryBackoff.getMaxRetries());
         } catch (Exception e) {
             log.error("Error retrying failed notifications: {}", e.getMessage());
         }
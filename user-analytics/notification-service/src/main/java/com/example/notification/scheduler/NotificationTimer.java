@@ -0,0 +1,228 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.scheduler;
+
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.repository.NotificationClaimRepository;
+import com.example.notification.repository.NotificationClaimRepository.DueNotification;
+import com.example.notification.service.NotificationDispatcher;
+import com.example.notification.service.RetryBackoff;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires scheduled notifications and retries on time from a {@link TimingWheel} holding everything
+ * due within the next {@code horizon}. The wheel is filled incrementally: each refresh reads only
+ * the slice of the horizon that came into view since the last one, over the
+ * {@code (status, scheduled_time)} and {@code (status, next_attempt_time)} indexes, plus rows
+ * inserted since the last refresh. Notifications created or failed on this replica are added
+ * directly.
+ * <p>
+ * Firing claims the due ids with {@link NotificationClaimRepository#claimDue}, so every replica can
+ * hold the same entries and each notification is still sent once; cancelled rows are simply not
+ * claimed. Rows the wheel cannot know about (a transaction that committed out of id order, another
+ * replica's failed retry) are still picked up by the sweeps in {@link NotificationScheduler}.
+ */
+@Slf4j
+@Component
+public class NotificationTimer {
+
+    // Start of the first load; anything due before it is overdue and fires at once
+    private static final LocalDateTime LOAD_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NotificationClaimRepository claimRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final int maxRetries;
+    private final Duration horizon;
+    private final int insertedBatchSize;
+    private final TimingWheel wheel;
+    private final ExecutorService fireExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Timer latenessTimer;
+
+    // Guarded by this
+    private LocalDateTime loadedUntil;
+    private long lastSeenId;
+
+    public NotificationTimer(NotificationClaimRepository claimRepository,
+                             NotificationDispatcher notificationDispatcher,
+                             RetryBackoff retryBackoff,
+                             MeterRegistry meterRegistry,
+                             @Value("${notification.timer.tick-ms:100}") long tickMs,
+                             @Value("${notification.timer.wheel-size:64}") int wheelSize,
+                             @Value("${notification.timer.horizon-ms:3600000}") long horizonMs,
+                             @Value("${notification.timer.inserted-batch-size:5000}") int insertedBatchSize) {
+        this.claimRepository = claimRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.maxRetries = retryBackoff.getMaxRetries();
+        this.horizon = Duration.ofMillis(horizonMs);
+        this.insertedBatchSize = insertedBatchSize;
+        this.wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        this.latenessTimer = Timer.builder("notification.timer.lateness")
+                .description("Delay between a notification's due time and the wheel firing it")
+                .register(meterRegistry);
+        Gauge.builder("notification.timer.pending", this, NotificationTimer::pending)
+                .description("Notifications waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${notification.timer.tick-ms:100}")
+    public void tick() {
+        List<TimingWheel.Entry> due;
+        synchronized (this) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        fire(due);
+    }
+
+    /**
+     * Loads what came into the horizon since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${notification.timer.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            LocalDateTime until = LocalDateTime.now().plus(horizon);
+            LocalDateTime after;
+            long afterId;
+            synchronized (this) {
+                after = loadedUntil;
+                afterId = lastSeenId;
+            }
+
+            List<DueNotification> found = new ArrayList<>();
+            long seenId = afterId;
+            if (after == null) {
+                // Read before the range, so rows inserted meanwhile are found by id next time
+                seenId = claimRepository.findMaxId();
+                found.addAll(claimRepository.findDueBetween(LOAD_FROM, until, maxRetries));
+            } else {
+                found.addAll(claimRepository.findDueBetween(after, until, maxRetries));
+                List<DueNotification> inserted = claimRepository.findInsertedAfter(afterId, maxRetries, insertedBatchSize);
+                if (!inserted.isEmpty()) {
+                    seenId = inserted.get(inserted.size() - 1).id();
+                    found.addAll(inserted);
+                }
+            }
+
+            List<TimingWheel.Entry> overdue = new ArrayList<>();
+            synchronized (this) {
+                loadedUntil = until;
+                lastSeenId = seenId;
+                for (DueNotification notification : found) {
+                    add(notification.id(), notification.dueTime(), overdue);
+                }
+            }
+            fire(overdue);
+        } catch (Exception e) {
+            log.error("Error refreshing notification timing wheel: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a notification created or changed by this replica to the wheel once the surrounding
+     * transaction commits, or immediately when there is none. Notifications due beyond the
+     * loaded horizon are left for a later refresh.
+     */
+    public void scheduleAfterCommit(Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(notification);
+                }
+            });
+        } else {
+            schedule(notification);
+        }
+    }
+
+    public void schedule(Notification notification) {
+        LocalDateTime dueTime = dueTime(notification);
+        if (notification.getId() == null || dueTime == null) {
+            return;
+        }
+        List<TimingWheel.Entry> overdue = new ArrayList<>();
+        synchronized (this) {
+            if (loadedUntil == null || dueTime.isAfter(loadedUntil)) {
+                return;
+            }
+            add(notification.getId(), dueTime, overdue);
+        }
+        fire(overdue);
+    }
+
+    public synchronized int pending() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        fireExecutor.shutdown();
+        fireExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void add(long id, LocalDateTime dueTime, List<TimingWheel.Entry> overdue) {
+        if (dueTime == null) {
+            return;
+        }
+        long deadlineMs = toEpochMs(dueTime);
+        if (!wheel.add(id, deadlineMs)) {
+            overdue.add(new TimingWheel.Entry(id, deadlineMs));
+        }
+    }
+
+    private void fire(List<TimingWheel.Entry> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>(due.size());
+        for (TimingWheel.Entry entry : due) {
+            latenessTimer.record(Math.max(now - entry.deadlineMs(), 0), TimeUnit.MILLISECONDS);
+            ids.add(entry.id());
+        }
+        fireExecutor.execute(() -> {
+            try {
+                // Failed sends come back with their backoff and go straight back into the wheel
+                notificationDispatcher.dispatchDue(ids).forEach(this::schedule);
+            } catch (Exception e) {
+                log.error("Error sending {} due notifications: {}", ids.size(), e.getMessage());
+            }
+        });
+    }
+
+    private LocalDateTime dueTime(Notification notification) {
+        if (notification.getStatus() == NotificationStatus.SCHEDULED) {
+            return notification.getScheduledTime();
+        }
+        if (notification.getStatus() == NotificationStatus.FAILED && notification.getRetryCount() < maxRetries) {
+            return notification.getNextAttemptTime();
+        }
+        return null;
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical hashed timing wheel keyed by notification id. Level 0 has {@code wheelSize} slots
+ * of {@code tickMs} each; every level above covers {@code wheelSize} slots of the whole level
+ * below, and a slot is cascaded into the lower levels when time reaches it. Adding and firing
+ * cost O(1) per entry however far ahead the deadline is. An entry fires on the first
+ * {@link #advance} after its deadline, at most one tick late and never early.
+ * <p>
+ * Adding an id again moves it to the new deadline and {@link #cancel} forgets it; the stale slot
+ * entry is dropped when its slot comes up. Not thread-safe.
+ */
+public class TimingWheel {
+
+    /**
+     * @param deadlineMs epoch milliseconds the entry is due at
+     */
+    public record Entry(long id, long deadlineMs) {
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    // Live deadline per id; slot entries that disagree with it were moved or cancelled
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMs / tickMs;
+        levels.add(new Level(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedules {@code id} at {@code deadlineMs}, replacing any earlier deadline for it.
+     *
+     * @return {@code false} if the deadline is already behind the wheel; the caller should fire it now
+     */
+    public boolean add(long id, long deadlineMs) {
+        if (deadlineMs / tickMs < currentTick) {
+            deadlines.remove(id);
+            return false;
+        }
+        Long previous = deadlines.put(id, deadlineMs);
+        if (previous == null || previous != deadlineMs) {
+            place(new Entry(id, deadlineMs));
+        }
+        return true;
+    }
+
+    public void cancel(long id) {
+        deadlines.remove(id);
+    }
+
+    public boolean contains(long id) {
+        return deadlines.containsKey(id);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs}.
+     *
+     * @return the entries whose deadline has passed, in deadline order per tick
+     */
+    public List<Entry> advance(long nowMs) {
+        List<Entry> due = new ArrayList<>();
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            // Level 0's current slot holds deadlines within [currentTick, currentTick + 1) ticks
+            for (Entry entry : levels.get(0).take(currentTick)) {
+                if (isLive(entry)) {
+                    deadlines.remove(entry.id());
+                    due.add(entry);
+                }
+            }
+            currentTick++;
+            cascade();
+        }
+        return due;
+    }
+
+    /**
+     * Re-places the slot that starts at the new tick on every level whose slot boundary was crossed.
+     */
+    private void cascade() {
+        long nowMs = currentTick * tickMs;
+        for (int i = 1; i < levels.size(); i++) {
+            Level level = levels.get(i);
+            if (nowMs % level.slotMs != 0) {
+                break;
+            }
+            for (Entry entry : level.take(nowMs / level.slotMs)) {
+                if (isLive(entry)) {
+                    place(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts the entry on the lowest level whose span reaches its deadline. Going up a level is only
+     * needed when the deadline is at least one full lower-level span away, so it always lands in a
+     * later slot than the level's current one.
+     */
+    private void place(Entry entry) {
+        long nowMs = currentTick * tickMs;
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level(levels.get(i - 1).slotMs * wheelSize, wheelSize));
+            }
+            Level level = levels.get(i);
+            long slot = entry.deadlineMs() / level.slotMs;
+            if (slot - nowMs / level.slotMs < wheelSize) {
+                level.add(slot, entry);
+                return;
+            }
+        }
+    }
+
+    private boolean isLive(Entry entry) {
+        Long deadline = deadlines.get(entry.id());
+        return deadline != null && deadline == entry.deadlineMs();
+    }
+
+    private static final class Level {
+
+        private final long slotMs;
+        private final List<List<Entry>> slots;
+
+        Level(long slotMs, int wheelSize) {
+            this.slotMs = slotMs;
+            this.slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new ArrayList<>());
+            }
+        }
+
+        void add(long slot, Entry entry) {
+            slots.get(index(slot)).add(entry);
+        }
+
+        List<Entry> take(long slot) {
+            int index = index(slot);
+            List<Entry> entries = slots.get(index);
+            if (entries.isEmpty()) {
+                return entries;
+            }
+            slots.set(index, new ArrayList<>());
+            return entries;
+        }
+
+        private int index(long slot) {
+            return (int) (slot % slots.size());
+        }
+    }
+}
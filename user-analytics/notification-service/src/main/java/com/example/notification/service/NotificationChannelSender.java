@@ -0,0 +1,64 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.service;
+
+import com.example.notification.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers a notification over a single channel. Shared by the immediate send path and
+ * the batched dispatcher, which wraps each call in its own per-channel concurrency limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationChannelSender {
+
+    private final EmailService emailService;
+    private final SmsService smsService;
+
+    public void sendEmail(Notification notification) {
+        if (notification.getRecipientEmail() == null) {
+            throw new IllegalArgumentException("Recipient email is required");
+        }
+
+        switch (notification.getNotificationType()) {
+            case APPOINTMENT_REMINDER, APPOINTMENT_CONFIRMATION ->
+                    emailService.sendSimpleEmail(
+                            notification.getRecipientEmail(),
+                            notification.getSubject(),
+                            notification.getMessage()
+                    );
+            case TEST_RESULT_ALERT ->
+                    emailService.sendSimpleEmail(
+                            notification.getRecipientEmail(),
+                            "Test Results Available",
+                            notification.getMessage()
+                    );
+            case PRESCRIPTION_REMINDER ->
+                    emailService.sendSimpleEmail(
+                            notification.getRecipientEmail(),
+                            "Prescription Reminder",
+                            notification.getMessage()
+                    );
+            default ->
+                    emailService.sendSimpleEmail(
+                            notification.getRecipientEmail(),
+                            notification.getSubject(),
+                            notification.getMessage()
+                    );
+        }
+    }
+
+    public void sendSms(Notification notification) {
+        if (notification.getRecipientPhone() == null) {
+            throw new IllegalArgumentException("Recipient phone is required");
+        }
+
+        smsService.sendSms(notification.getRecipientPhone(), notification.getMessage());
+    }
+}
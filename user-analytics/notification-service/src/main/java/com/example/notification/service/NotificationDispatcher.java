@@ -0,0 +1,215 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.service;
+
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.repository.NotificationClaimRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sends due and retryable notifications in bounded batches. Each batch is claimed with
+ * {@link NotificationClaimRepository}, sent on virtual threads (one per notification, with
+ * separate concurrency limits for the email and SMS providers) and written back in one JDBC batch.
+ * No database transaction is held open while the providers are called. A failed send is given
+ * its next attempt time by {@link RetryBackoff}.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationClaimRepository claimRepository;
+    private final NotificationChannelSender channelSender;
+    private final RetryBackoff retryBackoff;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long staleClaimMs;
+    private final Semaphore emailPermits;
+    private final Semaphore smsPermits;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public NotificationDispatcher(NotificationClaimRepository claimRepository,
+                                  NotificationChannelSender channelSender,
+                                  RetryBackoff retryBackoff,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.dispatch.batch-size:100}") int batchSize,
+                                  @Value("${notification.dispatch.max-batches-per-run:50}") int maxBatchesPerRun,
+                                  @Value("${notification.dispatch.stale-claim-ms:600000}") long staleClaimMs,
+                                  @Value("${notification.dispatch.email-concurrency:20}") int emailConcurrency,
+                                  @Value("${notification.dispatch.sms-concurrency:10}") int smsConcurrency) {
+        this.claimRepository = claimRepository;
+        this.channelSender = channelSender;
+        this.retryBackoff = retryBackoff;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.staleClaimMs = staleClaimMs;
+        this.emailPermits = new Semaphore(emailConcurrency);
+        this.smsPermits = new Semaphore(smsConcurrency);
+        this.sentCounter = Counter.builder("notification.dispatch")
+                .tag("outcome", "sent")
+                .description("Notifications sent by the batch dispatcher")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.dispatch")
+                .tag("outcome", "failed")
+                .description("Notifications sent by the batch dispatcher")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notification.dispatch.batch")
+                .description("Time to send and record one claimed batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends scheduled notifications that are due, batch by batch, until none are left
+     * or the per-run batch limit is reached.
+     *
+     * @return number of notifications processed
+     */
+    public int dispatchScheduled() {
+        return dispatchScheduled(notification -> {
+        });
+    }
+
+    /**
+     * @param onProcessed called with each notification once its outcome is written
+     */
+    public int dispatchScheduled(Consumer<Notification> onProcessed) {
+        int processed = drain(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            return claimRepository.claimScheduled(now, now.minus(Duration.ofMillis(staleClaimMs)), batchSize);
+        }, onProcessed);
+        log.info("Processed {} scheduled notifications", processed);
+        return processed;
+    }
+
+    /**
+     * Resends failed notifications that have been tried fewer than {@code maxRetries} times.
+     *
+     * @return number of notifications processed
+     */
+    public int retryFailed(int maxRetries) {
+        return retryFailed(maxRetries, notification -> {
+        });
+    }
+
+    /**
+     * @param onProcessed called with each notification once its outcome is written
+     */
+    public int retryFailed(int maxRetries, Consumer<Notification> onProcessed) {
+        int processed = drain(() -> claimRepository.claimFailedForRetry(LocalDateTime.now(), maxRetries, batchSize),
+                onProcessed);
+        log.info("Retried {} failed notifications", processed);
+        return processed;
+    }
+
+    /**
+     * Sends the given notifications that are still due, as fired by the timing wheel.
+     *
+     * @return the notifications this replica claimed, with their outcome
+     */
+    public List<Notification> dispatchDue(List<Long> ids) {
+        List<Notification> processed = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            List<Notification> batch = claimRepository.claimDue(chunk, LocalDateTime.now(), retryBackoff.getMaxRetries());
+            if (batch.isEmpty()) {
+                continue;
+            }
+            batchTimer.record(() -> {
+                sendAll(batch);
+                claimRepository.updateResults(batch);
+            });
+            processed.addAll(batch);
+        }
+        return processed;
+    }
+
+    private int drain(Supplier<List<Notification>> claim, Consumer<Notification> onProcessed) {
+        int processed = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Notification> batch = claim.get();
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            batchTimer.record(() -> {
+                sendAll(batch);
+                claimRepository.updateResults(batch);
+            });
+            processed += batch.size();
+            batch.forEach(onProcessed);
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    private void sendAll(List<Notification> batch) {
+        // close() waits for every send to finish
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Notification notification : batch) {
+                executor.execute(() -> send(notification));
+            }
+        }
+    }
+
+    private void send(Notification notification) {
+        try {
+            switch (notification.getChannel()) {
+                case EMAIL -> withPermit(emailPermits, channelSender::sendEmail, notification);
+                case SMS -> withPermit(smsPermits, channelSender::sendSms, notification);
+                case BOTH -> {
+                    withPermit(emailPermits, channelSender::sendEmail, notification);
+                    withPermit(smsPermits, channelSender::sendSms, notification);
+                }
+            }
+
+            notification.setStatus(NotificationStatus.SENT);
+            notification.setSentTime(LocalDateTime.now());
+            notification.setNextAttemptTime(null);
+            sentCounter.increment();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Failed to send notification {}: {}", notification.getId(), e.getMessage());
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setErrorMessage(e.getMessage());
+            notification.setRetryCount(notification.getRetryCount() + 1);
+            notification.setNextAttemptTime(retryBackoff.nextAttempt(notification.getRetryCount(), LocalDateTime.now()));
+            failedCounter.increment();
+        }
+    }
+
+    private static void withPermit(Semaphore permits, Consumer<Notification> sender, Notification notification)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            sender.accept(notification);
+        } finally {
+            permits.release();
+        }
+    }
+}
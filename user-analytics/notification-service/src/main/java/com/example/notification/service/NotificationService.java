@@ -11,6 +11,7 @@ import com.example.notification.dto.NotificationResponse;
 import com.example.notification.model.Notification;
 import com.example.notification.model.NotificationStatus;
 import com.example.notification.repository.NotificationRepository;
+import com.example.notification.scheduler.NotificationTimer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,8 +28,10 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
-    private final SmsService smsService;
+    private final NotificationChannelSender channelSender;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationTimer notificationTimer;
+    private final RetryBackoff retryBackoff;
     private final ObjectMapper objectMapper;
 
     /**
@@ -70,6 +73,7 @@ public class NotificationService {
         if (request.getScheduledTime() == null) {
             sendNotification(saved);
         }
+        notificationTimer.scheduleAfterCommit(saved);
 
         return mapToResponse(saved);
     }
@@ -83,11 +87,11 @@ public class NotificationService {
 
         try {
             switch (notification.getChannel()) {
-                case EMAIL -> sendEmailNotification(notification);
-                case SMS -> sendSmsNotification(notification);
+                case EMAIL -> channelSender.sendEmail(notification);
+                case SMS -> channelSender.sendSms(notification);
                 case BOTH -> {
-                    sendEmailNotification(notification);
-                    sendSmsNotification(notification);
+                    channelSender.sendEmail(notification);
+                    channelSender.sendSms(notification);
                 }
             }
 
@@ -100,81 +104,25 @@ public class NotificationService {
             notification.setStatus(NotificationStatus.FAILED);
             notification.setErrorMessage(e.getMessage());
             notification.setRetryCount(notification.getRetryCount() + 1);
+            notification.setNextAttemptTime(retryBackoff.nextAttempt(notification.getRetryCount(), LocalDateTime.now()));
         }
 
         notificationRepository.save(notification);
     }
 
-    private void sendEmailNotification(Notification notification) {
-        if (notification.getRecipientEmail() == null) {
-            throw new IllegalArgumentException("Recipient email is required");
-        }
-
-        switch (notification.getNotificationType()) {
-            case APPOINTMENT_REMINDER, APPOINTMENT_CONFIRMATION ->
-                    emailService.sendSimpleEmail(
-                            notification.getRecipientEmail(),
-                            notification.getSubject(),
-                            notification.getMessage()
-                    );
-            case TEST_RESULT_ALERT ->
-                    emailService.sendSimpleEmail(
-                            notification.getRecipientEmail(),
-                            "Test Results Available",
-                            notification.getMessage()
-                    );
-            case PRESCRIPTION_REMINDER ->
-                    emailService.sendSimpleEmail(
-                            notification.getRecipientEmail(),
-                            "Prescription Reminder",
-                            notification.getMessage()
-                    );
-            default ->
-                    emailService.sendSimpleEmail(
-                            notification.getRecipientEmail(),
-                            notification.getSubject(),
-                            notification.getMessage()
-                    );
-        }
-    }
-
-    private void sendSmsNotification(Notification notification) {
-        if (notification.getRecipientPhone() == null) {
-            throw new IllegalArgumentException("Recipient phone is required");
-        }
-
-        smsService.sendSms(notification.getRecipientPhone(), notification.getMessage());
-    }
-
     /**
-     * Process scheduled notifications
+     * Process scheduled notifications that are due. Sends that fail go back into the timing
+     * wheel for their next attempt instead of waiting for the retry sweep.
      */
-    @Transactional
-    public void processScheduledNotifications() {
-        List<Notification> scheduled = notificationRepository.findPendingNotifications(
-                NotificationStatus.SCHEDULED,
-                LocalDateTime.now()
-        );
-
-        log.info("Processing {} scheduled notifications", scheduled.size());
-
-        for (Notification notification : scheduled) {
-            sendNotification(notification);
-        }
+    public int processScheduledNotifications() {
+        return notificationDispatcher.dispatchScheduled(notificationTimer::schedule);
     }
 
     /**
      * Retry failed notifications
      */
-    @Transactional
-    public void retryFailedNotifications(int maxRetries) {
-        List<Notification> failed = notificationRepository.findFailedNotificationsForRetry(maxRetries);
-
-        log.info("Retrying {} failed notifications", failed.size());
-
-        for (Notification notification : failed) {
-            sendNotification(notification);
-        }
+    public int retryFailedNotifications(int maxRetries) {
+        return notificationDispatcher.retryFailed(maxRetries, notificationTimer::schedule);
     }
 
     /**
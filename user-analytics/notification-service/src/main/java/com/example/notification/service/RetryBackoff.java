@@ -0,0 +1,51 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When a failed notification is tried again: the delay doubles with every failure up to a cap,
+ * and a random share of up to half of it is dropped so that notifications that failed together (e.g. during a
+ * provider outage) do not all retry in the same instant.
+ */
+@Component
+public class RetryBackoff {
+
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    @Getter
+    private final int maxRetries;
+
+    public RetryBackoff(@Value("${notification.retry.base-delay-ms:30000}") long baseDelayMs,
+                        @Value("${notification.retry.max-delay-ms:1800000}") long maxDelayMs,
+                        @Value("${notification.retry.max-retries:3}") int maxRetries) {
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * @param retryCount failures so far, including the one just recorded
+     * @return the time of the next attempt, or {@code null} once {@code maxRetries} is reached
+     */
+    public LocalDateTime nextAttempt(int retryCount, LocalDateTime failedAt) {
+        if (retryCount >= maxRetries) {
+            return null;
+        }
+        int doublings = Math.min(Math.max(retryCount - 1, 0), 30);
+        long delayMs = Math.min(maxDelayMs, baseDelayMs << doublings);
+        long jitteredMs = delayMs / 2 + ThreadLocalRandom.current().nextLong(delayMs / 2 + 1);
+        return failedAt.plus(Duration.ofMillis(jitteredMs));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.event;
+
+import com.example.notification.dto.NotificationRequest;
+import com.example.notification.dto.PrescriptionEventDTO;
+import com.example.notification.model.NotificationChannel;
+import com.example.notification.model.NotificationType;
+import com.example.notification.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationEventListenerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private NotificationEventListener notificationEventListener;
+
+    @Test
+    void handlePrescriptionEvent_shouldEmailThePatientWhenDispensed() {
+        notificationEventListener.handlePrescriptionEvent(PrescriptionEventDTO.builder()
+                .prescriptionId(7L)
+                .patientId(100L)
+                .patientName("John Doe")
+                .patientEmail("john.doe@example.com")
+                .patientPhone("+1234567890")
+                .medicationName("Amoxicillin")
+                .dosage("500mg")
+                .eventType("DISPENSED")
+                .build());
+
+        ArgumentCaptor<NotificationRequest> request = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(notificationService).createNotification(request.capture());
+        assertEquals(NotificationType.PRESCRIPTION_DISPENSED, request.getValue().getNotificationType());
+        assertEquals(NotificationChannel.EMAIL, request.getValue().getChannel());
+        assertEquals("john.doe@example.com", request.getValue().getRecipientEmail());
+        assertTrue(request.getValue().getMessage().contains("Amoxicillin (500mg)"));
+    }
+}
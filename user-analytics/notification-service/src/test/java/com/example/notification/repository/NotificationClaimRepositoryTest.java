@@ -0,0 +1,268 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.repository;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.example.notification.controller.NotificationController;
+import com.example.notification.dto.AppointmentEventDTO;
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationChannel;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.model.NotificationType;
+import com.example.notification.repository.NotificationClaimRepository.DueNotification;
+import com.example.notification.service.EmailService;
+import com.example.notification.service.NotificationService;
+import com.example.notification.testutil.NoKafkaListenerConfig;
+import com.example.notification.testutil.TestcontainersConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the claim and due-time SQL against PostgreSQL. Due-time windows are placed far in the
+ * future so rows left by other tests cannot fall into them; the concurrent claims run in
+ * transactions of their own against rows due in 2000 and remove them afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.kafka.listener.auto-startup=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration.class
+})
+@Import({TestcontainersConfiguration.class, NoKafkaListenerConfig.class, NotificationClaimRepository.class})
+class NotificationClaimRepositoryTest {
+
+    private static final int MAX_RETRIES = 3;
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2099, 1, 1, 12, 0);
+    private static final LocalDateTime WINDOW_END = WINDOW_START.plusHours(1);
+    private static final LocalDateTime CLAIM_NOW = LocalDateTime.of(2000, 1, 1, 12, 0);
+
+    @Autowired
+    private NotificationClaimRepository claimRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private NotificationController notificationController;
+
+    @MockBean
+    private KafkaTemplate<String, AppointmentEventDTO> kafkaTemplate;
+
+    @MockBean
+    private MessageListenerContainer messageListenerContainer;
+
+    @MockBean(name = "kafkaListenerContainerFactory")
+    private KafkaListenerContainerFactory<?> kafkaListenerContainerFactory;
+
+    @MockBean(name = "appointmentKafkaListenerContainerFactory")
+    private KafkaListenerContainerFactory<?> appointmentKafkaListenerContainerFactory;
+
+    @MockBean(name = "prescriptionKafkaListenerContainerFactory")
+    private KafkaListenerContainerFactory<?> prescriptionKafkaListenerContainerFactory;
+
+    @Test
+    void claimDue_shouldClaimOnlyTheGivenIdsThatAreStillDue() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Long scheduledDue = save(NotificationStatus.SCHEDULED, now.minusMinutes(1), null, 0);
+        Long scheduledLater = save(NotificationStatus.SCHEDULED, now.plusHours(1), null, 0);
+        Long retryDue = save(NotificationStatus.FAILED, null, now.minusMinutes(1), 1);
+        Long retryLater = save(NotificationStatus.FAILED, null, now.plusHours(1), 1);
+        Long exhausted = save(NotificationStatus.FAILED, null, now.minusMinutes(1), MAX_RETRIES);
+        Long cancelled = save(NotificationStatus.CANCELLED, now.minusMinutes(1), null, 0);
+        Long notAsked = save(NotificationStatus.SCHEDULED, now.minusMinutes(1), null, 0);
+
+        List<Notification> claimed = claimRepository.claimDue(
+                List.of(scheduledDue, scheduledLater, retryDue, retryLater, exhausted, cancelled), now, MAX_RETRIES);
+
+        assertThat(claimed).extracting(Notification::getId, Notification::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(scheduledDue, NotificationStatus.SENDING),
+                        tuple(retryDue, NotificationStatus.SENDING));
+        assertThat(statusOf(scheduledLater)).isEqualTo(NotificationStatus.SCHEDULED);
+        assertThat(statusOf(notAsked)).isEqualTo(NotificationStatus.SCHEDULED);
+        assertThat(statusOf(cancelled)).isEqualTo(NotificationStatus.CANCELLED);
+        // Already SENDING: a second replica firing the same ids gets nothing
+        assertThat(claimRepository.claimDue(List.of(scheduledDue, retryDue), now, MAX_RETRIES)).isEmpty();
+    }
+
+    @Test
+    void findDueBetween_shouldReturnScheduledAndRetryableRowsInTheHalfOpenWindow() {
+        Long atStart = save(NotificationStatus.SCHEDULED, WINDOW_START, null, 0);
+        Long inside = save(NotificationStatus.SCHEDULED, WINDOW_START.plusMinutes(30), null, 0);
+        Long atEnd = save(NotificationStatus.SCHEDULED, WINDOW_END, null, 0);
+        Long retry = save(NotificationStatus.FAILED, null, WINDOW_START.plusMinutes(10), 2);
+        save(NotificationStatus.FAILED, null, WINDOW_START.plusMinutes(10), MAX_RETRIES);
+        save(NotificationStatus.CANCELLED, WINDOW_START.plusMinutes(20), null, 0);
+        save(NotificationStatus.SCHEDULED, WINDOW_END.plusSeconds(1), null, 0);
+
+        List<DueNotification> due = claimRepository.findDueBetween(WINDOW_START, WINDOW_END, MAX_RETRIES);
+
+        assertThat(due).containsExactlyInAnyOrder(
+                new DueNotification(inside, WINDOW_START.plusMinutes(30)),
+                new DueNotification(atEnd, WINDOW_END),
+                new DueNotification(retry, WINDOW_START.plusMinutes(10)));
+        assertThat(due).extracting(DueNotification::id).doesNotContain(atStart);
+    }
+
+    @Test
+    void findInsertedAfter_shouldPageByIdWithTheDueTimeOfEachStatus() {
+        Long scheduled = save(NotificationStatus.SCHEDULED, WINDOW_START, null, 0);
+        Long retry = save(NotificationStatus.FAILED, null, WINDOW_END, 1);
+        Long exhausted = save(NotificationStatus.FAILED, null, WINDOW_END, MAX_RETRIES);
+        Long sent = save(NotificationStatus.SENT, null, null, 0);
+
+        List<DueNotification> firstPage = claimRepository.findInsertedAfter(scheduled - 1, MAX_RETRIES, 2);
+        List<DueNotification> secondPage = claimRepository.findInsertedAfter(
+                firstPage.get(firstPage.size() - 1).id(), MAX_RETRIES, 2);
+
+        assertThat(firstPage).containsExactly(
+                new DueNotification(scheduled, WINDOW_START),
+                new DueNotification(retry, WINDOW_END));
+        assertThat(secondPage).containsExactly(
+                new DueNotification(exhausted, null),
+                new DueNotification(sent, null));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void claimScheduled_shouldSkipRowsAnotherOpenClaimHasLocked() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                ids.add(save(NotificationStatus.SCHEDULED, CLAIM_NOW.minusMinutes(i + 1), null, 0));
+            }
+
+            assertClaimsAreDisjoint(ids, limit ->
+                    claimRepository.claimScheduled(CLAIM_NOW, CLAIM_NOW.minusMinutes(10), limit));
+        } finally {
+            ids.forEach(id -> jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", id));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void claimFailedForRetry_shouldSkipRowsAnotherOpenClaimHasLocked() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                ids.add(save(NotificationStatus.FAILED, null, CLAIM_NOW.minusMinutes(i + 1), 1));
+            }
+
+            assertClaimsAreDisjoint(ids, limit -> claimRepository.claimFailedForRetry(CLAIM_NOW, MAX_RETRIES, limit));
+        } finally {
+            ids.forEach(id -> jdbcTemplate.update("DELETE FROM notifications WHERE id = ?", id));
+        }
+    }
+
+    /**
+     * Holds a first claim's transaction open while a second claim runs, then checks the two
+     * replicas got disjoint rows that together cover {@code ids}.
+     */
+    private void assertClaimsAreDisjoint(List<Long> ids, Function<Integer, List<Notification>> claim)
+            throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        CompletableFuture<Set<Long>> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Set<Long> claimed = idsOf(claim.apply(2));
+            firstClaimed.countDown();
+            try {
+                // Keep the row locks until the second replica has claimed
+                secondDone.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return claimed;
+        }));
+        assertThat(firstClaimed.await(10, TimeUnit.SECONDS)).isTrue();
+        Set<Long> second = transaction.execute(status -> idsOf(claim.apply(100)));
+        secondDone.countDown();
+        Set<Long> firstIds = first.get(10, TimeUnit.SECONDS);
+
+        assertThat(firstIds).hasSize(2).doesNotContainAnyElementsOf(second);
+        Set<Long> all = new HashSet<>(firstIds);
+        all.addAll(second);
+        assertThat(all).containsAll(ids);
+    }
+
+    private static Set<Long> idsOf(List<Notification> notifications) {
+        Set<Long> ids = new HashSet<>();
+        notifications.forEach(n -> ids.add(n.getId()));
+        return ids;
+    }
+
+    private Long save(NotificationStatus status, LocalDateTime scheduledTime, LocalDateTime nextAttemptTime,
+                      int retryCount) {
+        return notificationRepository.saveAndFlush(Notification.builder()
+                .recipientId(1L)
+                .recipientEmail("patient@example.com")
+                .notificationType(NotificationType.APPOINTMENT_REMINDER)
+                .channel(NotificationChannel.EMAIL)
+                .subject("Reminder")
+                .message("This is your reminder")
+                .status(status)
+                .scheduledTime(scheduledTime)
+                .nextAttemptTime(nextAttemptTime)
+                .retryCount(retryCount)
+                .build()).getId();
+    }
+
+    private NotificationStatus statusOf(Long id) {
+        // Read past the persistence context, which does not see the claim's UPDATE
+        return NotificationStatus.valueOf(
+                jdbcTemplate.queryForObject("SELECT status FROM notifications WHERE id = ?", String.class, id));
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.scheduler;
+
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.repository.NotificationClaimRepository;
+import com.example.notification.repository.NotificationClaimRepository.DueNotification;
+import com.example.notification.service.NotificationDispatcher;
+import com.example.notification.service.RetryBackoff;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the timer against a stubbed claim repository. Entries are due an hour or more ahead so
+ * nothing fires unless a test makes it overdue; firing is asynchronous and checked with
+ * {@code verify(..., timeout(...))}.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationTimerTest {
+
+    private static final int MAX_RETRIES = 3;
+    private static final long HORIZON_MS = 4 * 3_600_000L;
+    private static final int INSERTED_BATCH_SIZE = 2;
+
+    @Mock
+    private NotificationClaimRepository claimRepository;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    private NotificationTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new NotificationTimer(claimRepository, notificationDispatcher,
+                new RetryBackoff(30_000, 1_800_000, MAX_RETRIES), new SimpleMeterRegistry(),
+                100, 64, HORIZON_MS, INSERTED_BATCH_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        timer.shutdown();
+    }
+
+    @Test
+    void refresh_shouldLoadTheWholeHorizonFirstAndFireOverdueNotificationsAtOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        when(claimRepository.findMaxId()).thenReturn(10L);
+        when(claimRepository.findDueBetween(any(), any(), eq(MAX_RETRIES))).thenReturn(List.of(
+                new DueNotification(1L, now.minusMinutes(5)),
+                new DueNotification(2L, now.plusHours(1)),
+                new DueNotification(3L, now.plusHours(2))));
+
+        timer.refresh();
+
+        verify(notificationDispatcher, timeout(5_000)).dispatchDue(List.of(1L));
+        assertEquals(2, timer.pending());
+        verify(claimRepository, never()).findInsertedAfter(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void refresh_shouldReadOnlyTheNewSliceAndPageInsertedRowsByLastSeenId() {
+        LocalDateTime now = LocalDateTime.now();
+        when(claimRepository.findMaxId()).thenReturn(10L);
+        when(claimRepository.findDueBetween(any(), any(), eq(MAX_RETRIES))).thenReturn(List.of());
+        when(claimRepository.findInsertedAfter(10L, MAX_RETRIES, INSERTED_BATCH_SIZE)).thenReturn(List.of(
+                new DueNotification(11L, now.plusHours(1)),
+                // Sent or cancelled already: nothing to schedule, but the id still counts as seen
+                new DueNotification(12L, null)));
+        when(claimRepository.findInsertedAfter(12L, MAX_RETRIES, INSERTED_BATCH_SIZE)).thenReturn(List.of(
+                new DueNotification(13L, now.plusHours(1))));
+
+        timer.refresh();
+        timer.refresh();
+        timer.refresh();
+
+        ArgumentCaptor<LocalDateTime> after = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(claimRepository, times(3)).findDueBetween(after.capture(), until.capture(), eq(MAX_RETRIES));
+        // Each refresh starts where the previous one's horizon ended
+        assertEquals(until.getAllValues().get(0), after.getAllValues().get(1));
+        assertEquals(until.getAllValues().get(1), after.getAllValues().get(2));
+        verify(claimRepository, times(1)).findMaxId();
+        verify(claimRepository).findInsertedAfter(10L, MAX_RETRIES, INSERTED_BATCH_SIZE);
+        verify(claimRepository).findInsertedAfter(12L, MAX_RETRIES, INSERTED_BATCH_SIZE);
+        assertEquals(2, timer.pending());
+    }
+
+    @Test
+    void refresh_shouldKeepTheWatermarksWhenALoadFails() {
+        when(claimRepository.findMaxId()).thenReturn(10L);
+        when(claimRepository.findDueBetween(any(), any(), eq(MAX_RETRIES)))
+                .thenReturn(List.of())
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(List.of());
+        when(claimRepository.findInsertedAfter(anyLong(), anyInt(), anyInt())).thenReturn(List.of());
+
+        timer.refresh();
+        timer.refresh();
+        timer.refresh();
+
+        // The failed refresh did not advance lastSeenId, so the next one reads from the same id
+        verify(claimRepository, times(1)).findInsertedAfter(10L, MAX_RETRIES, INSERTED_BATCH_SIZE);
+        verify(claimRepository, times(1)).findMaxId();
+    }
+
+    @Test
+    void scheduleAfterCommit_shouldAddTheNotificationOnlyOnceTheTransactionCommits() {
+        loadEmptyHorizon();
+        Notification notification = scheduled(20L, LocalDateTime.now().plusHours(1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            timer.scheduleAfterCommit(notification);
+            assertEquals(0, timer.pending());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, timer.pending());
+    }
+
+    @Test
+    void scheduleAfterCommit_shouldAddTheNotificationAtOnceWithoutATransaction() {
+        loadEmptyHorizon();
+
+        timer.scheduleAfterCommit(scheduled(20L, LocalDateTime.now().plusHours(1)));
+
+        assertEquals(1, timer.pending());
+    }
+
+    @Test
+    void schedule_shouldLeaveNotificationsBeyondTheHorizonOrNotWaitingForTheNextRefresh() {
+        timer.schedule(scheduled(20L, LocalDateTime.now().plusHours(1)));
+        assertEquals(0, timer.pending(), "nothing is added before the first load");
+
+        loadEmptyHorizon();
+        timer.schedule(scheduled(21L, LocalDateTime.now().plusHours(5)));
+        Notification sent = scheduled(22L, LocalDateTime.now().plusHours(1));
+        sent.setStatus(NotificationStatus.SENT);
+        timer.schedule(sent);
+        Notification exhausted = failed(23L, LocalDateTime.now().plusHours(1));
+        exhausted.setRetryCount(MAX_RETRIES);
+        timer.schedule(exhausted);
+
+        assertEquals(0, timer.pending());
+    }
+
+    @Test
+    void fire_shouldPutFailedSendsBackIntoTheWheelForTheirNextAttempt() {
+        LocalDateTime now = LocalDateTime.now();
+        when(claimRepository.findMaxId()).thenReturn(10L);
+        when(claimRepository.findDueBetween(any(), any(), eq(MAX_RETRIES)))
+                .thenReturn(List.of(new DueNotification(1L, now.minusMinutes(1))));
+        when(notificationDispatcher.dispatchDue(List.of(1L))).thenReturn(List.of(failed(1L, now.plusHours(1))));
+
+        timer.refresh();
+
+        verify(notificationDispatcher, timeout(5_000)).dispatchDue(List.of(1L));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (timer.pending() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, timer.pending());
+    }
+
+    private void loadEmptyHorizon() {
+        when(claimRepository.findMaxId()).thenReturn(0L);
+        when(claimRepository.findDueBetween(any(), any(), eq(MAX_RETRIES))).thenReturn(List.of());
+        timer.refresh();
+    }
+
+    private static Notification scheduled(long id, LocalDateTime scheduledTime) {
+        return Notification.builder()
+                .id(id)
+                .status(NotificationStatus.SCHEDULED)
+                .scheduledTime(scheduledTime)
+                .retryCount(0)
+                .build();
+    }
+
+    private static Notification failed(long id, LocalDateTime nextAttemptTime) {
+        return Notification.builder()
+                .id(id)
+                .status(NotificationStatus.FAILED)
+                .nextAttemptTime(nextAttemptTime)
+                .retryCount(1)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the wheel with a simulated clock, so deadlines hours ahead can be checked without waiting.
+ */
+class TimingWheelTest {
+
+    private static final long TICK_MS = 100;
+    private static final long START_MS = 1_767_225_600_000L;
+
+    @Test
+    void advance_shouldFireEveryEntryWithinOneTickAfterItsDeadline() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, 64, START_MS);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 1; id <= 20_000; id++) {
+            // Up to two hours ahead: spread over three levels plus one added on demand
+            long deadline = START_MS + random.nextLong(2 * 3_600_000L);
+            deadlines.put(id, deadline);
+            assertTrue(wheel.add(id, deadline));
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = START_MS; now <= START_MS + 2 * 3_600_000L + TICK_MS; now += TICK_MS) {
+            for (TimingWheel.Entry entry : wheel.advance(now)) {
+                assertNull(firedAt.put(entry.id(), now), "fired twice: " + entry.id());
+            }
+        }
+
+        assertEquals(deadlines.size(), firedAt.size());
+        assertEquals(0, wheel.size());
+        deadlines.forEach((id, deadline) -> {
+            long lateMs = firedAt.get(id) - deadline;
+            assertTrue(lateMs > 0 && lateMs <= TICK_MS, "id " + id + " fired " + lateMs + "ms after its deadline");
+        });
+    }
+
+    @Test
+    void add_shouldRejectDeadlinesAlreadyBehindTheWheel() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, 64, START_MS);
+        wheel.advance(START_MS + 1_000);
+
+        assertFalse(wheel.add(1L, START_MS + 500));
+        assertTrue(wheel.add(2L, START_MS + 1_000));
+        assertEquals(List.of(new TimingWheel.Entry(2L, START_MS + 1_000)), wheel.advance(START_MS + 1_100));
+    }
+
+    @Test
+    void add_shouldMoveAnExistingIdAndCancelShouldDropIt() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, 64, START_MS);
+        wheel.add(1L, START_MS + 60_000);
+        wheel.add(1L, START_MS + 5_000);
+        wheel.add(2L, START_MS + 10_000);
+        wheel.cancel(2L);
+
+        assertEquals(List.of(new TimingWheel.Entry(1L, START_MS + 5_000)), wheel.advance(START_MS + 5_100));
+        assertTrue(wheel.advance(START_MS + 120_000).isEmpty());
+        assertFalse(wheel.contains(1L));
+    }
+}
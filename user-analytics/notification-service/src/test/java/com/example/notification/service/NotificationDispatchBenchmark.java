@@ -0,0 +1,181 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.service;
+
+import com.example.common.security.client.AuthServiceClient;
+import com.example.notification.controller.NotificationController;
+import com.example.notification.dto.AppointmentEventDTO;
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationChannel;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.model.NotificationType;
+import com.example.notification.repository.NotificationClaimRepository;
+import com.example.notification.repository.NotificationRepository;
+import com.example.notification.testutil.NoKafkaListenerConfig;
+import com.example.notification.testutil.TestcontainersConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerContainerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Measures how dispatch throughput scales with the number of replicas claiming from the same
+ * PostgreSQL table with {@code SKIP LOCKED}. Providers are stubbed to answer after a fixed latency,
+ * like a slow SMTP server or SMS gateway. Needs Docker:
+ * <pre>
+ * mvn test -pl notification-service -Dtest=NotificationDispatchBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.kafka.listener.auto-startup=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration.class
+})
+@Import({TestcontainersConfiguration.class, NoKafkaListenerConfig.class, NotificationClaimRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationDispatchBenchmark {
+
+    private static final int NOTIFICATIONS = 4_000;
+    private static final long PROVIDER_LATENCY_MS = 20;
+    private static final String RECIPIENT = "dispatch-benchmark@example.com";
+
+    @Autowired
+    private NotificationClaimRepository claimRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private SmsService smsService;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private NotificationController notificationController;
+
+    @MockBean
+    private KafkaTemplate<String, AppointmentEventDTO> kafkaTemplate;
+
+    @MockBean
+    private MessageListenerContainer messageListenerContainer;
+
+    @MockBean(name = "kafkaListenerContainerFactory")
+    private KafkaListenerContainerFactory<?> kafkaListenerContainerFactory;
+
+    @MockBean(name = "appointmentKafkaListenerContainerFactory")
+    private KafkaListenerContainerFactory<?> appointmentKafkaListenerContainerFactory;
+
+    @MockBean(name = "prescriptionKafkaListenerContainerFactory")
+    private KafkaListenerContainerFactory<?> prescriptionKafkaListenerContainerFactory;
+
+    @BeforeEach
+    void slowProviders() {
+        doAnswer(invocation -> {
+            Thread.sleep(PROVIDER_LATENCY_MS);
+            return null;
+        }).when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
+        doAnswer(invocation -> {
+            Thread.sleep(PROVIDER_LATENCY_MS);
+            return null;
+        }).when(smsService).sendSms(anyString(), anyString());
+    }
+
+    @AfterEach
+    void removeNotifications() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE recipient_email = ?", RECIPIENT);
+    }
+
+    @ParameterizedTest(name = "{0} replicas")
+    @ValueSource(ints = {1, 2, 4})
+    void dispatchScheduled_messagesPerSecond(int replicas) {
+        insertDue();
+
+        List<CompletableFuture<Integer>> runs = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < replicas; i++) {
+            NotificationDispatcher replica = new NotificationDispatcher(claimRepository,
+                    new NotificationChannelSender(emailService, smsService), new RetryBackoff(30_000, 1_800_000, 3),
+                    new SimpleMeterRegistry(), 100, 1_000, 600_000, 20, 10);
+            runs.add(CompletableFuture.supplyAsync(replica::dispatchScheduled, runnable -> new Thread(runnable).start()));
+        }
+        int processed = runs.stream().mapToInt(CompletableFuture::join).sum();
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+
+        log.info("Dispatch with {} replicas: {} notifications in {} ms ({} messages/s)",
+                replicas, processed, elapsedMs, processed * 1_000L / elapsedMs);
+        assertEquals(NOTIFICATIONS, processed);
+        assertEquals(NOTIFICATIONS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE recipient_email = ? AND status = 'SENT'",
+                Integer.class, RECIPIENT));
+    }
+
+    private void insertDue() {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(1);
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            notifications.add(Notification.builder()
+                    .recipientId((long) i)
+                    .recipientEmail(RECIPIENT)
+                    .recipientPhone("+1555000" + i)
+                    .notificationType(NotificationType.APPOINTMENT_REMINDER)
+                    .channel(i % 4 == 0 ? NotificationChannel.SMS : NotificationChannel.EMAIL)
+                    .subject("Reminder")
+                    .message("This is your reminder")
+                    .status(NotificationStatus.SCHEDULED)
+                    .scheduledTime(due)
+                    .retryCount(0)
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.service;
+
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationChannel;
+import com.example.notification.model.NotificationStatus;
+import com.example.notification.model.NotificationType;
+import com.example.notification.repository.NotificationClaimRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the dispatcher against an in-memory claim queue and stubbed providers that sleep
+ * like a slow SMTP server or SMS gateway. Overlap is checked with latches rather than
+ * elapsed time, so a loaded build machine cannot fail the tests.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    private static final long PROVIDER_LATENCY_MS = 50;
+    private static final RetryBackoff BACKOFF = new RetryBackoff(30_000, 1_800_000, 3);
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private SmsService smsService;
+
+    @Test
+    void dispatchScheduled_shouldSendBatchConcurrentlyAndRecordEveryResult() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        // The first two sends wait for each other, which only returns early if they overlap
+        CountDownLatch overlapping = new CountDownLatch(2);
+        lenient().doAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                overlapping.countDown();
+                overlapping.await(5, TimeUnit.SECONDS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return null;
+        }).when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
+        FakeClaimRepository claims = new FakeClaimRepository(notifications(40, NotificationChannel.EMAIL));
+
+        int processed = dispatcher(claims, 20, 20, 10).dispatchScheduled();
+
+        assertEquals(40, processed);
+        assertEquals(40, claims.updated.size());
+        assertTrue(claims.updated.stream().allMatch(n -> n.getStatus() == NotificationStatus.SENT));
+        assertTrue(maxInFlight.get() > 1, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void dispatchScheduled_shouldRespectPerChannelConcurrencyLimit() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        slowEmail(inFlight, maxInFlight);
+        FakeClaimRepository claims = new FakeClaimRepository(notifications(30, NotificationChannel.EMAIL));
+
+        dispatcher(claims, 30, 3, 10).dispatchScheduled();
+
+        assertEquals(30, claims.updated.size());
+        assertTrue(maxInFlight.get() <= 3, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void retryFailed_shouldMarkFailuresAndIncrementRetryCount() {
+        doThrow(new RuntimeException("Failed to send SMS")).when(smsService).sendSms(anyString(), anyString());
+        FakeClaimRepository claims = new FakeClaimRepository(notifications(3, NotificationChannel.SMS));
+
+        LocalDateTime before = LocalDateTime.now();
+        int processed = dispatcher(claims, 10, 5, 5).retryFailed(3);
+
+        assertEquals(3, processed);
+        for (Notification notification : claims.updated) {
+            assertEquals(NotificationStatus.FAILED, notification.getStatus());
+            assertEquals(1, notification.getRetryCount());
+            assertEquals("Failed to send SMS", notification.getErrorMessage());
+            // First retry waits between half and all of the 30s base delay
+            assertFalse(notification.getNextAttemptTime().isBefore(before.plusSeconds(15)));
+            assertFalse(notification.getNextAttemptTime().isAfter(LocalDateTime.now().plusSeconds(30)));
+        }
+    }
+
+    @Test
+    void dispatchDue_shouldSendOnlyTheGivenIdsInBatches() {
+        slowEmail(new AtomicInteger(), new AtomicInteger());
+        FakeClaimRepository claims = new FakeClaimRepository(notifications(30, NotificationChannel.EMAIL));
+
+        List<Notification> processed = dispatcher(claims, 4, 5, 5).dispatchDue(List.of(3L, 5L, 7L, 11L, 13L, 17L));
+
+        assertEquals(List.of(3L, 5L, 7L, 11L, 13L, 17L), processed.stream().map(Notification::getId).toList());
+        assertTrue(processed.stream().allMatch(n -> n.getStatus() == NotificationStatus.SENT));
+        assertEquals(24, claims.remaining());
+    }
+
+    @Test
+    void retryBackoff_shouldDoubleUpToTheCapAndStopAfterMaxRetries() {
+        RetryBackoff backoff = new RetryBackoff(1_000, 5_000, 5);
+        LocalDateTime failedAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        long[] maxDelaysMs = {1_000, 2_000, 4_000, 5_000};
+        for (int retryCount = 1; retryCount <= 4; retryCount++) {
+            long delayMs = Duration.between(failedAt, backoff.nextAttempt(retryCount, failedAt)).toMillis();
+            long maxDelayMs = maxDelaysMs[retryCount - 1];
+            assertTrue(delayMs >= maxDelayMs / 2 && delayMs <= maxDelayMs, "retry " + retryCount + ": " + delayMs);
+        }
+        assertNull(backoff.nextAttempt(5, failedAt));
+    }
+
+    @Test
+    void dispatchScheduled_shouldStopAfterMaxBatchesPerRun() {
+        slowEmail(new AtomicInteger(), new AtomicInteger());
+        FakeClaimRepository claims = new FakeClaimRepository(notifications(25, NotificationChannel.EMAIL));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(claims,
+                new NotificationChannelSender(emailService, smsService), BACKOFF, new SimpleMeterRegistry(),
+                5, 2, 600_000, 5, 5);
+
+        assertEquals(10, dispatcher.dispatchScheduled());
+        assertEquals(15, claims.remaining());
+    }
+
+    @Test
+    void replicas_shouldShareTheQueueWithoutDoubleSends() {
+        FakeClaimRepository claims = new FakeClaimRepository(notifications(100, NotificationChannel.EMAIL));
+        // Sends hold up the first replica's batch until the second replica has claimed one too
+        lenient().doAnswer(inv -> {
+            claims.awaitClaimingThreads(2, 5_000);
+            return null;
+        }).when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
+
+        List<CompletableFuture<Integer>> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            NotificationDispatcher replica = dispatcher(claims, 10, 5, 5);
+            runs.add(CompletableFuture.supplyAsync(replica::dispatchScheduled));
+        }
+        List<Integer> processed = runs.stream().map(CompletableFuture::join).toList();
+
+        assertEquals(100, processed.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(processed.stream().allMatch(count -> count > 0), "processed per replica " + processed);
+        assertEquals(100, claims.updated.size());
+        Map<Long, Integer> updatesPerId = new ConcurrentHashMap<>();
+        claims.updated.forEach(n -> updatesPerId.merge(n.getId(), 1, Integer::sum));
+        assertTrue(updatesPerId.values().stream().allMatch(times -> times == 1));
+    }
+
+    private void slowEmail(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+        lenient().doAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(PROVIDER_LATENCY_MS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return null;
+        }).when(emailService).sendSimpleEmail(anyString(), anyString(), anyString());
+    }
+
+    private NotificationDispatcher dispatcher(NotificationClaimRepository claims, int batchSize,
+                                              int emailConcurrency, int smsConcurrency) {
+        return new NotificationDispatcher(claims, new NotificationChannelSender(emailService, smsService),
+                BACKOFF, new SimpleMeterRegistry(), batchSize, 50, 600_000, emailConcurrency, smsConcurrency);
+    }
+
+    private static List<Notification> notifications(int count, NotificationChannel channel) {
+        List<Notification> notifications = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            notifications.add(Notification.builder()
+                    .id(id)
+                    .recipientId(id)
+                    .recipientEmail("user" + id + "@example.com")
+                    .recipientPhone("+1555000" + id)
+                    .notificationType(NotificationType.APPOINTMENT_REMINDER)
+                    .channel(channel)
+                    .subject("Reminder")
+                    .message("This is your reminder")
+                    .status(NotificationStatus.SENDING)
+                    .scheduledTime(LocalDateTime.now().minusMinutes(1))
+                    .retryCount(0)
+                    .build());
+        }
+        return notifications;
+    }
+
+    /**
+     * Hands out each queued notification to exactly one caller, like {@code SKIP LOCKED} does
+     * across replicas.
+     */
+    private static class FakeClaimRepository extends NotificationClaimRepository {
+
+        private final Deque<Notification> queue;
+        private final List<Notification> updated = new ArrayList<>();
+        private final Set<Thread> claimingThreads = new HashSet<>();
+
+        FakeClaimRepository(List<Notification> notifications) {
+            super(null);
+            this.queue = new ArrayDeque<>(notifications);
+        }
+
+        @Override
+        public List<Notification> claimScheduled(LocalDateTime now, LocalDateTime staleBefore, int limit) {
+            return claim(limit);
+        }
+
+        @Override
+        public List<Notification> claimFailedForRetry(LocalDateTime now, int maxRetries, int limit) {
+            return claim(limit);
+        }
+
+        @Override
+        public synchronized List<Notification> claimDue(Collection<Long> ids, LocalDateTime now, int maxRetries) {
+            List<Notification> batch = queue.stream().filter(n -> ids.contains(n.getId())).toList();
+            queue.removeAll(batch);
+            return batch;
+        }
+
+        @Override
+        public synchronized void updateResults(List<Notification> notifications) {
+            updated.addAll(notifications);
+        }
+
+        synchronized int remaining() {
+            return queue.size();
+        }
+
+        synchronized boolean awaitClaimingThreads(int count, long timeoutMs) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            while (claimingThreads.size() < count) {
+                long remainingMs = deadline - System.currentTimeMillis();
+                if (remainingMs <= 0) {
+                    return false;
+                }
+                wait(remainingMs);
+            }
+            return true;
+        }
+
+        private synchronized List<Notification> claim(int limit) {
+            claimingThreads.add(Thread.currentThread());
+            notifyAll();
+            List<Notification> batch = new ArrayList<>();
+            while (batch.size() < limit && !queue.isEmpty()) {
+                batch.add(queue.poll());
+            }
+            return batch;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.example.notification.model.NotificationChannel;
 import com.example.notification.model.NotificationStatus;
 import com.example.notification.model.NotificationType;
 import com.example.notification.repository.NotificationRepository;
+import com.example.notification.scheduler.NotificationTimer;
 import com.example.notification.testutil.NotificationRequestTestBuilder;
 import com.example.notification.testutil.TestcontainersConfiguration;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +19,7 @@ import org.springframework.context.annotation.Import;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +41,12 @@ class NotificationServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private NotificationTimer notificationTimer;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -253,6 +261,19 @@ class NotificationServiceTest {
         assertThrows(IllegalStateException.class, () -> notificationService.cancelNotification(42L));
     }*/
 
+    @Test
+    void testProcessScheduledNotifications_ReschedulesFailedSendsOnTheTimer() {
+        Notification failed = buildNotification(NotificationChannel.EMAIL, NotificationStatus.FAILED);
+        when(notificationDispatcher.dispatchScheduled(any())).thenAnswer(inv -> {
+            inv.<Consumer<Notification>>getArgument(0).accept(failed);
+            return 1;
+        });
+
+        assertEquals(1, notificationService.processScheduledNotifications());
+
+        verify(notificationTimer).schedule(failed);
+    }
+
     @Test
     void testCancelNotification_NotFound() {
         when(notificationRepository.findById(42L)).thenReturn(Optional.empty());
@@ -6,6 +6,7 @@
 
 package com.healthcare.patientservice.controller;
 
+import com.example.common.search.SearchSlice;
 import com.example.common.security.annotation.RequirePermission;
 import com.example.common.security.constants.PermissionConstants;
 import com.healthcare.patientservice.dto.PatientDTO;
@@ -66,6 +67,16 @@ public class PatientController {
         return ResponseEntity.ok(patients);
     }
 
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<SearchSlice<PatientDTO>> scrollPatients(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchSlice<PatientDTO> patients = patientServiceImpl.searchPatients(query, cursor, size);
+        return ResponseEntity.ok(patients);
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<Page<PatientDTO>> getPatientsByStatus(
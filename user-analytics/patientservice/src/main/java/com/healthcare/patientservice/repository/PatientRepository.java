@@ -6,6 +6,7 @@
 
 package com.healthcare.patientservice.repository;
 
+import com.example.common.search.SearchHit;
 import com.healthcare.patientservice.entity.Patient;
 import com.healthcare.patientservice.entity.PatientStatus;
 import org.springframework.data.domain.Page;
@@ -15,11 +16,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
+    String SEARCH_MATCH = "(p.search_text LIKE :pattern OR :term <% p.search_text)";
+
     Optional<Patient> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -27,9 +31,25 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     @Query("SELECT p FROM Patient p WHERE p.status = :status")
     Page<Patient> findByStatus(@Param("status") PatientStatus status, Pageable pageable);
 
-    @Query("SELECT p FROM Patient p WHERE " +
-            "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Patient> searchPatients(@Param("searchTerm") String searchTerm, Pageable pageable);
+    /**
+     * Substring or typo-tolerant match on the trigram-indexed {@code search_text} column,
+     * best matches first. Takes a {@link com.example.common.search.SearchTerm}; the pageable must be unsorted.
+     */
+    @Query(value = "SELECT p.* FROM patients p WHERE " + SEARCH_MATCH +
+            " ORDER BY word_similarity(:term, p.search_text) DESC, p.id",
+            countQuery = "SELECT COUNT(*) FROM patients p WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<Patient> searchPatients(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same matches as {@link #searchPatients}, as a keyset page after ({@code afterRank}, {@code afterId}).
+     */
+    @Query(value = "SELECT s.id AS id, s.rank AS rank FROM (" +
+            "SELECT p.id, word_similarity(:term, p.search_text) AS rank FROM patients p WHERE " + SEARCH_MATCH +
+            ") s WHERE s.rank < :afterRank OR (s.rank = :afterRank AND s.id > :afterId)" +
+            " ORDER BY s.rank DESC, s.id LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHit> searchPatientsAfter(@Param("term") String term, @Param("pattern") String pattern,
+                                        @Param("afterRank") float afterRank, @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
 }
@@ -6,6 +6,10 @@
 
 package com.healthcare.patientservice.service;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchSlice;
+import com.example.common.search.SearchTerm;
 import com.healthcare.patientservice.dto.PatientDTO;
 import com.healthcare.patientservice.entity.Patient;
 import com.healthcare.patientservice.entity.PatientStatus;
@@ -17,10 +21,13 @@ import com.healthcare.patientservice.service.impl.PatientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -83,10 +90,26 @@ public class PatientServiceImpl implements PatientService {
     public Page<PatientDTO> searchPatients(String searchTerm, Pageable pageable) {
         log.info("Searching patients with term: {}", searchTerm);
 
-        return patientRepository.searchPatients(searchTerm, pageable)
+        SearchTerm term = SearchTerm.of(searchTerm);
+        // Results are ordered by relevance; a client sort cannot be appended to the native query
+        return patientRepository.searchPatients(term.term(), term.pattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(patientMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SearchSlice<PatientDTO> searchPatients(String searchTerm, String cursor, int size) {
+        log.info("Searching patients with term: {} after cursor: {}", searchTerm, cursor);
+
+        SearchTerm term = SearchTerm.of(searchTerm);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = SearchSlice.pageSize(size);
+        List<SearchHit> hits = patientRepository.searchPatientsAfter(
+                term.term(), term.pattern(), after.rank(), after.id(), pageSize + 1);
+        return SearchSlice.of(hits, pageSize, patientRepository::findAllById, Patient::getId, patientMapper::toDTO);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<PatientDTO> getPatientsByStatus(PatientStatus status, Pageable pageable) {
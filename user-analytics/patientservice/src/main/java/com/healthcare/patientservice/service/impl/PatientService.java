@@ -6,6 +6,7 @@
 
 package com.healthcare.patientservice.service.impl;
 
+import com.example.common.search.SearchSlice;
 import com.healthcare.patientservice.dto.PatientDTO;
 import com.healthcare.patientservice.entity.PatientStatus;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,9 @@ public interface PatientService {
     @Transactional(readOnly = true)
     Page<PatientDTO> searchPatients(String searchTerm, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    SearchSlice<PatientDTO> searchPatients(String searchTerm, String cursor, int size);
+
     @Transactional(readOnly = true)
     Page<PatientDTO> getPatientsByStatus(PatientStatus status, Pageable pageable);
 
@@ -6,6 +6,9 @@
 
 package com.healthcare.patientservice.repository;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchTerm;
 import com.example.common.security.client.AuthServiceClient;
 import com.healthcare.patientservice.PatientServiceApplication;
 import com.healthcare.patientservice.entity.Patient;
@@ -25,7 +28,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
-
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,9 +110,58 @@ class PatientRepositoryTest {
                 .build();
         patientRepository.save(patient);
 
-        var page = patientRepository.searchPatients("bob", PageRequest.of(0, 10));
+        SearchTerm term = SearchTerm.of("bob");
+        var page = patientRepository.searchPatients(term.term(), term.pattern(), PageRequest.of(0, 10));
         assertFalse(page.isEmpty());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Should match misspelled search terms and rank the closest match first")
+    void testSearchPatientsToleratesTypos() {
+        Patient marley = patientRepository.save(new PatientTestBuilder()
+                .withFirstName("Bob")
+                .withLastName("Marley")
+                .withEmail("bob.marley@example.com")
+                .build());
+        patientRepository.save(new PatientTestBuilder()
+                .withFirstName("Margaret")
+                .withLastName("Smith")
+                .withEmail("margaret.smith@example.com")
+                .build());
+
+        SearchTerm term = SearchTerm.of("Marly");
+        var page = patientRepository.searchPatients(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertFalse(page.isEmpty());
+        assertEquals(marley.getId(), page.getContent().get(0).getId());
+    }
 
-}
\ No newline at end of file
+    @Test
+    @WithMockUser
+    @DisplayName("Should page through search results by keyset without gaps or repeats")
+    void testSearchPatientsAfter() {
+        for (int i = 0; i < 5; i++) {
+            patientRepository.save(new PatientTestBuilder()
+                    .withFirstName("Keyset")
+                    .withLastName("Patient" + i)
+                    .withEmail("keyset" + i + "@example.com")
+                    .build());
+        }
+        SearchTerm term = SearchTerm.of("keyset");
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = SearchCursor.FIRST;
+        List<SearchHit> hits;
+        do {
+            hits = patientRepository.searchPatientsAfter(term.term(), term.pattern(), cursor.rank(), cursor.id(), 2);
+            hits.forEach(hit -> seen.add(hit.getId()));
+            if (!hits.isEmpty()) {
+                cursor = SearchCursor.decode(SearchCursor.after(hits.get(hits.size() - 1)).encode());
+            }
+        } while (hits.size() == 2);
+
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.patientservice.repository;
+
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchTerm;
+import com.example.common.security.client.AuthServiceClient;
+import com.healthcare.patientservice.PatientServiceApplication;
+import com.healthcare.patientservice.testutil.TestcontainersConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the legacy {@code LOWER(col) LIKE '%term%'} search with the trigram-indexed search
+ * over 1M patients. Needs Docker:
+ * <pre>
+ * mvn test -pl patientservice -Dtest=PatientSearchBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {PatientServiceApplication.class})
+@Import({TestcontainersConfiguration.class, FeignAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PatientSearchBenchmark {
+
+    private static final int PATIENTS = 1_000_000;
+    private static final int RUNS = 15;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String LEGACY_MATCH = "LOWER(first_name) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(last_name) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(email) LIKE LOWER(CONCAT('%', ?, '%'))";
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @BeforeEach
+    void seedPatients() {
+        // Seeded once and kept across the parameterized runs
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patients", Long.class) >= PATIENTS) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO patients (first_name, last_name, email, phone_number, date_of_birth, gender,
+                                      status, created_at, updated_at)
+                SELECT (ARRAY['James','Mary','Robert','Patricia','John','Jennifer','Michael','Linda',
+                              'William','Elizabeth','David','Barbara','Richard','Susan','Joseph','Jessica'])[1 + i % 16],
+                       (ARRAY['Smith','Johnson','Williams','Brown','Jones','Garcia','Miller','Davis',
+                              'Rodriguez','Martinez','Hernandez','Lopez','Gonzalez','Wilson','Anderson',
+                              'Thomas','Taylor','Moore','Jackson','Martin'])[1 + (i / 16) % 20] || (i % 997),
+                       'patient' || i || '@example.com', '1234567890', DATE '1990-01-01', 'FEMALE',
+                       'ACTIVE', now(), now()
+                FROM generate_series(1, ?) AS i
+                """, PATIENTS);
+        jdbcTemplate.execute("ANALYZE patients");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"patient123456@", "hernandez42", "jessica", "rodrigez"})
+    void trigramSearch_shouldBeFasterThanLikeScan(String query) {
+        SearchTerm term = SearchTerm.of(query);
+
+        long legacyNanos = median(() -> {
+            jdbcTemplate.queryForList("SELECT * FROM patients WHERE " + LEGACY_MATCH + " LIMIT " + PAGE_SIZE,
+                    query, query, query);
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patients WHERE " + LEGACY_MATCH, Long.class,
+                    query, query, query);
+        });
+        long pageNanos = median(() -> patientRepository.searchPatients(
+                term.term(), term.pattern(), PageRequest.of(0, PAGE_SIZE)));
+        long keysetNanos = median(() -> patientRepository.searchPatientsAfter(
+                term.term(), term.pattern(), SearchCursor.FIRST.rank(), SearchCursor.FIRST.id(), PAGE_SIZE + 1));
+
+        log.info("Search '{}': LIKE scan {} us, trigram page {} us, trigram keyset {} us",
+                query, legacyNanos / 1_000, pageNanos / 1_000, keysetNanos / 1_000);
+        assertTrue(keysetNanos < legacyNanos,
+                "Trigram search for '" + query + "' was not faster than the LIKE scan");
+    }
+
+    private static long median(Runnable search) {
+        search.run();
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+}
@@ -1,5 +1,6 @@
 package com.healthcare.prescriptionservice.controller;
 
+import com.example.common.search.SearchSlice;
 import com.example.common.security.annotation.RequirePermission;
 import com.example.common.security.constants.PermissionConstants;
 import com.healthcare.prescriptionservice.dto.PrescriptionDTO;
@@ -112,6 +113,16 @@ public class PrescriptionController {
         return ResponseEntity.ok(prescriptions);
     }
 
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
+    public ResponseEntity<SearchSlice<PrescriptionDTO>> scrollPrescriptions(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchSlice<PrescriptionDTO> prescriptions = prescriptionService.searchPrescriptions(query, cursor, size);
+        return ResponseEntity.ok(prescriptions);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_DOCTOR', 'ROLE_STAFF')")
     public ResponseEntity<PrescriptionDTO> updatePrescription(
@@ -53,6 +53,13 @@ public class PrescriptionDTO {
     @Past(message = "Patient date of birth must be in the past")
     private LocalDate patientDateOfBirth;
 
+    @Email(message = "Patient email must be valid")
+    @Size(max = 100, message = "Patient email must not exceed 100 characters")
+    private String patientEmail;
+
+    @Size(max = 20, message = "Patient phone must not exceed 20 characters")
+    private String patientPhone;
+
     private String doctorName;
 
     private String doctorLicense;
@@ -0,0 +1,34 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.prescriptionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the {@code prescription-events} topic, as read by notification-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrescriptionEventDTO {
+    private Long prescriptionId;
+    private Long patientId;
+    private String patientName;
+    private String patientEmail;
+    private String patientPhone;
+    private String medicationName;
+    private String dosage;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String eventType; // READY, DISPENSED
+}
@@ -61,6 +61,12 @@ public class Prescription {
     @Column(name = "patient_date_of_birth")
     private LocalDate patientDateOfBirth;
 
+    @Column(name = "patient_email", length = 100)
+    private String patientEmail;
+
+    @Column(name = "patient_phone", length = 20)
+    private String patientPhone;
+
     @Column(name = "doctor_name", length = 200)
     private String doctorName;
 
@@ -0,0 +1,83 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.prescriptionservice.event;
+
+import com.example.common.outbox.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.prescriptionservice.dto.PrescriptionEventDTO;
+import com.healthcare.prescriptionservice.entity.Medication;
+import com.healthcare.prescriptionservice.entity.Prescription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records prescription events in the outbox, inside the caller's transaction. Events are keyed by
+ * patient, so all of a patient's events land on the same partition.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrescriptionEventPublisher {
+
+    static final String TOPIC = "prescription-events";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publishDispensed(Prescription prescription) {
+        publish(prescription, "DISPENSED");
+    }
+
+    /**
+     * A refill is ready for pickup; notification-service tells the patient.
+     */
+    public void publishRefilled(Prescription prescription) {
+        publish(prescription, "READY");
+    }
+
+    private void publish(Prescription prescription, String eventType) {
+        List<Medication> medications = prescription.getMedications() != null
+                ? prescription.getMedications()
+                : List.of();
+        PrescriptionEventDTO event = PrescriptionEventDTO.builder()
+                .prescriptionId(prescription.getId())
+                .patientId(prescription.getPatientId())
+                .patientName(prescription.getPatientName())
+                .patientEmail(prescription.getPatientEmail())
+                .patientPhone(prescription.getPatientPhone())
+                .medicationName(join(medications, Medication::getMedicationName))
+                .dosage(join(medications, Medication::getDosage))
+                .startDate(atStartOfDay(prescription.getPrescriptionDate()))
+                .endDate(atStartOfDay(prescription.getValidUntil()))
+                .eventType(eventType)
+                .build();
+        try {
+            outboxRepository.append(TOPIC, prescription.getPatientId().toString(),
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize prescription event", e);
+        }
+    }
+
+    private static String join(List<Medication> medications, Function<Medication, String> field) {
+        return medications.stream()
+                .map(field)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static LocalDateTime atStartOfDay(LocalDate date) {
+        return date != null ? date.atStartOfDay() : null;
+    }
+}
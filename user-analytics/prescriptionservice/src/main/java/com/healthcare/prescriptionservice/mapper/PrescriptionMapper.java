@@ -33,6 +33,8 @@ public class PrescriptionMapper {
         dto.setStatus(prescription.getStatus());
         dto.setPatientName(prescription.getPatientName());
         dto.setPatientDateOfBirth(prescription.getPatientDateOfBirth());
+        dto.setPatientEmail(prescription.getPatientEmail());
+        dto.setPatientPhone(prescription.getPatientPhone());
         dto.setDoctorName(prescription.getDoctorName());
         dto.setDoctorLicense(prescription.getDoctorLicense());
         dto.setPharmacyName(prescription.getPharmacyName());
@@ -74,6 +76,8 @@ public class PrescriptionMapper {
         prescription.setStatus(dto.getStatus() != null ? dto.getStatus() : PrescriptionStatus.ACTIVE);
         prescription.setPatientName(dto.getPatientName());
         prescription.setPatientDateOfBirth(dto.getPatientDateOfBirth());
+        prescription.setPatientEmail(dto.getPatientEmail());
+        prescription.setPatientPhone(dto.getPatientPhone());
         prescription.setDoctorName(dto.getDoctorName());
         prescription.setDoctorLicense(dto.getDoctorLicense());
         prescription.setPharmacyName(dto.getPharmacyName());
@@ -100,6 +104,8 @@ public class PrescriptionMapper {
         if (dto.getNotes() != null) prescription.setNotes(dto.getNotes());
         if (dto.getPharmacyName() != null) prescription.setPharmacyName(dto.getPharmacyName());
         if (dto.getPharmacyAddress() != null) prescription.setPharmacyAddress(dto.getPharmacyAddress());
+        if (dto.getPatientEmail() != null) prescription.setPatientEmail(dto.getPatientEmail());
+        if (dto.getPatientPhone() != null) prescription.setPatientPhone(dto.getPatientPhone());
         if (dto.getUserId() != null) prescription.setUserId(dto.getUserId());
     }
 
@@ -5,6 +5,7 @@
  */
 
 package com.healthcare.prescriptionservice.repository;
+import com.example.common.search.SearchHit;
 import com.healthcare.prescriptionservice.entity.Prescription;
 import com.healthcare.prescriptionservice.entity.PrescriptionStatus;
 import org.springframework.data.domain.Page;
@@ -21,6 +22,8 @@ import java.util.Optional;
 @Repository
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
 
+    String SEARCH_MATCH = "(p.search_text LIKE :pattern OR :term <% p.search_text)";
+
     Optional<Prescription> findByPrescriptionNumber(String prescriptionNumber);
 
     boolean existsByPrescriptionNumber(String prescriptionNumber);
@@ -70,8 +73,25 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
     @Query("SELECT COUNT(p) FROM Prescription p WHERE p.status = 'ACTIVE'")
     Long countActivePrescriptions();
 
-    @Query("SELECT p FROM Prescription p WHERE " +
-            "LOWER(p.prescriptionNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.patientName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Prescription> searchPrescriptions(@Param("searchTerm") String searchTerm, Pageable pageable);
+    /**
+     * Substring or typo-tolerant match on the trigram-indexed {@code search_text} column,
+     * best matches first. Takes a {@link com.example.common.search.SearchTerm}; the pageable must be unsorted.
+     */
+    @Query(value = "SELECT p.* FROM prescriptions p WHERE " + SEARCH_MATCH +
+            " ORDER BY word_similarity(:term, p.search_text) DESC, p.id",
+            countQuery = "SELECT COUNT(*) FROM prescriptions p WHERE " + SEARCH_MATCH,
+            nativeQuery = true)
+    Page<Prescription> searchPrescriptions(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Same matches as {@link #searchPrescriptions}, as a keyset page after ({@code afterRank}, {@code afterId}).
+     */
+    @Query(value = "SELECT s.id AS id, s.rank AS rank FROM (" +
+            "SELECT p.id, word_similarity(:term, p.search_text) AS rank FROM prescriptions p WHERE " + SEARCH_MATCH +
+            ") s WHERE s.rank < :afterRank OR (s.rank = :afterRank AND s.id > :afterId)" +
+            " ORDER BY s.rank DESC, s.id LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHit> searchPrescriptionsAfter(@Param("term") String term, @Param("pattern") String pattern,
+                                             @Param("afterRank") float afterRank, @Param("afterId") long afterId,
+                                             @Param("limit") int limit);
 }
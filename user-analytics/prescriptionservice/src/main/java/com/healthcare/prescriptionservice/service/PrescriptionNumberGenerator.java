@@ -0,0 +1,36 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.prescriptionservice.service;
+
+import com.example.common.id.DocumentNumberGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prescription numbers backed by a Postgres sequence that steps by {@link #BLOCK_SIZE}, so a
+ * replica reserves that many numbers per round trip.
+ */
+@Component
+public class PrescriptionNumberGenerator {
+
+    /**
+     * Must match {@code INCREMENT BY} of the sequence in changelog-v1.2-prescription-number-sequence.yaml.
+     */
+    static final int BLOCK_SIZE = 1000;
+
+    private final DocumentNumberGenerator prescriptionNumbers;
+
+    public PrescriptionNumberGenerator(JdbcTemplate jdbcTemplate) {
+        this.prescriptionNumbers = new DocumentNumberGenerator("RX",
+                () -> jdbcTemplate.queryForObject("SELECT nextval('prescription_number_seq')", Long.class),
+                BLOCK_SIZE);
+    }
+
+    public String nextPrescriptionNumber() {
+        return prescriptionNumbers.next();
+    }
+}
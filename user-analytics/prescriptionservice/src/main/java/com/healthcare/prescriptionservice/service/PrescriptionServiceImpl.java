@@ -7,9 +7,14 @@
 
 package com.healthcare.prescriptionservice.service;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchSlice;
+import com.example.common.search.SearchTerm;
 import com.healthcare.prescriptionservice.dto.PrescriptionDTO;
 import com.healthcare.prescriptionservice.entity.Prescription;
 import com.healthcare.prescriptionservice.entity.PrescriptionStatus;
+import com.healthcare.prescriptionservice.event.PrescriptionEventPublisher;
 import com.healthcare.prescriptionservice.exception.PrescriptionNotFoundException;
 import com.healthcare.prescriptionservice.mapper.PrescriptionMapper;
 import com.healthcare.prescriptionservice.repository.PrescriptionRepository;
@@ -17,6 +22,7 @@ import com.healthcare.prescriptionservice.service.impl.PrescriptionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,12 +40,14 @@ public class PrescriptionServiceImpl implements PrescriptionService {
 
     private final PrescriptionRepository prescriptionRepository;
     private final PrescriptionMapper prescriptionMapper;
+    private final PrescriptionNumberGenerator prescriptionNumberGenerator;
+    private final PrescriptionEventPublisher prescriptionEventPublisher;
 
     @Override
     public PrescriptionDTO createPrescription(PrescriptionDTO prescriptionDTO) {
         log.info("Creating prescription for patient: {}", prescriptionDTO.getPatientId());
 
-        String prescriptionNumber = generatePrescriptionNumber();
+        String prescriptionNumber = prescriptionNumberGenerator.nextPrescriptionNumber();
         prescriptionDTO.setPrescriptionNumber(prescriptionNumber);
 
         prescriptionDTO.getUserId();
@@ -144,10 +152,26 @@ public class PrescriptionServiceImpl implements PrescriptionService {
     @Override
     public Page<PrescriptionDTO> searchPrescriptions(String searchTerm, Pageable pageable) {
         log.info("Searching prescriptions with term: {}", searchTerm);
-        return prescriptionRepository.searchPrescriptions(searchTerm, pageable)
+        SearchTerm term = SearchTerm.of(searchTerm);
+        // Results are ordered by relevance; a client sort cannot be appended to the native query
+        return prescriptionRepository.searchPrescriptions(term.term(), term.pattern(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(prescriptionMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public SearchSlice<PrescriptionDTO> searchPrescriptions(String searchTerm, String cursor, int size) {
+        log.info("Searching prescriptions with term: {} after cursor: {}", searchTerm, cursor);
+        SearchTerm term = SearchTerm.of(searchTerm);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = SearchSlice.pageSize(size);
+        List<SearchHit> hits = prescriptionRepository.searchPrescriptionsAfter(
+                term.term(), term.pattern(), after.rank(), after.id(), pageSize + 1);
+        return SearchSlice.of(hits, pageSize, prescriptionRepository::findAllById, Prescription::getId,
+                prescriptionMapper::toDTO);
+    }
+
     @Override
     public PrescriptionDTO updatePrescription(Long id, PrescriptionDTO prescriptionDTO) {
         log.info("Updating prescription with ID: {}", id);
@@ -176,6 +200,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         prescription.setDispensedBy(dispensedBy);
 
         Prescription dispensedPrescription = prescriptionRepository.save(prescription);
+        prescriptionEventPublisher.publishDispensed(dispensedPrescription);
 
         log.info("Prescription dispensed successfully");
         return prescriptionMapper.toDTO(dispensedPrescription);
@@ -200,6 +225,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         }
 
         Prescription refilledPrescription = prescriptionRepository.save(prescription);
+        prescriptionEventPublisher.publishRefilled(refilledPrescription);
 
         log.info("Prescription refilled successfully");
         return prescriptionMapper.toDTO(refilledPrescription);
@@ -250,10 +276,4 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         prescriptionRepository.deleteById(id);
         log.info("Prescription deleted successfully");
     }
-
-    private String generatePrescriptionNumber() {
-        String prefix = "RX";
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        return prefix + "-" + timestamp.substring(timestamp.length() - 10);
-    }
 }
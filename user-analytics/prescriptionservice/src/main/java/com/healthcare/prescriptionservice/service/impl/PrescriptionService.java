@@ -6,6 +6,7 @@
 
 package com.healthcare.prescriptionservice.service.impl;
 
+import com.example.common.search.SearchSlice;
 import com.healthcare.prescriptionservice.dto.PrescriptionDTO;
 import com.healthcare.prescriptionservice.entity.PrescriptionStatus;
 import org.springframework.data.domain.Page;
@@ -45,6 +46,9 @@ public interface PrescriptionService {
     @Transactional(readOnly = true)
     Page<PrescriptionDTO> searchPrescriptions(String searchTerm, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    SearchSlice<PrescriptionDTO> searchPrescriptions(String searchTerm, String cursor, int size);
+
     PrescriptionDTO updatePrescription(Long id, PrescriptionDTO prescriptionDTO);
 
     PrescriptionDTO dispensePrescription(Long id, String dispensedBy);
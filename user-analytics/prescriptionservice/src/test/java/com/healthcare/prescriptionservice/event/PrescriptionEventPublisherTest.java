@@ -0,0 +1,62 @@
+/*
+ * © 2026 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.healthcare.prescriptionservice.event;
+
+import com.example.common.outbox.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.healthcare.prescriptionservice.dto.PrescriptionEventDTO;
+import com.healthcare.prescriptionservice.entity.Prescription;
+import com.healthcare.prescriptionservice.testutil.MedicationTestBuilder;
+import com.healthcare.prescriptionservice.testutil.PrescriptionTestBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PrescriptionEventPublisherTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private PrescriptionEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new PrescriptionEventPublisher(outboxRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should key the event by patient and carry the patient's contact details")
+    void publishDispensed_carriesPatientContact() throws Exception {
+        Prescription prescription = PrescriptionTestBuilder.defaultBuilder()
+                .withMedications(List.of(MedicationTestBuilder.defaultBuilder().build()))
+                .build();
+
+        publisher.publishDispensed(prescription);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).append(eq(PrescriptionEventPublisher.TOPIC), eq("100"), payload.capture());
+        PrescriptionEventDTO event = objectMapper.readValue(payload.getValue(), PrescriptionEventDTO.class);
+        assertThat(event.getEventType()).isEqualTo("DISPENSED");
+        assertThat(event.getPatientEmail()).isEqualTo("john.doe@example.com");
+        assertThat(event.getPatientPhone()).isEqualTo("+1234567890");
+        assertThat(event.getMedicationName()).isNotBlank();
+    }
+}
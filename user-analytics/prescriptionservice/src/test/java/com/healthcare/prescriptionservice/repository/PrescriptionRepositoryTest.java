@@ -6,6 +6,9 @@
 
 package com.healthcare.prescriptionservice.repository;
 
+import com.example.common.search.SearchCursor;
+import com.example.common.search.SearchHit;
+import com.example.common.search.SearchTerm;
 import com.example.common.security.client.AuthServiceClient;
 import com.healthcare.prescriptionservice.PrescriptionServiceApplication;
 import com.healthcare.prescriptionservice.entity.Prescription;
@@ -21,11 +24,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cloud.openfeign.FeignAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -89,4 +95,62 @@ class PrescriptionRepositoryTest {
         List<Prescription> expiredList = prescriptionRepository.findExpiredPrescriptions(LocalDate.now());
         assertThat(expiredList).extracting(Prescription::getId).contains(expired.getId());
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should search prescriptions tolerating typos, closest match first")
+    void shouldSearchPrescriptionsToleratingTypos() {
+        Prescription marley = prescriptionRepository.save(searchable("RX-SEARCH-1", "Bob Marley"));
+        prescriptionRepository.save(searchable("RX-SEARCH-2", "Margaret Hill"));
+
+        SearchTerm term = SearchTerm.of("Marly");
+        Page<Prescription> page = prescriptionRepository.searchPrescriptions(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent().get(0).getId()).isEqualTo(marley.getId());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should search prescriptions by prescription number substring")
+    void shouldSearchPrescriptionsBySubstring() {
+        Prescription prescription = prescriptionRepository.save(searchable("RX-2026-00417", "Jane Roe"));
+
+        SearchTerm term = SearchTerm.of("2026-004");
+        Page<Prescription> page = prescriptionRepository.searchPrescriptions(term.term(), term.pattern(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(Prescription::getId).contains(prescription.getId());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should page search results by keyset without gaps or repeats")
+    void shouldSearchPrescriptionsAfterKeyset() {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(prescriptionRepository.save(searchable("RX-KEYSET-" + i, "Keyset Patient")).getId());
+        }
+        SearchTerm term = SearchTerm.of("keyset");
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = SearchCursor.FIRST;
+        List<SearchHit> hits;
+        do {
+            hits = prescriptionRepository.searchPrescriptionsAfter(term.term(), term.pattern(), cursor.rank(), cursor.id(), 2);
+            hits.forEach(hit -> seen.add(hit.getId()));
+            if (!hits.isEmpty()) {
+                cursor = SearchCursor.decode(SearchCursor.after(hits.get(hits.size() - 1)).encode());
+            }
+        } while (hits.size() == 2);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(saved);
+    }
+
+    private static Prescription searchable(String prescriptionNumber, String patientName) {
+        return PrescriptionTestBuilder.defaultBuilder()
+                .withId(null)
+                .withPrescriptionNumber(prescriptionNumber)
+                .withPatientName(patientName)
+                .build();
+    }
 }
@@ -9,6 +9,8 @@ package com.healthcare.prescriptionservice.service;
 import com.example.common.security.util.SecurityUtils;
 import com.healthcare.prescriptionservice.dto.PrescriptionDTO;
 import com.healthcare.prescriptionservice.entity.Prescription;
+import com.healthcare.prescriptionservice.entity.PrescriptionStatus;
+import com.healthcare.prescriptionservice.event.PrescriptionEventPublisher;
 import com.healthcare.prescriptionservice.mapper.PrescriptionMapper;
 import com.healthcare.prescriptionservice.repository.PrescriptionRepository;
 import com.healthcare.prescriptionservice.testutil.MedicationTestBuilder;
@@ -27,6 +29,7 @@ import java.util.Collections;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +40,10 @@ class PrescriptionServiceImplTest {
     private PrescriptionRepository prescriptionRepository;
     @Mock
     private PrescriptionMapper prescriptionMapper;
+    @Mock
+    private PrescriptionNumberGenerator prescriptionNumberGenerator;
+    @Mock
+    private PrescriptionEventPublisher prescriptionEventPublisher;
 
     @InjectMocks
     private PrescriptionServiceImpl prescriptionService;
@@ -60,6 +67,7 @@ class PrescriptionServiceImplTest {
     void testCreatePrescription() {
         try (MockedStatic<SecurityUtils> mockedSecurityUtils = mockStatic(SecurityUtils.class)) {
             mockedSecurityUtils.when(SecurityUtils::getCurrentUserId).thenReturn(Optional.of(1L));
+            when(prescriptionNumberGenerator.nextPrescriptionNumber()).thenReturn("RX-10000000000");
             when(prescriptionMapper.toEntity(any(PrescriptionDTO.class))).thenReturn(prescription);
             when(prescriptionRepository.save(any(Prescription.class))).thenReturn(prescription);
             when(prescriptionMapper.toDTO(any(Prescription.class))).thenReturn(prescriptionDTO);
@@ -67,9 +75,35 @@ class PrescriptionServiceImplTest {
             PrescriptionDTO result = prescriptionService.createPrescription(prescriptionDTO);
 
             assertThat(result).isNotNull();
+            assertThat(prescriptionDTO.getPrescriptionNumber()).isEqualTo("RX-10000000000");
             verify(prescriptionRepository).save(any(Prescription.class));
             verify(prescriptionMapper).toEntity(any(PrescriptionDTO.class));
             verify(prescriptionMapper).toDTO(any(Prescription.class));
         }
     }
+
+    @Test
+    @DisplayName("Should record a dispensed event with the dispense")
+    void testDispensePrescription_publishesEvent() {
+        when(prescriptionRepository.findById(1L)).thenReturn(Optional.of(prescription));
+        when(prescriptionRepository.save(prescription)).thenReturn(prescription);
+        when(prescriptionMapper.toDTO(prescription)).thenReturn(prescriptionDTO);
+
+        prescriptionService.dispensePrescription(1L, "pharmacist");
+
+        assertThat(prescription.getStatus()).isEqualTo(PrescriptionStatus.DISPENSED);
+        verify(prescriptionEventPublisher).publishDispensed(prescription);
+    }
+
+    @Test
+    @DisplayName("Should not record an event when the refill is refused")
+    void testRefillPrescription_noRefillsLeft() {
+        prescription.setIsRefillable(true);
+        prescription.setRefillsRemaining(0);
+        when(prescriptionRepository.findById(1L)).thenReturn(Optional.of(prescription));
+
+        assertThatThrownBy(() -> prescriptionService.refillPrescription(1L))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(prescriptionEventPublisher);
+    }
 }
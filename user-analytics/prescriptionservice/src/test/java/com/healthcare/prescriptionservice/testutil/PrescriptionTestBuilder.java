@@ -28,6 +28,8 @@ public class PrescriptionTestBuilder {
     private List<Medication> medications = new ArrayList<>();
     private String patientName = "John Doe";
     private LocalDate patientDateOfBirth = LocalDate.of(1980, 1, 1);
+    private String patientEmail = "john.doe@example.com";
+    private String patientPhone = "+1234567890";
     private String doctorName = "Dr. Smith";
     private String doctorLicense = "DOC12345";
     private String pharmacyName = "Best Pharmacy";
@@ -80,6 +82,11 @@ public class PrescriptionTestBuilder {
         return this;
     }
 
+    public PrescriptionTestBuilder withPatientName(String patientName) {
+        this.patientName = patientName;
+        return this;
+    }
+
     public PrescriptionTestBuilder withUserId(Long userId) {
         this.userId = userId;
         return this;
@@ -101,6 +108,8 @@ public class PrescriptionTestBuilder {
                 medications,
                 patientName,
                 patientDateOfBirth,
+                patientEmail,
+                patientPhone,
                 doctorName,
                 doctorLicense,
                 pharmacyName,
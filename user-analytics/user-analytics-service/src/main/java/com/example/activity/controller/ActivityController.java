@@ -1,15 +1,25 @@
 package com.example.activity.controller;
 
 import com.example.activity.dto.ActivityDTO;
+import com.example.activity.dto.ActivityFilter;
+import com.example.activity.dto.ActivityPageDTO;
 import com.example.activity.dto.ActivityStatsDTO;
+import com.example.activity.model.ActivityType;
 import com.example.activity.service.ActivityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,7 +30,10 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200") // Adjust to your Angular URL
 public class ActivityController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ActivityService activityService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get all activities
@@ -69,6 +82,60 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Get activities one page at a time, newest first (keyset pagination on timestamp and id)
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ActivityPageDTO> getActivitiesPage(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("GET /api/activities/page?limit={} - Fetching activity page", limit);
+        try {
+            ActivityFilter filter = buildFilter(userId, type, startDate, endDate);
+            return ResponseEntity.ok(activityService.getActivitiesPage(filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid activity page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Export matching activities as newline-delimited JSON, streamed row by row
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportActivities(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        log.info("GET /api/activities/export - Streaming activities");
+        ActivityFilter filter;
+        try {
+            filter = buildFilter(userId, type, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid activity type: {}", type);
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                activityService.streamActivities(filter, activity -> writeLine(out, activity));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Get recent activities
      */
@@ -119,4 +186,23 @@ public class ActivityController {
         activityService.clearAllActivities();
         return ResponseEntity.noContent().build();
     }
+
+    private ActivityFilter buildFilter(Long userId, String type, LocalDateTime startDate, LocalDateTime endDate) {
+        return ActivityFilter.builder()
+                .userId(userId)
+                .type(type != null && !type.isBlank() ? ActivityType.valueOf(type.toUpperCase()) : null)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    private void writeLine(OutputStream out, ActivityDTO activity) {
+        try {
+            // writeValue(OutputStream) would close the response stream after the first row
+            out.write(objectMapper.writeValueAsBytes(activity));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.activity.dto;
+
+import com.example.activity.model.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for paged and exported activity listings; null fields are not applied.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFilter {
+    private Long userId;
+    private ActivityType type;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
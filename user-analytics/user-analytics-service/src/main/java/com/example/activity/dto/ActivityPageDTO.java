@@ -0,0 +1,18 @@
+package com.example.activity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityPageDTO {
+    private List<ActivityDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
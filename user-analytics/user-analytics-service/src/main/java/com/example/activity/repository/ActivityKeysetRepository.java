@@ -0,0 +1,119 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.repository;
+
+import com.example.activity.dto.ActivityCursor;
+import com.example.activity.dto.ActivityDTO;
+import com.example.activity.dto.ActivityFilter;
+import com.example.activity.model.ActivityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keyset reads over user_activity ordered by (timestamp, id) descending, backed by the
+ * composite indexes from changeset 017. Pages seek past the cursor instead of using OFFSET,
+ * and exports stream rows from a server-side cursor.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityKeysetRepository {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, user_id, username, type, description, timestamp, ip_address, device_type, location " +
+            "FROM user_activity";
+
+    private static final String ORDER_BY = " ORDER BY timestamp DESC, id DESC";
+
+    private static final RowMapper<ActivityDTO> ROW_MAPPER = (rs, rowNum) -> new ActivityDTO.Builder()
+            .id(rs.getLong("id"))
+            .userId(rs.getObject("user_id", Long.class))
+            .username(rs.getString("username"))
+            .type(ActivityType.valueOf(rs.getString("type")))
+            .description(rs.getString("description"))
+            .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+            .ipAddress(rs.getString("ip_address"))
+            .deviceType(rs.getString("device_type"))
+            .location(rs.getString("location"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param after last row of the previous page, or {@code null} for the first page
+     */
+    public List<ActivityDTO> findPage(ActivityFilter filter, ActivityCursor after, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        appendWhere(sql, params, filter, after);
+        sql.append(ORDER_BY).append(" LIMIT ?");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, params.toArray());
+    }
+
+    /**
+     * Streams every matching row to {@code consumer} without materialising the result.
+     * Must run inside a transaction: the PostgreSQL driver only honours the fetch size
+     * (and keeps a server-side cursor) when auto-commit is off.
+     */
+    public void streamAll(ActivityFilter filter, int fetchSize, Consumer<ActivityDTO> consumer) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        appendWhere(sql, params, filter, null);
+        sql.append(ORDER_BY);
+
+        RowCallbackHandler handler = rs -> consumer.accept(ROW_MAPPER.mapRow(rs, rs.getRow()));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, handler);
+    }
+
+    private void appendWhere(StringBuilder sql, List<Object> params, ActivityFilter filter, ActivityCursor after) {
+        List<String> conditions = new ArrayList<>();
+
+        if (filter.getUserId() != null) {
+            conditions.add("user_id = ?");
+            params.add(filter.getUserId());
+        }
+        if (filter.getType() != null) {
+            conditions.add("type = ?");
+            params.add(filter.getType().name());
+        }
+        if (filter.getStartDate() != null) {
+            conditions.add("timestamp >= ?");
+            params.add(Timestamp.valueOf(filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            conditions.add("timestamp <= ?");
+            params.add(Timestamp.valueOf(filter.getEndDate()));
+        }
+        if (after != null) {
+            conditions.add("(timestamp, id) < (?, ?)");
+            params.add(Timestamp.valueOf(after.timestamp()));
+            params.add(after.id());
+        }
+
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+}
@@ -53,5 +53,8 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     List<Object[]> getActivityTypeCounts(@Param("start") LocalDateTime start,
                                          @Param("end") LocalDateTime end);
 
+    @Query("SELECT a.type, COUNT(a) FROM Activity a GROUP BY a.type")
+    List<Object[]> getActivityTypeCounts();
+
     Long countByTimestampBetween(LocalDateTime start, LocalDateTime end);
 }
@@ -0,0 +1,104 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.repository;
+
+import com.example.demo.util.RollupWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads and maintains the activity_daily rollup (one row per day, username and type).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityRollupRepository {
+
+    private static final String RAW_WINDOW =
+            "((timestamp >= ? AND timestamp < ?) OR (timestamp >= ? AND timestamp <= ?))";
+
+    private static final String USER_ACTIVITY_SUMMARY =
+            "SELECT username, SUM(cnt) AS total, MAX(last_at) FROM (" +
+            "SELECT username, activity_count AS cnt, last_activity AS last_at " +
+            "FROM activity_daily WHERE activity_date >= ? AND activity_date < ? " +
+            "UNION ALL " +
+            "SELECT username, COUNT(*), MAX(timestamp) " +
+            "FROM user_activity WHERE " + RAW_WINDOW + " GROUP BY username" +
+            ") t GROUP BY username ORDER BY total DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocalDate findEarliestRawDay() {
+        return jdbcTemplate.queryForObject(
+                "SELECT CAST(MIN(timestamp) AS DATE) FROM user_activity", LocalDate.class);
+    }
+
+    /**
+     * Re-aggregates one closed day. Idempotent, so a day can safely be rolled up again.
+     */
+    public void rollUpDay(LocalDate day) {
+        Date date = Date.valueOf(day);
+
+        jdbcTemplate.update("DELETE FROM activity_daily WHERE activity_date = ?", date);
+        jdbcTemplate.update("INSERT INTO activity_daily " +
+                        "(activity_date, username, type, activity_count, last_activity) " +
+                        "SELECT ?, username, type, COUNT(*), MAX(timestamp) " +
+                        "FROM user_activity WHERE timestamp >= ? AND timestamp < ? " +
+                        "GROUP BY username, type",
+                date,
+                Timestamp.valueOf(day.atStartOfDay()),
+                Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * @return rows of {username, activityCount, lastActivity}, most active first
+     */
+    public List<Object[]> getUserActivitySummary(RollupWindow window) {
+        return jdbcTemplate.query(USER_ACTIVITY_SUMMARY,
+                (rs, rowNum) -> new Object[]{
+                        rs.getString(1), rs.getLong(2), rs.getObject(3, LocalDateTime.class)},
+                windowParams(window));
+    }
+
+    /**
+     * Streams the rows of {@link #getUserActivitySummary} through a server-side cursor, fetching
+     * {@code fetchSize} rows per round trip. Must run inside a transaction, otherwise the driver
+     * reads the whole result into memory.
+     */
+    public void streamUserActivitySummary(RollupWindow window, int fetchSize, RowCallbackHandler handler) {
+        Object[] params = windowParams(window);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(USER_ACTIVITY_SUMMARY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            return statement;
+        }, handler);
+    }
+
+    private Object[] windowParams(RollupWindow window) {
+        return new Object[]{
+                Date.valueOf(window.getRollupFrom()),
+                Date.valueOf(window.getRollupTo()),
+                Timestamp.valueOf(window.getHeadStart()),
+                Timestamp.valueOf(window.getHeadEnd()),
+                Timestamp.valueOf(window.getTailStart()),
+                Timestamp.valueOf(window.getTailEnd())
+        };
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.service;
+
+import com.example.activity.dto.ActivityDTO;
+import com.example.activity.model.ActivityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory buffer between the request path and the user_activity table.
+ * Request threads only enqueue; a single background writer drains the buffer and
+ * inserts rows in JDBC batches.
+ */
+@Slf4j
+@Component
+public class ActivityIngestionQueue {
+
+    static final String INSERT_SQL = "INSERT INTO user_activity " +
+            "(user_id, username, type, description, timestamp, ip_address, device_type, location) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * What to do with a new activity when the buffer is under pressure.
+     */
+    public enum OverflowPolicy {
+        /** Reject the activity as soon as the buffer is full. */
+        DROP,
+        /** Once the buffer is half full, keep only a sampled fraction of activities. */
+        SAMPLE,
+        /** Wait up to the block timeout for free space, then drop. */
+        BLOCK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityStatsCache activityStatsCache;
+    private final BlockingQueue<ActivityDTO> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final double sampleRate;
+    private final long blockTimeoutMs;
+    private final long flushIntervalMs;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ActivityIngestionQueue(JdbcTemplate jdbcTemplate,
+                                  ActivityStatsCache activityStatsCache,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${activity.logging.queue-capacity:10000}") int capacity,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                                  @Value("${activity.logging.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                                  @Value("${activity.logging.sample-rate:0.1}") double sampleRate,
+                                  @Value("${activity.logging.block-timeout-ms:50}") long blockTimeoutMs,
+                                  @Value("${activity.logging.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.activityStatsCache = activityStatsCache;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.flushIntervalMs = flushIntervalMs;
+
+        Gauge.builder("activity.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Activities waiting to be written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("activity.ingestion.dropped")
+                .description("Activities rejected by the overflow policy")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("activity.ingestion.written")
+                .description("Activities inserted by the background writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "activity-ingestion-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Activity ingestion started: capacity={}, batchSize={}, policy={}",
+                capacity, batchSize, overflowPolicy);
+    }
+
+    /**
+     * Flush whatever is still buffered before the DataSource goes away.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushRemaining();
+        log.info("Activity ingestion stopped");
+    }
+
+    /**
+     * Enqueue an activity without touching the database.
+     *
+     * @return {@code false} if the activity was dropped by the overflow policy
+     */
+    public boolean submit(ActivityDTO activityDTO) {
+        if (activityDTO.getTimestamp() == null) {
+            activityDTO.setTimestamp(LocalDateTime.now());
+        }
+
+        boolean accepted = switch (overflowPolicy) {
+            case DROP -> queue.offer(activityDTO);
+            case SAMPLE -> (queue.size() < capacity / 2 || ThreadLocalRandom.current().nextDouble() < sampleRate)
+                    && queue.offer(activityDTO);
+            case BLOCK -> offerWithTimeout(activityDTO);
+        };
+
+        if (!accepted) {
+            droppedCounter.increment();
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private boolean offerWithTimeout(ActivityDTO activityDTO) {
+        try {
+            return queue.offer(activityDTO, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<ActivityDTO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ActivityDTO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Error writing activity batch of {}: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<ActivityDTO> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                writeBatch(batch);
+            } catch (Exception e) {
+                log.error("Error flushing activity batch of {}: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    void writeBatch(List<ActivityDTO> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batchSize, (ps, activity) -> {
+            ps.setObject(1, activity.getUserId());
+            ps.setString(2, activity.getUsername());
+            ps.setString(3, activity.getType().name());
+            ps.setString(4, activity.getDescription());
+            ps.setTimestamp(5, Timestamp.valueOf(activity.getTimestamp()));
+            ps.setString(6, activity.getIpAddress());
+            ps.setString(7, activity.getDeviceType());
+            ps.setString(8, activity.getLocation());
+        });
+        writtenCounter.increment(batch.size());
+
+        Map<ActivityType, Long> writtenPerType = new EnumMap<>(ActivityType.class);
+        for (ActivityDTO activity : batch) {
+            writtenPerType.merge(activity.getType(), 1L, Long::sum);
+        }
+        writtenPerType.forEach(activityStatsCache::increment);
+    }
+}
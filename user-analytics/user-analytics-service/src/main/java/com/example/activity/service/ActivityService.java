@@ -1,9 +1,13 @@
 package com.example.activity.service;
 
+import com.example.activity.dto.ActivityCursor;
 import com.example.activity.dto.ActivityDTO;
+import com.example.activity.dto.ActivityFilter;
+import com.example.activity.dto.ActivityPageDTO;
 import com.example.activity.dto.ActivityStatsDTO;
 import com.example.activity.model.Activity;
 import com.example.activity.model.ActivityType;
+import com.example.activity.repository.ActivityKeysetRepository;
 import com.example.activity.repository.ActivityRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -19,7 +24,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ActivityService {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int EXPORT_FETCH_SIZE = 1000;
+
     private final ActivityRepository activityRepository;
+    private final ActivityKeysetRepository activityKeysetRepository;
+    private final ActivityStatsCache activityStatsCache;
 
     /**
      * Log a new activity
@@ -39,6 +49,7 @@ public class ActivityService {
                 .build();
 
         Activity savedActivity = activityRepository.save(activity);
+        activityStatsCache.incrementAfterCommit(savedActivity.getType());
         return convertToDTO(savedActivity);
     }
 
@@ -99,22 +110,50 @@ public class ActivityService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of activities, newest first
+     *
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public ActivityPageDTO getActivitiesPage(ActivityFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ActivityCursor after = cursor != null && !cursor.isBlank() ? ActivityCursor.decode(cursor) : null;
+        log.debug("Fetching activity page of {} after {} with filter {}", pageSize, after, filter);
+
+        // Fetch one extra row to know whether another page exists
+        List<ActivityDTO> rows = activityKeysetRepository.findPage(filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ActivityDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ActivityDTO last = items.get(items.size() - 1);
+            nextCursor = new ActivityCursor(last.getTimestamp(), last.getId()).encode();
+        }
+
+        return ActivityPageDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Stream all matching activities, newest first, without loading them into memory
+     */
+    @Transactional(readOnly = true)
+    public void streamActivities(ActivityFilter filter, Consumer<ActivityDTO> consumer) {
+        log.debug("Streaming activities with filter {}", filter);
+        activityKeysetRepository.streamAll(filter, EXPORT_FETCH_SIZE, consumer);
+    }
+
     /**
      * Get activity statistics
      */
     public ActivityStatsDTO getActivityStats() {
         log.debug("Calculating activity statistics");
-
-        long total = activityRepository.count();
-        long loginCount = activityRepository.countByType(ActivityType.LOGIN);
-        long logoutCount = activityRepository.countByType(ActivityType.LOGOUT);
-        long createCount = activityRepository.countByType(ActivityType.CREATE);
-        long updateCount = activityRepository.countByType(ActivityType.UPDATE);
-        long deleteCount = activityRepository.countByType(ActivityType.DELETE);
-        long viewCount = activityRepository.countByType(ActivityType.VIEW);
-
-        return new ActivityStatsDTO(total, loginCount, logoutCount,
-                createCount, updateCount, deleteCount, viewCount);
+        return activityStatsCache.getStats();
     }
 
     /**
@@ -124,6 +163,7 @@ public class ActivityService {
     public void deleteActivity(Long activityId) {
         log.info("Deleting activity with ID: {}", activityId);
         activityRepository.deleteById(activityId);
+        activityStatsCache.invalidate();
     }
 
     /**
@@ -133,6 +173,7 @@ public class ActivityService {
     public void clearAllActivities() {
         log.warn("Clearing all activities");
         activityRepository.deleteAll();
+        activityStatsCache.invalidate();
     }
 
     /**
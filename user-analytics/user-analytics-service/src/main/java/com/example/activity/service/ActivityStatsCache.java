@@ -0,0 +1,173 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.service;
+
+import com.example.activity.dto.ActivityStatsDTO;
+import com.example.activity.model.ActivityType;
+import com.example.activity.repository.ActivityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Activity counts per type, recomputed with one GROUP BY query at most once per time bucket
+ * and bumped in between as new activities are committed.
+ * <p>
+ * Counts are approximate within a bucket: a row committed while the bucket is being reloaded
+ * may be missed until the next bucket.
+ */
+@Slf4j
+@Component
+public class ActivityStatsCache {
+
+    /**
+     * How the counts are loaded on a cache miss.
+     */
+    public enum QueryMode {
+        /** One {@code GROUP BY type} query. */
+        GROUPED,
+        /** The original one {@code countByType} query per type, kept for comparison. */
+        PER_TYPE
+    }
+
+    private record Snapshot(long bucket, Map<ActivityType, AtomicLong> counts) {
+    }
+
+    private final ActivityRepository activityRepository;
+    private final long bucketMs;
+    private final QueryMode queryMode;
+    private final Timer cacheHitTimer;
+    private final Timer groupedQueryTimer;
+    private final Timer perTypeQueryTimer;
+
+    private volatile Snapshot snapshot;
+
+    public ActivityStatsCache(ActivityRepository activityRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${activity.stats.cache-ttl-ms:10000}") long bucketMs,
+                              @Value("${activity.stats.query-mode:GROUPED}") QueryMode queryMode) {
+        this.activityRepository = activityRepository;
+        this.bucketMs = bucketMs;
+        this.queryMode = queryMode;
+        this.cacheHitTimer = statsTimer(meterRegistry, "cache");
+        this.groupedQueryTimer = statsTimer(meterRegistry, "grouped-query");
+        this.perTypeQueryTimer = statsTimer(meterRegistry, "per-type-queries");
+    }
+
+    public ActivityStatsDTO getStats() {
+        long bucket = System.currentTimeMillis() / bucketMs;
+        Snapshot cached = snapshot;
+        if (cached != null && cached.bucket() == bucket) {
+            return cacheHitTimer.record(() -> toDTO(cached.counts()));
+        }
+
+        Snapshot current;
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.bucket() != bucket) {
+                current = new Snapshot(bucket, load());
+                snapshot = current;
+            }
+        }
+        return toDTO(current.counts());
+    }
+
+    /**
+     * Counts one more activity of the given type once the surrounding transaction commits,
+     * or immediately when there is none.
+     */
+    public void incrementAfterCommit(ActivityType type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(type, 1);
+                }
+            });
+        } else {
+            increment(type, 1);
+        }
+    }
+
+    public void increment(ActivityType type, long delta) {
+        Snapshot current = snapshot;
+        if (current != null && type != null) {
+            current.counts().get(type).addAndGet(delta);
+        }
+    }
+
+    /**
+     * Forces the next read to reload, e.g. after activities were deleted. Inside a transaction
+     * the snapshot is dropped again after commit so a concurrent reload cannot keep stale counts.
+     */
+    public void invalidate() {
+        snapshot = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshot = null;
+                }
+            });
+        }
+    }
+
+    private Map<ActivityType, AtomicLong> load() {
+        Map<ActivityType, AtomicLong> counts = new EnumMap<>(ActivityType.class);
+        for (ActivityType type : ActivityType.values()) {
+            counts.put(type, new AtomicLong());
+        }
+
+        if (queryMode == QueryMode.PER_TYPE) {
+            perTypeQueryTimer.record(() -> {
+                for (ActivityType type : ActivityType.values()) {
+                    counts.get(type).set(activityRepository.countByType(type));
+                }
+            });
+        } else {
+            groupedQueryTimer.record(() -> {
+                for (Object[] row : activityRepository.getActivityTypeCounts()) {
+                    counts.get((ActivityType) row[0]).set(((Number) row[1]).longValue());
+                }
+            });
+        }
+        log.debug("Reloaded activity stats using {}: {}", queryMode, counts);
+        return counts;
+    }
+
+    private ActivityStatsDTO toDTO(Map<ActivityType, AtomicLong> counts) {
+        long total = 0;
+        for (AtomicLong count : counts.values()) {
+            total += count.get();
+        }
+
+        return ActivityStatsDTO.builder()
+                .totalActivities(total)
+                .loginCount(counts.get(ActivityType.LOGIN).get())
+                .logoutCount(counts.get(ActivityType.LOGOUT).get())
+                .createCount(counts.get(ActivityType.CREATE).get())
+                .updateCount(counts.get(ActivityType.UPDATE).get())
+                .deleteCount(counts.get(ActivityType.DELETE).get())
+                .viewCount(counts.get(ActivityType.VIEW).get())
+                .build();
+    }
+
+    private static Timer statsTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("activity.stats")
+                .tag("source", source)
+                .description("Time to produce activity statistics")
+                .register(meterRegistry);
+    }
+}
@@ -36,6 +36,12 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
 
     List<Announcement> findAllByOrderByDateDesc();
 
+    @Query("SELECT a FROM Announcement a WHERE NOT EXISTS (" +
+            "SELECT r.id FROM UserAnnouncementRead r " +
+            "WHERE r.userId = :userId AND r.announcementId = a.id) " +
+            "ORDER BY a.date DESC")
+    List<Announcement> findUnreadByUserId(@Param("userId") Long userId);
+
     @Query("SELECT a FROM Announcement a WHERE a.priority = :priority " +
             "ORDER BY a.date DESC")
     List<Announcement> findByPriorityOrderByDateDesc(@Param("priority") AnnouncementPriority priority);
@@ -14,6 +14,8 @@ package com.example.announcement.repository;
 
 import com.example.announcement.model.UserAnnouncementRead;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,5 +30,11 @@ public interface UserAnnouncementReadRepository extends JpaRepository<UserAnnoun
 
     boolean existsByUserIdAndAnnouncementId(Long userId, Long announcementId);
 
+    /**
+     * @return rows of {announcementId, readAt} for every announcement the user has read
+     */
+    @Query("SELECT r.announcementId, r.readAt FROM UserAnnouncementRead r WHERE r.userId = :userId")
+    List<Object[]> findReadStateByUserId(@Param("userId") Long userId);
+
     void deleteByUserId(Long userId);
 }
@@ -15,6 +15,7 @@ import com.example.announcement.service.impl.AnnouncementService;
 import com.example.demo.model.User;
 import com.example.announcement.repository.AnnouncementRepository;
 import com.example.announcement.repository.UserAnnouncementReadRepository;
+import com.example.demo.service.ReadStateCache;
 import com.example.demo.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,15 +39,14 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     private final AnnouncementRepository announcementRepository;
     private final UserAnnouncementReadRepository readRepository;
     private final UserService userService;
+    private final ReadStateCache readStateCache;
 
     @Override
     public List<AnnouncementDTO> getAllAnnouncements() {
         log.info("Fetching all announcements");
         Long currentUserId = getCurrentUserId();
 
-        return announcementRepository.findAllByOrderByDateDesc().stream()
-                .map(announcement -> convertToDTO(announcement, currentUserId))
-                .collect(Collectors.toList());
+        return convertToDTOs(announcementRepository.findAllByOrderByDateDesc(), currentUserId);
     }
 
     @Override
@@ -52,7 +55,8 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         Long currentUserId = getCurrentUserId();
 
         return announcementRepository.findById(id)
-                .map(announcement -> convertToDTO(announcement, currentUserId))
+                .map(announcement -> convertToDTO(announcement,
+                        getReadState(currentUserId).containsKey(announcement.getId())))
                 .orElseThrow(() -> new RuntimeException("Announcement not found"));
     }
 
@@ -61,9 +65,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         log.info("Fetching announcements with priority: {}", priority);
         Long currentUserId = getCurrentUserId();
 
-        return announcementRepository.findByPriorityOrderByDateDesc(priority).stream()
-                .map(announcement -> convertToDTO(announcement, currentUserId))
-                .collect(Collectors.toList());
+        return convertToDTOs(announcementRepository.findByPriorityOrderByDateDesc(priority), currentUserId);
     }
 
     @Override
@@ -71,9 +73,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         log.info("Fetching announcements with category: {}", category);
         Long currentUserId = getCurrentUserId();
 
-        return announcementRepository.findByCategory(category).stream()
-                .map(announcement -> convertToDTO(announcement, currentUserId))
-                .collect(Collectors.toList());
+        return convertToDTOs(announcementRepository.findByCategory(category), currentUserId);
     }
 
     @Override
@@ -81,9 +81,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         log.info("Fetching active announcements");
         Long currentUserId = getCurrentUserId();
 
-        return announcementRepository.findActiveNonExpired(LocalDateTime.now()).stream()
-                .map(announcement -> convertToDTO(announcement, currentUserId))
-                .collect(Collectors.toList());
+        return convertToDTOs(announcementRepository.findActiveNonExpired(LocalDateTime.now()), currentUserId);
     }
 
     @Override
@@ -91,9 +89,8 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         log.info("Fetching unread announcements");
         Long currentUserId = getCurrentUserId();
 
-        return announcementRepository.findAllByOrderByDateDesc().stream()
-                .filter(announcement -> !isRead(currentUserId, announcement.getId()))
-                .map(announcement -> convertToDTO(announcement, currentUserId))
+        return announcementRepository.findUnreadByUserId(currentUserId).stream()
+                .map(announcement -> convertToDTO(announcement, false))
                 .collect(Collectors.toList());
     }
 
@@ -102,9 +99,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         log.info("Searching announcements with query: {}", query);
         Long currentUserId = getCurrentUserId();
 
-        return announcementRepository.searchAnnouncements(query).stream()
-                .map(announcement -> convertToDTO(announcement, currentUserId))
-                .collect(Collectors.toList());
+        return convertToDTOs(announcementRepository.searchAnnouncements(query), currentUserId);
     }
 
     @Transactional
@@ -123,7 +118,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
                 .build();
 
         Announcement saved = announcementRepository.save(announcement);
-        return convertToDTO(saved, getCurrentUserId());
+        return convertToDTO(saved, false);
     }
 
     @Transactional
@@ -140,7 +135,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         announcement.setCategory(announcementDTO.getCategory());
 
         Announcement updated = announcementRepository.save(announcement);
-        return convertToDTO(updated, getCurrentUserId());
+        return convertToDTO(updated, getReadState(getCurrentUserId()).containsKey(updated.getId()));
     }
 
     @Transactional
@@ -161,6 +156,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
             read.setUserId(userId);
             read.setAnnouncementId(announcementId);
             readRepository.save(read);
+            readStateCache.invalidate(ReadStateCache.ANNOUNCEMENTS, userId);
         }
     }
 
@@ -170,18 +166,32 @@ public class AnnouncementServiceImpl implements AnnouncementService {
         Long userId = getCurrentUserId();
         log.info("Marking all announcements as read for user {}", userId);
 
-        List<Announcement> announcements = announcementRepository.findAll();
-        for (Announcement announcement : announcements) {
-            if (!readRepository.existsByUserIdAndAnnouncementId(userId, announcement.getId())) {
-                UserAnnouncementRead read = new UserAnnouncementRead();
-                read.setUserId(userId);
-                read.setAnnouncementId(announcement.getId());
-                readRepository.save(read);
-            }
+        List<UserAnnouncementRead> reads = new ArrayList<>();
+        for (Announcement announcement : announcementRepository.findUnreadByUserId(userId)) {
+            UserAnnouncementRead read = new UserAnnouncementRead();
+            read.setUserId(userId);
+            read.setAnnouncementId(announcement.getId());
+            reads.add(read);
         }
+
+        if (!reads.isEmpty()) {
+            readRepository.saveAll(reads);
+            readStateCache.invalidate(ReadStateCache.ANNOUNCEMENTS, userId);
+        }
+    }
+
+    private List<AnnouncementDTO> convertToDTOs(List<Announcement> announcements, Long userId) {
+        if (announcements.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, LocalDateTime> readState = getReadState(userId);
+        return announcements.stream()
+                .map(announcement -> convertToDTO(announcement, readState.containsKey(announcement.getId())))
+                .collect(Collectors.toList());
     }
 
-    private AnnouncementDTO convertToDTO(Announcement announcement, Long userId) {
+    private AnnouncementDTO convertToDTO(Announcement announcement, boolean isRead) {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
 
         return new AnnouncementDTO.Builder()
@@ -192,14 +202,20 @@ public class AnnouncementServiceImpl implements AnnouncementService {
                 .author(announcement.getAuthor())
                 .priority(announcement.getPriority())
                 .category(announcement.getCategory())
-                .isRead(isRead(userId, announcement.getId()))
+                .isRead(isRead)
                 .expiryDate(announcement.getExpiryDate() != null ?
                         announcement.getExpiryDate().toString() : null)
                 .build();
     }
 
-    private boolean isRead(Long userId, Long announcementId) {
-        return readRepository.existsByUserIdAndAnnouncementId(userId, announcementId);
+    private Map<Long, LocalDateTime> getReadState(Long userId) {
+        return readStateCache.get(ReadStateCache.ANNOUNCEMENTS, userId, () -> {
+            Map<Long, LocalDateTime> readState = new HashMap<>();
+            for (Object[] row : readRepository.findReadStateByUserId(userId)) {
+                readState.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+            return readState;
+        });
     }
 
     private Long getCurrentUserId() {
@@ -1,6 +1,7 @@
 package com.example.demo.config;
 
 import com.example.demo.dto.UserEventDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +11,7 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -22,13 +24,20 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${user-events.listener.concurrency:3}")
+    private int userEventConcurrency;
+
+    @Value("${user-events.listener.max-poll-records:500}")
+    private int userEventMaxPollRecords;
+
     @Bean
-    public ConsumerFactory<String, UserEventDTO> consumerFactory() {
+    public ConsumerFactory<String, UserEventDTO> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "analytics-service");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, userEventMaxPollRecords);
 
         // Trust all packages
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
@@ -40,14 +49,34 @@ public class KafkaConsumerConfig {
         // Start from beginning for testing
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
 
-        return new DefaultKafkaConsumerFactory<>(config);
+        DefaultKafkaConsumerFactory<String, UserEventDTO> factory = new DefaultKafkaConsumerFactory<>(config);
+        // Publishes the Kafka client metrics, including kafka.consumer.fetch.manager.records.lag(.max)
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserEventDTO> kafkaListenerContainerFactory(
+            ConsumerFactory<String, UserEventDTO> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, UserEventDTO> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
     }
 
+    /**
+     * Batch listener factory for user replication. One consumer thread per partition of the
+     * user-events topic, so keep the concurrency equal to the partition count.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, UserEventDTO> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, UserEventDTO> userEventBatchListenerContainerFactory(
+            ConsumerFactory<String, UserEventDTO> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, UserEventDTO> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(userEventConcurrency);
+        factory.getContainerProperties().setMicrometerEnabled(true);
         return factory;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,9 @@ import com.example.demo.model.FileEntity;
 import com.example.demo.service.impl.FileService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -29,10 +32,16 @@ public class FileController {
     public ResponseEntity<?> fetchFileByName(@PathVariable("fileName") String fileName ) {
         try {
             FileEntity fileEntity = fileService.getFileByFileName(fileName);
+            if (fileEntity == null) {
+                throw new IOException("File not found: " + fileName);
+            }
+            Resource content = fileService.getFileContent(fileEntity);
             log.info("File fetched: {}", fileEntity.getFileName());
+            // Returned as a Resource so the body is streamed and Range requests are answered with 206
             return ResponseEntity.ok()
                     .header("Content-Disposition", "attachment; filename=\"" + fileEntity.getFileName() + "\"")
-                    .body(fileEntity.getFileData());
+                    .contentType(mediaTypeOf(fileEntity.getContentType()))
+                    .body(content);
         } catch (IOException e) {
             log.error("Error fetching file: {}", e.getMessage());
             return ResponseEntity.status(500).body(new ResponseDTO.Builder()
@@ -78,4 +87,14 @@ public class FileController {
         }
     }
 
+    private static MediaType mediaTypeOf(String contentType) {
+        if (contentType == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
 }
@@ -7,19 +7,34 @@ import com.example.demo.dto.DetailsDTO;
 import com.example.demo.dto.ExperienceDTO;
 import com.example.demo.dto.SkillsDTO;
 import com.example.demo.dto.ProjectDTO;
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import com.example.demo.service.ProfileImageCache.ImageRef;
 import com.example.demo.service.ProfileService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.Optional;
+
 @Slf4j
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api")
 public class ProfileController {
 
+    // Revalidate on every use: the URL stays the same when the user uploads a new image
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final ProfileService profileService;
 
 
@@ -36,17 +51,68 @@ public class ProfileController {
     }
 
 
+    /**
+     * Returns the current user's latest image, or a JPEG thumbnail of it when {@code size} is given
+     * (rounded up to a generated size). Responses carry a strong ETag derived from the stored content,
+     * and a matching {@code If-None-Match} is answered with 304 without touching the database.
+     */
     @GetMapping("profile/getImage")
-    public ResponseEntity<byte[]> getImage() {
-        byte[] imageDataResult = profileService.getImageForUser();
-        if (imageDataResult != null) {
+    public ResponseEntity<Resource> getImage(@RequestParam(value = "size", required = false) Integer size,
+                                             WebRequest request) {
+        Optional<ImageRef> latestImage = profileService.getLatestImage();
+        if (latestImage.isEmpty()) {
+            log.error("Image retrieval failed");
+            return ResponseEntity.status(500).body(null);
+        }
+
+        ImageRef image = latestImage.get();
+        Integer thumbnailSize = size != null ? profileService.snapThumbnailSize(size) : null;
+        String etag = image.etag(thumbnailSize);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMAGE_CACHE_CONTROL).build();
+        }
+
+        try {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(IMAGE_CACHE_CONTROL);
+            if (thumbnailSize != null) {
+                Optional<byte[]> thumbnail = profileService.getImageThumbnail(image, thumbnailSize);
+                if (thumbnail.isPresent()) {
+                    return response.contentType(MediaType.IMAGE_JPEG).body(new ByteArrayResource(thumbnail.get()));
+                }
+            }
             log.debug("Image retrieval successful");
+            return response
+                    .header("Content-Type", image.contentType() != null ? image.contentType() : "image/jpeg")
+                    .body(profileService.getImageContent(image));
+        } catch (IOException e) {
+            log.error("Image retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    /**
+     * The current user's whole profile page in one response, served from the materialised profile
+     * document. The ETag is a digest of the document, so an unchanged profile is answered with 304.
+     */
+    @GetMapping("profile/document")
+    public ResponseEntity<String> getProfileDocument(WebRequest request) {
+        try {
+            StoredProfileDocument document = profileService.getProfileDocument();
+            if (request.checkNotModified(document.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(document.etag())
+                        .cacheControl(PROFILE_CACHE_CONTROL)
+                        .build();
+            }
             return ResponseEntity.ok()
-                    .header("Content-Type", "image/jpeg") // Adjust based on your image type
-                    .body(imageDataResult);
+                    .eTag(document.etag())
+                    .cacheControl(PROFILE_CACHE_CONTROL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(document.json());
+        } catch (Exception e) {
+            log.error("Error retrieving profile document: {}", e.getMessage());
+            return ResponseEntity.status(500).body("Error retrieving profile document: " + e.getMessage());
         }
-        log.error("Image retrieval failed");
-        return ResponseEntity.status(500).body(null);
     }
 
     @GetMapping("profile/information")
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.example.demo.service.ProfileImageCache.ImageRef;
+
+/**
+ * Everything the profile page shows for one user, assembled in one pass and stored as JSONB in
+ * {@code profile_documents}.
+ *
+ * @param image latest profile image, or null when the user has not uploaded one
+ */
+public record ProfileDocumentDTO(ProfileDTO profile,
+                                 EducationDTO education,
+                                 DetailsDTO details,
+                                 ExperienceDTO experience,
+                                 SkillsDTO skills,
+                                 ProjectDTO project,
+                                 CertificateDTO certificate,
+                                 ImageRef image) {
+}
@@ -2,59 +2,198 @@ package com.example.demo.event;
 
 import com.example.demo.dto.UserEventDTO;
 import com.example.demo.model.User;
-import com.example.demo.model.Role;
+import com.example.demo.repository.UserLoginCountRepository;
+import com.example.demo.repository.UserLoginCountRepository.LoginIncrement;
 import com.example.demo.repository.UserRepository;
-import com.example.demo.repository.RoleRepository;
+import com.example.demo.service.ProfileService;
+import com.example.demo.service.RoleCache;
+import com.example.demo.service.UserGrowthCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Optional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Replicates users from auth-service. Events are consumed in batches and coalesced per user:
+ * all users of a batch are loaded with one query, new and updated users are saved together,
+ * and logins are applied as one JDBC batch of relative {@code login_count} increments. A batch
+ * the database rejects is retried one user per transaction, so one bad user does not roll back
+ * the others.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserEventListener {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-
-    @KafkaListener(topics = "user-events", groupId = "analytics-service")
-    @Transactional
-    public void handleUserEvent(UserEventDTO event) {
-        log.info("=== RECEIVED KAFKA EVENT ===");
-        log.info("Event Type: {}", event.getEventType());
-        log.info("User: {}", event.getUsername());
-        log.info("Email: {}", event.getEmail());
+    private final UserLoginCountRepository userLoginCountRepository;
+    private final RoleCache roleCache;
+    private final UserGrowthCounters userGrowthCounters;
+    private final ProfileService profileService;
+    private final TransactionTemplate transactionTemplate;
+
+    @KafkaListener(topics = "user-events", groupId = "analytics-service",
+            containerFactory = "userEventBatchListenerContainerFactory")
+    public void handleUserEvents(List<ConsumerRecord<String, UserEventDTO>> records) {
+        Map<String, List<UserEventDTO>> eventsByUsername = new LinkedHashMap<>();
+        for (ConsumerRecord<String, UserEventDTO> record : records) {
+            UserEventDTO event = record.value();
+            if (event == null || event.getUsername() == null) {
+                log.warn("Skipping user event without username at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            eventsByUsername.computeIfAbsent(event.getUsername(), username -> new ArrayList<>()).add(event);
+        }
+        if (eventsByUsername.isEmpty()) {
+            return;
+        }
 
         try {
-            switch (event.getEventType()) {
-                case "USER_CREATED" -> handleUserCreated(event);
-                case "USER_UPDATED" -> handleUserUpdated(event);
-                case "USER_LOGIN" -> handleUserLogin(event);
-                default -> log.warn("Unknown event type: {}", event.getEventType());
-            }
-        } catch (Exception e) {
-            log.error("Error processing user event: {}", e.getMessage(), e);
-            // You might want to send this to a dead letter queue
+            transactionTemplate.executeWithoutResult(status -> replicate(eventsByUsername));
+        } catch (RuntimeException e) {
+            // A database failure rolls back every user of the batch, so retry each user on its own
+            log.warn("Replicating {} users in one transaction failed, retrying per user: {}",
+                    eventsByUsername.size(), e.getMessage());
+            eventsByUsername.forEach((username, events) -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> replicate(Map.of(username, events)));
+                } catch (RuntimeException userFailure) {
+                    log.error("Error processing user events for {}: {}", username, userFailure.getMessage(), userFailure);
+                    // You might want to send this to a dead letter queue
+                }
+            });
         }
+
+        log.info("✅ Replicated {} user events for {} users", records.size(), eventsByUsername.size());
     }
 
-    private void handleUserCreated(UserEventDTO event) {
-        log.info("Processing USER_CREATED event for: {}", event.getUsername());
+    /**
+     * Applies the events of the given users in the current transaction: all of them are loaded with
+     * one query, new and updated users are saved together and logins applied as one JDBC batch.
+     */
+    private void replicate(Map<String, List<UserEventDTO>> eventsByUsername) {
+        Map<String, User> existingUsers = userRepository.findByUsernameIn(eventsByUsername.keySet()).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity()));
+
+        List<User> usersToSave = new ArrayList<>();
+        List<User> newUsers = new ArrayList<>();
+        List<LoginIncrement> loginIncrements = new ArrayList<>();
+        eventsByUsername.forEach((username, events) -> {
+            try {
+                applyEvents(existingUsers.get(username), events, usersToSave, newUsers, loginIncrements);
+            } catch (Exception e) {
+                log.error("Error processing user events for {}: {}", username, e.getMessage(), e);
+                // You might want to send this to a dead letter queue
+            }
+        });
+
+        userRepository.saveAll(usersToSave);
+        // Flush entity changes first so they cannot overwrite the relative login increments
+        userRepository.flush();
+        userLoginCountRepository.incrementLogins(loginIncrements);
+        recordGrowth(newUsers, loginIncrements);
+        // The profile document embeds the user's fields
+        usersToSave.stream()
+                .filter(user -> !newUsers.contains(user))
+                .forEach(user -> profileService.rebuildProfileDocument(user.getId()));
+
+        log.debug("Saved {} users, {} with logins", usersToSave.size(), loginIncrements.size());
+    }
 
-        Optional<User> existingUser = userRepository.findByUsername(event.getUsername());
+    /**
+     * Folds one user's events, in order, into at most one save and one login increment.
+     * A user missing from the analytics DB is created by its first event of any type.
+     */
+    private void applyEvents(User user, List<UserEventDTO> events, List<User> usersToSave,
+                             List<User> newUsers, List<LoginIncrement> loginIncrements) {
+        boolean isNew = false;
+        boolean updated = false;
+        int logins = 0;
+        LocalDateTime lastLogin = null;
+
+        for (UserEventDTO event : events) {
+            String eventType = event.getEventType() != null ? event.getEventType() : "";
+            if (user == null && isKnownEventType(eventType)) {
+                if (!"USER_CREATED".equals(eventType)) {
+                    log.warn("User not found for {}: {}, creating user", eventType, event.getUsername());
+                }
+                user = createUser(event);
+                isNew = true;
+                continue;
+            }
 
-        if (existingUser.isPresent()) {
-            log.info("User already exists in analytics DB: {}", event.getUsername());
+            switch (eventType) {
+                case "USER_CREATED" -> log.info("User already exists in analytics DB: {}", event.getUsername());
+                case "USER_UPDATED" -> {
+                    applyUpdate(user, event);
+                    updated = true;
+                }
+                case "USER_LOGIN" -> {
+                    logins++;
+                    if (lastLogin == null || (event.getTimestamp() != null && event.getTimestamp().isAfter(lastLogin))) {
+                        lastLogin = event.getTimestamp();
+                    }
+                }
+                default -> log.warn("Unknown event type: {}", event.getEventType());
+            }
+        }
+
+        if (isNew) {
+            // Not in the database yet, so its logins go straight onto the entity
+            if (logins > 0) {
+                user.setLoginCount(user.getLoginCount() + logins);
+                user.setLastLogin(lastLogin);
+                user.setLastLoginAt(lastLogin);
+                user.setActivityCount(user.getActivityCount() + logins);
+            }
+            usersToSave.add(user);
+            newUsers.add(user);
             return;
         }
+        if (updated) {
+            usersToSave.add(user);
+        }
+        if (logins > 0) {
+            loginIncrements.add(new LoginIncrement(user.getUsername(), logins, lastLogin));
+        }
+    }
 
-        // Create new user replica in analytics DB
-        User user = new User.Builder()
+    private void recordGrowth(List<User> newUsers, List<LoginIncrement> loginIncrements) {
+        List<LocalDateTime> signups = new ArrayList<>();
+        Map<String, LocalDateTime> logins = new HashMap<>();
+        for (User user : newUsers) {
+            signups.add(user.getCreatedAt());
+            if (user.getLastLoginAt() != null) {
+                logins.put(user.getUsername(), user.getLastLoginAt());
+            }
+        }
+        for (LoginIncrement increment : loginIncrements) {
+            logins.put(increment.username(), increment.lastLogin());
+        }
+        userGrowthCounters.recordAfterCommit(signups, logins);
+    }
+
+    private static boolean isKnownEventType(String eventType) {
+        return switch (eventType) {
+            case "USER_CREATED", "USER_UPDATED", "USER_LOGIN" -> true;
+            default -> false;
+        };
+    }
+
+    private User createUser(UserEventDTO event) {
+        return new User.Builder()
                 // .userId(event.getUserId()) // Do NOT set ID manually, let DB generate it to avoid conflicts
                 .username(event.getUsername())
                 .email(event.getEmail())
@@ -67,66 +206,18 @@ public class UserEventListener {
                 .createdAt(event.getTimestamp())
                 .loginCount(0)
                 .activityCount(0)
-                .roles(event.getRoles() != null ? event.getRoles().stream()
-                        .map(roleName -> roleRepository.findByName(roleName)
-                                .orElseGet(() -> createRole(roleName)))
-                        .collect(Collectors.toList()) : null)
+                .roles(event.getRoles() != null ? roleCache.resolve(event.getRoles()) : null)
                 .build();
-
-        userRepository.save(user);
-        log.info("✅ User replicated to analytics DB: {} (ID: {})", event.getUsername(), event.getUserId());
     }
 
-    private void handleUserUpdated(UserEventDTO event) {
-        log.info("Processing USER_UPDATED event for: {}", event.getUsername());
-
-        Optional<User> userOptional = userRepository.findByUsername(event.getUsername());
-
-        if (userOptional.isEmpty()) {
-            log.warn("User not found for update: {}, creating new user", event.getUsername());
-            handleUserCreated(event);
-            return;
-        }
-
-        User user = userOptional.get();
-        // ... rest of method
+    private void applyUpdate(User user, UserEventDTO event) {
         user.setUsername(event.getUsername());
         user.setEmail(event.getEmail());
         user.setLocation(event.getLocation());
         user.setDeviceType(event.getDeviceType());
-        user.setActive(event.getIsActive());
-        user.setUpdatedAt(event.getTimestamp());
-
-        userRepository.save(user);
-        log.info("✅ User updated in analytics DB: {}", event.getUsername());
-    }
-
-    private void handleUserLogin(UserEventDTO event) {
-        log.info("Processing USER_LOGIN event for: {}", event.getUsername());
-
-        Optional<User> userOptional = userRepository.findByUsername(event.getUsername());
-
-        if (userOptional.isEmpty()) {
-            log.warn("User not found for login tracking: {}, creating user", event.getUsername());
-            handleUserCreated(event);
-            return;
+        if (event.getIsActive() != null) {
+            user.setActive(event.getIsActive());
         }
-
-        User user = userOptional.get();
-        user.setLoginCount(user.getLoginCount() + 1);
-        user.setLastLogin(event.getTimestamp());
-        user.setLastLoginAt(event.getTimestamp());
-        user.setActivityCount(user.getActivityCount() != null ? user.getActivityCount() + 1 : 1);
-
-        userRepository.save(user);
-        log.info("✅ Login tracked for user: {} (Total logins: {})",
-                event.getUsername(), user.getLoginCount());
-    }
-
-    private Role createRole(String roleName) {
-        log.info("Creating new role in analytics DB: {}", roleName);
-        Role role = new Role();
-        role.setName(roleName);
-        return roleRepository.save(role);
+        user.setUpdatedAt(event.getTimestamp());
     }
-}
\ No newline at end of file
+}
@@ -2,11 +2,12 @@ package com.example.demo.interceptor;
 
 import com.example.activity.dto.ActivityDTO;
 import com.example.activity.model.ActivityType;
+import com.example.activity.service.ActivityIngestionQueue;
 import com.example.activity.service.ActivityService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -14,10 +15,19 @@ import org.springframework.web.servlet.HandlerInterceptor;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ActivityLoggingInterceptor implements HandlerInterceptor {
 
     private final ActivityService activityService;
+    private final ActivityIngestionQueue activityIngestionQueue;
+    private final boolean async;
+
+    public ActivityLoggingInterceptor(ActivityService activityService,
+                                      ActivityIngestionQueue activityIngestionQueue,
+                                      @Value("${activity.logging.async:true}") boolean async) {
+        this.activityService = activityService;
+        this.activityIngestionQueue = activityIngestionQueue;
+        this.async = async;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
@@ -45,7 +55,11 @@ public class ActivityLoggingInterceptor implements HandlerInterceptor {
                         .location("Unknown")
                         .build();
 
-                activityService.logActivity(activityDTO);
+                if (async) {
+                    activityIngestionQueue.submit(activityDTO);
+                } else {
+                    activityService.logActivity(activityDTO);
+                }
             }
         } catch (Exception e) {
             log.error("Error logging activity: {}", e.getMessage());
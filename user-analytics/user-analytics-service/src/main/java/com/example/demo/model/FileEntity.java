@@ -15,10 +15,21 @@ public class FileEntity {
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
+    /**
+     * Legacy inline content; new files are kept in the content store under {@link #contentAddress}.
+     */
     @Lob
-    @Column(name = "file_data", nullable = false)
+    @Column(name = "file_data")
     private byte[] fileData;
 
+    @Column(name = "content_address", length = 64)
+    private String contentAddress;
+
+    @Column(name = "content_size")
+    private Long contentSize;
+
+    @Column(name = "content_type")
+    private String contentType;
 
 
     public FileEntity() {
@@ -36,6 +47,13 @@ public class FileEntity {
         this.fileData = fileData;
     }
 
+    public FileEntity(Long id, String fileName, String contentAddress, Long contentSize, String contentType) {
+        this.id = id;
+        this.fileName = fileName;
+        this.contentAddress = contentAddress;
+        this.contentSize = contentSize;
+        this.contentType = contentType;
+    }
 
     public static Builder builder() {
         return new Builder();
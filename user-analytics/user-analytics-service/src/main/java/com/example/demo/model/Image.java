@@ -18,14 +18,42 @@ public class Image {
     @Column(nullable = false)
     private String name;
 
+    /**
+     * Legacy inline content; new images are kept in the content store under {@link #contentAddress}.
+     */
     @Lob
-    @Column(nullable = false)
     private byte[] data;
 
+    @Column(name = "content_address", length = 64)
+    private String contentAddress;
+
+    @Column(name = "content_size")
+    private Long contentSize;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    public Image(Long id, String name, byte[] data) {
+        this.id = id;
+        this.name = name;
+        this.data = data;
+    }
+
+    public Image(Long id, String name, String contentAddress, Long contentSize, String contentType) {
+        this.id = id;
+        this.name = name;
+        this.contentAddress = contentAddress;
+        this.contentSize = contentSize;
+        this.contentType = contentType;
+    }
+
     public static class Builder {
         private Long id;
         private String name;
         private byte[] data;
+        private String contentAddress;
+        private Long contentSize;
+        private String contentType;
 
         public Builder id(Long id) {
             this.id = id;
@@ -42,11 +70,29 @@ public class Image {
             return this;
         }
 
+        public Builder contentAddress(String contentAddress) {
+            this.contentAddress = contentAddress;
+            return this;
+        }
+
+        public Builder contentSize(Long contentSize) {
+            this.contentSize = contentSize;
+            return this;
+        }
+
+        public Builder contentType(String contentType) {
+            this.contentType = contentType;
+            return this;
+        }
+
         public Image build() {
             Image image = new Image();
             image.id = this.id;
             image.name = this.name;
             image.data = this.data;
+            image.contentAddress = this.contentAddress;
+            image.contentSize = this.contentSize;
+            image.contentType = this.contentType;
             return image;
         }
     }
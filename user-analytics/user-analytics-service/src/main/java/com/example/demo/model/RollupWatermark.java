@@ -0,0 +1,33 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last calendar day that has been fully aggregated into a daily rollup table.
+ */
+@Entity
+@Table(name = "rollup_watermark")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class RollupWatermark {
+
+    public static final String FEATURE_USAGE = "feature_usage";
+    public static final String ACTIVITY = "activity";
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "rolled_up_through", nullable = false)
+    private LocalDate rolledUpThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -11,7 +11,7 @@ import java.util.List;
 @Repository
 public interface FileRepository extends JpaRepository<FileEntity, Long> {
 
-    @Query("SELECT new com.example.demo.model.FileEntity(fe.id, fe.fileName, fe.fileData) " +
+    @Query("SELECT new com.example.demo.model.FileEntity(fe.id, fe.fileName, fe.contentAddress, fe.contentSize, fe.contentType) " +
             "FROM FileEntity fe " +
             "JOIN ProfileFileEntity pf ON pf.fileId = fe.id " +
             "JOIN UserProfile up ON pf.profileId = up.profileId " +
@@ -26,11 +26,19 @@ public interface FileRepository extends JpaRepository<FileEntity, Long> {
             "WHERE up.userId = :userId")
     List<FileEntity> findFileNamesByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT new com.example.demo.model.FileEntity(fe.id, fe.fileName, fe.fileData) " +
+    @Query("SELECT new com.example.demo.model.FileEntity(fe.id, fe.fileName, fe.contentAddress, fe.contentSize, fe.contentType) " +
             "FROM FileEntity fe " +
             "JOIN ProfileFileEntity pf ON pf.fileId = fe.id " +
             "JOIN UserProfile up ON pf.profileId = up.profileId " +
             "WHERE up.userId = :userId AND fe.fileName = :fileName")
     FileEntity findByFileNameAndUserId(@Param("userId") Long userId,
                                             @Param("fileName") String fileName);
+
+    /**
+     * Inline content of a file that has not been moved to the content store yet.
+     */
+    @Query("SELECT fe.fileData FROM FileEntity fe WHERE fe.id = :id")
+    byte[] findFileDataById(@Param("id") Long id);
+
+    boolean existsByContentAddress(String contentAddress);
 }
@@ -2,9 +2,19 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
 public interface ImageRepository extends JpaRepository<Image, Long> {
+
+    /**
+     * Inline content of an image that has not been moved to the content store yet.
+     */
+    @Query("SELECT i.data FROM Image i WHERE i.id = :id")
+    byte[] findDataById(@Param("id") Long id);
+
+    boolean existsByContentAddress(String contentAddress);
 }
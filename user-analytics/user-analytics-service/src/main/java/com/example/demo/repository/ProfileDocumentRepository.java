@@ -0,0 +1,65 @@
+package com.example.demo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Materialised profile documents, one JSONB row per user, read and written by primary key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProfileDocumentRepository {
+
+    private static final String FIND_SQL =
+            "SELECT document::text, hash FROM profile_documents WHERE user_id = ?";
+
+    // A build that started earlier than the stored one read older data and is discarded. Returns
+    // the document as jsonb prints it, which is what later reads serve
+    private static final String UPSERT_SQL =
+            "INSERT INTO profile_documents (user_id, document, hash, built_at) VALUES (?, CAST(? AS jsonb), ?, ?) " +
+            "ON CONFLICT (user_id) DO UPDATE SET document = EXCLUDED.document, hash = EXCLUDED.hash, " +
+            "built_at = EXCLUDED.built_at " +
+            "WHERE profile_documents.built_at <= EXCLUDED.built_at " +
+            "RETURNING document::text, hash";
+
+    private static final String DELETE_SQL = "DELETE FROM profile_documents WHERE user_id = ?";
+
+    private static final RowMapper<StoredProfileDocument> ROW_MAPPER =
+            (rs, rowNum) -> new StoredProfileDocument(rs.getString(1), rs.getString(2));
+
+    /**
+     * @param json the document as stored, served without deserialising it
+     * @param hash hex digest of the document as it was serialised, the ETag of every read of it
+     */
+    public record StoredProfileDocument(String json, String hash) {
+
+        public String etag() {
+            return "\"profile-" + hash + "\"";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<StoredProfileDocument> findByUserId(Long userId) {
+        return jdbcTemplate.query(FIND_SQL, ROW_MAPPER, userId).stream().findFirst();
+    }
+
+    /**
+     * @param builtAt when the build started reading, before any of the data it contains
+     * @return the document as stored, or empty if a newer build was already stored
+     */
+    public Optional<StoredProfileDocument> save(Long userId, StoredProfileDocument document, LocalDateTime builtAt) {
+        return jdbcTemplate.query(UPSERT_SQL, ROW_MAPPER,
+                userId, document.json(), document.hash(), Timestamp.valueOf(builtAt)).stream().findFirst();
+    }
+
+    public void deleteByUserId(Long userId) {
+        jdbcTemplate.update(DELETE_SQL, userId);
+    }
+}
@@ -73,7 +73,7 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
      * Find the latest image without loading the byte data (for metadata only)
      * Optimized: Excludes data field for performance
      */
-    @Query("SELECT new com.example.demo.model.Image(i.id, i.name, null) " +
+    @Query("SELECT new com.example.demo.model.Image(i.id, i.name, i.contentAddress, i.contentSize, i.contentType) " +
             "FROM Image i " +
             "JOIN ProfileImage pi ON i.id = pi.imageId " +
             "JOIN UserProfile up ON pi.profileId = up.profileId " +
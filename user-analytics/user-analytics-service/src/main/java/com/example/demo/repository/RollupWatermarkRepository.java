@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+
+    default LocalDate findRolledUpThrough(String name) {
+        return findById(name)
+                .map(RollupWatermark::getRolledUpThrough)
+                .orElse(null);
+    }
+}
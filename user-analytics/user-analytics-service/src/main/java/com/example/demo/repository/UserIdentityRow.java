@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+/**
+ * One of a user's roles with their id and the id of their latest profile, or null when they have
+ * none yet. A user without roles gets a single row with a null role name.
+ */
+public record UserIdentityRow(Long userId, Long profileId, String roleName) {
+}
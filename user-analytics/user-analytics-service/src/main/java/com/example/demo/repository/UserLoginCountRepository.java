@@ -0,0 +1,52 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.demo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies replicated logins as relative increments, so a batch of login events costs one JDBC
+ * batch instead of a read-modify-write per event, and concurrent consumers cannot lose updates.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserLoginCountRepository {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE users SET login_count = login_count + ?, " +
+            "activity_count = COALESCE(activity_count, 0) + ?, " +
+            "last_login = GREATEST(last_login, ?), last_login_at = GREATEST(last_login_at, ?) " +
+            "WHERE username = ?";
+
+    /**
+     * Logins seen for one user within a batch.
+     */
+    public record LoginIncrement(String username, int logins, LocalDateTime lastLogin) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void incrementLogins(List<LoginIncrement> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, increments, increments.size(), (ps, increment) -> {
+            Timestamp lastLogin = increment.lastLogin() != null ? Timestamp.valueOf(increment.lastLogin()) : null;
+            ps.setInt(1, increment.logins());
+            ps.setInt(2, increment.logins());
+            ps.setTimestamp(3, lastLogin);
+            ps.setTimestamp(4, lastLogin);
+            ps.setString(5, increment.username());
+        });
+    }
+}
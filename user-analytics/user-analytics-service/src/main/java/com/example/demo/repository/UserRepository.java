@@ -2,6 +2,7 @@ package com.example.demo.repository;
 
 import com.example.demo.dto.UserSummaryDTO;
 import com.example.demo.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Id, latest profile id and role names of a user in one round trip, one row per role, for the
+     * authenticated user cache
+     */
+    @Query("SELECT new com.example.demo.repository.UserIdentityRow(u.id, " +
+            "(SELECT MAX(up.profileId) FROM UserProfile up WHERE up.userId = u.id), r.name) " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.username = :username ORDER BY r.id")
+    List<UserIdentityRow> findIdentityByUsername(@Param("username") String username);
+
+    @EntityGraph(attributePaths = "roles")
+    List<User> findByUsernameIn(Collection<String> usernames);
+
     Optional<User> findByEmail(String email);
 
     boolean existsByUsername(String username);
@@ -136,6 +150,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u.deviceType, COUNT(u) FROM User u GROUP BY u.deviceType")
     List<Object[]> getUserDistributionByDeviceType();
 
+    /**
+     * Signups per minute since a timestamp, used to seed the in-memory growth counters
+     */
+    @Query("SELECT FUNCTION('DATE_TRUNC', 'minute', u.createdAt), COUNT(u) " +
+            "FROM User u " +
+            "WHERE u.createdAt >= :since " +
+            "GROUP BY FUNCTION('DATE_TRUNC', 'minute', u.createdAt)")
+    List<Object[]> countSignupsPerMinuteSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Username and last login of every user who logged in since a timestamp
+     */
+    @Query("SELECT u.username, u.lastLoginAt FROM User u WHERE u.lastLoginAt >= :since")
+    List<Object[]> findLastLoginsSince(@Param("since") LocalDateTime since);
+
     @Query("SELECT new com.example.demo.dto.UserSummaryDTO(COUNT(u), SUM(u.loginCount), COUNT(DISTINCT u.deviceType), AVG(u.activityScore)) " +
             "FROM User u WHERE u.signupDate BETWEEN :start AND :end")
     UserSummaryDTO getUserSummary(@Param("start") LocalDate start, @Param("end") LocalDate end);
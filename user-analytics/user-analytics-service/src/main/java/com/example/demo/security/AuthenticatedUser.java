@@ -0,0 +1,30 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The caller of the current request. {@link JwtRequestFilter} resolves it once per request and
+ * stores it as the authentication principal, so services can read the user id and latest profile
+ * id without loading the {@code User} entity again.
+ *
+ * @param profileId latest profile of the user, or null when the user has none yet
+ */
+public record AuthenticatedUser(Long userId, String username, List<String> roles, Long profileId)
+        implements Principal {
+
+    public AuthenticatedUser {
+        roles = List.copyOf(roles);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<SimpleGrantedAuthority> authorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+}
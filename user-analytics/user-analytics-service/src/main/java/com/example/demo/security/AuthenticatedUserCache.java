@@ -0,0 +1,127 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.UserIdentityRow;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-user cache of the {@link AuthenticatedUser} behind a request, so the JWT filter does not load
+ * the user on every request. A miss costs one query for the user id, role names and latest profile
+ * id. Authorities always come from the database rather than the token, which stays valid for hours:
+ * entries expire after a TTL, which bounds how long a removed user or a role change goes unnoticed,
+ * and are dropped when the user gets a new profile. The token's claims only decide when an entry is
+ * known to be stale.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private record Entry(AuthenticatedUser user, long loadedAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  @Value("${security.user-cache.ttl-ms:60000}") long ttlMs,
+                                  @Value("${security.user-cache.max-users:10000}") int maxUsers) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * @param userId   user id claim of the token, or null for tokens issued without one
+     * @param roles    roles claim of the token, or null for tokens issued without one
+     * @param issuedAt issue time of the token, or null when unknown
+     * @return the user with the roles it has now; empty when the user no longer exists
+     */
+    public Optional<AuthenticatedUser> get(String username, Long userId, List<String> roles, Date issuedAt) {
+        Entry entry = cached(username);
+        // A token issued after the entry was loaded, with other roles, means they changed since
+        if (entry == null || (userId != null && !userId.equals(entry.user().userId()))
+                || (roles != null && !sameRoles(roles, entry.user().roles()) && predates(entry, issuedAt))) {
+            AuthenticatedUser user = load(username);
+            if (user == null) {
+                return Optional.empty();
+            }
+            entry = new Entry(user, System.currentTimeMillis());
+            synchronized (entries) {
+                entries.put(username, entry);
+            }
+        }
+        return Optional.of(entry.user());
+    }
+
+    /**
+     * Drops the user's entry, now and, inside a transaction, again after commit so a concurrent
+     * request cannot re-cache the profile id from before the change.
+     */
+    public void invalidate(Long userId) {
+        remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    private Entry cached(String username) {
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null && System.currentTimeMillis() - entry.loadedAt() < ttlMs) {
+                return entry;
+            }
+            return null;
+        }
+    }
+
+    private static boolean sameRoles(List<String> claimed, List<String> loaded) {
+        return claimed.size() == loaded.size() && new HashSet<>(claimed).containsAll(loaded);
+    }
+
+    private static boolean predates(Entry entry, Date issuedAt) {
+        // iat has second precision, so an entry loaded in the same second may still predate the token
+        return issuedAt == null || entry.loadedAt() < issuedAt.getTime() + 1_000;
+    }
+
+    private AuthenticatedUser load(String username) {
+        List<UserIdentityRow> rows = userRepository.findIdentityByUsername(username);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<String> roles = rows.stream()
+                .map(UserIdentityRow::roleName)
+                .filter(Objects::nonNull)
+                .toList();
+        UserIdentityRow identity = rows.get(0);
+        return new AuthenticatedUser(identity.userId(), username, roles, identity.profileId());
+    }
+
+    private void remove(Long userId) {
+        // Profiles are created once per user, so a scan here is rare
+        synchronized (entries) {
+            entries.values().removeIf(entry -> Objects.equals(entry.user().userId(), userId));
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.demo.security;
 
-import com.example.demo.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,48 +9,61 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Authenticates bearer tokens. The token is parsed once, and the {@link AuthenticatedUser} the
+ * {@link AuthenticatedUserCache} holds for its subject becomes the principal of the request, rather
+ * than loading the user on every request.
+ */
 @Slf4j
 @Component
 @AllArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (RuntimeException e) {
-                logger.error("JWT validation failed: " + e.getMessage());
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Claims claims = jwtUtil.parseValidClaims(authorizationHeader.substring(7));
+            if (claims != null && claims.getSubject() != null) {
+                Optional<AuthenticatedUser> user = authenticatedUserCache.get(
+                        claims.getSubject(), userIdClaim(claims), rolesClaim(claims), claims.getIssuedAt());
+                if (user.isPresent()) {
+                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                            new UsernamePasswordAuthenticationToken(user.get(), null, user.get().authorities());
+                    usernamePasswordAuthenticationToken
+                            .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                } else {
+                    log.debug("JWT subject no longer exists: {}", claims.getSubject());
+                }
             }
         }
+        chain.doFilter(request, response);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+    private static Long userIdClaim(Claims claims) {
+        Object userId = claims.get(JwtUtil.USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    private static List<String> rolesClaim(Claims claims) {
+        if (!(claims.get(JwtUtil.ROLES_CLAIM) instanceof List<?> roles)) {
+            return null;
         }
-        chain.doFilter(request, response);
+        return roles.stream().map(String::valueOf).toList();
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.example.demo.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -11,16 +12,24 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 
 @Slf4j
 @Component
 public class JwtUtil {
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLES_CLAIM = "roles";
+
     private final byte[] SECRET_KEY;
+    private final JwtParser parser;
 
     public JwtUtil() {
         SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         String encodedKey = Base64.getEncoder().encodeToString(key.getEncoded());
         SECRET_KEY = Base64.getDecoder().decode(encodedKey);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(SECRET_KEY)
+                .build();
     }
 
     public String generateToken(String username) {
@@ -32,6 +41,21 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Token that also carries the user id and role names, so requests can be authenticated
+     * without loading the user.
+     */
+    public String generateToken(String username, Long userId, List<String> roles) {
+        return Jwts.builder()
+                .setSubject(username)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLES_CLAIM, roles)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
+                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+                .compact();
+    }
+
     public String extractUsername(String token) {
         return extractAllClaims(token).getSubject();
     }
@@ -44,11 +68,25 @@ public class JwtUtil {
         return (username.equals(extractUsername(token)) && !isTokenExpired(token));
     }
 
+    /**
+     * Parses and verifies the token once, including its expiry.
+     *
+     * @return the claims, or null when the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
+        try {
+            return parser
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
     public Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
+            return parser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (JwtException | IllegalArgumentException e) {
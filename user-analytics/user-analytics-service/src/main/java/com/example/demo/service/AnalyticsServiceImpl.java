@@ -2,6 +2,7 @@ package com.example.demo.service;
 
 import com.example.demo.dto.UserSummaryDTO;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserGrowthCounters.GrowthTotals;
 import com.example.demo.service.impl.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,9 +21,15 @@ import java.util.Map;
 public class AnalyticsServiceImpl implements AnalyticsService {
 
     private final UserRepository userRepository;
+    private final UserGrowthCounters userGrowthCounters;
 
     @Override
     public int countNewUsersToday() {
+        Optional<GrowthTotals> totals = userGrowthCounters.totals();
+        if (totals.isPresent()) {
+            return (int) totals.get().today();
+        }
+
         LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1);
         return userRepository.countByCreatedAtBetween(startOfDay, endOfDay);
@@ -29,9 +37,17 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public String getWeeklyStats() {
-        LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
-        int weeklySignups = userRepository.countByCreatedAtAfter(weekAgo);
-        int activeUsers = userRepository.countActiveUsersLastWeek(LocalDateTime.now());
+        Optional<GrowthTotals> totals = userGrowthCounters.totals();
+        long weeklySignups;
+        long activeUsers;
+        if (totals.isPresent()) {
+            weeklySignups = totals.get().thisWeek();
+            activeUsers = totals.get().activeUsers();
+        } else {
+            LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
+            weeklySignups = userRepository.countByCreatedAtAfter(weekAgo);
+            activeUsers = userRepository.countActiveUsersLastWeek(weekAgo);
+        }
 
         return String.format(
                 "This week: %d signups, %d active users",
@@ -49,12 +65,23 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public int getTotalUsers() {
-        return (int) userRepository.count();
+        return userGrowthCounters.totals()
+                .map(totals -> (int) totals.total())
+                .orElseGet(() -> (int) userRepository.count());
     }
 
     @Override
     public Map<String, Object> getUserGrowthData() {
         Map<String, Object> data = new HashMap<>();
+        Optional<GrowthTotals> totals = userGrowthCounters.totals();
+        if (totals.isPresent()) {
+            data.put("total", (int) totals.get().total());
+            data.put("today", (int) totals.get().today());
+            data.put("thisWeek", (int) totals.get().thisWeek());
+            data.put("thisMonth", (int) totals.get().thisMonth());
+            return data;
+        }
+
         data.put("total", getTotalUsers());
         data.put("today", countNewUsersToday());
         data.put("thisWeek", userRepository.countByCreatedAtAfter(
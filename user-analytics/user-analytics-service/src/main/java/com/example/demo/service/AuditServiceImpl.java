@@ -5,7 +5,6 @@ import com.example.demo.dto.ResponseDTO;
 import com.example.demo.model.*;
 import com.example.demo.repository.AuditRepository;
 import com.example.demo.repository.ProfileAuditRepository;
-import com.example.demo.repository.ProfileRepository;
 import com.example.demo.service.impl.AuditService;
 import com.example.demo.util.DateTimeConverter;
 import lombok.AllArgsConstructor;
@@ -20,7 +19,6 @@ public class AuditServiceImpl implements AuditService {
     private final ProfileAuditRepository profileAuditRepository;
     private final AuditRepository auditRepository;
     private final UserService userService;
-    private final ProfileRepository profileRepository;
 
 
     public Audit saveAudit(AuditDTO auditDTO) {
@@ -36,8 +34,7 @@ public class AuditServiceImpl implements AuditService {
     }
 
     public ResponseDTO createAudit(AuditDTO auditDTO) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        String username = userService.getAuthenticatedUserContext().username();
 
         // Check if the audit already exists
         if (auditRepository.findByUser(auditDTO.getUser()).isPresent()) {
@@ -49,7 +46,7 @@ public class AuditServiceImpl implements AuditService {
 
         // Create and save the audit
         Long auditId = auditRepository.saveAndFlush(Audit.builder()
-                .user(user.getUsername())
+                .user(username)
                 .action(auditDTO.getAction())
                 .target(auditDTO.getTarget())
                 .timestamp(DateTimeConverter.convertTimestampStringToTimestamp(auditDTO.getTimestamp()))
@@ -66,16 +63,10 @@ public class AuditServiceImpl implements AuditService {
     }
 
     private Boolean saveProfileAudit(Long auditId) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
-
-        Profile profile = profileRepository.findProfilesByUserId(user.getId())
-                .stream()
-                .reduce((first, second) -> second)
-                .orElseGet(() -> profileRepository.saveAndFlush(new Profile()));
+        Long profileId = userService.getOrCreateAuthenticatedProfileId();
 
         ProfileAudit profileAudit = ProfileAudit.builder()
-                .profileId(profile.getId())
+                .profileId(profileId)
                 .auditId(auditId)
                 .build();
 
@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.storage.ContentStore;
+import com.example.demo.storage.StoredContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Moves file and image content that is still stored inline in the database into the content store.
+ * Rows are migrated one per transaction and locked with {@code SKIP LOCKED}, so the job can run on
+ * several replicas and be stopped at any point; migrated rows have their inline column cleared.
+ * Legacy rows were saved without a content type, so it is filled in from the file name.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.migration.enabled", havingValue = "true")
+public class BlobMigrationJob {
+
+    private record BlobColumn(String table, String column, String nameColumn) {
+    }
+
+    private static final List<BlobColumn> BLOB_COLUMNS = List.of(
+            new BlobColumn("files", "file_data", "file_name"),
+            new BlobColumn("images", "data", "name"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentStore contentStore;
+
+    @Value("${storage.migration.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${storage.migration.interval-ms:60000}",
+            initialDelayString = "${storage.migration.initial-delay-ms:30000}")
+    public void migrate() {
+        for (BlobColumn blobColumn : BLOB_COLUMNS) {
+            int migrated = migrateBatch(blobColumn);
+            if (migrated > 0) {
+                log.info("Moved {} rows of {}.{} to the content store", migrated, blobColumn.table(), blobColumn.column());
+            }
+        }
+    }
+
+    private int migrateBatch(BlobColumn blobColumn) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM " + blobColumn.table()
+                        + " WHERE content_address IS NULL AND " + blobColumn.column() + " IS NOT NULL"
+                        + " ORDER BY id LIMIT ?",
+                Long.class, batchSize);
+
+        int migrated = 0;
+        for (Long id : ids) {
+            Boolean moved = transactionTemplate.execute(status -> migrateRow(blobColumn, id));
+            if (Boolean.TRUE.equals(moved)) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    private record MigratedRow(StoredContent stored, String contentType) {
+    }
+
+    private boolean migrateRow(BlobColumn blobColumn, Long id) {
+        MigratedRow row = jdbcTemplate.query(
+                "SELECT " + blobColumn.nameColumn() + ", " + blobColumn.column() + " FROM " + blobColumn.table()
+                        + " WHERE id = ? AND content_address IS NULL FOR UPDATE SKIP LOCKED",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    String name = rs.getString(1);
+                    try (InputStream content = rs.getBinaryStream(2)) {
+                        return content != null ? new MigratedRow(contentStore.store(content), contentTypeOf(name)) : null;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                },
+                id);
+        if (row == null) {
+            return false;
+        }
+        ContentRollback.discardOnRollback(contentStore, row.stored());
+
+        jdbcTemplate.update(
+                "UPDATE " + blobColumn.table()
+                        + " SET content_address = ?, content_size = ?, content_type = COALESCE(content_type, ?), "
+                        + blobColumn.column() + " = NULL WHERE id = ?",
+                row.stored().address(), row.stored().size(), row.contentType(), id);
+        return true;
+    }
+
+    private static String contentTypeOf(String name) {
+        return MediaTypeFactory.getMediaType(name).map(MediaType::toString).orElse(null);
+    }
+}
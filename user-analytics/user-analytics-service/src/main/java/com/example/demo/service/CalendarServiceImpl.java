@@ -3,12 +3,9 @@ package com.example.demo.service;
 import com.example.demo.dto.CalendarDTO;
 import com.example.demo.dto.ResponseDTO;
 import com.example.demo.model.Calendar;
-import com.example.demo.model.Profile;
 import com.example.demo.model.ProfileCalendar;
-import com.example.demo.model.User;
 import com.example.demo.repository.CalendarRepository;
 import com.example.demo.repository.ProfileCalendarRepository;
-import com.example.demo.repository.ProfileRepository;
 import com.example.demo.service.impl.CalendarService;
 import com.example.demo.util.DateTimeConverter;
 import lombok.AllArgsConstructor;
@@ -23,7 +20,6 @@ public class CalendarServiceImpl implements CalendarService {
     private final ProfileCalendarRepository profileCalendarRepository;
     private final CalendarRepository calendarRepository;
     private final UserService userService;
-    private final ProfileRepository profileRepository;
 
     public Calendar saveCalendar(CalendarDTO calendarDTO) {
         Calendar calendar = new Calendar.Builder()
@@ -60,7 +56,7 @@ public class CalendarServiceImpl implements CalendarService {
 
 
     public List<CalendarDTO> getAllCalendars() {
-        return calendarRepository.findCalendarsByUserId(userService.getAuthenticatedUser().get().getId())
+        return calendarRepository.findCalendarsByUserId(userService.getAuthenticatedUserContext().userId())
                 .stream()
                 .map(calendar -> CalendarDTO.builder()
                         .title(calendar.getTitle())
@@ -71,16 +67,10 @@ public class CalendarServiceImpl implements CalendarService {
 
 
     private Boolean saveProfileCalendar(Long calendarId) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
-
-        Profile profile = profileRepository.findProfilesByUserId(user.getId())
-                .stream()
-                .reduce((first, second) -> second)
-                .orElseGet(() -> profileRepository.saveAndFlush(new Profile()));
+        Long profileId = userService.getOrCreateAuthenticatedProfileId();
 
         ProfileCalendar profileCalendar = ProfileCalendar.builder()
-                .profileId(profile.getId())
+                .profileId(profileId)
                 .calendarId(calendarId)
                 .build();
 
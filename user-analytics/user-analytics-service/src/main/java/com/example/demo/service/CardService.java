@@ -3,17 +3,13 @@ package com.example.demo.service;
 import com.example.demo.dto.CardDTO;
 import com.example.demo.dto.ResponseDTO;
 import com.example.demo.model.Card;
-import com.example.demo.model.Profile;
 import com.example.demo.model.ProfileCard;
-import com.example.demo.model.User;
 import com.example.demo.repository.CardRepository;
 import com.example.demo.repository.ProfileCardRepository;
-import com.example.demo.repository.ProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Optional;
 
 @Slf4j
@@ -23,9 +19,7 @@ public class CardService {
 
     private final UserService userService;
     private final CardRepository cardRepository;
-    private final ProfileService profileService;
     private final ProfileCardRepository profileCardRepository;
-    private final ProfileRepository profileRepository;
 
 
     public ResponseDTO createCard(CardDTO cardDTO) {
@@ -37,19 +31,12 @@ public class CardService {
                 throw new RuntimeException("Card with this number already exists");
             }
 
-            Optional<User> user = userService.getAuthenticatedUser();
-
-            List<Profile> profiles = profileRepository.findProfilesByUserId(user.get().getId());
-            Profile profileExisting = profiles.isEmpty()
-                    ? null
-                    : profiles.get(profiles.size() - 1);
-            if (profileExisting == null) {
-                try {
-                    profileExisting = profileService.createProfile(user.get().getId());
-                } catch (Exception e) {
-                    log.error("Failed to create profile for user: {}", e.getMessage());
-                    throw new RuntimeException("Failed to create profile for user: " + e.getMessage());
-                }
+            Long profileId;
+            try {
+                profileId = userService.getOrCreateAuthenticatedProfileId();
+            } catch (Exception e) {
+                log.error("Failed to create profile for user: {}", e.getMessage());
+                throw new RuntimeException("Failed to create profile for user: " + e.getMessage());
             }
 
             Card card = new Card.Builder()
@@ -69,7 +56,7 @@ public class CardService {
             log.info("Card created successfully: {}", savedCard);
 
             ProfileCard profileCard = new ProfileCard.Builder()
-                    .profileId(profileExisting.getId())
+                    .profileId(profileId)
                     .cardId(savedCard.getId())
                     .build();
 
@@ -0,0 +1,44 @@
+package com.example.demo.service;
+
+import com.example.demo.storage.ContentStore;
+import com.example.demo.storage.StoredContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+
+/**
+ * Content is stored before the row that references it is written, so a transaction that rolls back
+ * would leave the blob behind with nothing pointing at it.
+ */
+@Slf4j
+final class ContentRollback {
+
+    private ContentRollback() {
+    }
+
+    /**
+     * Discards the content if the current transaction rolls back. Content that was already stored,
+     * or that another upload has stored again meanwhile, is kept.
+     */
+    static void discardOnRollback(ContentStore contentStore, StoredContent stored) {
+        if (stored.createdAt() == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    contentStore.discard(stored);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to discard content {} of a rolled back transaction: {}",
+                            stored.address(), e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import com.example.activity.repository.ActivityRollupRepository;
+import com.example.demo.model.RollupWatermark;
+import com.example.demo.repository.RollupWatermarkRepository;
+import com.example.featureusage.repository.FeatureUsageRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Incrementally maintains the daily rollup tables. Each run aggregates the closed days after the
+ * stored watermark, one day per transaction, so a restart resumes where it stopped. Rows can
+ * arrive after their day was rolled up (the ingestion queue flushes late, clients send buffered
+ * events), so the last {@code rollup.late-days} closed days are aggregated again on every run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyRollupJob {
+
+    private final RollupWatermarkRepository watermarkRepository;
+    private final FeatureUsageRollupRepository featureUsageRollupRepository;
+    private final ActivityRollupRepository activityRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${rollup.late-days:2}")
+    private int lateDays;
+
+    @Scheduled(fixedDelayString = "${rollup.interval-ms:900000}",
+            initialDelayString = "${rollup.initial-delay-ms:60000}")
+    public void rollUp() {
+        rollUp(RollupWatermark.FEATURE_USAGE,
+                featureUsageRollupRepository::findEarliestRawDay,
+                featureUsageRollupRepository::rollUpDay);
+        rollUp(RollupWatermark.ACTIVITY,
+                activityRollupRepository::findEarliestRawDay,
+                activityRollupRepository::rollUpDay);
+    }
+
+    void rollUp(String name, Supplier<LocalDate> earliestRawDay, Consumer<LocalDate> dayRoller) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate lateFrom = yesterday.minusDays(lateDays - 1L);
+        LocalDate watermark = watermarkRepository.findRolledUpThrough(name);
+
+        if (watermark == null) {
+            LocalDate earliest = earliestRawDay.get();
+            if (earliest == null) {
+                saveWatermark(name, yesterday);
+                return;
+            }
+            watermark = earliest.minusDays(1);
+        }
+
+        LocalDate from = watermark.plusDays(1);
+        if (lateFrom.isBefore(from)) {
+            from = lateFrom;
+        }
+        for (LocalDate day = from; !day.isAfter(yesterday); day = day.plusDays(1)) {
+            LocalDate current = day;
+            boolean late = !current.isBefore(lateFrom);
+            transactionTemplate.executeWithoutResult(status -> {
+                // Serialise replicas on the same rollup; the loser sees the advanced watermark
+                jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> null, name);
+                LocalDate latest = watermarkRepository.findRolledUpThrough(name);
+                boolean rolledUp = latest != null && !latest.isBefore(current);
+                if (rolledUp && !late) {
+                    return;
+                }
+                dayRoller.accept(current);
+                if (!rolledUp) {
+                    saveWatermark(name, current);
+                }
+            });
+            log.debug("Rolled up {} for {}", name, current);
+        }
+    }
+
+    private void saveWatermark(String name, LocalDate day) {
+        watermarkRepository.save(new RollupWatermark(name, day, LocalDateTime.now()));
+    }
+}
@@ -3,17 +3,27 @@ package com.example.demo.service;
 
 import com.example.demo.model.*;
 import com.example.demo.repository.FileRepository;
+import com.example.demo.repository.ImageRepository;
 import com.example.demo.repository.ProfileFileEntityRepository;
-import com.example.demo.repository.ProfileRepository;
 import com.example.demo.service.impl.FileService;
+import com.example.demo.storage.ContentStore;
+import com.example.demo.storage.StoredContent;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
 
+@Slf4j
 @AllArgsConstructor
 @Service
 public class FileServiceImpl implements FileService {
@@ -21,33 +31,52 @@ public class FileServiceImpl implements FileService {
     private final FileRepository fileRepository;
     private final ProfileFileEntityRepository profileFileEntityRepository;
     private final UserService userService;
-    private final ProfileRepository profileRepository;
+    private final ImageRepository imageRepository;
+    private final ContentStore contentStore;
 
     @Transactional
     public List<FileEntity> getAllFilesByUser() {
-        return fileRepository.findFileByUserId(userService.getAuthenticatedUser().get().getId());
+        return fileRepository.findFileByUserId(userService.getAuthenticatedUserContext().userId());
     }
 
     @Transactional
     public List<String> getAllFileNamesByUser() {
-        return fileRepository.findFileNamesByUserId(userService.getAuthenticatedUser().get().getId())
+        return fileRepository.findFileNamesByUserId(userService.getAuthenticatedUserContext().userId())
                 .stream()
                 .map(FileEntity::getFileName).toList();
     }
 
     @Transactional
     public FileEntity getFileByFileName(String fileName) throws IOException {
-        return fileRepository.findByFileNameAndUserId(userService.getAuthenticatedUser().get().getId(), fileName);
+        return fileRepository.findByFileNameAndUserId(userService.getAuthenticatedUserContext().userId(), fileName);
 
     }
 
+    /**
+     * Opens the file content for streaming. Files uploaded before the content store existed are
+     * served from their inline column until the blob migration has moved them.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Resource getFileContent(FileEntity fileEntity) throws IOException {
+        if (fileEntity.getContentAddress() != null) {
+            return contentStore.load(fileEntity.getContentAddress());
+        }
+        byte[] fileData = fileRepository.findFileDataById(fileEntity.getId());
+        if (fileData == null) {
+            throw new NoSuchFileException(fileEntity.getFileName());
+        }
+        return new ByteArrayResource(fileData);
+    }
+
     @Transactional
     @Override
     public void deleteFileByFileName(String fileName) throws IOException {
-        FileEntity fileEntity = fileRepository.findByFileNameAndUserId(userService.getAuthenticatedUser().get().getId(), fileName);
+        FileEntity fileEntity = fileRepository.findByFileNameAndUserId(userService.getAuthenticatedUserContext().userId(), fileName);
         if (fileEntity != null) {
             fileRepository.delete(fileEntity);
             profileFileEntityRepository.deleteByFileId(fileEntity.getId());
+            deleteContentAfterCommit(fileEntity.getContentAddress());
         } else {
             throw new IOException("File not found");
         }
@@ -56,25 +85,49 @@ public class FileServiceImpl implements FileService {
     @Transactional
     @Override
     public FileEntity saveFile(MultipartFile file) throws IOException {
+        StoredContent stored;
+        try (InputStream content = file.getInputStream()) {
+            stored = contentStore.store(content);
+        }
+        ContentRollback.discardOnRollback(contentStore, stored);
         FileEntity fileEntity = new FileEntity();
         fileEntity.setFileName(file.getOriginalFilename());
-        fileEntity.setFileData(file.getBytes());
+        fileEntity.setContentAddress(stored.address());
+        fileEntity.setContentSize(stored.size());
+        fileEntity.setContentType(file.getContentType());
         fileEntity = fileRepository.save(fileEntity);
         saveProfileFileEntity(fileEntity.getId());
         return fileEntity;
     }
 
-    private Boolean saveProfileFileEntity(Long fileEntityId) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+    /**
+     * Content is shared by identical uploads, so it is removed only once no file or image references it.
+     */
+    private void deleteContentAfterCommit(String contentAddress) {
+        if (contentAddress == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (fileRepository.existsByContentAddress(contentAddress)
+                        || imageRepository.existsByContentAddress(contentAddress)) {
+                    return;
+                }
+                try {
+                    contentStore.delete(contentAddress);
+                } catch (IOException e) {
+                    log.warn("Failed to delete content {}: {}", contentAddress, e.getMessage());
+                }
+            }
+        });
+    }
 
-        Profile profile = profileRepository.findProfilesByUserId(user.getId())
-                .stream()
-                .reduce((first, second) -> second)
-                .orElseGet(() -> profileRepository.saveAndFlush(new Profile()));
+    private Boolean saveProfileFileEntity(Long fileEntityId) {
+        Long profileId = userService.getOrCreateAuthenticatedProfileId();
 
         ProfileFileEntity profileFileEntity = ProfileFileEntity.builder()
-                .profileId(profile.getId())
+                .profileId(profileId)
                 .fileId(fileEntityId)
                 .build();
 
@@ -0,0 +1,130 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ProfileDocumentDTO;
+import com.example.demo.repository.ProfileDocumentRepository;
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serves the materialised profile document of a user with one primary-key lookup instead of a
+ * join per profile section. A profile write deletes the document in its own transaction and
+ * rebuilds it in the background once it commits; a read that finds no document builds it
+ * synchronously, so a rebuild that failed or was lost with the replica is repaired on the next read.
+ */
+@Slf4j
+@Component
+public class ProfileDocumentStore {
+
+    private final ProfileDocumentRepository profileDocumentRepository;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService rebuildExecutor;
+
+    // User id to whether another rebuild was requested while one is running
+    private final Map<Long, Boolean> rebuilding = new ConcurrentHashMap<>();
+
+    public ProfileDocumentStore(ProfileDocumentRepository profileDocumentRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${profile.document.rebuild-threads:2}") int rebuildThreads) {
+        this.profileDocumentRepository = profileDocumentRepository;
+        this.objectMapper = objectMapper;
+        this.rebuildExecutor = Executors.newFixedThreadPool(rebuildThreads);
+    }
+
+    public StoredProfileDocument get(Long userId, Supplier<ProfileDocumentDTO> assembler) {
+        return profileDocumentRepository.findByUserId(userId)
+                .orElseGet(() -> build(userId, assembler));
+    }
+
+    /**
+     * Drops the user's document as part of the current transaction, so readers never get it once
+     * the change is visible. Rebuilt on the next read.
+     */
+    public void invalidate(Long userId) {
+        profileDocumentRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Drops the user's document like {@link #invalidate} and rebuilds it in the background once the
+     * surrounding transaction commits, or immediately when there is none.
+     */
+    public void rebuildAfterCommit(Long userId, Supplier<ProfileDocumentDTO> assembler) {
+        invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleRebuild(userId, assembler);
+                }
+            });
+        } else {
+            scheduleRebuild(userId, assembler);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rebuildExecutor.shutdown();
+        rebuildExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * At most one rebuild per user runs at a time; writes arriving meanwhile are folded into a
+     * single rerun.
+     */
+    private void scheduleRebuild(Long userId, Supplier<ProfileDocumentDTO> assembler) {
+        if (rebuilding.put(userId, Boolean.TRUE) == null) {
+            rebuildExecutor.execute(() -> rebuild(userId, assembler));
+        }
+    }
+
+    private void rebuild(Long userId, Supplier<ProfileDocumentDTO> assembler) {
+        do {
+            rebuilding.put(userId, Boolean.FALSE);
+            try {
+                build(userId, assembler);
+            } catch (Exception e) {
+                // Left missing, so the next read builds it
+                log.error("Failed to rebuild profile document for user ID: {}", userId, e);
+            }
+        } while (!rebuilding.remove(userId, Boolean.FALSE));
+    }
+
+    private StoredProfileDocument build(Long userId, Supplier<ProfileDocumentDTO> assembler) {
+        LocalDateTime builtAt = LocalDateTime.now();
+        StoredProfileDocument document = serialize(assembler.get());
+        Optional<StoredProfileDocument> stored = profileDocumentRepository.save(userId, document, builtAt);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        log.debug("Newer profile document already stored for user ID: {}", userId);
+        return profileDocumentRepository.findByUserId(userId).orElse(document);
+    }
+
+    private StoredProfileDocument serialize(ProfileDocumentDTO document) {
+        try {
+            String json = objectMapper.writeValueAsString(document);
+            return new StoredProfileDocument(json, DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize profile document", e);
+        }
+    }
+}
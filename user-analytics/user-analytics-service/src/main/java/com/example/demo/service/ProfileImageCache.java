@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of the latest profile image reference, so conditional avatar requests can be
+ * answered with 304 without a database lookup. Entries expire after a TTL and are dropped when the
+ * user uploads a new image; another replica may serve the previous image until its entry expires.
+ */
+@Component
+public class ProfileImageCache {
+
+    /**
+     * @param contentAddress null for images still stored inline in the database
+     */
+    public record ImageRef(Long imageId, String contentAddress, String contentType) {
+
+        /**
+         * Identifies the image content; it never changes for the same key.
+         */
+        public String key() {
+            return contentAddress != null ? contentAddress : "image-" + imageId;
+        }
+
+        public String etag(Integer thumbnailSize) {
+            return "\"" + key() + (thumbnailSize != null ? "-" + thumbnailSize : "") + "\"";
+        }
+    }
+
+    private record Entry(Optional<ImageRef> image, long loadedAt) {
+    }
+
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+
+    public ProfileImageCache(@Value("${images.cache.ttl-ms:300000}") long ttlMs,
+                             @Value("${images.cache.max-users:10000}") int maxUsers) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public Optional<ImageRef> get(String username, Supplier<Optional<ImageRef>> loader) {
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null && System.currentTimeMillis() - entry.loadedAt() < ttlMs) {
+                return entry.image();
+            }
+        }
+
+        Optional<ImageRef> image = loader.get();
+        synchronized (entries) {
+            entries.put(username, new Entry(image, System.currentTimeMillis()));
+        }
+        return image;
+    }
+
+    /**
+     * Drops the user's entry now and, inside a transaction, again after commit so a
+     * concurrent read cannot re-cache the image from before the upload.
+     */
+    public void invalidate(String username) {
+        remove(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    private void remove(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+}
@@ -5,13 +5,22 @@ import com.example.demo.exception.*;
 import com.example.demo.mapper.ProfileMapper;
 import com.example.demo.model.*;
 import com.example.demo.repository.*;
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import com.example.demo.service.ProfileImageCache.ImageRef;
+import com.example.demo.storage.ContentStore;
+import com.example.demo.storage.StoredContent;
+import com.example.demo.storage.ThumbnailCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
 import java.util.Optional;
 
 @Slf4j
@@ -38,10 +47,16 @@ public class ProfileService {
     private final ProfileSkillsRepository profileSkillsRepository;
     private final ProjectRepository projectRepository;
     private final ProfileProjectRepository profileProjectRepository;
-    private final UserProfileRepository userProfileRepository;
     private final ProfileRepository profileRepository;
     private final ProfileImageRepository profileImageRepository;
     private final ImageRepository imageRepository;
+    private final ContentStore contentStore;
+    private final ThumbnailCache thumbnailCache;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final ProfileImageCache profileImageCache;
+    private final UserRepository userRepository;
+    private final ProfileDocumentStore profileDocumentStore;
+    private final SnapshotReader snapshotReader;
 
 
     @Transactional
@@ -51,6 +66,9 @@ public class ProfileService {
 
         try {
             Image savedImage = saveImage(file, profile.getId());
+            profileImageCache.invalidate(user.getUsername());
+            rebuildProfileDocument(user.getId());
+            thumbnailGenerator.generateAfterCommit(savedImage.getContentAddress());
             log.info("Image uploaded successfully for user: {}", user.getUsername());
             return savedImage.getId();
         } catch (IOException e) {
@@ -59,24 +77,52 @@ public class ProfileService {
         }
     }
 
-    @Transactional(readOnly = true)
-    public byte[] getImageForUser() {
-        User user = getAuthenticatedUserOrThrow();
+    /**
+     * Latest profile image of the current user. Cached per user, so repeated (conditional)
+     * avatar requests do not query the database.
+     */
+    public Optional<ImageRef> getLatestImage() {
+        return profileImageCache.get(userService.getAuthenticatedUsername(), () -> userService.getAuthenticatedUser()
+                .flatMap(user -> profileRepository.findLatestImageMetadataByUserId(user.getId()))
+                .map(image -> new ImageRef(image.getId(), image.getContentAddress(), image.getContentType())));
+    }
 
-        Optional<Image> latestImage = profileRepository.findLatestImageByUserId(user.getId());
+    @Transactional(readOnly = true)
+    public Resource getImageContent(ImageRef image) throws IOException {
+        if (image.contentAddress() != null) {
+            return contentStore.load(image.contentAddress());
+        }
 
-        if (latestImage.isEmpty() || latestImage.get().getData() == null) {
-            log.warn("No valid image data found for user: {}", user.getUsername());
-            return null;
+        // Uploaded before the content store existed and not migrated yet
+        byte[] data = imageRepository.findDataById(image.imageId());
+        if (data == null) {
+            throw new NoSuchFileException("image " + image.imageId());
         }
+        return new ByteArrayResource(data);
+    }
 
-        return latestImage.get().getData();
+    /**
+     * @return a JPEG thumbnail of the image at a generated size, or empty if it is not a readable image
+     */
+    public Optional<byte[]> getImageThumbnail(ImageRef image, int size) throws IOException {
+        return thumbnailCache.get(image.key(), size, () -> getImageContent(image));
+    }
+
+    public int snapThumbnailSize(int requestedSize) {
+        return thumbnailCache.snap(requestedSize);
     }
 
     private Image saveImage(MultipartFile file, Long profileId) throws IOException {
+        StoredContent stored;
+        try (InputStream content = file.getInputStream()) {
+            stored = contentStore.store(content);
+        }
+        ContentRollback.discardOnRollback(contentStore, stored);
         Image image = new Image.Builder()
                 .name(file.getOriginalFilename())
-                .data(file.getBytes())
+                .contentAddress(stored.address())
+                .contentSize(stored.size())
+                .contentType(file.getContentType())
                 .build();
 
         Image savedImage = imageRepository.saveAndFlush(image);
@@ -97,17 +143,50 @@ public class ProfileService {
 
     @Transactional
     public Profile createProfile(Long userId) {
-        Profile profile = profileRepository.saveAndFlush(new Profile());
-
-        UserProfile userProfile = userProfileRepository.saveAndFlush(
-                new UserProfile.Builder()
-                        .userId(userId)
-                        .profileId(profile.getId())
-                        .build()
-        );
-
-        log.info("Profile created successfully with ID: {} for user ID: {}", profile.getId(), userId);
-        return profile;
+        return userService.createProfile(userId);
+    }
+
+    /**
+     * The current user's whole profile page from the materialised document: one primary-key lookup,
+     * unless the document has to be built first.
+     */
+    public StoredProfileDocument getProfileDocument() {
+        Long userId = userService.getAuthenticatedUserContext().userId();
+        return profileDocumentStore.get(userId, () -> snapshotReader.read(() -> assembleProfileDocument(userId)));
+    }
+
+    /**
+     * The whole profile page of a user, with the same content and defaults as the individual getters.
+     * Read-only: unlike the getters it creates nothing, so it can run outside a request. Callers run
+     * it through {@link SnapshotReader}, so that all sections come from one snapshot.
+     */
+    public ProfileDocumentDTO assembleProfileDocument(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        Profile profile = profileRepository.findLatestProfileByUserId(userId).orElseGet(Profile::new);
+        Optional<Project> latestProject = profileRepository.findLatestProjectByUserId(userId);
+
+        ProfileDTO profileDTO = profileMapper.toProfileDTO(profile, user);
+        profileRepository.findMostRecentProjectByUserId(userId)
+                .ifPresent(project -> profileDTO.setRecentProject(project.getProjectName()));
+        latestProject.ifPresent(project -> profileDTO.setMostViewedProject(project.getProjectName()));
+
+        return new ProfileDocumentDTO(
+                profileDTO,
+                profileMapper.toEducationDTO(profileRepository.findLatestEducationByUserId(userId)
+                        .orElseGet(this::createDefaultEducation)),
+                profileMapper.toDetailsDTO(profileRepository.findLatestDetailsByUserId(userId)
+                        .orElseGet(this::createDefaultDetails)),
+                profileMapper.toExperienceDTO(profileRepository.findLatestExperienceByUserId(userId)
+                        .orElseGet(this::createDefaultExperience)),
+                profileMapper.toSkillsDTO(profileRepository.findLatestSkillsByUserId(userId)
+                        .orElseGet(this::createDefaultSkills)),
+                profileMapper.toProjectDTO(latestProject.orElseGet(this::createDefaultProject)),
+                profileMapper.toCertificateDTO(profileRepository.findLatestCertificateByUserId(userId)
+                        .orElseGet(this::createDefaultCertificate)),
+                profileRepository.findLatestImageMetadataByUserId(userId)
+                        .map(image -> new ImageRef(image.getId(), image.getContentAddress(), image.getContentType()))
+                        .orElse(null));
     }
 
     @Transactional(readOnly = true)
@@ -147,6 +226,8 @@ public class ProfileService {
         profileMapper.updateProfileFromDTO(profile, profileDTO);
         profileRepository.saveAndFlush(profile);
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Profile updated successfully for user: {}", user.getUsername());
         return createSuccessResponse("Profile updated successfully");
     }
@@ -176,6 +257,8 @@ public class ProfileService {
         Education savedEducation = educationRepository.saveAndFlush(education);
         linkEducationToProfile(profile.getId(), savedEducation.getId());
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Education updated successfully for user: {}", user.getUsername());
         return createSuccessResponse("Education updated successfully");
     }
@@ -238,6 +321,8 @@ public class ProfileService {
 
         detailsRepository.saveAndFlush(details);
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Details updated successfully for user: {}", user.getUsername());
         return createSuccessResponse("Details updated successfully");
     }
@@ -284,6 +369,8 @@ public class ProfileService {
 
         experienceRepository.saveAndFlush(experience);
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Experience updated successfully for user: {}", user.getUsername());
         return createSuccessResponse("Experience updated successfully");
     }
@@ -329,6 +416,8 @@ public class ProfileService {
 
         skillsRepository.saveAndFlush(skills);
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Skills saved successfully for user: {}", user.getUsername());
         return createSuccessResponse("Skills saved successfully");
     }
@@ -375,6 +464,8 @@ public class ProfileService {
 
         projectRepository.saveAndFlush(project);
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Projects updated successfully for user: {}", user.getUsername());
         return createSuccessResponse("Projects updated successfully");
     }
@@ -420,6 +511,8 @@ public class ProfileService {
 
         certificateRepository.saveAndFlush(certificate);
 
+        rebuildProfileDocument(user.getId());
+
         log.info("Certificate dates updated successfully for user: {}", user.getUsername());
         return createSuccessResponse("Certificate dates updated successfully");
     }
@@ -454,6 +547,15 @@ public class ProfileService {
                 });
     }
 
+    /**
+     * Drops the user's profile document and rebuilds it once the current transaction commits. Called
+     * by every write to data the document embeds, including the user fields replicated from auth-service.
+     */
+    public void rebuildProfileDocument(Long userId) {
+        profileDocumentStore.rebuildAfterCommit(userId,
+                () -> snapshotReader.read(() -> assembleProfileDocument(userId)));
+    }
+
     private ResponseDTO createSuccessResponse(String message) {
         return new ResponseDTO.Builder()
                 .message(message)
@@ -0,0 +1,120 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of read state (item id to read time) for announcements and notifications,
+ * so listing endpoints resolve "is read" for a whole page from a single query.
+ * Entries expire after a short TTL and are dropped whenever the user marks something as read.
+ * <p>
+ * Dropping an entry leaves a tombstone stamped with a new generation. A load only caches its
+ * result if no invalidation of that user happened while it ran, so a read that started before
+ * a write commits cannot put the old state back.
+ */
+@Component
+public class ReadStateCache {
+
+    public static final String ANNOUNCEMENTS = "announcements";
+    public static final String NOTIFICATIONS = "notifications";
+
+    private record Key(String scope, Long userId) {
+    }
+
+    /**
+     * A loaded read state, or a tombstone ({@code readAt == null}) left by an invalidation.
+     */
+    private record Entry(Map<Long, LocalDateTime> readAt, long loadedAt, long generation) {
+    }
+
+    private final long ttlMs;
+    private final Map<Key, Entry> entries;
+    private long generation;
+    // Highest generation of a tombstone pushed out by the size bound
+    private long evictedGeneration;
+
+    public ReadStateCache(@Value("${read-state.cache.ttl-ms:30000}") long ttlMs,
+                          @Value("${read-state.cache.max-users:5000}") int maxUsers) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= maxUsers) {
+                    return false;
+                }
+                evictedGeneration = Math.max(evictedGeneration, eldest.getValue().generation());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return an unmodifiable map of read item ids to the time they were read
+     */
+    public Map<Long, LocalDateTime> get(String scope, Long userId, Supplier<Map<Long, LocalDateTime>> loader) {
+        Key key = new Key(scope, userId);
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.readAt() != null && System.currentTimeMillis() - entry.loadedAt() < ttlMs) {
+                return entry.readAt();
+            }
+            loadGeneration = generation;
+        }
+
+        Map<Long, LocalDateTime> readAt = Collections.unmodifiableMap(loader.get());
+        synchronized (entries) {
+            if (!invalidatedSince(key, loadGeneration)) {
+                entries.put(key, new Entry(readAt, System.currentTimeMillis(), loadGeneration));
+            }
+        }
+        return readAt;
+    }
+
+    /**
+     * Drops the user's entry now and, inside a transaction, again after commit so a
+     * concurrent read cannot re-cache the state from before the write.
+     */
+    public void invalidate(String scope, Long userId) {
+        Key key = new Key(scope, userId);
+        markInvalidated(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markInvalidated(key);
+                }
+            });
+        }
+    }
+
+    private boolean invalidatedSince(Key key, long loadGeneration) {
+        Entry current = entries.get(key);
+        if (current != null) {
+            return current.generation() > loadGeneration;
+        }
+        // The tombstone may have been evicted; assume the worst and skip this one put
+        return evictedGeneration > loadGeneration;
+    }
+
+    private void markInvalidated(Key key) {
+        synchronized (entries) {
+            entries.put(key, new Entry(null, System.currentTimeMillis(), ++generation));
+        }
+    }
+}
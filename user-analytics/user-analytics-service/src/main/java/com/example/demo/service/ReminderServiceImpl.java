@@ -2,12 +2,9 @@ package com.example.demo.service;
 
 import com.example.demo.dto.ReminderDTO;
 import com.example.demo.dto.ResponseDTO;
-import com.example.demo.model.Profile;
 import com.example.demo.model.ProfileReminder;
 import com.example.demo.model.Reminder;
-import com.example.demo.model.User;
 import com.example.demo.repository.ProfileReminderRepository;
-import com.example.demo.repository.ProfileRepository;
 import com.example.demo.repository.ReminderRepository;
 import com.example.demo.service.impl.ReminderService;
 import com.example.demo.util.DateTimeConverter;
@@ -26,7 +23,6 @@ public class ReminderServiceImpl implements ReminderService {
 
     private final UserService userService;
     private final ProfileReminderRepository profileReminderRepository;
-    private final ProfileRepository profileRepository;
     private final ReminderRepository reminderRepository;
 
     @Transactional
@@ -54,10 +50,9 @@ public class ReminderServiceImpl implements ReminderService {
     }
 
     public List<ReminderDTO> getReminders() {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        Long userId = userService.getAuthenticatedUserContext().userId();
 
-        return reminderRepository.findRemindersByUserId(user.getId()).stream()
+        return reminderRepository.findRemindersByUserId(userId).stream()
                 .map(reminder -> new ReminderDTO.Builder()
                         .id(String.valueOf(reminder.getId()))
                         .title(reminder.getTitle())
@@ -80,16 +75,10 @@ public class ReminderServiceImpl implements ReminderService {
     }
 
     private Boolean saveProfileRemainder(Long reminderId) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
-
-        Profile profile = profileRepository.findProfilesByUserId(user.getId())
-                .stream()
-                .reduce((first, second) -> second)
-                .orElseGet(() -> profileRepository.saveAndFlush(new Profile()));
+        Long profileId = userService.getOrCreateAuthenticatedProfileId();
 
         ProfileReminder profileReminder = ProfileReminder.builder()
-                .profileId(profile.getId())
+                .profileId(profileId)
                 .reminderId(reminderId)
                 .build();
 
@@ -0,0 +1,86 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.demo.service;
+
+import com.example.demo.model.Role;
+import com.example.demo.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Role name to role lookup for user replication. Roles are a small, rarely changing set, so they
+ * are kept for the lifetime of the service; misses are loaded with one query and roles that do not
+ * exist yet are created. Created roles are only cached once their transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+    private final Map<String, Role> rolesByName = new ConcurrentHashMap<>();
+
+    /**
+     * @return the roles with the given names, in the given order, creating any that are missing
+     */
+    public List<Role> resolve(Collection<String> names) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            if (!rolesByName.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+
+        Map<String, Role> created = new HashMap<>();
+        if (!missing.isEmpty()) {
+            for (Role role : roleRepository.findByNameIn(missing)) {
+                rolesByName.put(role.getName(), role);
+                missing.remove(role.getName());
+            }
+            for (String name : missing) {
+                log.info("Creating new role in analytics DB: {}", name);
+                created.put(name, roleRepository.save(new Role(name)));
+            }
+            cacheAfterCommit(created);
+        }
+
+        List<Role> roles = new ArrayList<>(names.size());
+        for (String name : names) {
+            Role role = rolesByName.get(name);
+            roles.add(role != null ? role : created.get(name));
+        }
+        return roles;
+    }
+
+    private void cacheAfterCommit(Map<String, Role> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rolesByName.putAll(created);
+                }
+            });
+        } else {
+            rolesByName.putAll(created);
+        }
+    }
+}
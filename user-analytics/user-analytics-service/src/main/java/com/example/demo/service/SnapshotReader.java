@@ -0,0 +1,21 @@
+package com.example.demo.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read made of several queries in one read-only REPEATABLE READ transaction, so every query
+ * sees the same snapshot. A bean of its own so that calls from the service that owns the read go
+ * through the transactional proxy.
+ */
+@Component
+public class SnapshotReader {
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public <T> T read(Supplier<T> reader) {
+        return reader.get();
+    }
+}
@@ -3,7 +3,6 @@ package com.example.demo.service;
 import com.example.demo.dto.ResponseDTO;
 import com.example.demo.dto.SupportDTO;
 import com.example.demo.model.*;
-import com.example.demo.repository.ProfileRepository;
 import com.example.demo.repository.ProfileSupportRepository;
 import com.example.demo.repository.SupportRepository;
 import com.example.demo.service.impl.SupportService;
@@ -16,7 +15,6 @@ public class SupportServiceImpl implements SupportService {
 
     private final SupportRepository supportRepository;
     private final ProfileSupportRepository profileSupportRepository;
-    private final ProfileRepository profileRepository;
     private final UserService userService;
 
     public ResponseDTO createSupport(SupportDTO supportDTO) {
@@ -43,16 +41,10 @@ public class SupportServiceImpl implements SupportService {
     }
 
     private Boolean saveProfileSupport(Long supportId) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
-
-        Profile profile = profileRepository.findProfilesByUserId(user.getId())
-                .stream()
-                .reduce((first, second) -> second)
-                .orElseGet(() -> profileRepository.saveAndFlush(new Profile()));
+        Long profileId = userService.getOrCreateAuthenticatedProfileId();
 
         ProfileSupport profileSupport = ProfileSupport.builder()
-                .profileId(profile.getId())
+                .profileId(profileId)
                 .supportId(supportId)
                 .build();
 
@@ -3,7 +3,6 @@ package com.example.demo.service;
 import com.example.demo.dto.ResponseDTO;
 import com.example.demo.dto.TaskDTO;
 import com.example.demo.model.*;
-import com.example.demo.repository.ProfileRepository;
 import com.example.demo.repository.ProfileTaskRepository;
 import com.example.demo.repository.TaskRepository;
 import com.example.demo.service.impl.TaskService;
@@ -19,7 +18,6 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final ProfileTaskRepository profileTaskRepository;
     private final UserService userService;
-    private final ProfileRepository profileRepository;
 
 
     public ResponseDTO createTask(TaskDTO taskDTO) {
@@ -45,10 +43,9 @@ public class TaskServiceImpl implements TaskService {
     }
 
     public List<TaskDTO> getTaskByUser() {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        Long userId = userService.getAuthenticatedUserContext().userId();
 
-        return taskRepository.findTasksByUserId(user.getId())
+        return taskRepository.findTasksByUserId(userId)
                 .stream()
                 .map(task -> TaskDTO.builder()
                         .id(String.valueOf(task.getId()))
@@ -59,16 +56,10 @@ public class TaskServiceImpl implements TaskService {
     }
 
     private Boolean saveProfileTask(Long taskId) {
-        User user = userService.getAuthenticatedUser()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
-
-        Profile profile = profileRepository.findProfilesByUserId(user.getId())
-                .stream()
-                .reduce((first, second) -> second)
-                .orElseGet(() -> profileRepository.saveAndFlush(new Profile()));
+        Long profileId = userService.getOrCreateAuthenticatedProfileId();
 
         ProfileTask profileTask = ProfileTask.builder()
-                .profileId(profile.getId())
+                .profileId(profileId)
                 .taskId(taskId)
                 .build();
 
@@ -0,0 +1,76 @@
+package com.example.demo.service;
+
+import com.example.demo.storage.ContentStore;
+import com.example.demo.storage.ThumbnailCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the thumbnails of an uploaded image in the background once the upload commits, so
+ * decoding and scaling never run while the upload's transaction holds its connection and locks.
+ * A thumbnail that is not generated, because the upload rolled back or generation failed, is
+ * generated on its first request instead.
+ */
+@Slf4j
+@Component
+public class ThumbnailGenerator {
+
+    private final ThumbnailCache thumbnailCache;
+    private final ContentStore contentStore;
+    private final ExecutorService executor;
+
+    public ThumbnailGenerator(ThumbnailCache thumbnailCache,
+                              ContentStore contentStore,
+                              @Value("${images.thumbnails.threads:1}") int threads) {
+        this.thumbnailCache = thumbnailCache;
+        this.contentStore = contentStore;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Generates every thumbnail size of the stored content once the surrounding transaction
+     * commits, or right away when there is none.
+     */
+    public void generateAfterCommit(String contentAddress) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(contentAddress);
+                }
+            });
+        } else {
+            schedule(contentAddress);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void schedule(String contentAddress) {
+        executor.execute(() -> generate(contentAddress));
+    }
+
+    private void generate(String contentAddress) {
+        try {
+            if (!thumbnailCache.generate(contentAddress, contentStore.load(contentAddress))) {
+                log.warn("Content {} is not a readable image, no thumbnails generated", contentAddress);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Served originals still work; thumbnails are retried on first request
+            log.warn("Failed to generate thumbnails for content {}", contentAddress, e);
+        }
+    }
+}
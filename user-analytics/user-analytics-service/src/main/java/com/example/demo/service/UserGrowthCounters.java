@@ -0,0 +1,167 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.SlidingWindowCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.demo.util.SlidingWindowCounter.minuteOf;
+
+/**
+ * In-memory dashboard counters for signups and weekly active users, so the dashboard reads them
+ * without querying the users table. They are seeded from the database, kept current from replicated
+ * user events, and periodically rebuilt from the database to correct any drift (users created
+ * outside the event stream, events lost between a rebuild's queries and its swap).
+ * <p>
+ * Windows are tracked at minute granularity, so a row in the first minute of a window may be
+ * counted slightly early.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserGrowthCounters {
+
+    private static final int TODAY = 0;
+    private static final int WEEK = 1;
+    private static final int MONTH = 2;
+
+    private static final int SIGNUP_RING_MINUTES = 32 * 24 * 60;
+    private static final int LOGIN_RING_MINUTES = 8 * 24 * 60;
+
+    public record GrowthTotals(long total, long today, long thisWeek, long thisMonth, long activeUsers) {
+    }
+
+    private record Snapshot(AtomicLong totalUsers,
+                            SlidingWindowCounter signups,
+                            // one count per user, at the minute of their latest login
+                            SlidingWindowCounter latestLogins,
+                            Map<String, Long> latestLoginMinutes) {
+    }
+
+    private final UserRepository userRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @return current totals, or empty until the counters have been seeded
+     */
+    public Optional<GrowthTotals> totals() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long weekStart = minuteOf(now.minusWeeks(1));
+        return Optional.of(new GrowthTotals(
+                current.totalUsers().get(),
+                current.signups().total(TODAY, minuteOf(LocalDate.now().atStartOfDay())),
+                current.signups().total(WEEK, weekStart),
+                current.signups().total(MONTH, minuteOf(now.minusMonths(1))),
+                current.latestLogins().total(0, weekStart)));
+    }
+
+    /**
+     * Records replicated signups and logins once the surrounding transaction commits,
+     * or immediately when there is none.
+     *
+     * @param logins latest login time per username
+     */
+    public void recordAfterCommit(Collection<LocalDateTime> signups, Map<String, LocalDateTime> logins) {
+        if (signups.isEmpty() && logins.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(signups, logins);
+                }
+            });
+        } else {
+            record(signups, logins);
+        }
+    }
+
+    public void record(Collection<LocalDateTime> signups, Map<String, LocalDateTime> logins) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        for (LocalDateTime createdAt : signups) {
+            current.totalUsers().incrementAndGet();
+            if (createdAt != null) {
+                current.signups().add(minuteOf(createdAt), 1);
+            }
+        }
+        logins.forEach((username, loginAt) -> {
+            if (loginAt != null) {
+                recordLogin(current, username, minuteOf(loginAt));
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the counters from the database; the first run seeds them at startup.
+     */
+    @Scheduled(fixedDelayString = "${analytics.counters.reconcile-interval-ms:600000}",
+            initialDelayString = "${analytics.counters.initial-delay-ms:0}")
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime signupsSince = now.minusMonths(1).truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime loginsSince = now.minusWeeks(1).truncatedTo(ChronoUnit.MINUTES);
+
+        Snapshot fresh = new Snapshot(
+                new AtomicLong(userRepository.count()),
+                new SlidingWindowCounter(3, SIGNUP_RING_MINUTES, minuteOf(signupsSince)),
+                new SlidingWindowCounter(1, LOGIN_RING_MINUTES, minuteOf(loginsSince)),
+                new ConcurrentHashMap<>());
+
+        for (Object[] row : userRepository.countSignupsPerMinuteSince(signupsSince)) {
+            fresh.signups().add(minuteOf(toLocalDateTime(row[0])), ((Number) row[1]).longValue());
+        }
+        for (Object[] row : userRepository.findLastLoginsSince(loginsSince)) {
+            recordLogin(fresh, (String) row[0], minuteOf(toLocalDateTime(row[1])));
+        }
+
+        Snapshot previous = snapshot;
+        snapshot = fresh;
+        if (previous != null) {
+            log.debug("Reconciled user growth counters: total users {} -> {}",
+                    previous.totalUsers().get(), fresh.totalUsers().get());
+        } else {
+            log.info("Seeded user growth counters: {} users", fresh.totalUsers().get());
+        }
+    }
+
+    private static void recordLogin(Snapshot snapshot, String username, long minute) {
+        snapshot.latestLoginMinutes().compute(username, (name, previousMinute) -> {
+            if (previousMinute != null && previousMinute >= minute) {
+                return previousMinute;
+            }
+            if (previousMinute != null) {
+                snapshot.latestLogins().add(previousMinute, -1);
+            }
+            snapshot.latestLogins().add(minute, 1);
+            return minute;
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
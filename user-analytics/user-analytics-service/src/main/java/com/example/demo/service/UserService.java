@@ -10,15 +10,17 @@ import com.example.activity.model.ActivityType;
 import com.example.demo.event.UserEventPublisher;
 import com.example.demo.model.*;
 import com.example.demo.repository.*;
+import com.example.demo.security.AuthenticatedUser;
+import com.example.demo.security.AuthenticatedUserCache;
 import com.example.demo.security.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -41,9 +43,9 @@ public class UserService {
     private final UserProfileRepository userProfileRepository;
     private final RoleRepository roleRepository;
     private final UserRolesRepository userRolesRepository;
-    private final CustomUserDetailsService customUserDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final ActivityService activityService; // ADD THIS
     private final HttpServletRequest request; // ADD THIS for IP tracking
     private final UserEventPublisher userEventPublisher;
@@ -144,12 +146,8 @@ public class UserService {
 
             log.info("Password matched successfully!");
 
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(user.getUsername());
-            if (userDetails == null) {
-                return createUserResponseDTO("", "", "Login failed: Invalid credentials", "false");
-            }
-
-            String token = jwtUtil.generateToken(userDetails.getUsername());
+            String token = jwtUtil.generateToken(user.getUsername(), user.getId(),
+                    user.getRoles().stream().map(Role::getName).toList());
             updateUserSignInDate(user);
 
             // Log successful login
@@ -209,13 +207,57 @@ public class UserService {
     }
 
     public Optional<User> getAuthenticatedUser() {
+        return userRepository.findByUsername(getAuthenticatedUsername());
+    }
+
+    /**
+     * Resolves the current username from the security context without a database lookup.
+     */
+    public String getAuthenticatedUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()
                 || authentication instanceof AnonymousAuthenticationToken) {
             throw new UsernameNotFoundException("User not authenticated");
         }
-        String username = authentication.getName();
-        return userRepository.findByUsername(username);
+        return authentication.getName();
+    }
+
+    /**
+     * The caller of the current request as resolved by {@link com.example.demo.security.JwtRequestFilter},
+     * normally without a database lookup.
+     */
+    public AuthenticatedUser getAuthenticatedUserContext() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        // Authenticated some other way than by the JWT filter
+        String username = getAuthenticatedUsername();
+        return authenticatedUserCache.get(username, null, null, null)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    /**
+     * Id of the current user's latest profile, creating one when the user has none yet.
+     */
+    @Transactional
+    public Long getOrCreateAuthenticatedProfileId() {
+        AuthenticatedUser user = getAuthenticatedUserContext();
+        if (user.profileId() != null) {
+            return user.profileId();
+        }
+        Long profileId = createProfile(user.userId()).getId();
+
+        // Later calls in the same request reuse the new profile
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser) {
+            AuthenticatedUser updated = new AuthenticatedUser(user.userId(), user.username(), user.roles(), profileId);
+            UsernamePasswordAuthenticationToken replacement =
+                    new UsernamePasswordAuthenticationToken(updated, null, authentication.getAuthorities());
+            replacement.setDetails(authentication.getDetails());
+            SecurityContextHolder.getContext().setAuthentication(replacement);
+        }
+        return profileId;
     }
 
     @Transactional
@@ -237,6 +279,8 @@ public class UserService {
                         .build()
         );
 
+        authenticatedUserCache.invalidate(userId);
+
         log.info("Profile created successfully with ID: {} for user ID: {}", profile.getId(), userId);
         return profile;
     }
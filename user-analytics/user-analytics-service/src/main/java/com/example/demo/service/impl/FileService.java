@@ -1,6 +1,7 @@
 package com.example.demo.service.impl;
 
 import com.example.demo.model.FileEntity;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -10,6 +11,7 @@ public interface FileService {
     List<FileEntity> getAllFilesByUser();
     List<String> getAllFileNamesByUser();
     FileEntity getFileByFileName(String fileName) throws IOException;
+    Resource getFileContent(FileEntity fileEntity) throws IOException;
     FileEntity saveFile(MultipartFile file) throws IOException;
     void deleteFileByFileName(String fileName) throws IOException;
 }
@@ -0,0 +1,39 @@
+package com.example.demo.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-addressed storage for uploaded blobs. Content is written once, addressed by its SHA-256
+ * digest, and read back as a {@link Resource} so it can be streamed (including byte ranges)
+ * without being held in memory. Identical uploads share one stored copy.
+ */
+public interface ContentStore {
+
+    /**
+     * Streams the content into the store. The stream is read to the end but not closed.
+     *
+     * @return the address and size of the stored content
+     */
+    StoredContent store(InputStream content) throws IOException;
+
+    /**
+     * @throws java.nio.file.NoSuchFileException if nothing is stored under the address
+     */
+    Resource load(String address) throws IOException;
+
+    /**
+     * Removes content that is no longer referenced. Implementations may keep content that was
+     * stored again recently, since a concurrent upload of the same bytes may be about to reference it.
+     */
+    void delete(String address) throws IOException;
+
+    /**
+     * Removes content stored for work that was then abandoned, such as an upload whose transaction
+     * rolled back. Unlike {@link #delete} it ignores the grace period, but keeps content that was
+     * stored before that call or has been stored again since.
+     */
+    void discard(StoredContent stored) throws IOException;
+}
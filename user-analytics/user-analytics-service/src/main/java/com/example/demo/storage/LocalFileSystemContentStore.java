@@ -0,0 +1,169 @@
+package com.example.demo.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Stores content under {@code <root>/<ab>/<cd>/<sha256>}. Uploads are copied to a temporary file in
+ * fixed-size chunks while the digest is computed, then linked into place atomically, so readers never
+ * see partial content, stored content is never rewritten, and memory use does not depend on the
+ * upload size.
+ */
+@Slf4j
+@Component
+public class LocalFileSystemContentStore implements ContentStore {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final Pattern ADDRESS = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmpDir;
+    private final Duration deleteGracePeriod;
+
+    public LocalFileSystemContentStore(
+            @Value("${storage.local.root:./data/content}") String root,
+            @Value("${storage.local.delete-grace-ms:3600000}") long deleteGraceMs) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        this.deleteGracePeriod = Duration.ofMillis(deleteGraceMs);
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StoredContent store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                int read;
+                while ((read = content.read(chunk)) != -1) {
+                    digest.update(chunk, 0, read);
+                    out.write(chunk, 0, read);
+                    size += read;
+                }
+            }
+
+            String address = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(address);
+            Instant createdAt = null;
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                if (moveIntoPlace(tmp, target)) {
+                    createdAt = Files.getLastModifiedTime(target).toInstant();
+                }
+            }
+            if (createdAt == null) {
+                // Same bytes already stored; refresh the timestamp so a pending delete keeps them
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                log.debug("Deduplicated upload of {} bytes to {}", size, address);
+            }
+            return new StoredContent(address, size, createdAt);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Resource load(String address) throws IOException {
+        Path path = pathOf(address);
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(address);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public void delete(String address) throws IOException {
+        Path path = pathOf(address);
+        if (!Files.exists(path)) {
+            return;
+        }
+        Instant storedAt = Files.getLastModifiedTime(path).toInstant();
+        if (storedAt.isAfter(Instant.now().minus(deleteGracePeriod))) {
+            log.debug("Keeping recently stored content {}", address);
+            return;
+        }
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void discard(StoredContent stored) throws IOException {
+        if (stored.createdAt() == null) {
+            return;
+        }
+        Path path = pathOf(stored.address());
+        try {
+            // Storing the same bytes again refreshes the timestamp, so a changed one means another reference
+            if (!Files.getLastModifiedTime(path).toInstant().equals(stored.createdAt())) {
+                log.debug("Keeping content {} stored again since", stored.address());
+                return;
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private Path pathOf(String address) {
+        if (address == null || !ADDRESS.matcher(address).matches()) {
+            throw new IllegalArgumentException("Invalid content address: " + address);
+        }
+        return root.resolve(address.substring(0, 2)).resolve(address.substring(2, 4)).resolve(address);
+    }
+
+    /**
+     * Publishes the temporary file as {@code target} unless something is already there. An atomic
+     * rename would do on its own, but on POSIX it silently replaces an existing target; creating a
+     * hard link is just as atomic and fails instead. The temporary file is left for the caller to
+     * delete.
+     *
+     * @return whether this call put the content in place
+     */
+    static boolean moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.createLink(target, tmp);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same bytes got there first
+            return false;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            // No hard links on this file system; without REPLACE_EXISTING the move checks the target first
+            try {
+                Files.move(tmp, target);
+                return true;
+            } catch (FileAlreadyExistsException ignored) {
+                return false;
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
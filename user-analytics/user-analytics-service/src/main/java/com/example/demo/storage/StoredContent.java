@@ -0,0 +1,12 @@
+package com.example.demo.storage;
+
+import java.time.Instant;
+
+/**
+ * @param address   hex SHA-256 digest of the content
+ * @param size      content length in bytes
+ * @param createdAt when this store call created the content, or {@code null} if identical content
+ *                  was already stored
+ */
+public record StoredContent(String address, long size, Instant createdAt) {
+}
@@ -0,0 +1,203 @@
+package com.example.demo.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed-size JPEG thumbnails of stored images. Thumbnails are generated once per image (on upload,
+ * or on first request for images uploaded earlier), kept on disk next to the content store and in a
+ * memory LRU bounded by total bytes. Thumbnails are immutable per image key, so callers can use
+ * {@code key + size} as a strong ETag.
+ */
+@Slf4j
+@Component
+public class ThumbnailCache {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+
+    @FunctionalInterface
+    public interface OriginalSource {
+        Resource open() throws IOException;
+    }
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-z-]{1,80}");
+
+    private final Path dir;
+    private final int[] sizes;
+    private final long memoryMaxBytes;
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+
+    public ThumbnailCache(@Value("${images.thumbnails.dir:${storage.local.root:./data/content}/thumbnails}") String dir,
+                          @Value("${images.thumbnails.sizes:64,128,256}") int[] sizes,
+                          @Value("${images.thumbnails.memory-max-bytes:16777216}") long memoryMaxBytes) throws IOException {
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.memoryMaxBytes = memoryMaxBytes;
+        Files.createDirectories(this.dir);
+    }
+
+    /**
+     * Rounds a requested size up to the nearest generated size, capped at the largest.
+     */
+    public int snap(int requestedSize) {
+        for (int size : sizes) {
+            if (size >= requestedSize) {
+                return size;
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Generates every thumbnail size of an image that is not on disk yet, decoding the original once.
+     *
+     * @return false if the content is not a readable image
+     */
+    public boolean generate(String key, Resource original) throws IOException {
+        BufferedImage source = null;
+        for (int size : sizes) {
+            Path path = pathOf(key, size);
+            if (Files.exists(path)) {
+                continue;
+            }
+            if (source == null) {
+                source = read(original);
+                if (source == null) {
+                    return false;
+                }
+            }
+            write(path, encode(scale(source, size)));
+        }
+        return true;
+    }
+
+    /**
+     * @param original opens the original image, only called when the thumbnail has to be generated
+     * @return the thumbnail, or empty if the original is not a readable image
+     */
+    public Optional<byte[]> get(String key, int size, OriginalSource original) throws IOException {
+        String cacheKey = key + "-" + size;
+        synchronized (memory) {
+            byte[] cached = memory.get(cacheKey);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Path path = pathOf(key, size);
+        if (!Files.exists(path)) {
+            Resource resource = original.open();
+            if (resource == null || !generate(key, resource)) {
+                return Optional.empty();
+            }
+        }
+
+        byte[] thumbnail = Files.readAllBytes(path);
+        remember(cacheKey, thumbnail);
+        return Optional.of(thumbnail);
+    }
+
+    private void remember(String cacheKey, byte[] thumbnail) {
+        if (thumbnail.length > memoryMaxBytes) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] previous = memory.put(cacheKey, thumbnail);
+            memoryBytes += thumbnail.length - (previous != null ? previous.length : 0);
+            var eldest = memory.entrySet().iterator();
+            while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+                Map.Entry<String, byte[]> entry = eldest.next();
+                memoryBytes -= entry.getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private Path pathOf(String key, int size) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid image key: " + key);
+        }
+        return dir.resolve(key.substring(0, 2)).resolve(key + "-" + size + ".jpg");
+    }
+
+    private static BufferedImage read(Resource original) throws IOException {
+        try (InputStream in = original.getInputStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    /**
+     * Fits the image into a {@code size x size} box keeping its aspect ratio, never upscaling.
+     * Large reductions are done in halving steps, which keeps bilinear filtering from aliasing.
+     */
+    static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                // JPEG has no alpha channel, so transparent areas become white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private void write(Path path, byte[] thumbnail) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tmp = Files.createTempFile(path.getParent(), "thumb-", ".part");
+        try {
+            Files.write(tmp, thumbnail);
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        log.debug("Generated thumbnail {}", path.getFileName());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Splits an inclusive time range {@code [start, end]} into the whole days that can be read
+ * from a daily rollup table and the remaining edges that must be read from raw rows.
+ * <p>
+ * Raw rows are those in {@code [headStart, headEnd)} or {@code [tailStart, tailEnd]};
+ * rollup rows are those with a date in {@code [rollupFrom, rollupTo)}.
+ * When no whole, rolled-up day falls inside the range, the head is empty and the
+ * tail covers the full range.
+ */
+public final class RollupWindow {
+
+    private final LocalDateTime headStart;
+    private final LocalDateTime headEnd;
+    private final LocalDate rollupFrom;
+    private final LocalDate rollupTo;
+    private final LocalDateTime tailStart;
+    private final LocalDateTime tailEnd;
+
+    private RollupWindow(LocalDateTime headStart, LocalDateTime headEnd,
+                         LocalDate rollupFrom, LocalDate rollupTo,
+                         LocalDateTime tailStart, LocalDateTime tailEnd) {
+        this.headStart = headStart;
+        this.headEnd = headEnd;
+        this.rollupFrom = rollupFrom;
+        this.rollupTo = rollupTo;
+        this.tailStart = tailStart;
+        this.tailEnd = tailEnd;
+    }
+
+    /**
+     * @param rolledUpThrough last day present in the rollup table, or {@code null} if nothing is rolled up yet
+     */
+    public static RollupWindow of(LocalDateTime start, LocalDateTime end, LocalDate rolledUpThrough) {
+        LocalDate firstWholeDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? start.toLocalDate()
+                : start.toLocalDate().plusDays(1);
+        LocalDate lastDayExclusive = end.toLocalDate();
+        if (rolledUpThrough != null && rolledUpThrough.plusDays(1).isBefore(lastDayExclusive)) {
+            lastDayExclusive = rolledUpThrough.plusDays(1);
+        }
+
+        if (rolledUpThrough == null || !firstWholeDay.isBefore(lastDayExclusive)) {
+            return new RollupWindow(start, start, firstWholeDay, firstWholeDay, start, end);
+        }
+
+        return new RollupWindow(start, firstWholeDay.atStartOfDay(),
+                firstWholeDay, lastDayExclusive,
+                lastDayExclusive.atStartOfDay(), end);
+    }
+
+    public boolean hasRollupDays() {
+        return rollupFrom.isBefore(rollupTo);
+    }
+
+    public LocalDateTime getHeadStart() {
+        return headStart;
+    }
+
+    public LocalDateTime getHeadEnd() {
+        return headEnd;
+    }
+
+    public LocalDate getRollupFrom() {
+        return rollupFrom;
+    }
+
+    public LocalDate getRollupTo() {
+        return rollupTo;
+    }
+
+    public LocalDateTime getTailStart() {
+        return tailStart;
+    }
+
+    public LocalDateTime getTailEnd() {
+        return tailEnd;
+    }
+}
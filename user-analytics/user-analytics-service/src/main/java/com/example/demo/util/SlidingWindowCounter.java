@@ -0,0 +1,110 @@
+package com.example.demo.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Event counts in per-minute buckets held in a ring of primitive arrays, with a running total
+ * for each of a fixed number of windows. A window is read by passing the first minute it covers;
+ * that start may only move forward, and buckets that fall out of the window are subtracted from
+ * its total as it moves, so a read costs O(1) amortised instead of a scan over the window.
+ * <p>
+ * Minutes are {@link #minuteOf(LocalDateTime) epoch minutes}. Windows must not start more than
+ * {@code ringMinutes} before the newest minute seen, since older buckets are reused.
+ */
+public final class SlidingWindowCounter {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int ringMinutes;
+    private final long[] counts;
+    private final long[] bucketMinutes;
+    private final long[] windowStarts;
+    private final long[] windowTotals;
+    private long latestMinute;
+
+    /**
+     * @param startMinute first minute counted by every window until it is first read
+     */
+    public SlidingWindowCounter(int windows, int ringMinutes, long startMinute) {
+        this.ringMinutes = ringMinutes;
+        this.counts = new long[ringMinutes];
+        this.bucketMinutes = new long[ringMinutes];
+        this.windowStarts = new long[windows];
+        this.windowTotals = new long[windows];
+        this.latestMinute = startMinute;
+        Arrays.fill(bucketMinutes, EMPTY);
+        Arrays.fill(windowStarts, startMinute);
+    }
+
+    public static long minuteOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /**
+     * Adds {@code delta} (which may be negative) to the bucket of {@code minute}.
+     * Minutes older than the ring are ignored.
+     */
+    public synchronized void add(long minute, long delta) {
+        latestMinute = Math.max(latestMinute, minute);
+        if (minute <= latestMinute - ringMinutes) {
+            return;
+        }
+
+        int slot = slot(minute);
+        if (bucketMinutes[slot] != minute) {
+            // The bucket is reused: its old minute is older than any window may start
+            removeFromWindows(bucketMinutes[slot], counts[slot]);
+            bucketMinutes[slot] = minute;
+            counts[slot] = 0;
+        }
+        counts[slot] += delta;
+        for (int window = 0; window < windowTotals.length; window++) {
+            if (minute >= windowStarts[window]) {
+                windowTotals[window] += delta;
+            }
+        }
+    }
+
+    /**
+     * @return the total of {@code window} from {@code fromMinute} on; a start earlier than
+     * the one of the previous read is treated as that previous start
+     */
+    public synchronized long total(int window, long fromMinute) {
+        long start = windowStarts[window];
+        if (fromMinute > start) {
+            if (fromMinute - start >= ringMinutes) {
+                for (int slot = 0; slot < ringMinutes; slot++) {
+                    if (bucketMinutes[slot] >= start && bucketMinutes[slot] < fromMinute) {
+                        windowTotals[window] -= counts[slot];
+                    }
+                }
+            } else {
+                for (long minute = start; minute < fromMinute; minute++) {
+                    int slot = slot(minute);
+                    if (bucketMinutes[slot] == minute) {
+                        windowTotals[window] -= counts[slot];
+                    }
+                }
+            }
+            windowStarts[window] = fromMinute;
+        }
+        return windowTotals[window];
+    }
+
+    private void removeFromWindows(long minute, long count) {
+        if (minute == EMPTY || count == 0) {
+            return;
+        }
+        for (int window = 0; window < windowTotals.length; window++) {
+            if (minute >= windowStarts[window]) {
+                windowTotals[window] -= count;
+            }
+        }
+    }
+
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) ringMinutes);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.featureusage.repository;
+
+import com.example.demo.util.RollupWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reads and maintains the feature_usage_daily / feature_user_daily rollups.
+ * Every windowed query combines rolled-up closed days with raw feature_usage rows
+ * for the edges of the window that are not rolled up yet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeatureUsageRollupRepository {
+
+    private static final String RAW_WINDOW =
+            "((timestamp >= ? AND timestamp < ?) OR (timestamp >= ? AND timestamp <= ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocalDate findEarliestRawDay() {
+        return jdbcTemplate.queryForObject(
+                "SELECT CAST(MIN(timestamp) AS DATE) FROM feature_usage", LocalDate.class);
+    }
+
+    /**
+     * Re-aggregates one closed day. Idempotent, so a day can safely be rolled up again.
+     */
+    public void rollUpDay(LocalDate day) {
+        Date date = Date.valueOf(day);
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        jdbcTemplate.update("DELETE FROM feature_usage_daily WHERE usage_date = ?", date);
+        jdbcTemplate.update("INSERT INTO feature_usage_daily " +
+                        "(usage_date, feature_name, category, usage_count, duration_sum, duration_count) " +
+                        "SELECT ?, feature_name, COALESCE(category, 'Uncategorized'), COUNT(*), " +
+                        "COALESCE(SUM(duration_seconds), 0), COUNT(duration_seconds) " +
+                        "FROM feature_usage WHERE timestamp >= ? AND timestamp < ? " +
+                        "GROUP BY feature_name, COALESCE(category, 'Uncategorized')",
+                date, from, to);
+
+        jdbcTemplate.update("DELETE FROM feature_user_daily WHERE usage_date = ?", date);
+        jdbcTemplate.update("INSERT INTO feature_user_daily (usage_date, feature_name, user_id) " +
+                        "SELECT DISTINCT ?, feature_name, user_id " +
+                        "FROM feature_usage WHERE timestamp >= ? AND timestamp < ?",
+                date, from, to);
+    }
+
+    /**
+     * @return rows of {featureName, usageCount, durationSum, durationCount}, most used first
+     */
+    public List<Object[]> getFeatureUsageSummary(RollupWindow window) {
+        return jdbcTemplate.query("SELECT feature_name, SUM(cnt) AS total, SUM(dsum), SUM(dcnt) FROM (" +
+                        "SELECT feature_name, usage_count AS cnt, duration_sum AS dsum, duration_count AS dcnt " +
+                        "FROM feature_usage_daily WHERE usage_date >= ? AND usage_date < ? " +
+                        "UNION ALL " +
+                        "SELECT feature_name, COUNT(*), COALESCE(SUM(duration_seconds), 0), COUNT(duration_seconds) " +
+                        "FROM feature_usage WHERE " + RAW_WINDOW + " GROUP BY feature_name" +
+                        ") t GROUP BY feature_name ORDER BY total DESC",
+                (rs, rowNum) -> new Object[]{
+                        rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)},
+                windowParams(window));
+    }
+
+    /**
+     * @return rows of {featureName, distinctUsers}
+     */
+    public List<Object[]> getUniqueUsersPerFeature(RollupWindow window) {
+        return jdbcTemplate.query("SELECT feature_name, COUNT(DISTINCT user_id) FROM (" +
+                        "SELECT feature_name, user_id FROM feature_user_daily " +
+                        "WHERE usage_date >= ? AND usage_date < ? " +
+                        "UNION " +
+                        "SELECT feature_name, user_id FROM feature_usage WHERE " + RAW_WINDOW +
+                        ") t GROUP BY feature_name",
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getLong(2)},
+                windowParams(window));
+    }
+
+    public Long countActiveUsers(RollupWindow window) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT user_id) FROM (" +
+                        "SELECT user_id FROM feature_user_daily WHERE usage_date >= ? AND usage_date < ? " +
+                        "UNION " +
+                        "SELECT user_id FROM feature_usage WHERE " + RAW_WINDOW +
+                        ") t",
+                Long.class, windowParams(window));
+    }
+
+    /**
+     * @return rows of {category, usageCount}; a missing category is reported as "Uncategorized"
+     */
+    public List<Object[]> getUsageByCategory(RollupWindow window) {
+        return jdbcTemplate.query("SELECT category, SUM(cnt) FROM (" +
+                        "SELECT category, usage_count AS cnt FROM feature_usage_daily " +
+                        "WHERE usage_date >= ? AND usage_date < ? " +
+                        "UNION ALL " +
+                        "SELECT COALESCE(category, 'Uncategorized'), COUNT(*) FROM feature_usage " +
+                        "WHERE " + RAW_WINDOW + " GROUP BY COALESCE(category, 'Uncategorized')" +
+                        ") t GROUP BY category",
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getLong(2)},
+                windowParams(window));
+    }
+
+    /**
+     * @param featureName restricts the counts to one feature, or {@code null} for all features
+     * @return rows of {date, usageCount} in date order
+     */
+    public List<Object[]> getDailyUsage(RollupWindow window, String featureName) {
+        String featureFilter = featureName != null ? " AND feature_name = ?" : "";
+        Object[] params = windowParams(window);
+        if (featureName != null) {
+            params = new Object[]{params[0], params[1], featureName,
+                    params[2], params[3], params[4], params[5], featureName};
+        }
+
+        return jdbcTemplate.query("SELECT day, SUM(cnt) FROM (" +
+                        "SELECT usage_date AS day, usage_count AS cnt FROM feature_usage_daily " +
+                        "WHERE usage_date >= ? AND usage_date < ?" + featureFilter +
+                        " UNION ALL " +
+                        "SELECT CAST(timestamp AS DATE), COUNT(*) FROM feature_usage " +
+                        "WHERE " + RAW_WINDOW + featureFilter + " GROUP BY CAST(timestamp AS DATE)" +
+                        ") t GROUP BY day ORDER BY day",
+                (rs, rowNum) -> new Object[]{rs.getObject(1, LocalDate.class), rs.getLong(2)},
+                params);
+    }
+
+    private Object[] windowParams(RollupWindow window) {
+        return new Object[]{
+                Date.valueOf(window.getRollupFrom()),
+                Date.valueOf(window.getRollupTo()),
+                Timestamp.valueOf(window.getHeadStart()),
+                Timestamp.valueOf(window.getHeadEnd()),
+                Timestamp.valueOf(window.getTailStart()),
+                Timestamp.valueOf(window.getTailEnd())
+        };
+    }
+}
@@ -7,9 +7,13 @@
 
 package com.example.featureusage.service;
 
+import com.example.demo.model.RollupWatermark;
+import com.example.demo.repository.RollupWatermarkRepository;
+import com.example.demo.util.RollupWindow;
 import com.example.featureusage.repository.FeatureRatingRepository;
 import com.example.featureusage.repository.FeatureUsageRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.featureusage.repository.FeatureUsageRollupRepository;
 import com.example.featureusage.dto.CategoryUsageDTO;
 import com.example.featureusage.dto.FeatureUsageDTO;
 import com.example.featureusage.model.*;
@@ -19,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -29,16 +34,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FeatureServiceImpl implements FeatureService {
 
+    private static final LocalDateTime ALL_TIME_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final FeatureUsageRepository featureUsageRepository;
     private final FeatureRatingRepository featureRatingRepository;
     private final UserRepository userRepository;
+    private final FeatureUsageRollupRepository featureUsageRollupRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
 
     @Override
     public FeatureUsageDTO getFeatureUsage(String period) {
         log.info("Getting feature usage for period: {}", period);
         LocalDateTime startDate = getStartDateForPeriod(period);
 
-        List<Object[]> usageStats = featureUsageRepository.getFeatureUsageStats(startDate);
+        List<Object[]> usageStats = featureUsageRollupRepository.getFeatureUsageSummary(
+                rollupWindow(startDate, LocalDateTime.now()));
         List<String> features = new ArrayList<>();
         List<Integer> usageCounts = new ArrayList<>();
 
@@ -58,8 +68,9 @@ public class FeatureServiceImpl implements FeatureService {
         log.info("Getting overall usage statistics");
 
         Long totalUsers = userRepository.count();
-        LocalDateTime oneWeekAgo = LocalDateTime.now().minusWeeks(1);
-        Long activeUsers = featureUsageRepository.countActiveUsers(oneWeekAgo);
+        LocalDateTime now = LocalDateTime.now();
+        Long activeUsers = featureUsageRollupRepository.countActiveUsers(
+                rollupWindow(now.minusWeeks(1), now));
 
         Double engagementRate = totalUsers > 0 ?
                 (activeUsers.doubleValue() / totalUsers.doubleValue()) * 100 : 0.0;
@@ -87,27 +98,35 @@ public class FeatureServiceImpl implements FeatureService {
     public List<FeatureDetail> getFeatureDetails() {
         log.info("Getting detailed feature metrics");
 
-        LocalDateTime oneWeekAgo = LocalDateTime.now().minusWeeks(1);
-        LocalDateTime twoWeeksAgo = LocalDateTime.now().minusWeeks(2);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oneWeekAgo = now.minusWeeks(1);
+        LocalDateTime twoWeeksAgo = now.minusWeeks(2);
+        LocalDate rolledUpThrough = rollupWatermarkRepository.findRolledUpThrough(RollupWatermark.FEATURE_USAGE);
+        RollupWindow currentWeek = RollupWindow.of(oneWeekAgo, now, rolledUpThrough);
+        RollupWindow previousWeek = RollupWindow.of(twoWeeksAgo, oneWeekAgo, rolledUpThrough);
 
-        // Get current week stats
-        List<Object[]> currentStats = featureUsageRepository.getFeatureUsageStats(oneWeekAgo);
-        List<Object[]> previousStats = featureUsageRepository.getFeatureUsageStats(twoWeeksAgo);
+        // Current week counts and durations, previous week counts (closed days come from the rollup)
+        Map<String, Long> currentMap = new HashMap<>();
+        Map<String, Double> avgTimeMap = new HashMap<>();
+        for (Object[] data : featureUsageRollupRepository.getFeatureUsageSummary(currentWeek)) {
+            currentMap.put((String) data[0], (Long) data[1]);
+            long durationCount = (Long) data[3];
+            if (durationCount > 0) {
+                avgTimeMap.put((String) data[0], (Long) data[2] / (double) durationCount);
+            }
+        }
+
+        Map<String, Long> previousMap = new HashMap<>();
+        for (Object[] data : featureUsageRollupRepository.getFeatureUsageSummary(previousWeek)) {
+            previousMap.put((String) data[0], (Long) data[1]);
+        }
 
         // Get unique users per feature
-        List<Object[]> usersPerFeature = featureUsageRepository.getUniqueUsersPerFeature(oneWeekAgo);
         Map<String, Long> userMap = new HashMap<>();
-        for (Object[] data : usersPerFeature) {
+        for (Object[] data : featureUsageRollupRepository.getUniqueUsersPerFeature(currentWeek)) {
             userMap.put((String) data[0], (Long) data[1]);
         }
 
-        // Get average time per feature
-        List<Object[]> avgTimeData = featureUsageRepository.getAvgTimePerFeature();
-        Map<String, Double> avgTimeMap = new HashMap<>();
-        for (Object[] data : avgTimeData) {
-            avgTimeMap.put((String) data[0], (Double) data[1]);
-        }
-
         // Get ratings per feature
         List<Object[]> ratingsData = featureRatingRepository.getAverageRatingPerFeature();
         Map<String, Double> ratingsMap = new HashMap<>();
@@ -115,17 +134,6 @@ public class FeatureServiceImpl implements FeatureService {
             ratingsMap.put((String) data[0], (Double) data[1]);
         }
 
-        // Calculate growth rate
-        Map<String, Long> currentMap = new HashMap<>();
-        for (Object[] data : currentStats) {
-            currentMap.put((String) data[0], (Long) data[1]);
-        }
-
-        Map<String, Long> previousMap = new HashMap<>();
-        for (Object[] data : previousStats) {
-            previousMap.put((String) data[0], (Long) data[1]);
-        }
-
         List<FeatureDetail> details = new ArrayList<>();
         for (Map.Entry<String, Long> entry : currentMap.entrySet()) {
             String featureName = entry.getKey();
@@ -158,24 +166,15 @@ public class FeatureServiceImpl implements FeatureService {
         log.info("Getting usage trends for period: {} and feature: {}", period, feature);
 
         LocalDateTime startDate = getStartDateForPeriod(period);
-        List<FeatureUsage> usageData;
-
-        if (feature != null && !feature.isEmpty()) {
-            usageData = featureUsageRepository.findByFeatureName(feature)
-                    .stream()
-                    .filter(u -> u.getTimestamp().isAfter(startDate))
-                    .collect(Collectors.toList());
-        } else {
-            usageData = featureUsageRepository.findByTimestampBetween(startDate, LocalDateTime.now());
-        }
+        String featureName = feature != null && !feature.isEmpty() ? feature : null;
 
         // Group by date
         Map<String, Integer> dailyCounts = new TreeMap<>();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-        for (FeatureUsage usage : usageData) {
-            String dateKey = usage.getTimestamp().format(formatter);
-            dailyCounts.put(dateKey, dailyCounts.getOrDefault(dateKey, 0) + 1);
+        for (Object[] data : featureUsageRollupRepository.getDailyUsage(
+                rollupWindow(startDate, LocalDateTime.now()), featureName)) {
+            dailyCounts.put(((LocalDate) data[0]).format(formatter), ((Long) data[1]).intValue());
         }
 
         List<TimeSeriesData> trendData = dailyCounts.entrySet().stream()
@@ -204,7 +203,9 @@ public class FeatureServiceImpl implements FeatureService {
     public CategoryUsageDTO getUsageByCategory() {
         log.info("Getting usage by category");
 
-        List<Object[]> categoryData = featureUsageRepository.getUsageByCategory();
+        // All-time totals: every rolled-up day plus the raw rows after the watermark
+        List<Object[]> categoryData = featureUsageRollupRepository.getUsageByCategory(
+                rollupWindow(ALL_TIME_START, LocalDateTime.now()));
         List<String> categories = new ArrayList<>();
         List<Integer> values = new ArrayList<>();
 
@@ -236,6 +237,11 @@ public class FeatureServiceImpl implements FeatureService {
         featureUsageRepository.save(usage);
     }
 
+    private RollupWindow rollupWindow(LocalDateTime start, LocalDateTime end) {
+        return RollupWindow.of(start, end,
+                rollupWatermarkRepository.findRolledUpThrough(RollupWatermark.FEATURE_USAGE));
+    }
+
     private LocalDateTime getStartDateForPeriod(String period) {
         LocalDateTime now = LocalDateTime.now();
         return switch (period.toLowerCase()) {
@@ -33,6 +33,25 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             "ORDER BY n.timestamp DESC")
     List<Notification> findNotificationsByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT n " +
+            "FROM Notification n " +
+            "JOIN ProfileNotification pn ON n.id = pn.notificationId " +
+            "JOIN UserProfile up ON pn.profileId = up.profileId " +
+            "WHERE up.userId = :userId AND NOT EXISTS (" +
+            "SELECT r.id FROM UserNotificationRead r " +
+            "WHERE r.userId = :userId AND r.notificationId = n.id) " +
+            "ORDER BY n.timestamp DESC")
+    List<Notification> findUnreadNotificationsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(n) " +
+            "FROM Notification n " +
+            "JOIN ProfileNotification pn ON n.id = pn.notificationId " +
+            "JOIN UserProfile up ON pn.profileId = up.profileId " +
+            "WHERE up.userId = :userId AND NOT EXISTS (" +
+            "SELECT r.id FROM UserNotificationRead r " +
+            "WHERE r.userId = :userId AND r.notificationId = n.id)")
+    Long countUnreadNotificationsByUserId(@Param("userId") Long userId);
+
     @Query("SELECT n FROM Notification n WHERE " +
             "LOWER(n.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "LOWER(n.message) LIKE LOWER(CONCAT('%', :query, '%'))")
@@ -14,6 +14,8 @@ package com.example.notification.repository;
 
 import com.example.notification.model.UserNotificationRead;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -28,5 +30,11 @@ public interface UserNotificationReadRepository extends JpaRepository<UserNotifi
 
     boolean existsByUserIdAndNotificationId(Long userId, Long notificationId);
 
+    /**
+     * @return rows of {notificationId, readAt} for every notification the user has read
+     */
+    @Query("SELECT r.notificationId, r.readAt FROM UserNotificationRead r WHERE r.userId = :userId")
+    List<Object[]> findReadStateByUserId(@Param("userId") Long userId);
+
     List<UserNotificationRead> findByNotificationId(Long notificationId);
 }
@@ -11,6 +11,7 @@ import com.example.demo.model.Profile;
 import com.example.demo.model.ProfileNotification;
 import com.example.demo.model.User;
 import com.example.demo.repository.*;
+import com.example.demo.service.ReadStateCache;
 import com.example.demo.service.UserService;
 import com.example.demo.util.DateTimeConverter;
 import com.example.notification.dto.NotificationsDTO;
@@ -30,7 +31,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -45,16 +51,14 @@ public class NotificationServiceImpl implements NotificationService {
     private final ProfileRepository profileRepository;
     private final ProfileNotificationRepository profileNotificationRepository;
     private final UserNotificationReadRepository readRepository;
+    private final ReadStateCache readStateCache;
 
     @Override
     public List<NotificationsDTO> getAllNotifications() {
         log.info("Fetching all notifications for current user");
         Long userId = getCurrentUserId();
 
-        return notificationRepository.findNotificationsByUserId(userId)
-                .stream()
-                .map(notification -> convertToDTO(notification, userId))
-                .collect(Collectors.toList());
+        return convertToDTOs(notificationRepository.findNotificationsByUserId(userId), userId);
     }
 
     @Override
@@ -62,10 +66,9 @@ public class NotificationServiceImpl implements NotificationService {
         log.info("Fetching unread notifications");
         Long userId = getCurrentUserId();
 
-        return notificationRepository.findNotificationsByUserId(userId)
+        return notificationRepository.findUnreadNotificationsByUserId(userId)
                 .stream()
-                .filter(notification -> !isRead(userId, notification.getId()))
-                .map(notification -> convertToDTO(notification, userId))
+                .map(notification -> convertToDTO(notification, null))
                 .collect(Collectors.toList());
     }
 
@@ -74,10 +77,7 @@ public class NotificationServiceImpl implements NotificationService {
         log.info("Fetching notifications by type: {}", type);
         Long userId = getCurrentUserId();
 
-        return notificationRepository.findByType(type)
-                .stream()
-                .map(notification -> convertToDTO(notification, userId))
-                .collect(Collectors.toList());
+        return convertToDTOs(notificationRepository.findByType(type), userId);
     }
 
     @Override
@@ -85,10 +85,7 @@ public class NotificationServiceImpl implements NotificationService {
         log.info("Fetching notifications by priority: {}", priority);
         Long userId = getCurrentUserId();
 
-        return notificationRepository.findByPriority(priority)
-                .stream()
-                .map(notification -> convertToDTO(notification, userId))
-                .collect(Collectors.toList());
+        return convertToDTOs(notificationRepository.findByPriority(priority), userId);
     }
 
     @Override
@@ -96,10 +93,7 @@ public class NotificationServiceImpl implements NotificationService {
         log.info("Searching notifications with query: {}", query);
         Long userId = getCurrentUserId();
 
-        return notificationRepository.searchNotifications(query)
-                .stream()
-                .map(notification -> convertToDTO(notification, userId))
-                .collect(Collectors.toList());
+        return convertToDTOs(notificationRepository.searchNotifications(query), userId);
     }
 
     @Transactional
@@ -146,6 +140,7 @@ public class NotificationServiceImpl implements NotificationService {
             read.setUserId(userId);
             read.setNotificationId(notificationId);
             readRepository.save(read);
+            readStateCache.invalidate(ReadStateCache.NOTIFICATIONS, userId);
         }
     }
 
@@ -155,14 +150,22 @@ public class NotificationServiceImpl implements NotificationService {
         Long userId = getCurrentUserId();
         log.info("Marking all notifications as read for user {}", userId);
 
-        List<Notification> notifications = notificationRepository.findNotificationsByUserId(userId);
-        for (Notification notification : notifications) {
-            if (!readRepository.existsByUserIdAndNotificationId(userId, notification.getId())) {
-                UserNotificationRead read = new UserNotificationRead();
-                read.setUserId(userId);
-                read.setNotificationId(notification.getId());
-                readRepository.save(read);
-            }
+        Set<Long> unreadIds = new LinkedHashSet<>();
+        for (Notification notification : notificationRepository.findUnreadNotificationsByUserId(userId)) {
+            unreadIds.add(notification.getId());
+        }
+
+        List<UserNotificationRead> reads = new ArrayList<>();
+        for (Long notificationId : unreadIds) {
+            UserNotificationRead read = new UserNotificationRead();
+            read.setUserId(userId);
+            read.setNotificationId(notificationId);
+            reads.add(read);
+        }
+
+        if (!reads.isEmpty()) {
+            readRepository.saveAll(reads);
+            readStateCache.invalidate(ReadStateCache.NOTIFICATIONS, userId);
         }
     }
 
@@ -185,22 +188,27 @@ public class NotificationServiceImpl implements NotificationService {
                 .collect(Collectors.toList());
 
         notificationRepository.deleteAllById(readNotificationIds);
+        readStateCache.invalidate(ReadStateCache.NOTIFICATIONS, userId);
     }
 
     @Override
     public Long getUnreadCount() {
         Long userId = getCurrentUserId();
-        return notificationRepository.findNotificationsByUserId(userId)
-                .stream()
-                .filter(notification -> !isRead(userId, notification.getId()))
-                .count();
+        return notificationRepository.countUnreadNotificationsByUserId(userId);
     }
 
-    private NotificationsDTO convertToDTO(Notification notification, Long userId) {
-        UserNotificationRead readStatus = readRepository
-                .findByUserIdAndNotificationId(userId, notification.getId())
-                .orElse(null);
+    private List<NotificationsDTO> convertToDTOs(List<Notification> notifications, Long userId) {
+        if (notifications.isEmpty()) {
+            return new ArrayList<>();
+        }
 
+        Map<Long, LocalDateTime> readState = getReadState(userId);
+        return notifications.stream()
+                .map(notification -> convertToDTO(notification, readState.get(notification.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private NotificationsDTO convertToDTO(Notification notification, LocalDateTime readAt) {
         return NotificationsDTO.builder()
                 .id(notification.getId())
                 .title(notification.getTitle())
@@ -208,8 +216,8 @@ public class NotificationServiceImpl implements NotificationService {
                 .timestamp(notification.getTimestamp().toString())
                 .type(notification.getType())
                 .priority(notification.getPriority())
-                .isRead(readStatus != null)
-                .readAt(readStatus != null ? readStatus.getReadAt().toString() : null)
+                .isRead(readAt != null)
+                .readAt(readAt != null ? readAt.toString() : null)
                 .category(notification.getCategory())
                 .actionUrl(notification.getActionUrl())
                 .sender(notification.getSender())
@@ -217,8 +225,14 @@ public class NotificationServiceImpl implements NotificationService {
                 .build();
     }
 
-    private boolean isRead(Long userId, Long notificationId) {
-        return readRepository.existsByUserIdAndNotificationId(userId, notificationId);
+    private Map<Long, LocalDateTime> getReadState(Long userId) {
+        return readStateCache.get(ReadStateCache.NOTIFICATIONS, userId, () -> {
+            Map<Long, LocalDateTime> readState = new HashMap<>();
+            for (Object[] row : readRepository.findReadStateByUserId(userId)) {
+                readState.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+            return readState;
+        });
     }
 
     private Long getCurrentUserId() {
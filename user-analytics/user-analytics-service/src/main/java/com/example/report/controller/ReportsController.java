@@ -7,13 +7,14 @@
 package com.example.report.controller;
 
 import com.example.report.dto.*;
+import com.example.report.export.ReportExportFormat;
 import com.example.report.service.impl.ReportsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -73,18 +74,29 @@ public class ReportsController {
     }
 
     @PostMapping("/export")
-    public ResponseEntity<byte[]> exportReport(@RequestBody ExportReportRequest request) {
+    public ResponseEntity<StreamingResponseBody> exportReport(@RequestBody ExportReportRequest request) {
         log.info("POST /api/reports/export - Format: {}", request.getFormat());
 
-        byte[] data = reportsService.exportReport(request.getReportData(), request.getFormat());
-        String filename = String.format("report_%s.%s",
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
-                request.getFormat());
+        ReportExportFormat format = ReportExportFormat.of(request.getFormat());
+        StreamingResponseBody body = out -> reportsService.exportReport(request.getReportData(), request.getFormat(), out);
+        return exportResponse(format, body);
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                .contentType(getMediaType(request.getFormat()))
-                .body(data);
+    @GetMapping("/templates/{templateId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTemplate(
+            @PathVariable String templateId,
+            @RequestParam String format,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        log.info("GET /api/reports/templates/{}/export - Format: {}", templateId, format);
+
+        ReportExportFormat exportFormat = ReportExportFormat.of(format);
+        ReportFilterDTO filters = ReportFilterDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+        StreamingResponseBody body = out -> reportsService.exportTemplate(templateId, filters, format, out);
+        return exportResponse(exportFormat, body);
     }
 
     @PostMapping("/save")
@@ -133,12 +145,15 @@ public class ReportsController {
         return ResponseEntity.noContent().build();
     }
 
-    private MediaType getMediaType(String format) {
-        return switch (format.toLowerCase()) {
-            case "pdf" -> MediaType.APPLICATION_PDF;
-            case "excel" -> MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            case "csv" -> MediaType.parseMediaType("text/csv");
-            default -> MediaType.APPLICATION_OCTET_STREAM;
-        };
+    private static ResponseEntity<StreamingResponseBody> exportResponse(ReportExportFormat format,
+                                                                        StreamingResponseBody body) {
+        String filename = String.format("report_%s.%s",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
+                format.getExtension());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(format.getMediaType())
+                .body(body);
     }
 }
@@ -0,0 +1,226 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.export;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * PDF table writer on PDFBox. Each page is a repeated header plus as many rows as fit, in
+ * Helvetica on landscape A4. Page content goes to a temporary file rather than the heap; only the
+ * page dictionaries stay in memory until the document is saved in {@link #finish}. Cell text that
+ * does not fit its column is truncated.
+ * <p>
+ * The standard Helvetica font is WinAnsi (windows-1252) encoded: characters outside that charset
+ * are written as {@code ?}, and tabs and line breaks as spaces.
+ */
+public class PdfReportWriter implements ReportExportWriter {
+
+    private static final float PAGE_WIDTH = PDRectangle.A4.getHeight();
+    private static final float PAGE_HEIGHT = PDRectangle.A4.getWidth();
+    private static final float MARGIN = 36;
+    private static final float FONT_SIZE = 8;
+    private static final float ROW_HEIGHT = 12;
+    private static final float TITLE_HEIGHT = 24;
+    private static final float CELL_PADDING = 4;
+    private static final char REPLACEMENT = '?';
+    private static final String ELLIPSIS = "~";
+
+    private static final BitSet WIN_ANSI = winAnsiCharacters();
+
+    private final OutputStream out;
+    private final String title;
+    private final PDDocument document = new PDDocument(IOUtils.createTempFileOnlyStreamCache());
+    // Fonts cache glyph widths without synchronisation, so every export gets its own
+    private final PDType1Font font = helvetica();
+    private List<String> header = List.of();
+    private PDPageContentStream page;
+    private float y;
+
+    public PdfReportWriter(OutputStream out, String title) {
+        this.out = out;
+        this.title = title;
+        if (title != null) {
+            document.getDocumentInformation().setTitle(title);
+        }
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        this.header = List.copyOf(columns);
+    }
+
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        if (page == null) {
+            startPage();
+        } else if (y - ROW_HEIGHT < MARGIN) {
+            endPage();
+            startPage();
+        }
+        writeCells(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (page == null && document.getNumberOfPages() == 0) {
+            startPage();
+        }
+        if (page != null) {
+            endPage();
+        }
+        // PDFBox closes the stream it saves to; the caller's stream must stay open
+        document.save(new NonClosingOutputStream(out));
+        out.flush();
+    }
+
+    /**
+     * Deletes the temporary page content; the caller's stream is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (page != null) {
+                page.close();
+                page = null;
+            }
+        } finally {
+            document.close();
+        }
+    }
+
+    private void startPage() throws IOException {
+        PDPage pdPage = new PDPage(new PDRectangle(PAGE_WIDTH, PAGE_HEIGHT));
+        document.addPage(pdPage);
+        page = new PDPageContentStream(document, pdPage);
+        y = PAGE_HEIGHT - MARGIN;
+        if (document.getNumberOfPages() == 1 && title != null) {
+            y -= FONT_SIZE;
+            text(MARGIN, y, title, FONT_SIZE + 4, PAGE_WIDTH - 2 * MARGIN);
+            y -= TITLE_HEIGHT - FONT_SIZE;
+        }
+        if (!header.isEmpty()) {
+            writeCells(header);
+            page.moveTo(MARGIN, y - 3);
+            page.lineTo(PAGE_WIDTH - MARGIN, y - 3);
+            page.stroke();
+        }
+    }
+
+    private void endPage() throws IOException {
+        page.close();
+        page = null;
+    }
+
+    private void writeCells(List<?> values) throws IOException {
+        int columns = Math.max(header.size(), values.size());
+        float columnWidth = (PAGE_WIDTH - 2 * MARGIN) / Math.max(columns, 1);
+
+        y -= ROW_HEIGHT;
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value != null) {
+                text(MARGIN + i * columnWidth, y, value.toString(), FONT_SIZE, columnWidth - CELL_PADDING);
+            }
+        }
+    }
+
+    private void text(float x, float y, String text, float fontSize, float maxWidth) throws IOException {
+        String fitted = fit(toWinAnsi(text), fontSize, maxWidth);
+        if (fitted.isEmpty()) {
+            return;
+        }
+        page.beginText();
+        page.setFont(font, fontSize);
+        page.newLineAtOffset(x, y);
+        page.showText(fitted);
+        page.endText();
+    }
+
+    /**
+     * Replaces what the font cannot show: whitespace controls become spaces, anything else
+     * outside windows-1252 becomes {@code ?}.
+     */
+    static String toWinAnsi(String text) {
+        StringBuilder encodable = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char replacement = c == '\t' || c == '\r' || c == '\n' ? ' '
+                    : WIN_ANSI.get(c) ? c
+                    : REPLACEMENT;
+            if (replacement != c && encodable == null) {
+                encodable = new StringBuilder(text.length()).append(text, 0, i);
+            }
+            if (encodable != null) {
+                // A surrogate pair stands for one character, so it becomes one replacement
+                if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    i++;
+                }
+                encodable.append(replacement);
+            }
+        }
+        return encodable != null ? encodable.toString() : text;
+    }
+
+    private String fit(String text, float fontSize, float maxWidth) throws IOException {
+        float scale = fontSize / 1000;
+        if (font.getStringWidth(text) * scale <= maxWidth) {
+            return text;
+        }
+
+        float available = maxWidth - font.getStringWidth(ELLIPSIS) * scale;
+        float width = 0;
+        int end = 0;
+        while (end < text.length()) {
+            width += font.getStringWidth(text.substring(end, end + 1)) * scale;
+            if (width > available) {
+                break;
+            }
+            end++;
+        }
+        return text.substring(0, end) + ELLIPSIS;
+    }
+
+    private static PDType1Font helvetica() {
+        return new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    }
+
+    /**
+     * The printable characters of windows-1252 that the standard Helvetica font has a glyph for.
+     */
+    private static BitSet winAnsiCharacters() {
+        Charset windows1252 = Charset.forName("windows-1252");
+        PDType1Font font = helvetica();
+        BitSet characters = new BitSet(0x10000);
+        for (int b = 0x20; b <= 0xFF; b++) {
+            String decoded = new String(new byte[]{(byte) b}, windows1252);
+            char c = decoded.charAt(0);
+            if (Character.isISOControl(c) || c == '\uFFFD') {
+                continue;
+            }
+            try {
+                font.encode(decoded);
+                characters.set(c);
+            } catch (IllegalArgumentException | IOException e) {
+                // No glyph for this code in the font
+            }
+        }
+        return characters;
+    }
+}
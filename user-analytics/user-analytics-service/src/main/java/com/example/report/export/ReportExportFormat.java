@@ -0,0 +1,62 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.export;
+
+import org.springframework.http.MediaType;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum ReportExportFormat {
+
+    CSV("csv", MediaType.parseMediaType("text/csv")),
+    EXCEL("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")),
+    PDF("pdf", MediaType.APPLICATION_PDF);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ReportExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param title shown above the table where the format has room for it
+     */
+    public ReportExportWriter open(OutputStream out, String title) {
+        return switch (this) {
+            case CSV -> new CsvReportWriter(out);
+            case EXCEL -> new XlsxReportWriter(out);
+            case PDF -> new PdfReportWriter(out, title);
+        };
+    }
+
+    /**
+     * Accepts the format names used by the frontend ({@code csv}, {@code excel}, {@code pdf})
+     * as well as {@code xlsx}.
+     */
+    public static ReportExportFormat of(String format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported format: null");
+        }
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "excel", "xlsx" -> EXCEL;
+            case "pdf" -> PDF;
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+    }
+}
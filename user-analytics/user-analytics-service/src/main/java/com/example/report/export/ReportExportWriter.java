@@ -0,0 +1,37 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a tabular report to an output stream one row at a time. Implementations keep only a
+ * bounded window of rows in memory, so exports of any size run in constant heap.
+ * <p>
+ * Call {@link #writeHeader} once, then {@link #writeRow} per row, then {@link #finish}.
+ * {@link #close()} releases resources but does not close the underlying stream.
+ */
+public interface ReportExportWriter extends Closeable {
+
+    void writeHeader(List<String> columns) throws IOException;
+
+    /**
+     * @param values one value per header column; {@code null} is written as an empty cell
+     */
+    void writeRow(List<?> values) throws IOException;
+
+    /**
+     * Completes the document and flushes it to the underlying stream.
+     */
+    void finish() throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * XLSX writer on POI's SXSSF: only the last {@value #ROW_WINDOW} rows of a sheet are kept in
+ * memory, older ones are flushed to a compressed temporary file, and strings are written inline
+ * so no shared-string table grows with the export. A new sheet (repeating the header) is started
+ * whenever one reaches Excel's row limit.
+ */
+public class XlsxReportWriter implements ReportExportWriter {
+
+    static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final int maxRowsPerSheet;
+    private List<String> header;
+    private SXSSFSheet sheet;
+    private int rowsInSheet;
+
+    public XlsxReportWriter(OutputStream out) {
+        this(out, MAX_ROWS_PER_SHEET);
+    }
+
+    XlsxReportWriter(OutputStream out, int maxRowsPerSheet) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.maxRowsPerSheet = maxRowsPerSheet;
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        this.header = List.copyOf(columns);
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(List<?> values) {
+        if (sheet == null || rowsInSheet >= maxRowsPerSheet) {
+            startSheet();
+        }
+        writeCells(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (sheet == null) {
+            startSheet();
+        }
+        // POI closes the stream it writes the workbook to; the caller's stream must stay open
+        workbook.write(new NonClosingOutputStream(out));
+        out.flush();
+    }
+
+    /**
+     * Deletes the temporary sheet files; the caller's stream is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.dispose();
+        } finally {
+            workbook.close();
+        }
+    }
+
+    private void startSheet() {
+        int number = workbook.getNumberOfSheets() + 1;
+        sheet = workbook.createSheet(number == 1 ? "Report" : "Report " + number);
+        rowsInSheet = 0;
+        if (header != null) {
+            writeCells(header);
+        }
+    }
+
+    private void writeCells(List<?> values) {
+        Row row = sheet.createRow(rowsInSheet++);
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Number number && isFinite(number)) {
+                row.createCell(i).setCellValue(number.doubleValue());
+            } else {
+                String text = value.toString();
+                // Excel rejects longer cells
+                row.createCell(i).setCellValue(text.length() > MAX_TEXT_LENGTH
+                        ? text.substring(0, MAX_TEXT_LENGTH)
+                        : text);
+            }
+        }
+    }
+
+    private static boolean isFinite(Number number) {
+        return !(number instanceof Double d && (d.isNaN() || d.isInfinite()))
+                && !(number instanceof Float f && (f.isNaN() || f.isInfinite()));
+    }
+}
@@ -63,6 +63,15 @@ public class ScheduledReport {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Replica currently generating the report; set together with {@link #leaseUntil} when claimed.
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
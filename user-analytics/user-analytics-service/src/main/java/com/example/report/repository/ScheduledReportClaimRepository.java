@@ -0,0 +1,80 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.repository;
+
+import com.example.report.model.ReportFrequency;
+import com.example.report.model.ScheduledReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leases due scheduled reports to one replica at a time. A claim is a single statement that locks
+ * a bounded batch with {@code FOR UPDATE SKIP LOCKED} and stamps it with the owner and a lease
+ * expiry, so replicas polling together never run the same report. A report whose owner died is
+ * claimed again once its lease has expired.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScheduledReportClaimRepository {
+
+    private static final String CLAIM_DUE =
+            "UPDATE scheduled_reports SET lease_owner = ?, lease_until = ? WHERE id IN (" +
+            "SELECT id FROM scheduled_reports " +
+            "WHERE enabled = true AND next_run <= ? AND (lease_until IS NULL OR lease_until < ?) " +
+            "ORDER BY next_run LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, name, template_id, frequency, filters, next_run";
+
+    private static final String COMPLETE =
+            "UPDATE scheduled_reports SET next_run = ?, lease_owner = NULL, lease_until = NULL, updated_at = ? " +
+            "WHERE id = ? AND lease_owner = ?";
+
+    private static final String RELEASE =
+            "UPDATE scheduled_reports SET lease_owner = NULL, lease_until = ? WHERE id = ? AND lease_owner = ?";
+
+    private static final RowMapper<ScheduledReport> ROW_MAPPER = (rs, rowNum) -> ScheduledReport.builder()
+            .id(rs.getString("id"))
+            .userId(rs.getLong("user_id"))
+            .name(rs.getString("name"))
+            .templateId(rs.getString("template_id"))
+            .frequency(ReportFrequency.valueOf(rs.getString("frequency").toUpperCase(Locale.ROOT)))
+            .filters(rs.getString("filters"))
+            .nextRun(rs.getObject("next_run", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims up to {@code limit} enabled reports due at {@code now} for {@code owner} until {@code leaseUntil}.
+     */
+    public List<ScheduledReport> claimDue(String owner, LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        return jdbcTemplate.query(CLAIM_DUE, ROW_MAPPER,
+                owner, Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now), Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * Advances a report to its next run and ends the lease.
+     *
+     * @return false if {@code owner} no longer holds the lease
+     */
+    public boolean complete(String id, String owner, LocalDateTime nextRun, LocalDateTime now) {
+        return jdbcTemplate.update(COMPLETE, Timestamp.valueOf(nextRun), Timestamp.valueOf(now), id, owner) == 1;
+    }
+
+    /**
+     * Ends the lease of a failed run, keeping the report due but unclaimable until {@code retryAt}.
+     */
+    public void release(String id, String owner, LocalDateTime retryAt) {
+        jdbcTemplate.update(RELEASE, Timestamp.valueOf(retryAt), id, owner);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.service;
+
+import com.example.report.dto.ReportDataDTO;
+import com.example.report.dto.ReportFilterDTO;
+import com.example.report.model.ScheduledReport;
+import com.example.report.repository.ScheduledReportClaimRepository;
+import com.example.report.service.impl.ReportsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs due {@link ScheduledReport}s. Each poll leases as many due reports as the bounded worker
+ * queue can take (see {@link ScheduledReportClaimRepository}), generates them on a fixed pool and
+ * saves the result to {@code saved_reports} in the same transaction that advances {@code next_run}.
+ * Reports with the same template and filters in one cache window share a single generated result.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reports.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportScheduler {
+
+    private record ResultKey(String templateId, String filters, long window) {
+    }
+
+    private final ScheduledReportClaimRepository claimRepository;
+    private final ReportsService reportsService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final long cacheWindowMs;
+    private final String owner;
+    private final ThreadPoolExecutor workers;
+    private final Map<ResultKey, CompletableFuture<ReportDataDTO>> results = new ConcurrentHashMap<>();
+    private final Timer lagTimer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public ReportScheduler(ScheduledReportClaimRepository claimRepository,
+                           ReportsService reportsService,
+                           ObjectMapper objectMapper,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${reports.scheduler.worker-threads:4}") int workerThreads,
+                           @Value("${reports.scheduler.batch-size:20}") int batchSize,
+                           @Value("${reports.scheduler.lease-ms:600000}") long leaseMs,
+                           @Value("${reports.scheduler.retry-delay-ms:300000}") long retryDelayMs,
+                           @Value("${reports.scheduler.cache-window-ms:300000}") long cacheWindowMs) {
+        this.claimRepository = claimRepository;
+        this.reportsService = reportsService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+        this.cacheWindowMs = cacheWindowMs;
+        this.owner = System.getenv().getOrDefault("HOSTNAME", "analytics") + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.lagTimer = Timer.builder("reports.scheduled.lag")
+                .description("Delay between a report's next_run and the poll that claimed it")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("reports.scheduled.cache")
+                .tag("result", "hit")
+                .description("Scheduled report generations served from a shared result")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("reports.scheduled.cache")
+                .tag("result", "miss")
+                .description("Scheduled report generations served from a shared result")
+                .register(meterRegistry);
+        Gauge.builder("reports.scheduled.queue", workers, executor -> executor.getQueue().size())
+                .description("Claimed reports waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims due reports and hands them to the workers. Only as many are claimed as the worker
+     * queue has room for, so a lease is never taken for a report that cannot start soon.
+     *
+     * @return number of reports claimed
+     */
+    @Scheduled(fixedDelayString = "${reports.scheduler.poll-interval-ms:60000}",
+            initialDelayString = "${reports.scheduler.initial-delay-ms:30000}")
+    public int runDueReports() {
+        evictExpiredResults();
+
+        int capacity = Math.min(batchSize, workers.getQueue().remainingCapacity());
+        if (capacity == 0) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduledReport> due = claimRepository.claimDue(owner, now, now.plus(lease), capacity);
+        for (ScheduledReport report : due) {
+            if (report.getNextRun() != null) {
+                lagTimer.record(Duration.between(report.getNextRun(), now));
+            }
+            // Cannot be rejected: only this thread submits and the queue had room for the whole claim
+            workers.execute(() -> run(report));
+        }
+        if (!due.isEmpty()) {
+            log.info("Claimed {} due scheduled reports", due.size());
+        }
+        return due.size();
+    }
+
+    void run(ScheduledReport report) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            ReportDataDTO data = generate(report);
+            Boolean completed = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime nextRun = ReportsServiceImpl.calculateNextRun(report.getFrequency(), now);
+                if (!claimRepository.complete(report.getId(), owner, nextRun, now)) {
+                    return false;
+                }
+                reportsService.saveReportForUser(report.getUserId(), withTitle(data, report.getName()));
+                return true;
+            });
+            if (!Boolean.TRUE.equals(completed)) {
+                outcome = "lease_lost";
+                log.warn("Lease on scheduled report {} expired before it finished; result discarded", report.getId());
+            }
+        } catch (Exception e) {
+            outcome = "failure";
+            log.error("Scheduled report {} failed: {}", report.getId(), e.getMessage(), e);
+            claimRepository.release(report.getId(), owner, LocalDateTime.now().plus(retryDelay));
+        } finally {
+            sample.stop(Timer.builder("reports.scheduled.run")
+                    .tag("outcome", outcome)
+                    .description("Time to generate and save one scheduled report")
+                    .register(meterRegistry));
+        }
+    }
+
+    private ReportDataDTO generate(ScheduledReport report) throws JsonProcessingException {
+        ReportFilterDTO filters = report.getFilters() != null
+                ? objectMapper.readValue(report.getFilters(), ReportFilterDTO.class)
+                : new ReportFilterDTO();
+        // Re-serialised so equal filters give equal keys whatever the stored JSON formatting
+        ResultKey key = new ResultKey(report.getTemplateId(), objectMapper.writeValueAsString(filters), currentWindow());
+
+        CompletableFuture<ReportDataDTO> created = new CompletableFuture<>();
+        CompletableFuture<ReportDataDTO> existing = results.putIfAbsent(key, created);
+        if (existing != null) {
+            cacheHits.increment();
+            return existing.join();
+        }
+
+        cacheMisses.increment();
+        try {
+            ReportDataDTO data = reportsService.generateReport(report.getTemplateId(), filters);
+            created.complete(data);
+            return data;
+        } catch (RuntimeException e) {
+            results.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static ReportDataDTO withTitle(ReportDataDTO data, String title) {
+        return ReportDataDTO.builder()
+                .title(title)
+                .type(data.getType())
+                .generatedAt(data.getGeneratedAt())
+                .data(data.getData())
+                .summary(data.getSummary())
+                .build();
+    }
+
+    private long currentWindow() {
+        return System.currentTimeMillis() / cacheWindowMs;
+    }
+
+    private void evictExpiredResults() {
+        long window = currentWindow();
+        results.keySet().removeIf(key -> key.window() < window);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Unfinished leases expire and are picked up by another replica
+            workers.shutdownNow();
+        }
+    }
+}
@@ -6,14 +6,17 @@
 
 package com.example.report.service;
 
-import com.example.activity.model.Activity;
-import com.example.activity.repository.ActivityRepository;
+import com.example.activity.repository.ActivityRollupRepository;
+import com.example.demo.model.RollupWatermark;
 import com.example.demo.model.User;
+import com.example.demo.repository.RollupWatermarkRepository;
+import com.example.demo.util.RollupWindow;
 import com.example.demo.service.UserService;
-import com.example.featureusage.repository.FeatureUsageRepository;
+import com.example.featureusage.repository.FeatureUsageRollupRepository;
 import com.example.demo.repository.UserRepository;
-import com.example.featureusage.model.FeatureUsage;
 import com.example.report.dto.*;
+import com.example.report.export.ReportExportFormat;
+import com.example.report.export.ReportExportWriter;
 import com.example.report.model.ReportFrequency;
 import com.example.report.model.SavedReport;
 import com.example.report.model.ScheduledReport;
@@ -24,11 +27,17 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,12 +53,16 @@ public class ReportsServiceImpl implements ReportsService {
 
     private final UserRepository userRepository;
     private final UserService userService;
-    private final FeatureUsageRepository featureUsageRepository;
-    private final ActivityRepository activityRepository;
+    private final ActivityRollupRepository activityRollupRepository;
+    private final FeatureUsageRollupRepository featureUsageRollupRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
     private final com.example.report.repository.SavedReportRepository savedReportRepository;
     private final ScheduledReportRepository scheduledReportRepository;
     private final ObjectMapper objectMapper;
 
+    @Value("${reports.export.fetch-size:1000}")
+    private int exportFetchSize;
+
     @Override
     public List<ReportTemplateDTO> getReportTemplates() {
         return Arrays.asList(
@@ -108,40 +121,36 @@ public class ReportsServiceImpl implements ReportsService {
         LocalDateTime start = parseDate(startDate);
         LocalDateTime end = parseDate(endDate);
 
-        List<Activity> activities = activityRepository.findByTimestampBetween(start, end);
-
-        // Group by user
-        Map<String, Long> userActivityCounts = activities.stream()
-                .collect(Collectors.groupingBy(
-                        a -> a.getUsername(),
-                        Collectors.counting()
-                ));
-
-        List<Map<String, Object>> reportData = userActivityCounts.entrySet().stream()
-                .map(entry -> {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("username", entry.getKey());
-                    row.put("activityCount", entry.getValue());
-                    row.put("lastActivity", activities.stream()
-                            .filter(a -> a.getUsername().equals(entry.getKey()))
-                            .max(Comparator.comparing(Activity::getTimestamp))
-                            .map(a -> a.getTimestamp().toString())
-                            .orElse("N/A"));
-                    return row;
-                })
-                .sorted((a, b) -> ((Long)b.get("activityCount")).compareTo((Long)a.get("activityCount")))
-                .collect(Collectors.toList());
+        // Grouping, counting and MAX(timestamp) are done by the database over the daily
+        // rollup plus the raw rows not rolled up yet, so only one row per user is loaded
+        RollupWindow window = RollupWindow.of(start, end,
+                rollupWatermarkRepository.findRolledUpThrough(RollupWatermark.ACTIVITY));
+        List<Object[]> userSummaries = activityRollupRepository.getUserActivitySummary(window);
+
+        long totalActivities = 0;
+        List<Map<String, Object>> reportData = new ArrayList<>(userSummaries.size());
+        for (Object[] summaryRow : userSummaries) {
+            long activityCount = ((Number) summaryRow[1]).longValue();
+            totalActivities += activityCount;
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("username", summaryRow[0]);
+            row.put("activityCount", activityCount);
+            row.put("lastActivity", summaryRow[2] != null ? summaryRow[2].toString() : "N/A");
+            reportData.add(row);
+        }
+
+        double averagePerUser = totalActivities / (double) Math.max(reportData.size(), 1);
 
         // Calculate summary
         ReportSummaryDTO summary = ReportSummaryDTO.builder()
                 .totalRecords(reportData.size())
-                .totalValue((double) activities.size())
-                .averageValue(activities.size() / (double) Math.max(reportData.size(), 1))
+                .totalValue((double) totalActivities)
+                .averageValue(averagePerUser)
                 .highlights(Arrays.asList(
-                        String.format("Total activities: %d", activities.size()),
+                        String.format("Total activities: %d", totalActivities),
                         String.format("Active users: %d", reportData.size()),
-                        String.format("Average activities per user: %.2f",
-                                activities.size() / (double) Math.max(reportData.size(), 1))
+                        String.format("Average activities per user: %.2f", averagePerUser)
                 ))
                 .build();
 
@@ -159,32 +168,30 @@ public class ReportsServiceImpl implements ReportsService {
         LocalDateTime start = parseDate(startDate);
         LocalDateTime end = parseDate(endDate);
 
-        List<FeatureUsage> usageData = featureUsageRepository.findByTimestampBetween(start, end);
-
-        Map<String, Long> featureCounts = usageData.stream()
-                .collect(Collectors.groupingBy(
-                        FeatureUsage::getFeatureName,
-                        Collectors.counting()
-                ));
-
-        List<Map<String, Object>> reportData = featureCounts.entrySet().stream()
-                .map(entry -> {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("feature", entry.getKey());
-                    row.put("usageCount", entry.getValue());
-                    row.put("uniqueUsers", usageData.stream()
-                            .filter(u -> u.getFeatureName().equals(entry.getKey()))
-                            .map(FeatureUsage::getUserId)
-                            .distinct()
-                            .count());
-                    return row;
-                })
-                .sorted((a, b) -> ((Long)b.get("usageCount")).compareTo((Long)a.get("usageCount")))
-                .collect(Collectors.toList());
+        RollupWindow window = RollupWindow.of(start, end,
+                rollupWatermarkRepository.findRolledUpThrough(RollupWatermark.FEATURE_USAGE));
+        List<Object[]> featureSummaries = featureUsageRollupRepository.getFeatureUsageSummary(window);
+        Map<String, Long> uniqueUsers = new HashMap<>();
+        for (Object[] data : featureUsageRollupRepository.getUniqueUsersPerFeature(window)) {
+            uniqueUsers.put((String) data[0], (Long) data[1]);
+        }
+
+        long totalUsage = 0;
+        List<Map<String, Object>> reportData = new ArrayList<>(featureSummaries.size());
+        for (Object[] summaryRow : featureSummaries) {
+            long usageCount = ((Number) summaryRow[1]).longValue();
+            totalUsage += usageCount;
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("feature", summaryRow[0]);
+            row.put("usageCount", usageCount);
+            row.put("uniqueUsers", uniqueUsers.getOrDefault((String) summaryRow[0], 0L));
+            reportData.add(row);
+        }
 
         ReportSummaryDTO summary = ReportSummaryDTO.builder()
                 .totalRecords(reportData.size())
-                .totalValue((double) usageData.size())
+                .totalValue((double) totalUsage)
                 .build();
 
         return ReportDataDTO.builder()
@@ -220,49 +227,79 @@ public class ReportsServiceImpl implements ReportsService {
 
     @Override
     public byte[] exportReport(ReportDataDTO reportData, String format) {
-        return switch (format.toLowerCase()) {
-            case "csv" -> exportToCsv(reportData);
-            case "pdf" -> exportToPdf(reportData);
-            case "excel" -> exportToExcel(reportData);
-            default -> throw new IllegalArgumentException("Unsupported format: " + format);
-        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            exportReport(reportData, format, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
     }
 
-    private byte[] exportToCsv(ReportDataDTO reportData) {
-        StringBuilder csv = new StringBuilder();
-
-        if (!reportData.getData().isEmpty()) {
-            // Headers
-            Map<String, Object> first = reportData.getData().get(0);
-            csv.append(String.join(",", first.keySet())).append("\n");
-
-            // Data
-            for (Map<String, Object> row : reportData.getData()) {
-                csv.append(row.values().stream()
-                        .map(Object::toString)
-                        .collect(Collectors.joining(","))).append("\n");
+    @Override
+    public void exportReport(ReportDataDTO reportData, String format, OutputStream out) throws IOException {
+        List<Map<String, Object>> rows = reportData.getData() != null ? reportData.getData() : List.of();
+        // Column order is taken from the first row; later rows are read by key
+        List<String> columns = rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+
+        try (ReportExportWriter writer = ReportExportFormat.of(format).open(out, reportData.getTitle())) {
+            if (!columns.isEmpty()) {
+                writer.writeHeader(columns);
+            }
+            for (Map<String, Object> row : rows) {
+                writer.writeRow(columns.stream().map(row::get).toList());
             }
+            writer.finish();
         }
-
-        return csv.toString().getBytes();
     }
 
-    private byte[] exportToPdf(ReportDataDTO reportData) {
-        // Implement PDF generation using iText or similar
-        return new byte[0];
-    }
+    /**
+     * User activity is read from a database cursor and written row by row, so neither the
+     * result set nor the document is held in memory. Other templates are small and are
+     * generated first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTemplate(String templateId, ReportFilterDTO filters, String format, OutputStream out)
+            throws IOException {
+        if (!"user-activity".equals(templateId)) {
+            exportReport(generateReport(templateId, filters), format, out);
+            return;
+        }
 
-    private byte[] exportToExcel(ReportDataDTO reportData) {
-        // Implement Excel generation using Apache POI
-        return new byte[0];
+        RollupWindow window = RollupWindow.of(parseDate(filters.getStartDate()), parseDate(filters.getEndDate()),
+                rollupWatermarkRepository.findRolledUpThrough(RollupWatermark.ACTIVITY));
+        try (ReportExportWriter writer = ReportExportFormat.of(format).open(out, "User Activity Report")) {
+            writer.writeHeader(List.of("username", "activityCount", "lastActivity"));
+            try {
+                activityRollupRepository.streamUserActivitySummary(window, exportFetchSize, rs -> {
+                    LocalDateTime lastActivity = rs.getObject(3, LocalDateTime.class);
+                    try {
+                        writer.writeRow(Arrays.asList(rs.getString(1), rs.getLong(2),
+                                lastActivity != null ? lastActivity.toString() : "N/A"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; stop reading the cursor
+                throw e.getCause();
+            }
+            writer.finish();
+        }
     }
 
     @Override
     public SavedReportDTO saveReport(ReportDataDTO reportData) {
+        return saveReportForUser(getCurrentUserId(), reportData);
+    }
+
+    @Override
+    public SavedReportDTO saveReportForUser(Long userId, ReportDataDTO reportData) {
         try {
             SavedReport entity = new SavedReport();
             entity.setId(UUID.randomUUID().toString());
-            entity.setUserId(getCurrentUserId()); // Get from security context
+            entity.setUserId(userId);
             entity.setTitle(reportData.getTitle());
             entity.setType(reportData.getType());
 
@@ -474,8 +511,10 @@ public class ReportsServiceImpl implements ReportsService {
     }
 
     private LocalDateTime calculateNextRun(ReportFrequency frequency) {
-        LocalDateTime now = LocalDateTime.now();
+        return calculateNextRun(frequency, LocalDateTime.now());
+    }
 
+    static LocalDateTime calculateNextRun(ReportFrequency frequency, LocalDateTime now) {
         return switch (frequency) {
             case DAILY -> now.plusDays(1).withHour(9).withMinute(0).withSecond(0);
             case WEEKLY -> now.plusWeeks(1).with(DayOfWeek.MONDAY).withHour(9).withMinute(0).withSecond(0);
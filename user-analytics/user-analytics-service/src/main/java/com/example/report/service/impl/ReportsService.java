@@ -8,6 +8,8 @@ package com.example.report.service.impl;
 
 import com.example.report.dto.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReportsService {
@@ -26,8 +28,23 @@ public interface ReportsService {
 
     byte[] exportReport(ReportDataDTO reportData, String format);
 
+    /**
+     * Writes the report rows to {@code out} in the given format without buffering the document.
+     */
+    void exportReport(ReportDataDTO reportData, String format, OutputStream out) throws IOException;
+
+    /**
+     * Generates a report from a template and streams it to {@code out} in the given format.
+     */
+    void exportTemplate(String templateId, ReportFilterDTO filters, String format, OutputStream out) throws IOException;
+
     SavedReportDTO saveReport(ReportDataDTO reportData);
 
+    /**
+     * Saves a report on behalf of a user outside a request, e.g. for a scheduled report.
+     */
+    SavedReportDTO saveReportForUser(Long userId, ReportDataDTO reportData);
+
     List<SavedReportDTO> getSavedReports();
 
     void deleteReport(String id);
@@ -0,0 +1,118 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.repository;
+
+import com.example.activity.dto.ActivityCursor;
+import com.example.activity.dto.ActivityDTO;
+import com.example.activity.dto.ActivityFilter;
+import com.example.activity.model.Activity;
+import com.example.activity.model.ActivityType;
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import(ActivityKeysetRepository.class)
+class ActivityKeysetRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ActivityKeysetRepository activityKeysetRepository;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @Test
+    void findPage_shouldWalkAllRowsNewestFirstWithoutDuplicates() {
+
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Activity activity = createActivity(i % 2 == 0 ? ActivityType.LOGIN : ActivityType.VIEW);
+            entityManager.persist(activity);
+            expectedIds.add(0, activity.getId());
+        }
+        entityManager.flush();
+
+        ActivityFilter filter = ActivityFilter.builder().startDate(start).build();
+        List<Long> seenIds = new ArrayList<>();
+        ActivityCursor cursor = null;
+        do {
+            List<ActivityDTO> page = activityKeysetRepository.findPage(filter, cursor, 2);
+            page.forEach(activity -> seenIds.add(activity.getId()));
+            ActivityDTO last = page.isEmpty() ? null : page.get(page.size() - 1);
+            cursor = page.size() < 2 ? null : new ActivityCursor(last.getTimestamp(), last.getId());
+        } while (cursor != null);
+
+        assertThat(seenIds).containsExactlyElementsOf(expectedIds);
+    }
+
+    @Test
+    void streamAll_shouldApplyTypeAndUserFilters() {
+
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        entityManager.persist(createActivity(ActivityType.LOGIN));
+        entityManager.persist(createActivity(ActivityType.LOGIN));
+        entityManager.persist(createActivity(ActivityType.LOGOUT));
+        entityManager.flush();
+
+        ActivityFilter filter = ActivityFilter.builder()
+                .userId(1L)
+                .type(ActivityType.LOGIN)
+                .startDate(start)
+                .build();
+        List<ActivityDTO> streamed = new ArrayList<>();
+        activityKeysetRepository.streamAll(filter, 1, streamed::add);
+
+        assertThat(streamed).hasSize(2);
+        assertThat(streamed).extracting(ActivityDTO::getType).containsOnly(ActivityType.LOGIN);
+    }
+
+    private Activity createActivity(ActivityType type) {
+        Activity activity = new Activity();
+        activity.setUserId(1L);
+        activity.setUsername("testuser");
+        activity.setType(type);
+        activity.setDescription("Test activity");
+        activity.setTimestamp(LocalDateTime.now());
+        return activity;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.repository;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.util.RollupWindow;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The user activity summary must not depend on which days are read from activity_daily and
+ * which from raw user_activity rows. The fixtures live in March 2020, away from other data.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import(ActivityRollupRepository.class)
+class ActivityRollupRepositoryTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2020, 3, 1);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+
+    @Autowired
+    private ActivityRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void seedActivity() {
+        insertActivity("rollup-ada", "LOGIN", DAY_1.atTime(9, 0));
+        insertActivity("rollup-ada", "LOGOUT", DAY_1.atTime(17, 0));
+        insertActivity("rollup-grace", "LOGIN", DAY_1.atTime(10, 0));
+        insertActivity("rollup-ada", "LOGIN", DAY_2.atTime(8, 30));
+        rollupRepository.rollUpDay(DAY_1);
+    }
+
+    @Test
+    void rollUpDay_shouldCountEachUserAndTypeOfTheDay() {
+        rollupRepository.rollUpDay(DAY_1);
+
+        assertThat(jdbcTemplate.queryForList("SELECT username, type, activity_count FROM activity_daily " +
+                "WHERE activity_date = ? ORDER BY username, type", DAY_1))
+                .extracting(row -> row.get("username") + "/" + row.get("type") + "=" + row.get("activity_count"))
+                .containsExactly("rollup-ada/LOGIN=1", "rollup-ada/LOGOUT=1", "rollup-grace/LOGIN=1");
+    }
+
+    @Test
+    void getUserActivitySummary_shouldMatchTheRawRows() {
+        RollupWindow split = RollupWindow.of(DAY_1.atStartOfDay(), DAY_2.atTime(23, 59, 59), DAY_1);
+        RollupWindow raw = RollupWindow.of(DAY_1.atStartOfDay(), DAY_2.atTime(23, 59, 59), null);
+        assertThat(split.hasRollupDays()).isTrue();
+
+        for (RollupWindow window : List.of(split, raw)) {
+            List<Object[]> summary = rollupRepository.getUserActivitySummary(window);
+
+            assertThat(summary).hasSize(2);
+            assertThat(summary.get(0)).containsExactly("rollup-ada", 3L, DAY_2.atTime(8, 30));
+            assertThat(summary.get(1)).containsExactly("rollup-grace", 1L, DAY_1.atTime(10, 0));
+        }
+    }
+
+    @Test
+    void streamUserActivitySummary_shouldReturnTheSameRowsThroughACursor() {
+        RollupWindow window = RollupWindow.of(DAY_1.atStartOfDay(), DAY_2.atTime(23, 59, 59), DAY_1);
+        List<String> streamed = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.streamUserActivitySummary(window, 1,
+                rs -> streamed.add(rs.getString(1) + "=" + rs.getLong(2))));
+
+        assertThat(streamed).containsExactly("rollup-ada=3", "rollup-grace=1");
+    }
+
+    private void insertActivity(String username, String type, LocalDateTime at) {
+        jdbcTemplate.update("INSERT INTO user_activity (username, type, description, timestamp) VALUES (?, ?, ?, ?)",
+                username, type, "Rollup test", Timestamp.valueOf(at));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.service;
+
+import com.example.activity.model.ActivityType;
+import com.example.activity.service.ActivityIngestionQueue.OverflowPolicy;
+import com.example.demo.testutil.ActivityTestDataBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityIngestionQueueTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ActivityStatsCache activityStatsCache;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void submit_shouldDropWhenQueueIsFull() {
+
+        ActivityIngestionQueue queue = createQueue(2, OverflowPolicy.DROP);
+
+        assertThat(queue.submit(new ActivityTestDataBuilder().build())).isTrue();
+        assertThat(queue.submit(new ActivityTestDataBuilder().build())).isTrue();
+        assertThat(queue.submit(new ActivityTestDataBuilder().build())).isFalse();
+
+        assertThat(queue.getQueueDepth()).isEqualTo(2);
+        assertThat(meterRegistry.get("activity.ingestion.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("activity.ingestion.queue.depth").gauge().value()).isEqualTo(2.0);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void submit_withBlockPolicy_shouldDropAfterTimeout() {
+
+        ActivityIngestionQueue queue = createQueue(1, OverflowPolicy.BLOCK);
+
+        assertThat(queue.submit(new ActivityTestDataBuilder().build())).isTrue();
+        assertThat(queue.submit(new ActivityTestDataBuilder().build())).isFalse();
+
+        assertThat(meterRegistry.get("activity.ingestion.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_shouldFlushBufferedActivitiesInBatches() {
+
+        ActivityIngestionQueue queue = createQueue(10, OverflowPolicy.DROP);
+        for (int i = 0; i < 5; i++) {
+            queue.submit(new ActivityTestDataBuilder().build());
+        }
+
+        queue.stop();
+
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(ActivityIngestionQueue.INSERT_SQL),
+                anyList(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(queue.getQueueDepth()).isZero();
+        assertThat(meterRegistry.get("activity.ingestion.written").counter().count()).isEqualTo(5.0);
+        verify(activityStatsCache, times(2)).increment(ActivityType.LOGIN, 2L);
+        verify(activityStatsCache).increment(ActivityType.LOGIN, 1L);
+    }
+
+    private ActivityIngestionQueue createQueue(int capacity, OverflowPolicy policy) {
+        return new ActivityIngestionQueue(jdbcTemplate, activityStatsCache, meterRegistry, capacity, 2, policy, 0.1, 10, 100);
+    }
+}
@@ -6,10 +6,14 @@
 
 package com.example.activity.service;
 
+import com.example.activity.dto.ActivityCursor;
+import com.example.activity.dto.ActivityFilter;
+import com.example.activity.dto.ActivityPageDTO;
 import com.example.activity.dto.ActivityStatsDTO;
 import com.example.activity.dto.ActivityDTO;
 import com.example.activity.model.Activity;
 import com.example.activity.model.ActivityType;
+import com.example.activity.repository.ActivityKeysetRepository;
 import com.example.activity.repository.ActivityRepository;
 import com.example.demo.testutil.ActivityTestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +29,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +38,12 @@ class ActivityServiceTest {
     @Mock
     private ActivityRepository activityRepository;
 
+    @Mock
+    private ActivityKeysetRepository activityKeysetRepository;
+
+    @Mock
+    private ActivityStatsCache activityStatsCache;
+
     @InjectMocks
     private ActivityService activityService;
 
@@ -100,6 +111,7 @@ class ActivityServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo("testuser");
         verify(activityRepository).save(any(Activity.class));
+        verify(activityStatsCache).incrementAfterCommit(ActivityType.LOGIN);
     }
 
     @Test
@@ -113,18 +125,17 @@ class ActivityServiceTest {
 
 
         verify(activityRepository).deleteById(activityId);
+        verify(activityStatsCache).invalidate();
     }
 
     @Test
     void getActivityStats_shouldReturnCorrectStats() {
 
-        when(activityRepository.count()).thenReturn(100L);
-        when(activityRepository.countByType(ActivityType.LOGIN)).thenReturn(25L);
-        when(activityRepository.countByType(ActivityType.LOGOUT)).thenReturn(20L);
-        when(activityRepository.countByType(ActivityType.CREATE)).thenReturn(15L);
-        when(activityRepository.countByType(ActivityType.UPDATE)).thenReturn(30L);
-        when(activityRepository.countByType(ActivityType.DELETE)).thenReturn(5L);
-        when(activityRepository.countByType(ActivityType.VIEW)).thenReturn(5L);
+        when(activityStatsCache.getStats()).thenReturn(ActivityStatsDTO.builder()
+                .totalActivities(100L)
+                .loginCount(25L)
+                .logoutCount(20L)
+                .build());
 
 
         ActivityStatsDTO result = activityService.getActivityStats();
@@ -132,5 +143,52 @@ class ActivityServiceTest {
         assertThat(result.getTotalActivities()).isEqualTo(100L);
         assertThat(result.getLoginCount()).isEqualTo(25L);
         assertThat(result.getLogoutCount()).isEqualTo(20L);
+        verifyNoInteractions(activityRepository);
+    }
+
+    @Test
+    void getActivitiesPage_shouldReturnCursorWhenMoreRowsExist() {
+
+        ActivityFilter filter = ActivityFilter.builder().userId(1L).build();
+        LocalDateTime now = LocalDateTime.now();
+        List<ActivityDTO> rows = Arrays.asList(
+                ActivityDTO.builder().id(3L).timestamp(now).build(),
+                ActivityDTO.builder().id(2L).timestamp(now.minusMinutes(1)).build(),
+                ActivityDTO.builder().id(1L).timestamp(now.minusMinutes(2)).build());
+        when(activityKeysetRepository.findPage(eq(filter), isNull(), eq(3))).thenReturn(rows);
+
+
+        ActivityPageDTO page = activityService.getActivitiesPage(filter, null, 2);
+
+
+        assertThat(page.getItems()).extracting(ActivityDTO::getId).containsExactly(3L, 2L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(ActivityCursor.decode(page.getNextCursor()))
+                .isEqualTo(new ActivityCursor(now.minusMinutes(1), 2L));
+    }
+
+    @Test
+    void getActivitiesPage_shouldSeekPastCursorOnLastPage() {
+
+        ActivityFilter filter = new ActivityFilter();
+        ActivityCursor cursor = new ActivityCursor(LocalDateTime.now(), 10L);
+        when(activityKeysetRepository.findPage(filter, cursor, 51))
+                .thenReturn(Arrays.asList(activityDTO));
+
+
+        ActivityPageDTO page = activityService.getActivitiesPage(filter, cursor.encode(), 50);
+
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getActivitiesPage_shouldRejectMalformedCursor() {
+
+        assertThatThrownBy(() -> activityService.getActivitiesPage(new ActivityFilter(), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(activityKeysetRepository);
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.activity.service;
+
+import com.example.activity.dto.ActivityStatsDTO;
+import com.example.activity.model.ActivityType;
+import com.example.activity.repository.ActivityRepository;
+import com.example.activity.service.ActivityStatsCache.QueryMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityStatsCacheTest {
+
+    @Mock
+    private ActivityRepository activityRepository;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getStats_shouldUseSingleGroupedQuery() {
+
+        when(activityRepository.getActivityTypeCounts()).thenReturn(List.of(
+                new Object[]{ActivityType.LOGIN, 25L},
+                new Object[]{ActivityType.LOGOUT, 20L},
+                new Object[]{ActivityType.CREATE, 15L},
+                new Object[]{ActivityType.UPDATE, 30L},
+                new Object[]{ActivityType.DELETE, 5L},
+                new Object[]{ActivityType.VIEW, 5L}));
+        ActivityStatsCache cache = createCache(QueryMode.GROUPED);
+
+
+        ActivityStatsDTO result = cache.getStats();
+
+
+        assertThat(result.getTotalActivities()).isEqualTo(100L);
+        assertThat(result.getLoginCount()).isEqualTo(25L);
+        assertThat(result.getLogoutCount()).isEqualTo(20L);
+        assertThat(result.getViewCount()).isEqualTo(5L);
+        verify(activityRepository, times(1)).getActivityTypeCounts();
+        verifyNoMoreInteractions(activityRepository);
+        assertThat(timerCount("grouped-query")).isEqualTo(1L);
+    }
+
+    @Test
+    void getStats_perTypeModeShouldMatchGroupedResult() {
+
+        when(activityRepository.countByType(any(ActivityType.class))).thenReturn(0L);
+        when(activityRepository.countByType(ActivityType.LOGIN)).thenReturn(25L);
+        when(activityRepository.countByType(ActivityType.UPDATE)).thenReturn(30L);
+        ActivityStatsCache cache = createCache(QueryMode.PER_TYPE);
+
+
+        ActivityStatsDTO result = cache.getStats();
+
+
+        assertThat(result.getTotalActivities()).isEqualTo(55L);
+        assertThat(result.getUpdateCount()).isEqualTo(30L);
+        verify(activityRepository, times(ActivityType.values().length)).countByType(any(ActivityType.class));
+        assertThat(timerCount("per-type-queries")).isEqualTo(1L);
+    }
+
+    @Test
+    void getStats_shouldServeIncrementsFromCacheWithinBucket() {
+
+        when(activityRepository.getActivityTypeCounts())
+                .thenReturn(List.<Object[]>of(new Object[]{ActivityType.LOGIN, 2L}));
+        ActivityStatsCache cache = createCache(QueryMode.GROUPED);
+        cache.getStats();
+
+
+        cache.incrementAfterCommit(ActivityType.LOGIN);
+        cache.increment(ActivityType.VIEW, 3L);
+        ActivityStatsDTO result = cache.getStats();
+
+
+        assertThat(result.getLoginCount()).isEqualTo(3L);
+        assertThat(result.getViewCount()).isEqualTo(3L);
+        assertThat(result.getTotalActivities()).isEqualTo(6L);
+        verify(activityRepository, times(1)).getActivityTypeCounts();
+        assertThat(timerCount("cache")).isEqualTo(1L);
+    }
+
+    @Test
+    void invalidate_shouldReloadOnNextRead() {
+
+        when(activityRepository.getActivityTypeCounts())
+                .thenReturn(List.<Object[]>of(new Object[]{ActivityType.LOGIN, 2L}))
+                .thenReturn(List.of());
+        ActivityStatsCache cache = createCache(QueryMode.GROUPED);
+        cache.getStats();
+
+
+        cache.invalidate();
+        ActivityStatsDTO result = cache.getStats();
+
+
+        assertThat(result.getTotalActivities()).isZero();
+        verify(activityRepository, times(2)).getActivityTypeCounts();
+    }
+
+    private ActivityStatsCache createCache(QueryMode queryMode) {
+        // A bucket this wide never rolls over during a test
+        return new ActivityStatsCache(activityRepository, meterRegistry, Long.MAX_VALUE, queryMode);
+    }
+
+    private long timerCount(String source) {
+        return meterRegistry.get("activity.stats").tag("source", source).timer().count();
+    }
+}
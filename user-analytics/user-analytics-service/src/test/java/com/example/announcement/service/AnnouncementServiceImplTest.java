@@ -13,6 +13,7 @@ import com.example.announcement.model.UserAnnouncementRead;
 import com.example.announcement.repository.AnnouncementRepository;
 import com.example.announcement.repository.UserAnnouncementReadRepository;
 import com.example.demo.model.User;
+import com.example.demo.service.ReadStateCache;
 import com.example.demo.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -43,6 +45,9 @@ class AnnouncementServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private ReadStateCache readStateCache = new ReadStateCache(60_000, 100);
+
     @InjectMocks
     private AnnouncementServiceImpl announcementService;
 
@@ -85,8 +90,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.findAllByOrderByDateDesc())
                 .thenReturn(Arrays.asList(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         List<AnnouncementDTO> result = announcementService.getAllAnnouncements();
@@ -123,8 +128,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.findById(announcementId))
                 .thenReturn(Optional.of(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         AnnouncementDTO result = announcementService.getAnnouncementById(announcementId);
@@ -168,8 +173,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.findByPriorityOrderByDateDesc(priority))
                 .thenReturn(Arrays.asList(urgentAnnouncement));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         List<AnnouncementDTO> result = announcementService.getAnnouncementsByPriority(priority);
@@ -188,8 +193,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.findByCategory(category))
                 .thenReturn(Arrays.asList(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         List<AnnouncementDTO> result = announcementService.getAnnouncementsByCategory(category);
@@ -206,8 +211,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.findActiveNonExpired(any(LocalDateTime.class)))
                 .thenReturn(Arrays.asList(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         List<AnnouncementDTO> result = announcementService.getActiveAnnouncements();
@@ -222,10 +227,8 @@ class AnnouncementServiceImplTest {
     void getUnreadAnnouncements_shouldReturnUnreadOnly() {
         // Given
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
-        when(announcementRepository.findAllByOrderByDateDesc())
+        when(announcementRepository.findUnreadByUserId(testUser.getId()))
                 .thenReturn(Arrays.asList(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), announcement.getId()))
-                .thenReturn(false);
 
         // When
         List<AnnouncementDTO> result = announcementService.getUnreadAnnouncements();
@@ -233,28 +236,16 @@ class AnnouncementServiceImplTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getIsRead()).isFalse();
+        verify(readRepository, never()).findReadStateByUserId(anyLong());
     }
 
     @Test
     @DisplayName("getUnreadAnnouncements - Should filter out read announcements")
     void getUnreadAnnouncements_shouldFilterReadAnnouncements() {
         // Given
-        Announcement readAnnouncement = Announcement.builder()
-                .id(2L)
-                .title("Read Announcement")
-                .body("Body")
-                .date(new Date())
-                .priority(AnnouncementPriority.LOW)
-                .category(AnnouncementCategory.GENERAL)
-                .build();
-
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
-        when(announcementRepository.findAllByOrderByDateDesc())
-                .thenReturn(Arrays.asList(announcement, readAnnouncement));
-        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), announcement.getId()))
-                .thenReturn(false);
-        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), readAnnouncement.getId()))
-                .thenReturn(true);
+        when(announcementRepository.findUnreadByUserId(testUser.getId()))
+                .thenReturn(Arrays.asList(announcement));
 
         // When
         List<AnnouncementDTO> result = announcementService.getUnreadAnnouncements();
@@ -262,6 +253,7 @@ class AnnouncementServiceImplTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(announcement.getId());
+        verify(announcementRepository, never()).findAllByOrderByDateDesc();
     }
 
     @Test
@@ -272,8 +264,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.searchAnnouncements(query))
                 .thenReturn(Arrays.asList(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         List<AnnouncementDTO> result = announcementService.searchAnnouncements(query);
@@ -288,11 +280,8 @@ class AnnouncementServiceImplTest {
     @DisplayName("createAnnouncement - Should create and return new announcement")
     void createAnnouncement_validData_shouldCreateAnnouncement() {
         // Given
-        when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.save(any(Announcement.class)))
                 .thenReturn(announcement);
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
 
         // When
         AnnouncementDTO result = announcementService.createAnnouncement(announcementDTO);
@@ -321,8 +310,8 @@ class AnnouncementServiceImplTest {
                 .thenReturn(Optional.of(announcement));
         when(announcementRepository.save(any(Announcement.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         AnnouncementDTO result = announcementService.updateAnnouncement(announcementId, updateDTO);
@@ -380,6 +369,7 @@ class AnnouncementServiceImplTest {
         // Then
         verify(readRepository).existsByUserIdAndAnnouncementId(testUser.getId(), announcementId);
         verify(readRepository).save(any(UserAnnouncementRead.class));
+        verify(readStateCache).invalidate(ReadStateCache.ANNOUNCEMENTS, testUser.getId());
     }
 
     @Test
@@ -413,19 +403,16 @@ class AnnouncementServiceImplTest {
                 .build();
 
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
-        when(announcementRepository.findAll())
+        when(announcementRepository.findUnreadByUserId(testUser.getId()))
                 .thenReturn(Arrays.asList(announcement, announcement2));
-        when(readRepository.existsByUserIdAndAnnouncementId(eq(testUser.getId()), anyLong()))
-                .thenReturn(false);
-        when(readRepository.save(any(UserAnnouncementRead.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         announcementService.markAllAsRead();
 
         // Then
-        verify(announcementRepository).findAll();
-        verify(readRepository, times(2)).save(any(UserAnnouncementRead.class));
+        verify(announcementRepository).findUnreadByUserId(testUser.getId());
+        verify(readRepository).saveAll(argThat(reads -> ((List<?>) reads).size() == 2));
+        verify(readRepository, never()).existsByUserIdAndAnnouncementId(anyLong(), anyLong());
     }
 
     @Test
@@ -433,16 +420,14 @@ class AnnouncementServiceImplTest {
     void markAllAsRead_someAlreadyRead_shouldSkipRead() {
         // Given
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
-        when(announcementRepository.findAll())
-                .thenReturn(Arrays.asList(announcement));
-        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), announcement.getId()))
-                .thenReturn(true);
+        when(announcementRepository.findUnreadByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList());
 
         // When
         announcementService.markAllAsRead();
 
         // Then
-        verify(readRepository, never()).save(any(UserAnnouncementRead.class));
+        verify(readRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -461,10 +446,8 @@ class AnnouncementServiceImplTest {
         when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.findAllByOrderByDateDesc())
                 .thenReturn(Arrays.asList(announcement, readAnnouncement));
-        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), announcement.getId()))
-                .thenReturn(false);
-        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), readAnnouncement.getId()))
-                .thenReturn(true);
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(List.<Object[]>of(new Object[]{readAnnouncement.getId(), LocalDateTime.now()}));
 
         // When
         List<AnnouncementDTO> result = announcementService.getAllAnnouncements();
@@ -479,11 +462,8 @@ class AnnouncementServiceImplTest {
     @DisplayName("createAnnouncement - Should handle date parsing")
     void createAnnouncement_shouldParseDateCorrectly() {
         // Given
-        when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
         when(announcementRepository.save(any(Announcement.class)))
                 .thenReturn(announcement);
-        when(readRepository.existsByUserIdAndAnnouncementId(anyLong(), anyLong()))
-                .thenReturn(false);
 
         // When
         AnnouncementDTO result = announcementService.createAnnouncement(announcementDTO);
@@ -492,4 +472,30 @@ class AnnouncementServiceImplTest {
         assertThat(result).isNotNull();
         verify(announcementRepository).save(any(Announcement.class));
     }
+
+    @Test
+    @DisplayName("getAllAnnouncements - Should reload read state after markAsRead")
+    void getAllAnnouncements_afterMarkAsRead_shouldReloadReadState() {
+        // Given
+        when(userService.getAuthenticatedUser()).thenReturn(Optional.of(testUser));
+        when(announcementRepository.findAllByOrderByDateDesc())
+                .thenReturn(Arrays.asList(announcement));
+        when(readRepository.findReadStateByUserId(testUser.getId()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.<Object[]>of(new Object[]{announcement.getId(), LocalDateTime.now()}));
+        when(readRepository.existsByUserIdAndAnnouncementId(testUser.getId(), announcement.getId()))
+                .thenReturn(false);
+
+        // When
+        List<AnnouncementDTO> before = announcementService.getAllAnnouncements();
+        List<AnnouncementDTO> cached = announcementService.getAllAnnouncements();
+        announcementService.markAsRead(announcement.getId());
+        List<AnnouncementDTO> after = announcementService.getAllAnnouncements();
+
+        // Then
+        assertThat(before.get(0).getIsRead()).isFalse();
+        assertThat(cached.get(0).getIsRead()).isFalse();
+        assertThat(after.get(0).getIsRead()).isTrue();
+        verify(readRepository, times(2)).findReadStateByUserId(testUser.getId());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.announcement.service;
+
+import com.example.announcement.dto.AnnouncementDTO;
+import com.example.announcement.model.UserAnnouncementRead;
+import com.example.announcement.service.impl.AnnouncementService;
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.User;
+import com.example.demo.service.UserService;
+import com.example.demo.testutil.AnnouncementTestDataBuilder;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the statements Hibernate prepares while listing announcements, so a per-row lookup
+ * shows up however the repositories are wired.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AnnouncementServiceQueryCountTest {
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private User user;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persistAndFlush(new User.Builder()
+                .username("announcement-reader")
+                .email("announcement-reader@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+        when(userService.getAuthenticatedUser()).thenReturn(Optional.of(user));
+    }
+
+    @ParameterizedTest(name = "{0} announcements")
+    @ValueSource(ints = {1, 10, 100})
+    void getAllAnnouncements_shouldIssueTwoStatementsRegardlessOfSize(int size) {
+        Set<Long> read = new HashSet<>();
+        for (int i = 1; i <= size; i++) {
+            Long id = entityManager.persist(new AnnouncementTestDataBuilder()
+                    .withTitle("Counted " + i)
+                    .withIsActive(true)
+                    .build()).getId();
+            if (i % 2 == 0) {
+                entityManager.persist(new UserAnnouncementRead(null, user.getId(), id, null));
+                read.add(id);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<AnnouncementDTO> result = announcementService.getAllAnnouncements();
+
+        // One for the announcements, one for the user's read state
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(result).filteredOn(AnnouncementDTO::getIsRead)
+                .extracting(AnnouncementDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(read);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.FileEntity;
+import com.example.demo.service.impl.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = {
+        com.example.demo.UserAnalyticsJavaApplication.class})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("File Controller Tests")
+class FileControllerTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileEntity fileEntity = new FileEntity(1L, "report.pdf", "a".repeat(64), (long) CONTENT.length, "application/pdf");
+        when(fileService.getFileByFileName("report.pdf")).thenReturn(fileEntity);
+        when(fileService.getFileContent(fileEntity)).thenReturn(new ByteArrayResource(CONTENT));
+    }
+
+    @Test
+    @WithMockUser
+    void fetchFileByName_shouldStreamTheWholeFileWithItsContentType() throws Exception {
+        mockMvc.perform(get("/api/files/download/report.pdf"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report.pdf\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    @WithMockUser
+    void fetchFileByName_shouldAnswerARangeRequestWith206() throws Exception {
+        mockMvc.perform(get("/api/files/download/report.pdf").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    @WithMockUser
+    void fetchFileByName_shouldAnswerAnUnsatisfiableRangeWith416() throws Exception {
+        mockMvc.perform(get("/api/files/download/report.pdf").header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.controller;
+
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import com.example.demo.service.ProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = {
+        com.example.demo.UserAnalyticsJavaApplication.class})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Profile Controller Tests")
+class ProfileControllerTest {
+
+    private static final StoredProfileDocument DOCUMENT =
+            new StoredProfileDocument("{\"profile\":{\"firstName\":\"Ada\"}}", "5d41402abc4b2a76b9719d911017c592");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProfileService profileService;
+
+    @BeforeEach
+    void setUp() {
+        when(profileService.getProfileDocument()).thenReturn(DOCUMENT);
+    }
+
+    @Test
+    @WithMockUser
+    void getProfileDocument_shouldServeTheDocumentWithItsETag() throws Exception {
+        mockMvc.perform(get("/api/profile/document"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, DOCUMENT.etag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.profile.firstName").value("Ada"));
+    }
+
+    @Test
+    @WithMockUser
+    void getProfileDocument_shouldAnswerAMatchingIfNoneMatchWith304() throws Exception {
+        mockMvc.perform(get("/api/profile/document").header(HttpHeaders.IF_NONE_MATCH, DOCUMENT.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, DOCUMENT.etag()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void getProfileDocument_shouldServeTheDocumentForAStaleETag() throws Exception {
+        mockMvc.perform(get("/api/profile/document").header(HttpHeaders.IF_NONE_MATCH, "\"profile-stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, DOCUMENT.etag()));
+    }
+}
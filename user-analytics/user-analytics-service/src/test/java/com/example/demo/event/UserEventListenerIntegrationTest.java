@@ -0,0 +1,142 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.demo.event;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserLoginCountRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ProfileService;
+import com.example.demo.service.RoleCache;
+import com.example.demo.service.UserGrowthCounters;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the listener against PostgreSQL without a test transaction, so its own transactions commit
+ * and roll back as they would in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import({UserEventListener.class, UserLoginCountRepository.class, RoleCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserEventListenerIntegrationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private UserEventListener userEventListener;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ProfileService profileService;
+
+    @MockBean
+    private UserGrowthCounters userGrowthCounters;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'replica-%'");
+    }
+
+    @Test
+    void handleUserEvents_shouldPersistTheRestOfABatchAroundARejectedUser() {
+        UserEventDTO rejected = created("replica-2");
+        // Longer than users.location allows
+        rejected.setLocation("x".repeat(300));
+
+        userEventListener.handleUserEvents(records(
+                created("replica-1"), login("replica-1"),
+                rejected,
+                created("replica-3"), login("replica-3"), login("replica-3")));
+
+        assertThat(userRepository.findByUsername("replica-2")).isEmpty();
+        assertThat(userRepository.findByUsername("replica-1")).get()
+                .extracting(User::getLoginCount).isEqualTo(1);
+        assertThat(userRepository.findByUsername("replica-3")).get()
+                .extracting(User::getLoginCount).isEqualTo(2);
+    }
+
+    @Test
+    void handleUserEvents_shouldApplyLoginsToUsersReplicatedEarlier() {
+        userEventListener.handleUserEvents(records(created("replica-4")));
+
+        userEventListener.handleUserEvents(records(login("replica-4"), login("replica-4")));
+
+        assertThat(userRepository.findByUsername("replica-4")).get()
+                .extracting(User::getLoginCount).isEqualTo(2);
+    }
+
+    private static UserEventDTO created(String username) {
+        return event(username, "USER_CREATED");
+    }
+
+    private static UserEventDTO login(String username) {
+        return event(username, "USER_LOGIN");
+    }
+
+    private static UserEventDTO event(String username, String eventType) {
+        return UserEventDTO.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .eventType(eventType)
+                .timestamp(NOW)
+                .isActive(true)
+                .build();
+    }
+
+    private static List<ConsumerRecord<String, UserEventDTO>> records(UserEventDTO... events) {
+        List<ConsumerRecord<String, UserEventDTO>> records = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            records.add(new ConsumerRecord<>("user-events", 0, i, events[i].getUsername(), events[i]));
+        }
+        return records;
+    }
+}
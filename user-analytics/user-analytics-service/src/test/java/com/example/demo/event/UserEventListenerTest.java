@@ -0,0 +1,201 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.demo.event;
+
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.Role;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserLoginCountRepository;
+import com.example.demo.repository.UserLoginCountRepository.LoginIncrement;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ProfileService;
+import com.example.demo.service.RoleCache;
+import com.example.demo.service.UserGrowthCounters;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventListenerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserLoginCountRepository userLoginCountRepository;
+
+    @Mock
+    private RoleCache roleCache;
+
+    @Mock
+    private UserGrowthCounters userGrowthCounters;
+
+    @Mock
+    private ProfileService profileService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserEventListener userEventListener;
+
+    @Captor
+    private ArgumentCaptor<List<User>> savedUsers;
+
+    @Captor
+    private ArgumentCaptor<List<LoginIncrement>> increments;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void handleUserEvents_shouldCoalesceLoginsOfExistingUserIntoOneIncrement() {
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of(existingUser("alice")));
+
+        userEventListener.handleUserEvents(records(
+                event("alice", "USER_LOGIN", NOW.minusMinutes(2)),
+                event("alice", "USER_LOGIN", NOW),
+                event("alice", "USER_LOGIN", NOW.minusMinutes(1))));
+
+        verify(userRepository).saveAll(savedUsers.capture());
+        verify(userLoginCountRepository).incrementLogins(increments.capture());
+        assertTrue(savedUsers.getValue().isEmpty());
+        assertEquals(List.of(new LoginIncrement("alice", 3, NOW)), increments.getValue());
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userGrowthCounters).recordAfterCommit(List.of(), Map.of("alice", NOW));
+    }
+
+    @Test
+    void handleUserEvents_shouldCreateMissingUserAndCountLaterLoginsOnTheEntity() {
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of());
+        when(roleCache.resolve(List.of("ROLE_USER"))).thenReturn(List.of(new Role(1L, "ROLE_USER")));
+
+        UserEventDTO created = event("bob", "USER_CREATED", NOW.minusMinutes(5));
+        created.setRoles(List.of("ROLE_USER"));
+        userEventListener.handleUserEvents(records(created,
+                event("bob", "USER_LOGIN", NOW.minusMinutes(1)),
+                event("bob", "USER_LOGIN", NOW)));
+
+        verify(userRepository).saveAll(savedUsers.capture());
+        verify(userLoginCountRepository).incrementLogins(increments.capture());
+        User bob = savedUsers.getValue().get(0);
+        assertEquals(2, bob.getLoginCount());
+        assertEquals(NOW, bob.getLastLoginAt());
+        assertEquals(1, bob.getRoles().size());
+        assertTrue(increments.getValue().isEmpty());
+        verify(userGrowthCounters).recordAfterCommit(List.of(NOW.minusMinutes(5)), Map.of("bob", NOW));
+    }
+
+    @Test
+    void handleUserEvents_shouldLoadAllUsersOfTheBatchWithOneQuery() {
+        when(userRepository.findByUsernameIn(anyCollection()))
+                .thenReturn(List.of(existingUser("alice"), existingUser("carol")));
+
+        userEventListener.handleUserEvents(records(
+                event("alice", "USER_UPDATED", NOW),
+                event("carol", "USER_LOGIN", NOW),
+                event("alice", "USER_LOGIN", NOW)));
+
+        verify(userRepository, times(1)).findByUsernameIn(anyCollection());
+        verify(userRepository).saveAll(savedUsers.capture());
+        verify(userLoginCountRepository).incrementLogins(increments.capture());
+        assertEquals(1, savedUsers.getValue().size());
+        assertEquals(2, increments.getValue().size());
+    }
+
+    @Test
+    void handleUserEvents_shouldRebuildTheProfileDocumentOfUpdatedUsersOnly() {
+        User alice = existingUser("alice");
+        alice.setId(1L);
+        User carol = existingUser("carol");
+        carol.setId(3L);
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of(alice, carol));
+
+        UserEventDTO update = event("alice", "USER_UPDATED", NOW);
+        update.setEmail("alice@new.example.com");
+        userEventListener.handleUserEvents(records(update,
+                event("carol", "USER_LOGIN", NOW),
+                event("dave", "USER_CREATED", NOW)));
+
+        assertEquals("alice@new.example.com", alice.getEmail());
+        verify(profileService).rebuildProfileDocument(1L);
+        verifyNoMoreInteractions(profileService);
+    }
+
+    @Test
+    void handleUserEvents_shouldRetryEachUserInItsOwnTransactionWhenTheBatchFails() {
+        when(userRepository.findByUsernameIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream().map(UserEventListenerTest::existingUser).toList());
+        lenient().doThrow(new DataIntegrityViolationException("value too long"))
+                .when(userLoginCountRepository).incrementLogins(argThat(batch ->
+                        batch.stream().anyMatch(increment -> increment.username().equals("carol"))));
+
+        userEventListener.handleUserEvents(records(
+                event("alice", "USER_LOGIN", NOW),
+                event("carol", "USER_LOGIN", NOW),
+                event("erin", "USER_LOGIN", NOW)));
+
+        // The batch, then alice, carol and erin alone
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+        verify(userLoginCountRepository).incrementLogins(List.of(new LoginIncrement("alice", 1, NOW)));
+        verify(userLoginCountRepository).incrementLogins(List.of(new LoginIncrement("erin", 1, NOW)));
+    }
+
+    private static User existingUser(String username) {
+        return new User.Builder()
+                .username(username)
+                .email(username + "@example.com")
+                .loginCount(5)
+                .activityCount(5)
+                .build();
+    }
+
+    private static UserEventDTO event(String username, String eventType, LocalDateTime timestamp) {
+        return UserEventDTO.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .eventType(eventType)
+                .timestamp(timestamp)
+                .isActive(true)
+                .build();
+    }
+
+    private static List<ConsumerRecord<String, UserEventDTO>> records(UserEventDTO... events) {
+        List<ConsumerRecord<String, UserEventDTO>> records = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            records.add(new ConsumerRecord<>("user-events", 0, i, events[i].getUsername(), events[i]));
+        }
+        return records;
+    }
+}
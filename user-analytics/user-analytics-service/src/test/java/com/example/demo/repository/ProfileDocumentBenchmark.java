@@ -0,0 +1,176 @@
+package com.example.demo.repository;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.ProfileDTO;
+import com.example.demo.dto.ProfileDocumentDTO;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.mapper.ProfileMapper;
+import com.example.demo.model.*;
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads one user's full profile page both ways against PostgreSQL: the per-section fan-out the
+ * profile getters run through the {@code UserProfile} and {@code ProfileX} link tables, and the
+ * materialised document by primary key. Run with
+ * <pre>
+ * mvn test -Dtest=ProfileDocumentBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import(ProfileDocumentRepository.class)
+class ProfileDocumentBenchmark {
+
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileDocumentRepository profileDocumentRepository;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private final ProfileMapper profileMapper = new ProfileMapper();
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @Test
+    void documentLookup_shouldBeFasterThanTheFanOut() throws Exception {
+        Long userId = seedProfile();
+        ProfileDocumentDTO document = readFanOut(userId);
+        String json = new ObjectMapper().writeValueAsString(document);
+        profileDocumentRepository.save(userId,
+                new StoredProfileDocument(json, DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8))),
+                LocalDateTime.now());
+
+        long fanOutNanos = time(userId, id -> readFanOut(id));
+        long documentNanos = time(userId, id -> profileDocumentRepository.findByUserId(id).orElseThrow());
+
+        log.info("Profile page read: fan-out {} us/op, document {} us/op ({}x)",
+                fanOutNanos / 1_000, documentNanos / 1_000, String.format("%.1f", (double) fanOutNanos / documentNanos));
+        assertThat(profileDocumentRepository.findByUserId(userId).orElseThrow().json()).contains("\"Ada\"");
+        assertThat(documentNanos).isLessThan(fanOutNanos);
+    }
+
+    /**
+     * The queries behind the profile page before the document: one per section plus the user.
+     */
+    private ProfileDocumentDTO readFanOut(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow();
+        ProfileDTO profile = profileMapper.toProfileDTO(profileRepository.findLatestProfileByUserId(userId).orElseThrow(), user);
+        profileRepository.findMostRecentProjectByUserId(userId)
+                .ifPresent(project -> profile.setRecentProject(project.getProjectName()));
+        return new ProfileDocumentDTO(
+                profile,
+                profileMapper.toEducationDTO(profileRepository.findLatestEducationByUserId(userId).orElseThrow()),
+                profileMapper.toDetailsDTO(profileRepository.findLatestDetailsByUserId(userId).orElseThrow()),
+                profileMapper.toExperienceDTO(profileRepository.findLatestExperienceByUserId(userId).orElseThrow()),
+                profileMapper.toSkillsDTO(profileRepository.findLatestSkillsByUserId(userId).orElseThrow()),
+                profileMapper.toProjectDTO(profileRepository.findLatestProjectByUserId(userId).orElseThrow()),
+                profileMapper.toCertificateDTO(profileRepository.findLatestCertificateByUserId(userId).orElseThrow()),
+                null);
+    }
+
+    private long time(Long userId, Consumer<Long> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.accept(userId);
+            entityManager.clear();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.accept(userId);
+            // Each request starts with an empty persistence context
+            entityManager.clear();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private Long seedProfile() {
+        User user = entityManager.persist(new User.Builder()
+                .username("benchmark-user")
+                .email("benchmark@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+        Profile profile = entityManager.persist(new Profile.Builder()
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .linkedin("https://linkedin.com/in/ada")
+                .build());
+        entityManager.persist(new UserProfile.Builder().userId(user.getId()).profileId(profile.getId()).build());
+
+        Education education = entityManager.persist(new Education.Builder()
+                .universityName("University of London").dateFrom("1832-01-01").dateTo("1835-01-01")
+                .countryCity("London, UK").degree("Mathematics").build());
+        entityManager.persist(new ProfileEducation.Builder().profileId(profile.getId()).educationId(education.getId()).build());
+        Details details = entityManager.persist(new Details.Builder()
+                .notification(true).staff("Analyst").bio("First programmer").message("Hello").build());
+        entityManager.persist(new ProfileDetails.Builder().profileId(profile.getId()).detailsId(details.getId()).build());
+        Experience experience = entityManager.persist(new Experience.Builder()
+                .roleName("Analyst").dateFrom("1842-01-01").dateTo("1843-01-01").companyName("Analytical Engine")
+                .countryCity("London, UK").service("Notes on the engine").build());
+        entityManager.persist(new ProfileExperience.Builder().profileId(profile.getId()).experienceId(experience.getId()).build());
+        Skills skills = entityManager.persist(new Skills.Builder()
+                .programmingLanguages("Note G").webFrameworks("-").devOps("-").sql("-").vcs("Paper").tools("Engine").build());
+        entityManager.persist(new ProfileSkills.Builder().profileId(profile.getId()).skillsId(skills.getId()).build());
+        Project project = entityManager.persist(new Project.Builder()
+                .projectName("Bernoulli numbers").dateFrom("1842-01-01").dateTo("1843-01-01").structure("Table").build());
+        entityManager.persist(new ProfileProject.Builder().profileId(profile.getId()).projectId(project.getId()).build());
+        Certificate certificate = entityManager.persist(new Certificate.Builder()
+                .certificateName("Mathematics").dateFrom("1833-01-01").dateTo("1834-01-01").build());
+        entityManager.persist(new ProfileCertificate.Builder().profileId(profile.getId()).certificateId(certificate.getId()).build());
+
+        entityManager.flush();
+        entityManager.clear();
+        return user.getId();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.repository;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.User;
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import(ProfileDocumentRepository.class)
+class ProfileDocumentRepositoryTest {
+
+    private static final LocalDateTime BUILT_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProfileDocumentRepository profileDocumentRepository;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private Long userId;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndFlush(new User.Builder()
+                .username("document-user")
+                .email("document@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    @Test
+    void save_shouldStoreAndReplaceWithANewerBuild() {
+        assertThat(profileDocumentRepository.save(userId, document("{\"v\": 1}", "h1"), BUILT_AT)).isPresent();
+        assertThat(profileDocumentRepository.save(userId, document("{\"v\": 2}", "h2"), BUILT_AT.plusSeconds(1))).isPresent();
+
+        StoredProfileDocument stored = profileDocumentRepository.findByUserId(userId).orElseThrow();
+        assertThat(stored.json()).isEqualTo("{\"v\": 2}");
+        assertThat(stored.etag()).isEqualTo("\"profile-h2\"");
+    }
+
+    @Test
+    void save_shouldDiscardABuildThatStartedBeforeTheStoredOne() {
+        profileDocumentRepository.save(userId, document("{\"v\": 2}", "h2"), BUILT_AT);
+
+        assertThat(profileDocumentRepository.save(userId, document("{\"v\": 1}", "h1"), BUILT_AT.minusSeconds(1))).isEmpty();
+
+        assertThat(profileDocumentRepository.findByUserId(userId).orElseThrow().hash()).isEqualTo("h2");
+    }
+
+    @Test
+    void save_shouldStoreAnyBuildOnceTheDocumentWasDeleted() {
+        profileDocumentRepository.save(userId, document("{\"v\": 2}", "h2"), BUILT_AT);
+        profileDocumentRepository.deleteByUserId(userId);
+
+        assertThat(profileDocumentRepository.findByUserId(userId)).isEmpty();
+        assertThat(profileDocumentRepository.save(userId, document("{\"v\": 1}", "h1"), BUILT_AT.minusSeconds(1))).isPresent();
+        assertThat(profileDocumentRepository.findByUserId(userId).orElseThrow().hash()).isEqualTo("h1");
+    }
+
+    @Test
+    void save_shouldReturnTheDocumentAsLaterReadsServeIt() {
+        StoredProfileDocument saved = profileDocumentRepository
+                .save(userId, document("{\"b\":1,\"a\":[true]}", "h1"), BUILT_AT).orElseThrow();
+
+        assertThat(saved).isEqualTo(profileDocumentRepository.findByUserId(userId).orElseThrow());
+        assertThat(saved.json()).isEqualTo("{\"a\": [true], \"b\": 1}");
+    }
+
+    private static StoredProfileDocument document(String json, String hash) {
+        return new StoredProfileDocument(json, hash);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.repository;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.Profile;
+import com.example.demo.model.Role;
+import com.example.demo.model.User;
+import com.example.demo.model.UserProfile;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @Test
+    void findIdentityByUsername_shouldReturnOneRowPerRoleWithTheLatestProfile() {
+        Role reader = entityManager.persist(new Role("ROLE_IDENTITY_READER"));
+        Role writer = entityManager.persist(new Role("ROLE_IDENTITY_WRITER"));
+        User user = persistUser("identity-user", List.of(reader, writer));
+        Long olderProfileId = persistProfile(user);
+        Long latestProfileId = persistProfile(user);
+        persistUser("identity-other", List.of(reader));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UserIdentityRow> rows = userRepository.findIdentityByUsername("identity-user");
+
+        assertThat(latestProfileId).isGreaterThan(olderProfileId);
+        assertThat(rows).containsExactly(
+                new UserIdentityRow(user.getId(), latestProfileId, "ROLE_IDENTITY_READER"),
+                new UserIdentityRow(user.getId(), latestProfileId, "ROLE_IDENTITY_WRITER"));
+    }
+
+    @Test
+    void findIdentityByUsername_shouldReturnAUserWithoutRolesOrProfile() {
+        User user = persistUser("identity-bare", List.of());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(userRepository.findIdentityByUsername("identity-bare"))
+                .containsExactly(new UserIdentityRow(user.getId(), null, null));
+    }
+
+    @Test
+    void findIdentityByUsername_shouldBeEmptyForUnknownUsers() {
+        assertThat(userRepository.findIdentityByUsername("identity-missing")).isEmpty();
+    }
+
+    private User persistUser(String username, List<Role> roles) {
+        return entityManager.persist(new User.Builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .roles(new ArrayList<>(roles))
+                .build());
+    }
+
+    private Long persistProfile(User user) {
+        Profile profile = entityManager.persist(new Profile());
+        entityManager.persist(new UserProfile.Builder().userId(user.getId()).profileId(profile.getId()).build());
+        return profile.getId();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.UserIdentityRow;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuthenticatedUserCache Tests")
+class AuthenticatedUserCacheTest {
+
+    private static final List<String> ROLES = List.of("ROLE_USER");
+    private static final List<String> ADMIN_ROLES = List.of("ROLE_USER", "ROLE_ADMIN");
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthenticatedUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new AuthenticatedUserCache(userRepository, 60_000, 100);
+    }
+
+    @Test
+    void get_shouldLoadIdentityOnceForTokensWithClaims() {
+        when(userRepository.findIdentityByUsername("alice")).thenReturn(rows(1L, 10L, ROLES));
+
+        AuthenticatedUser first = cache.get("alice", 1L, ROLES, issuedSecondsAgo(60)).orElseThrow();
+        AuthenticatedUser second = cache.get("alice", 1L, ROLES, issuedSecondsAgo(60)).orElseThrow();
+
+        assertEquals(new AuthenticatedUser(1L, "alice", ROLES, 10L), first);
+        assertSame(first, second);
+        verify(userRepository, times(1)).findIdentityByUsername("alice");
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void get_shouldLoadUserForTokensWithoutClaims() {
+        when(userRepository.findIdentityByUsername("bob")).thenReturn(rows(2L, null, List.of("ROLE_ADMIN")));
+
+        AuthenticatedUser loaded = cache.get("bob", null, null, null).orElseThrow();
+
+        assertEquals(new AuthenticatedUser(2L, "bob", List.of("ROLE_ADMIN"), null), loaded);
+        assertEquals("bob", loaded.getName());
+    }
+
+    @Test
+    void get_shouldGrantTheCurrentRolesToATokenOfADemotedUser() {
+        when(userRepository.findIdentityByUsername("alice")).thenReturn(rows(1L, 10L, ROLES));
+
+        AuthenticatedUser user = cache.get("alice", 1L, ADMIN_ROLES, issuedSecondsAgo(3_600)).orElseThrow();
+        cache.get("alice", 1L, ADMIN_ROLES, issuedSecondsAgo(3_600));
+
+        assertEquals(ROLES, user.roles());
+        // The entry is newer than the token, so its roles stand without reloading
+        verify(userRepository, times(1)).findIdentityByUsername("alice");
+    }
+
+    @Test
+    void get_shouldReloadWhenATokenIssuedAfterTheEntryCarriesOtherRoles() {
+        when(userRepository.findIdentityByUsername("alice"))
+                .thenReturn(rows(1L, 10L, ROLES))
+                .thenReturn(rows(1L, 10L, ADMIN_ROLES));
+        cache.get("alice", 1L, ROLES, issuedSecondsAgo(60));
+
+        AuthenticatedUser promoted = cache.get("alice", 1L, ADMIN_ROLES, new Date()).orElseThrow();
+
+        assertEquals(ADMIN_ROLES, promoted.roles());
+        verify(userRepository, times(2)).findIdentityByUsername("alice");
+    }
+
+    @Test
+    void get_shouldIgnoreTheOrderOfTheRolesClaim() {
+        when(userRepository.findIdentityByUsername("alice")).thenReturn(rows(1L, 10L, ADMIN_ROLES));
+        cache.get("alice", 1L, ADMIN_ROLES, new Date());
+
+        cache.get("alice", 1L, List.of("ROLE_ADMIN", "ROLE_USER"), new Date());
+
+        verify(userRepository, times(1)).findIdentityByUsername("alice");
+    }
+
+    @Test
+    void get_shouldBeEmptyForRemovedUsers() {
+        when(userRepository.findIdentityByUsername("carol")).thenReturn(List.of());
+
+        assertTrue(cache.get("carol", 3L, ROLES, new Date()).isEmpty());
+    }
+
+    @Test
+    void get_shouldKeepAUserWithoutRoles() {
+        when(userRepository.findIdentityByUsername("dave")).thenReturn(List.of(new UserIdentityRow(4L, null, null)));
+
+        assertEquals(List.of(), cache.get("dave", null, null, null).orElseThrow().roles());
+    }
+
+    @Test
+    void invalidate_shouldReloadTheLatestProfile() {
+        when(userRepository.findIdentityByUsername("alice"))
+                .thenReturn(rows(1L, null, ROLES))
+                .thenReturn(rows(1L, 11L, ROLES));
+        assertNull(cache.get("alice", 1L, ROLES, new Date()).orElseThrow().profileId());
+
+        cache.invalidate(1L);
+
+        assertEquals(11L, cache.get("alice", 1L, ROLES, new Date()).orElseThrow().profileId());
+    }
+
+    private static List<UserIdentityRow> rows(Long userId, Long profileId, List<String> roles) {
+        return roles.stream().map(role -> new UserIdentityRow(userId, profileId, role)).toList();
+    }
+
+    private static Date issuedSecondsAgo(long seconds) {
+        return new Date(System.currentTimeMillis() - seconds * 1_000);
+    }
+}
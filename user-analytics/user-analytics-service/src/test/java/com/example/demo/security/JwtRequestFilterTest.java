@@ -0,0 +1,115 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JwtRequestFilter Tests")
+class JwtRequestFilterTest {
+
+    private static final AuthenticatedUser ALICE = new AuthenticatedUser(1L, "alice", List.of("ROLE_USER"), 10L);
+
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Mock
+    private FilterChain chain;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    private JwtRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        SecurityContextHolder.clearContext();
+        filter = new JwtRequestFilter(jwtUtil, authenticatedUserCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldPassTheClaimsOfATokenToTheCache() throws Exception {
+        when(authenticatedUserCache.get(eq("alice"), eq(1L), eq(List.of("ROLE_USER")), any(Date.class)))
+                .thenReturn(Optional.of(ALICE));
+
+        MockHttpServletRequest request = bearer(jwtUtil.generateToken("alice", 1L, List.of("ROLE_USER")));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertSame(ALICE, authentication.getPrincipal());
+        assertEquals(List.of("ROLE_USER"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(chain).doFilter(eq(request), any());
+    }
+
+    @Test
+    void doFilter_shouldResolveATokenWithoutClaimsByItsSubject() throws Exception {
+        when(authenticatedUserCache.get(eq("alice"), isNull(), isNull(), any(Date.class)))
+                .thenReturn(Optional.of(ALICE));
+
+        filter.doFilter(bearer(jwtUtil.generateToken("alice")), new MockHttpServletResponse(), chain);
+
+        assertSame(ALICE, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void doFilter_shouldLeaveAnExpiredTokenUnauthenticated() throws Exception {
+        byte[] secretKey = (byte[]) ReflectionTestUtils.getField(jwtUtil, "SECRET_KEY");
+        String expired = Jwts.builder()
+                .setSubject("alice")
+                .claim(JwtUtil.USER_ID_CLAIM, 1L)
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .compact();
+
+        MockHttpServletRequest request = bearer(expired);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(authenticatedUserCache);
+        verify(chain).doFilter(eq(request), any());
+    }
+
+    @Test
+    void doFilter_shouldLeaveARemovedUserUnauthenticated() throws Exception {
+        when(authenticatedUserCache.get(any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        filter.doFilter(bearer(jwtUtil.generateToken("alice", 1L, List.of("ROLE_USER"))),
+                new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
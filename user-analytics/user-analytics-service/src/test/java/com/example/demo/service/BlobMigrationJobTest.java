@@ -0,0 +1,157 @@
+package com.example.demo.service;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.storage.LocalFileSystemContentStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link BlobMigrationJob} against PostgreSQL with a content store in a temporary directory.
+ * Each row is migrated in a transaction of its own, so the test runs outside a test transaction
+ * and removes its rows afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlobMigrationJobTest {
+
+    @TempDir
+    Path root;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private LocalFileSystemContentStore contentStore;
+    private BlobMigrationJob blobMigrationJob;
+    private final List<Long> fileIds = new ArrayList<>();
+    private final List<Long> imageIds = new ArrayList<>();
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        contentStore = new LocalFileSystemContentStore(root.toString(), 0);
+        blobMigrationJob = new BlobMigrationJob(jdbcTemplate, new TransactionTemplate(transactionManager), contentStore);
+        ReflectionTestUtils.setField(blobMigrationJob, "batchSize", 2);
+    }
+
+    @AfterEach
+    void removeRows() {
+        fileIds.forEach(id -> jdbcTemplate.update("DELETE FROM files WHERE id = ?", id));
+        imageIds.forEach(id -> jdbcTemplate.update("DELETE FROM images WHERE id = ?", id));
+    }
+
+    @Test
+    void migrate_shouldMoveInlineContentToTheStoreAndFillInTheContentType() throws Exception {
+        Long fileId = insertFile("migration-test-report.pdf", "report");
+        Long imageId = insertImage("migration-test-avatar.png", "avatar");
+
+        migrateAll();
+
+        Map<String, Object> file = jdbcTemplate.queryForMap(
+                "SELECT content_address, content_size, content_type, file_data FROM files WHERE id = ?", fileId);
+        assertThat(file.get("file_data")).isNull();
+        assertThat(file.get("content_size")).isEqualTo(6L);
+        assertThat(file.get("content_type")).isEqualTo("application/pdf");
+        assertThat(read((String) file.get("content_address"))).isEqualTo("report");
+
+        Map<String, Object> image = jdbcTemplate.queryForMap(
+                "SELECT content_address, content_type, data FROM images WHERE id = ?", imageId);
+        assertThat(image.get("data")).isNull();
+        assertThat(image.get("content_type")).isEqualTo("image/png");
+        assertThat(read((String) image.get("content_address"))).isEqualTo("avatar");
+    }
+
+    @Test
+    void migrate_shouldKeepAKnownContentTypeAndLeaveAnUnknownOneEmpty() {
+        Long typed = insertFile("migration-test-notes.txt", "notes");
+        jdbcTemplate.update("UPDATE files SET content_type = 'text/markdown' WHERE id = ?", typed);
+        Long untyped = insertFile("migration-test-blob", "blob");
+
+        migrateAll();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT content_type FROM files WHERE id = ?", String.class, typed))
+                .isEqualTo("text/markdown");
+        assertThat(jdbcTemplate.queryForObject("SELECT content_type FROM files WHERE id = ?", String.class, untyped))
+                .isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT content_address FROM files WHERE id = ?", String.class, untyped))
+                .isNotNull();
+    }
+
+    /**
+     * Other rows in the database may still be inline, so keep going until none are left.
+     */
+    private void migrateAll() {
+        while (jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM files WHERE content_address IS NULL AND file_data IS NOT NULL", Long.class)
+                + jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM images WHERE content_address IS NULL AND data IS NOT NULL", Long.class) > 0) {
+            blobMigrationJob.migrate();
+        }
+    }
+
+    private Long insertFile(String fileName, String content) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO files (file_name, file_data) VALUES (?, ?) RETURNING id",
+                Long.class, fileName, content.getBytes(StandardCharsets.UTF_8));
+        fileIds.add(id);
+        return id;
+    }
+
+    private Long insertImage(String name, String content) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO images (name, data) VALUES (?, ?) RETURNING id",
+                Long.class, name, content.getBytes(StandardCharsets.UTF_8));
+        imageIds.add(id);
+        return id;
+    }
+
+    private String read(String address) throws Exception {
+        try (InputStream in = contentStore.load(address).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.service;
+
+import com.example.activity.repository.ActivityRollupRepository;
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.repository.RollupWatermarkRepository;
+import com.example.featureusage.repository.FeatureUsageRollupRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link DailyRollupJob} against PostgreSQL with a recording day roller under a watermark
+ * of its own. Each day commits on its own, so the test runs outside a test transaction and
+ * removes its watermark afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import({DailyRollupJob.class, FeatureUsageRollupRepository.class, ActivityRollupRepository.class})
+@TestPropertySource(properties = {"rollup.late-days=2", "rollup.initial-delay-ms=3600000"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DailyRollupJobTest {
+
+    private static final String NAME = "rollup-job-test";
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+
+    @Autowired
+    private DailyRollupJob dailyRollupJob;
+
+    @Autowired
+    private RollupWatermarkRepository watermarkRepository;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @AfterEach
+    void removeWatermark() {
+        watermarkRepository.deleteById(NAME);
+    }
+
+    @Test
+    void rollUp_shouldStartAtTheEarliestRawDayAndResumeFromTheWatermark() {
+        List<LocalDate> rolled = Collections.synchronizedList(new ArrayList<>());
+
+        dailyRollupJob.rollUp(NAME, () -> YESTERDAY.minusDays(4), rolled::add);
+
+        assertThat(rolled).containsExactly(YESTERDAY.minusDays(4), YESTERDAY.minusDays(3),
+                YESTERDAY.minusDays(2), YESTERDAY.minusDays(1), YESTERDAY);
+        assertThat(watermarkRepository.findRolledUpThrough(NAME)).isEqualTo(YESTERDAY);
+
+        // Nothing new has closed, so only the late window is aggregated again
+        rolled.clear();
+        dailyRollupJob.rollUp(NAME, () -> YESTERDAY.minusDays(4), rolled::add);
+        assertThat(rolled).containsExactly(YESTERDAY.minusDays(1), YESTERDAY);
+        assertThat(watermarkRepository.findRolledUpThrough(NAME)).isEqualTo(YESTERDAY);
+    }
+
+    @Test
+    void rollUp_withoutRawRows_shouldOnlyRecordTheWatermark() {
+        List<LocalDate> rolled = new ArrayList<>();
+
+        dailyRollupJob.rollUp(NAME, () -> null, rolled::add);
+
+        assertThat(rolled).isEmpty();
+        assertThat(watermarkRepository.findRolledUpThrough(NAME)).isEqualTo(YESTERDAY);
+    }
+
+    @Test
+    void rollUp_onTwoReplicas_shouldNeverRollTheSameDayTwiceAtOnce() throws Exception {
+        Map<LocalDate, AtomicInteger> rolls = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Consumer<LocalDate> dayRoller = day -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rolls.computeIfAbsent(day, d -> new AtomicInteger()).incrementAndGet();
+            inFlight.decrementAndGet();
+        };
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Void> replica = () -> {
+            start.await();
+            dailyRollupJob.rollUp(NAME, () -> YESTERDAY.minusDays(9), dayRoller);
+            return null;
+        };
+
+        ExecutorService replicas = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Void>> runs = List.of(replicas.submit(replica), replicas.submit(replica));
+            start.countDown();
+            for (Future<Void> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            replicas.shutdownNow();
+        }
+
+        assertThat(maxInFlight.get()).isEqualTo(1);
+        assertThat(rolls).hasSize(10);
+        for (LocalDate day = YESTERDAY.minusDays(9); day.isBefore(YESTERDAY.minusDays(1)); day = day.plusDays(1)) {
+            assertThat(rolls.get(day).get()).as("rolls of %s", day).isEqualTo(1);
+        }
+        assertThat(watermarkRepository.findRolledUpThrough(NAME)).isEqualTo(YESTERDAY);
+    }
+}
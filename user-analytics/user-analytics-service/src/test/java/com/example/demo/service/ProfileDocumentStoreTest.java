@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ProfileDTO;
+import com.example.demo.dto.ProfileDocumentDTO;
+import com.example.demo.repository.ProfileDocumentRepository;
+import com.example.demo.repository.ProfileDocumentRepository.StoredProfileDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProfileDocumentStore Tests")
+class ProfileDocumentStoreTest {
+
+    @Mock
+    private ProfileDocumentRepository profileDocumentRepository;
+
+    private ProfileDocumentStore profileDocumentStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(profileDocumentRepository.save(any(), any(), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
+        profileDocumentStore = new ProfileDocumentStore(profileDocumentRepository, new ObjectMapper(), 1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        profileDocumentStore.shutdown();
+    }
+
+    @Test
+    void get_shouldServeTheStoredDocumentWithoutAssembling() {
+        StoredProfileDocument stored = new StoredProfileDocument("{}", "99914b932bd37a50b983c5e7c90ae93b");
+        when(profileDocumentRepository.findByUserId(1L)).thenReturn(Optional.of(stored));
+
+        assertSame(stored, profileDocumentStore.get(1L, () -> fail("assembled a stored document")));
+        verify(profileDocumentRepository, never()).save(any(), any(), any());
+    }
+
+    @Test
+    void get_shouldBuildAndStoreAMissingDocument() {
+        when(profileDocumentRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        StoredProfileDocument built = profileDocumentStore.get(1L, () -> document("Ada"));
+
+        assertTrue(built.json().contains("\"firstName\":\"Ada\""));
+        assertEquals(built.etag(), profileDocumentStore.get(1L, () -> document("Ada")).etag());
+        assertNotEquals(built.hash(), profileDocumentStore.get(1L, () -> document("Grace")).hash());
+        verify(profileDocumentRepository, times(3)).save(eq(1L), any(), any());
+    }
+
+    @Test
+    void rebuildAfterCommit_shouldDropTheDocumentAndFoldWritesDuringARebuildIntoOneRerun() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<ProfileDocumentDTO> assembler = () -> {
+            if (builds.incrementAndGet() == 1) {
+                firstStarted.countDown();
+                await(releaseFirst);
+            }
+            return document("Ada");
+        };
+
+        profileDocumentStore.rebuildAfterCommit(1L, assembler);
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            profileDocumentStore.rebuildAfterCommit(1L, assembler);
+        }
+        releaseFirst.countDown();
+
+        verify(profileDocumentRepository, timeout(5_000).times(2)).save(eq(1L), any(), any());
+        verify(profileDocumentRepository, times(11)).deleteByUserId(1L);
+        assertEquals(2, builds.get());
+    }
+
+    private static ProfileDocumentDTO document(String firstName) {
+        return new ProfileDocumentDTO(ProfileDTO.builder().firstName(firstName).build(),
+                null, null, null, null, null, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.*;
+import com.example.demo.mapper.ProfileMapper;
+import com.example.demo.model.*;
+import com.example.demo.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProfileService Tests")
+class ProfileServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ProfileMapper profileMapper;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private EducationRepository educationRepository;
+
+    @Mock
+    private ProfileEducationRepository profileEducationRepository;
+
+    @Mock
+    private DetailsRepository detailsRepository;
+
+    @Mock
+    private ExperienceRepository experienceRepository;
+
+    @Mock
+    private SkillsRepository skillsRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @Mock
+    private ProfileDocumentStore profileDocumentStore;
+
+    @InjectMocks
+    private ProfileService profileService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        User user = new User.Builder().userId(USER_ID).username("alice").build();
+        when(userService.getAuthenticatedUser()).thenReturn(Optional.of(user));
+        when(profileRepository.findLatestProfileByUserId(USER_ID)).thenReturn(Optional.of(new Profile.Builder().id(10L).build()));
+        when(profileRepository.findLatestEducationByUserId(USER_ID)).thenReturn(Optional.of(new Education()));
+        when(profileRepository.findLatestDetailsByUserId(USER_ID)).thenReturn(Optional.of(new Details()));
+        when(profileRepository.findLatestExperienceByUserId(USER_ID)).thenReturn(Optional.of(new Experience()));
+        when(profileRepository.findLatestSkillsByUserId(USER_ID)).thenReturn(Optional.of(new Skills()));
+        when(profileRepository.findLatestProjectByUserId(USER_ID)).thenReturn(Optional.of(new Project()));
+        when(profileRepository.findLatestCertificateByUserId(USER_ID)).thenReturn(Optional.of(new Certificate()));
+        when(educationRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    static Stream<Arguments> profileWrites() {
+        return Stream.of(
+                Arguments.of("updateProfile", (Function<ProfileService, ResponseDTO>) service ->
+                        service.updateProfile(new ProfileDTO())),
+                Arguments.of("updateEducation", (Function<ProfileService, ResponseDTO>) service ->
+                        service.updateEducation(new EducationDTO())),
+                Arguments.of("updateDetails", (Function<ProfileService, ResponseDTO>) service ->
+                        service.updateDetails(new DetailsDTO())),
+                Arguments.of("updateExperience", (Function<ProfileService, ResponseDTO>) service ->
+                        service.updateExperience(new ExperienceDTO())),
+                Arguments.of("saveSkills", (Function<ProfileService, ResponseDTO>) service ->
+                        service.saveSkills(new SkillsDTO())),
+                Arguments.of("updateProjects", (Function<ProfileService, ResponseDTO>) service ->
+                        service.updateProjects(new ProjectDTO())),
+                Arguments.of("updateCertificateDates", (Function<ProfileService, ResponseDTO>) service ->
+                        service.updateCertificateDates(new CertificateDTO())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("profileWrites")
+    void profileWrite_shouldRebuildTheProfileDocument(String name, Function<ProfileService, ResponseDTO> write) {
+        ResponseDTO response = write.apply(profileService);
+
+        assertEquals("200", response.getStatus());
+        verify(profileDocumentStore).rebuildAfterCommit(eq(USER_ID), any());
+    }
+}
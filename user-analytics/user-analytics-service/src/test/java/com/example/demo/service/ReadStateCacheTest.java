@@ -0,0 +1,123 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadStateCache Tests")
+class ReadStateCacheTest {
+
+    private static final LocalDateTime READ_AT = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Test
+    void get_shouldLoadOnceWithinTheTtl() {
+        ReadStateCache cache = new ReadStateCache(60_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ReadStateCache.ANNOUNCEMENTS, 1L, counting(loads, Map.of(5L, READ_AT)));
+        Map<Long, LocalDateTime> readAt = cache.get(ReadStateCache.ANNOUNCEMENTS, 1L, counting(loads, Map.of()));
+
+        assertEquals(Map.of(5L, READ_AT), readAt);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldReloadAfterInvalidate() {
+        ReadStateCache cache = new ReadStateCache(60_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(ReadStateCache.ANNOUNCEMENTS, 1L, counting(loads, Map.of()));
+
+        cache.invalidate(ReadStateCache.ANNOUNCEMENTS, 1L);
+        Map<Long, LocalDateTime> readAt = cache.get(ReadStateCache.ANNOUNCEMENTS, 1L,
+                counting(loads, Map.of(5L, READ_AT)));
+
+        assertEquals(Map.of(5L, READ_AT), readAt);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldNotCacheALoadThatAnInvalidationOverlapped() {
+        ReadStateCache cache = new ReadStateCache(60_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // The write commits while this read is still loading the state from before it
+        Map<Long, LocalDateTime> stale = cache.get(ReadStateCache.NOTIFICATIONS, 1L, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(ReadStateCache.NOTIFICATIONS, 1L);
+            return Map.of();
+        });
+        Map<Long, LocalDateTime> fresh = cache.get(ReadStateCache.NOTIFICATIONS, 1L,
+                counting(loads, Map.of(5L, READ_AT)));
+
+        assertEquals(Map.of(), stale);
+        assertEquals(Map.of(5L, READ_AT), fresh);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldNotCacheALoadOverlappingAnInvalidationWhoseTombstoneWasEvicted() {
+        ReadStateCache cache = new ReadStateCache(60_000, 1);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ReadStateCache.NOTIFICATIONS, 1L, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(ReadStateCache.NOTIFICATIONS, 1L);
+            // Another user's tombstone pushes this user's out of the single slot
+            cache.invalidate(ReadStateCache.NOTIFICATIONS, 2L);
+            return Map.of();
+        });
+        cache.get(ReadStateCache.NOTIFICATIONS, 1L, counting(loads, Map.of(5L, READ_AT)));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldKeepScopesApart() {
+        ReadStateCache cache = new ReadStateCache(60_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(ReadStateCache.ANNOUNCEMENTS, 1L, counting(loads, Map.of()));
+        cache.get(ReadStateCache.NOTIFICATIONS, 1L, counting(loads, Map.of()));
+
+        cache.invalidate(ReadStateCache.ANNOUNCEMENTS, 1L);
+        cache.get(ReadStateCache.NOTIFICATIONS, 1L, counting(loads, Map.of()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldDropTheEntryAgainAfterCommit() {
+        ReadStateCache cache = new ReadStateCache(60_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(ReadStateCache.ANNOUNCEMENTS, 1L);
+            // A read between the write and its commit still sees the old state
+            cache.get(ReadStateCache.ANNOUNCEMENTS, 1L, counting(loads, Map.of()));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Map<Long, LocalDateTime> readAt = cache.get(ReadStateCache.ANNOUNCEMENTS, 1L,
+                counting(loads, Map.of(5L, READ_AT)));
+
+        assertEquals(Map.of(5L, READ_AT), readAt);
+        assertEquals(2, loads.get());
+    }
+
+    private static Supplier<Map<Long, LocalDateTime>> counting(AtomicInteger loads, Map<Long, LocalDateTime> readAt) {
+        return () -> {
+            loads.incrementAndGet();
+            return readAt;
+        };
+    }
+}
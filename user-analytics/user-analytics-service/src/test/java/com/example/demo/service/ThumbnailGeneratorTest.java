@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import com.example.demo.storage.ContentStore;
+import com.example.demo.storage.ThumbnailCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ThumbnailGenerator Tests")
+class ThumbnailGeneratorTest {
+
+    private static final String ADDRESS = "ab12cd";
+
+    @Mock
+    private ThumbnailCache thumbnailCache;
+
+    @Mock
+    private ContentStore contentStore;
+
+    private ThumbnailGenerator thumbnailGenerator;
+
+    private final Resource original = new ByteArrayResource(new byte[]{1, 2, 3});
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        when(contentStore.load(ADDRESS)).thenReturn(original);
+        thumbnailGenerator = new ThumbnailGenerator(thumbnailCache, contentStore, 1);
+    }
+
+    @Test
+    void generateAfterCommit_shouldWaitForTheCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            thumbnailGenerator.generateAfterCommit(ADDRESS);
+            verifyNoInteractions(thumbnailCache, contentStore);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        thumbnailGenerator.shutdown();
+
+        verify(thumbnailCache).generate(ADDRESS, original);
+    }
+
+    @Test
+    void generateAfterCommit_shouldSkipARolledBackUpload() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            thumbnailGenerator.generateAfterCommit(ADDRESS);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        thumbnailGenerator.shutdown();
+
+        verify(thumbnailCache, never()).generate(any(), any());
+    }
+
+    @Test
+    void generateAfterCommit_shouldRunRightAwayWithoutATransaction() throws Exception {
+        thumbnailGenerator.generateAfterCommit(ADDRESS);
+        thumbnailGenerator.shutdown();
+
+        verify(thumbnailCache).generate(ADDRESS, original);
+    }
+}
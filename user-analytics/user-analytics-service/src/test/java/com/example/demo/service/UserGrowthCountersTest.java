@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserGrowthCounters.GrowthTotals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserGrowthCountersTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserGrowthCounters userGrowthCounters;
+
+    @Test
+    void totals_shouldBeEmptyUntilSeeded() {
+        assertTrue(userGrowthCounters.totals().isEmpty());
+
+        userGrowthCounters.record(List.of(LocalDateTime.now()), Map.of());
+
+        assertTrue(userGrowthCounters.totals().isEmpty());
+    }
+
+    @Test
+    void reconcile_shouldSeedWindowsFromTheDatabase() {
+        seed();
+
+        GrowthTotals totals = userGrowthCounters.totals().orElseThrow();
+
+        assertEquals(10, totals.total());
+        assertEquals(1, totals.today());
+        assertEquals(3, totals.thisWeek());
+        assertEquals(7, totals.thisMonth());
+        assertEquals(2, totals.activeUsers());
+    }
+
+    @Test
+    void record_shouldCountSignupsAndOnlyDistinctActiveUsers() {
+        seed();
+        LocalDateTime now = LocalDateTime.now();
+
+        userGrowthCounters.record(List.of(now), Map.of("alice", now, "carol", now));
+        userGrowthCounters.record(List.of(), Map.of("carol", now.plusSeconds(1)));
+
+        GrowthTotals totals = userGrowthCounters.totals().orElseThrow();
+        assertEquals(11, totals.total());
+        assertEquals(2, totals.today());
+        assertEquals(4, totals.thisWeek());
+        assertEquals(3, totals.activeUsers());
+    }
+
+    @Test
+    void reconcile_shouldReplaceCountsThatDrifted() {
+        seed();
+        userGrowthCounters.record(List.of(LocalDateTime.now(), LocalDateTime.now()), Map.of());
+
+        userGrowthCounters.reconcile();
+
+        assertEquals(10, userGrowthCounters.totals().orElseThrow().total());
+        verify(userRepository, times(2)).count();
+    }
+
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        when(userRepository.count()).thenReturn(10L);
+        when(userRepository.countSignupsPerMinuteSince(any())).thenReturn(List.of(
+                new Object[]{LocalDate.now().atStartOfDay(), 1L},
+                new Object[]{now.minusDays(3).withSecond(0).withNano(0), 2L},
+                new Object[]{now.minusDays(20).withSecond(0).withNano(0), 4L}));
+        when(userRepository.findLastLoginsSince(any())).thenReturn(List.of(
+                new Object[]{"alice", now.minusDays(2)},
+                new Object[]{"bob", now.minusDays(1)}));
+
+        userGrowthCounters.reconcile();
+    }
+}
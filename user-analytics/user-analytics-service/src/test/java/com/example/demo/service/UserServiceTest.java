@@ -1,14 +1,31 @@
 package com.example.demo.service;
 
+import com.example.activity.service.ActivityService;
 import com.example.demo.dto.UserRequestDTO;
 import com.example.demo.dto.UserResponseDTO;
+import com.example.demo.event.UserEventPublisher;
+import com.example.demo.model.Profile;
+import com.example.demo.model.UserProfile;
+import com.example.demo.repository.*;
+import com.example.demo.security.AuthenticatedUser;
+import com.example.demo.security.AuthenticatedUserCache;
+import com.example.demo.security.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class UserServiceTest {
@@ -19,9 +36,68 @@ class UserServiceTest {
     @InjectMocks
     private UserServiceTest userServiceTest;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    private UserService profileUserService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        profileUserService = new UserService(userRepository, profileRepository, userProfileRepository,
+                mock(RoleRepository.class), mock(UserRolesRepository.class), mock(PasswordEncoder.class),
+                mock(JwtUtil.class), authenticatedUserCache, mock(ActivityService.class),
+                mock(HttpServletRequest.class), mock(UserEventPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getOrCreateAuthenticatedProfileId_shouldReturnTheExistingProfile() {
+        authenticateAs(new AuthenticatedUser(1L, "alice", List.of("ROLE_USER"), 10L));
+
+        assertEquals(10L, profileUserService.getOrCreateAuthenticatedProfileId());
+        verify(profileRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getOrCreateAuthenticatedProfileId_shouldCreateAProfileOnceAndSwapThePrincipal() {
+        Authentication original = authenticateAs(new AuthenticatedUser(1L, "alice", List.of("ROLE_USER"), null));
+        when(profileRepository.saveAndFlush(any(Profile.class))).thenReturn(new Profile.Builder().id(20L).build());
+        when(userProfileRepository.saveAndFlush(any(UserProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Long profileId = profileUserService.getOrCreateAuthenticatedProfileId();
+
+        assertEquals(20L, profileId);
+        Authentication swapped = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new AuthenticatedUser(1L, "alice", List.of("ROLE_USER"), 20L), swapped.getPrincipal());
+        assertEquals(original.getAuthorities(), swapped.getAuthorities());
+        assertEquals(original.getDetails(), swapped.getDetails());
+        verify(authenticatedUserCache).invalidate(1L);
+
+        // Later calls in the same request see the new profile
+        assertEquals(20L, profileUserService.getOrCreateAuthenticatedProfileId());
+        verify(profileRepository, times(1)).saveAndFlush(any(Profile.class));
+    }
+
+    private static Authentication authenticateAs(AuthenticatedUser user) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(user, null, user.authorities());
+        authentication.setDetails("details");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
     }
 
     @Test
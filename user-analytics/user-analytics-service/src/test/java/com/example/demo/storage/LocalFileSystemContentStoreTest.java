@@ -0,0 +1,152 @@
+package com.example.demo.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalFileSystemContentStore Tests")
+class LocalFileSystemContentStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalFileSystemContentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalFileSystemContentStore(root.toString(), 0);
+    }
+
+    @Test
+    void store_shouldAddressContentBySha256() throws IOException {
+        StoredContent stored = store.store(stream("hello".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", stored.address());
+        assertEquals(5, stored.size());
+        assertTrue(Files.exists(root.resolve("2c").resolve("f2").resolve(stored.address())));
+    }
+
+    @Test
+    void store_shouldStreamContentLargerThanOneChunk() throws IOException {
+        byte[] content = new byte[1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+
+        StoredContent stored = store.store(stream(content));
+
+        assertEquals(content.length, stored.size());
+        try (InputStream in = store.load(stored.address()).getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void store_shouldDeduplicateIdenticalContentAndLeaveNoTemporaryFiles() throws IOException {
+        StoredContent first = store.store(stream(new byte[]{1, 2, 3}));
+        StoredContent second = store.store(stream(new byte[]{1, 2, 3}));
+
+        assertEquals(first.address(), second.address());
+        try (var tmp = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, tmp.count());
+        }
+    }
+
+    @Test
+    void moveIntoPlace_shouldLeaveContentAConcurrentUploadPutInPlace() throws IOException {
+        Path target = root.resolve("target");
+        Files.writeString(target, "stored first");
+        FileTime storedAt = Files.getLastModifiedTime(target);
+        Path tmp = Files.writeString(root.resolve("upload.part"), "stored second");
+
+        assertFalse(LocalFileSystemContentStore.moveIntoPlace(tmp, target));
+
+        assertEquals("stored first", Files.readString(target));
+        assertEquals(storedAt, Files.getLastModifiedTime(target));
+    }
+
+    @Test
+    void load_shouldExposeContentLengthForRangeRequests() throws IOException {
+        StoredContent stored = store.store(stream(new byte[100]));
+
+        Resource resource = store.load(stored.address());
+
+        assertEquals(100, resource.contentLength());
+    }
+
+    @Test
+    void delete_shouldRemoveContent() throws IOException {
+        StoredContent stored = store.store(stream(new byte[]{9}));
+
+        store.delete(stored.address());
+
+        assertThrows(NoSuchFileException.class, () -> store.load(stored.address()));
+    }
+
+    @Test
+    void delete_shouldKeepContentStoredWithinTheGracePeriod() throws IOException {
+        LocalFileSystemContentStore graceful = new LocalFileSystemContentStore(root.toString(), 60_000);
+        StoredContent stored = graceful.store(stream(new byte[]{9}));
+
+        graceful.delete(stored.address());
+
+        assertTrue(graceful.load(stored.address()).exists());
+    }
+
+    @Test
+    void discard_shouldRemoveContentCreatedByTheStoreCallWithinTheGracePeriod() throws IOException {
+        LocalFileSystemContentStore graceful = new LocalFileSystemContentStore(root.toString(), 60_000);
+        StoredContent stored = graceful.store(stream(new byte[]{7}));
+
+        graceful.discard(stored);
+
+        assertThrows(NoSuchFileException.class, () -> graceful.load(stored.address()));
+    }
+
+    @Test
+    void discard_shouldKeepContentThatWasAlreadyStored() throws IOException {
+        StoredContent first = store.store(stream(new byte[]{7}));
+        StoredContent duplicate = store.store(stream(new byte[]{7}));
+
+        assertNull(duplicate.createdAt());
+        store.discard(duplicate);
+
+        assertTrue(store.load(first.address()).exists());
+    }
+
+    @Test
+    void discard_shouldKeepContentStoredAgainSince() throws IOException {
+        StoredContent created = store.store(stream(new byte[]{7}));
+        // Created a minute ago, then uploaded again by someone else
+        Instant createdAt = created.createdAt().minusSeconds(60);
+        Files.setLastModifiedTime(root.resolve(created.address().substring(0, 2))
+                .resolve(created.address().substring(2, 4)).resolve(created.address()), FileTime.from(createdAt));
+        store.store(stream(new byte[]{7}));
+
+        store.discard(new StoredContent(created.address(), created.size(), createdAt));
+
+        assertTrue(store.load(created.address()).exists());
+    }
+
+    @Test
+    void load_shouldRejectAddressesOutsideTheStore() {
+        assertThrows(IllegalArgumentException.class, () -> store.load("../../etc/passwd"));
+    }
+
+    private static InputStream stream(byte[] content) {
+        return new ByteArrayInputStream(content);
+    }
+}
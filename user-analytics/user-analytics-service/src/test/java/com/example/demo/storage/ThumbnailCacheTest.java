@@ -0,0 +1,96 @@
+package com.example.demo.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ThumbnailCache Tests")
+class ThumbnailCacheTest {
+
+    private static final String KEY = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path dir;
+
+    private ThumbnailCache thumbnailCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        thumbnailCache = new ThumbnailCache(dir.toString(), new int[]{128, 64, 256}, 1024 * 1024);
+    }
+
+    @Test
+    void snap_shouldRoundUpToTheNextGeneratedSize() {
+        assertEquals(64, thumbnailCache.snap(10));
+        assertEquals(128, thumbnailCache.snap(65));
+        assertEquals(256, thumbnailCache.snap(256));
+        assertEquals(256, thumbnailCache.snap(4000));
+    }
+
+    @Test
+    void get_shouldFitTheImageIntoTheSizeKeepingItsAspectRatio() throws IOException {
+        byte[] thumbnail = thumbnailCache.get(KEY, 64, () -> png(400, 200)).orElseThrow();
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertEquals(64, decoded.getWidth());
+        assertEquals(32, decoded.getHeight());
+    }
+
+    @Test
+    void get_shouldNotUpscaleSmallImages() throws IOException {
+        byte[] thumbnail = thumbnailCache.get(KEY, 256, () -> png(40, 30)).orElseThrow();
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertEquals(40, decoded.getWidth());
+        assertEquals(30, decoded.getHeight());
+    }
+
+    @Test
+    void get_shouldOpenTheOriginalOnlyOnce() throws IOException {
+        AtomicInteger opened = new AtomicInteger();
+        Resource original = png(300, 300);
+
+        thumbnailCache.get(KEY, 64, () -> {
+            opened.incrementAndGet();
+            return original;
+        });
+        thumbnailCache.get(KEY, 128, () -> {
+            opened.incrementAndGet();
+            return original;
+        });
+
+        // The first miss generates every size; a fresh cache finds them on disk
+        ThumbnailCache restarted = new ThumbnailCache(dir.toString(), new int[]{64, 128, 256}, 1024 * 1024);
+        assertTrue(restarted.get(KEY, 256, () -> fail("thumbnail should be on disk")).isPresent());
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    void get_shouldBeEmptyForContentThatIsNotAnImage() throws IOException {
+        assertTrue(thumbnailCache.get(KEY, 64, () -> new ByteArrayResource("not an image".getBytes())).isEmpty());
+    }
+
+    @Test
+    void get_shouldRejectKeysOutsideTheCache() {
+        assertThrows(IllegalArgumentException.class, () -> thumbnailCache.get("../etc", 64, () -> png(1, 1)));
+    }
+
+    private static Resource png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return new ByteArrayResource(out.toByteArray());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RollupWindow Tests")
+class RollupWindowTest {
+
+    private final LocalDateTime start = LocalDateTime.of(2025, 3, 1, 10, 30);
+    private final LocalDateTime end = LocalDateTime.of(2025, 3, 8, 15, 0);
+
+    @Test
+    void of_shouldReadEverythingRawWhenNothingIsRolledUp() {
+        RollupWindow window = RollupWindow.of(start, end, null);
+
+        assertFalse(window.hasRollupDays());
+        assertEquals(window.getHeadStart(), window.getHeadEnd());
+        assertEquals(start, window.getTailStart());
+        assertEquals(end, window.getTailEnd());
+    }
+
+    @Test
+    void of_shouldUseRollupForWholeDaysUpToWatermark() {
+        RollupWindow window = RollupWindow.of(start, end, LocalDate.of(2025, 3, 5));
+
+        assertTrue(window.hasRollupDays());
+        assertEquals(start, window.getHeadStart());
+        assertEquals(LocalDateTime.of(2025, 3, 2, 0, 0), window.getHeadEnd());
+        assertEquals(LocalDate.of(2025, 3, 2), window.getRollupFrom());
+        assertEquals(LocalDate.of(2025, 3, 6), window.getRollupTo());
+        assertEquals(LocalDateTime.of(2025, 3, 6, 0, 0), window.getTailStart());
+        assertEquals(end, window.getTailEnd());
+    }
+
+    @Test
+    void of_shouldNotUseRollupDaysAfterTheEndOfTheRange() {
+        RollupWindow window = RollupWindow.of(start, end, LocalDate.of(2025, 3, 20));
+
+        assertEquals(LocalDate.of(2025, 3, 8), window.getRollupTo());
+        assertEquals(LocalDateTime.of(2025, 3, 8, 0, 0), window.getTailStart());
+    }
+
+    @Test
+    void of_shouldIncludeStartDayWhenRangeStartsAtMidnight() {
+        LocalDateTime midnight = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+        RollupWindow window = RollupWindow.of(midnight, end, LocalDate.of(2025, 3, 5));
+
+        assertEquals(LocalDate.of(2025, 3, 1), window.getRollupFrom());
+        assertEquals(window.getHeadStart(), window.getHeadEnd());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SlidingWindowCounter Tests")
+class SlidingWindowCounterTest {
+
+    private static final int SHORT = 0;
+    private static final int LONG = 1;
+
+    @Test
+    void total_shouldDropBucketsThatFallOutOfTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(2, 100, 0);
+        counter.add(0, 1);
+        counter.add(10, 2);
+        counter.add(20, 3);
+
+        assertEquals(6, counter.total(LONG, 0));
+        assertEquals(5, counter.total(SHORT, 5));
+        assertEquals(3, counter.total(SHORT, 15));
+        assertEquals(6, counter.total(LONG, 0));
+    }
+
+    @Test
+    void total_shouldIgnoreWindowStartsThatMoveBackwards() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1, 100, 0);
+        counter.add(0, 1);
+        counter.add(10, 1);
+
+        assertEquals(1, counter.total(0, 5));
+        assertEquals(1, counter.total(0, 0));
+    }
+
+    @Test
+    void add_shouldApplyNegativeDeltasAndSkipMinutesBeforeTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1, 100, 0);
+        counter.add(10, 1);
+        counter.add(20, 1);
+        assertEquals(1, counter.total(0, 15));
+
+        counter.add(10, -1);
+        counter.add(20, -1);
+        counter.add(30, 1);
+
+        assertEquals(1, counter.total(0, 15));
+    }
+
+    @Test
+    void add_shouldNotLeaveOverwrittenBucketsInTheTotal() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1, 10, 0);
+        counter.add(2, 5);
+        counter.add(12, 1);
+
+        assertEquals(1, counter.total(0, 3));
+        counter.add(40, 1);
+        assertEquals(1, counter.total(0, 31));
+    }
+
+    @Test
+    void total_shouldHandleGapsLongerThanTheRing() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1, 10, 0);
+        counter.add(1, 1);
+        counter.add(5, 1);
+
+        assertEquals(0, counter.total(0, 1_000));
+    }
+
+    @Test
+    void minuteOf_shouldCountWholeMinutes() {
+        LocalDateTime time = LocalDateTime.of(2025, 3, 1, 10, 30, 59);
+
+        assertEquals(SlidingWindowCounter.minuteOf(time.withSecond(0)), SlidingWindowCounter.minuteOf(time));
+        assertEquals(SlidingWindowCounter.minuteOf(time) + 1, SlidingWindowCounter.minuteOf(time.plusSeconds(1)));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.featureusage.repository;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.User;
+import com.example.demo.util.RollupWindow;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every windowed read must give the same answer whether a day comes from the rollup tables or
+ * from raw feature_usage rows. The fixtures live in March 2020, away from the seeded data.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import(FeatureUsageRollupRepository.class)
+class FeatureUsageRollupRepositoryTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2020, 3, 1);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDate DAY_3 = DAY_1.plusDays(2);
+
+    @Autowired
+    private FeatureUsageRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private Long ada;
+    private Long grace;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void seedUsage() {
+        ada = persistUser("rollup-ada");
+        grace = persistUser("rollup-grace");
+        insertUsage(ada, "Search", "Discovery", DAY_1.atTime(10, 0), 10);
+        insertUsage(grace, "Search", "Discovery", DAY_2.atTime(9, 0), 20);
+        insertUsage(ada, "Export", null, DAY_2.atTime(12, 0), null);
+        insertUsage(ada, "Search", "Discovery", DAY_3.atTime(8, 0), null);
+        rollupRepository.rollUpDay(DAY_1);
+        rollupRepository.rollUpDay(DAY_2);
+    }
+
+    @Test
+    void rollUpDay_shouldAggregateOneDayAndBeIdempotent() {
+        rollupRepository.rollUpDay(DAY_2);
+
+        assertThat(jdbcTemplate.queryForList("SELECT feature_name, category, usage_count, duration_sum, " +
+                "duration_count FROM feature_usage_daily WHERE usage_date = ? ORDER BY feature_name", DAY_2))
+                .containsExactly(
+                        Map.of("feature_name", "Export", "category", "Uncategorized",
+                                "usage_count", 1L, "duration_sum", 0L, "duration_count", 0L),
+                        Map.of("feature_name", "Search", "category", "Discovery",
+                                "usage_count", 1L, "duration_sum", 20L, "duration_count", 1L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM feature_user_daily WHERE usage_date = ?", Long.class, DAY_2)).isEqualTo(2L);
+    }
+
+    @Test
+    void windowedReads_shouldCombineRolledUpDaysWithRawEdges() {
+        // Head from raw rows on day 1, day 2 from the rollup, tail from raw rows on day 3
+        RollupWindow split = RollupWindow.of(DAY_1.atTime(6, 0), DAY_3.atTime(23, 59, 59), DAY_2);
+        RollupWindow raw = RollupWindow.of(DAY_1.atTime(6, 0), DAY_3.atTime(23, 59, 59), null);
+        assertThat(split.hasRollupDays()).isTrue();
+
+        for (RollupWindow window : List.of(split, raw)) {
+            Map<String, Object[]> summary = byFirstColumn(rollupRepository.getFeatureUsageSummary(window));
+            assertThat(summary.get("Search")).containsExactly("Search", 3L, 30L, 2L);
+            assertThat(summary.get("Export")).containsExactly("Export", 1L, 0L, 0L);
+
+            assertThat(byFirstColumn(rollupRepository.getUniqueUsersPerFeature(window)).get("Search")[1]).isEqualTo(2L);
+            assertThat(rollupRepository.countActiveUsers(window)).isEqualTo(2L);
+
+            Map<String, Object[]> categories = byFirstColumn(rollupRepository.getUsageByCategory(window));
+            assertThat(categories.get("Discovery")[1]).isEqualTo(3L);
+            assertThat(categories.get("Uncategorized")[1]).isEqualTo(1L);
+
+            assertThat(rollupRepository.getDailyUsage(window, null))
+                    .containsExactly(new Object[]{DAY_1, 1L}, new Object[]{DAY_2, 2L}, new Object[]{DAY_3, 1L});
+            assertThat(rollupRepository.getDailyUsage(window, "Export"))
+                    .containsExactly(new Object[]{DAY_2, 1L});
+        }
+    }
+
+    @Test
+    void windowedReads_shouldMissLateRowsUntilTheirDayIsRolledUpAgain() {
+        RollupWindow window = RollupWindow.of(DAY_1.atStartOfDay(), DAY_3.atStartOfDay(), DAY_2);
+        insertUsage(grace, "Export", null, DAY_2.atTime(23, 0), 5);
+
+        assertThat(byFirstColumn(rollupRepository.getFeatureUsageSummary(window)).get("Export")[1]).isEqualTo(1L);
+
+        rollupRepository.rollUpDay(DAY_2);
+        assertThat(byFirstColumn(rollupRepository.getFeatureUsageSummary(window)).get("Export"))
+                .containsExactly("Export", 2L, 5L, 1L);
+    }
+
+    @Test
+    void findEarliestRawDay_shouldReturnTheDayOfTheOldestRow() {
+        assertThat(rollupRepository.findEarliestRawDay()).isBeforeOrEqualTo(DAY_1);
+    }
+
+    private Long persistUser(String username) {
+        User user = entityManager.persist(new User.Builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+        return user.getId();
+    }
+
+    private void insertUsage(Long userId, String feature, String category, LocalDateTime at, Integer duration) {
+        jdbcTemplate.update("INSERT INTO feature_usage (user_id, feature_name, category, timestamp, duration_seconds) " +
+                "VALUES (?, ?, ?, ?, ?)", userId, feature, category, Timestamp.valueOf(at), duration);
+    }
+
+    private static Map<String, Object[]> byFirstColumn(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.toMap(row -> (String) row[0], row -> row));
+    }
+}
@@ -6,9 +6,11 @@
 
 package com.example.featureusage.service;
 
+import com.example.demo.repository.RollupWatermarkRepository;
 import com.example.featureusage.repository.FeatureRatingRepository;
 import com.example.featureusage.repository.FeatureUsageRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.featureusage.repository.FeatureUsageRollupRepository;
 import com.example.featureusage.dto.CategoryUsageDTO;
 import com.example.featureusage.dto.FeatureUsageDTO;
 import com.example.featureusage.model.*;
@@ -19,7 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,14 +37,18 @@ class FeatureServiceImplTest {
     FeatureRatingRepository featureRatingRepository;
     @Mock
     UserRepository userRepository;
+    @Mock
+    FeatureUsageRollupRepository featureUsageRollupRepository;
+    @Mock
+    RollupWatermarkRepository rollupWatermarkRepository;
 
     @InjectMocks
     FeatureServiceImpl featureService;
 
     @Test
     void testGetFeatureUsage() {
-        List<Object[]> stats = List.of(new Object[]{"Dashboard", 5L}, new Object[]{"Reports", 2L});
-        when(featureUsageRepository.getFeatureUsageStats(any())).thenReturn(stats);
+        List<Object[]> stats = List.of(new Object[]{"Dashboard", 5L, 0L, 0L}, new Object[]{"Reports", 2L, 0L, 0L});
+        when(featureUsageRollupRepository.getFeatureUsageSummary(any())).thenReturn(stats);
 
         FeatureUsageDTO dto = featureService.getFeatureUsage("weekly");
 
@@ -53,7 +59,7 @@ class FeatureServiceImplTest {
     @Test
     void testGetStatistics() {
         when(userRepository.count()).thenReturn(10L);
-        when(featureUsageRepository.countActiveUsers(any())).thenReturn(5L);
+        when(featureUsageRollupRepository.countActiveUsers(any())).thenReturn(5L);
         when(featureRatingRepository.getAverageRating()).thenReturn(4.5);
         when(featureUsageRepository.countTotalSessions()).thenReturn(20L);
         when(featureUsageRepository.getAverageSessionDuration()).thenReturn(120.0);
@@ -70,18 +76,14 @@ class FeatureServiceImplTest {
 
     @Test
     void testGetFeatureDetails() {
-        when(featureUsageRepository.getFeatureUsageStats(any()))
-                .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 10L}));
-        when(featureUsageRepository.getFeatureUsageStats(any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 5L}));
-        when(featureUsageRepository.getUniqueUsersPerFeature(any()))
+        when(featureUsageRollupRepository.getFeatureUsageSummary(any()))
+                .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 5L, 180L, 3L}))
+                .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 4L, 0L, 0L}));
+        when(featureUsageRollupRepository.getUniqueUsersPerFeature(any()))
                 .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 3L}));
-        when(featureUsageRepository.getAvgTimePerFeature())
-                .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 60.0}));
         when(featureRatingRepository.getAverageRatingPerFeature())
                 .thenReturn(Collections.singletonList(new Object[]{"Dashboard", 4.0}));
 
-
         List<FeatureDetail> details = featureService.getFeatureDetails();
 
         assertFalse(details.isEmpty());
@@ -92,17 +94,15 @@ class FeatureServiceImplTest {
         assertEquals("1m 0s", detail.getAvgTime());
         assertEquals(4.0, detail.getRating());
         assertEquals(5, detail.getSessions());
+        assertEquals(25.0, detail.getGrowth());
     }
 
     @Test
     void testGetUsageTrends() {
-        FeatureUsage usage1 = new FeatureUsage();
-        usage1.setTimestamp(LocalDateTime.now().minusDays(1));
-        FeatureUsage usage2 = new FeatureUsage();
-        usage2.setTimestamp(LocalDateTime.now());
-
-        when(featureUsageRepository.findByTimestampBetween(any(), any()))
-                .thenReturn(List.of(usage1, usage2));
+        when(featureUsageRollupRepository.getDailyUsage(any(), isNull()))
+                .thenReturn(List.of(
+                        new Object[]{LocalDate.now().minusDays(1), 1L},
+                        new Object[]{LocalDate.now(), 1L}));
 
         UsageTrend trend = featureService.getUsageTrends("weekly", null);
 
@@ -125,7 +125,7 @@ class FeatureServiceImplTest {
 
     @Test
     void testGetUsageByCategory() {
-        when(featureUsageRepository.getUsageByCategory())
+        when(featureUsageRollupRepository.getUsageByCategory(any()))
                 .thenReturn(List.of(new Object[]{"Analytics", 7L}, new Object[]{null, 2L}));
 
         CategoryUsageDTO dto = featureService.getUsageByCategory();
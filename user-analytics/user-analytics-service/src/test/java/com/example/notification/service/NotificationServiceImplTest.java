@@ -10,11 +10,13 @@ import com.example.demo.model.Profile;
 import com.example.demo.model.User;
 import com.example.notification.repository.ProfileNotificationRepository;
 import com.example.demo.repository.ProfileRepository;
+import com.example.demo.service.ReadStateCache;
 import com.example.demo.service.UserService;
 import com.example.notification.dto.NotificationsDTO;
 import com.example.notification.model.Notification;
 import com.example.notification.model.NotificationPriority;
 import com.example.notification.model.NotificationType;
+import com.example.notification.model.UserNotificationRead;
 import com.example.notification.repository.NotificationRepository;
 import com.example.notification.repository.UserNotificationReadRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.Timestamp;
@@ -46,6 +49,8 @@ class NotificationServiceImplTest {
     private ProfileNotificationRepository profileNotificationRepository;
     @Mock
     private UserNotificationReadRepository readRepository;
+    @Spy
+    private ReadStateCache readStateCache = new ReadStateCache(60_000, 100);
 
     @InjectMocks
     private NotificationServiceImpl notificationService;
@@ -72,7 +77,7 @@ class NotificationServiceImplTest {
         notification.setPriority(NotificationPriority.LOW);
 
         when(notificationRepository.findNotificationsByUserId(1L)).thenReturn(List.of(notification));
-        when(readRepository.findByUserIdAndNotificationId(1L, 1L)).thenReturn(Optional.empty());
+        when(readRepository.findReadStateByUserId(1L)).thenReturn(Collections.emptyList());
 
         List<NotificationsDTO> result = notificationService.getAllNotifications();
 
@@ -91,14 +96,14 @@ class NotificationServiceImplTest {
         notification.setType(NotificationType.INFO);
         notification.setPriority(NotificationPriority.HIGH);
 
-        when(notificationRepository.findNotificationsByUserId(1L)).thenReturn(List.of(notification));
-        when(readRepository.existsByUserIdAndNotificationId(1L, 2L)).thenReturn(false);
-        when(readRepository.findByUserIdAndNotificationId(1L, 2L)).thenReturn(Optional.empty());
+        when(notificationRepository.findUnreadNotificationsByUserId(1L)).thenReturn(List.of(notification));
 
         List<NotificationsDTO> result = notificationService.getUnreadNotifications();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo("Unread");
+        assertThat(result.get(0).getIsRead()).isFalse();
+        verify(readRepository, never()).findReadStateByUserId(anyLong());
     }
 
     @Test
@@ -149,4 +154,26 @@ class NotificationServiceImplTest {
         verify(notificationRepository, never()).save(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should count unread notifications in the database")
+    void getUnreadCount_usesCountQuery() {
+        when(notificationRepository.countUnreadNotificationsByUserId(1L)).thenReturn(3L);
+
+        Long count = notificationService.getUnreadCount();
+
+        assertThat(count).isEqualTo(3L);
+        verify(notificationRepository, never()).findNotificationsByUserId(anyLong());
+        verifyNoInteractions(readRepository);
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached read state when marking as read")
+    void markAsRead_invalidatesReadState() {
+        when(readRepository.existsByUserIdAndNotificationId(1L, 5L)).thenReturn(false);
+
+        notificationService.markAsRead(5L);
+
+        verify(readRepository).save(any(UserNotificationRead.class));
+        verify(readStateCache).invalidate(ReadStateCache.NOTIFICATIONS, 1L);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.notification.service;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.User;
+import com.example.demo.service.UserService;
+import com.example.notification.dto.NotificationsDTO;
+import com.example.notification.model.Notification;
+import com.example.notification.model.NotificationPriority;
+import com.example.notification.model.NotificationType;
+import com.example.notification.model.UserNotificationRead;
+import com.example.notification.service.impl.NotificationService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the statements Hibernate prepares while listing notifications, so a per-row lookup
+ * shows up however the repositories are wired.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class NotificationServiceQueryCountTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private User user;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persistAndFlush(new User.Builder()
+                .username("notification-reader")
+                .email("notification-reader@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+        when(userService.getAuthenticatedUser()).thenReturn(Optional.of(user));
+    }
+
+    @ParameterizedTest(name = "{0} notifications")
+    @ValueSource(ints = {1, 10, 100})
+    void getNotificationsByType_shouldIssueTwoStatementsRegardlessOfSize(int size) {
+        Set<Long> read = new HashSet<>();
+        for (int i = 1; i <= size; i++) {
+            Notification notification = new Notification();
+            notification.setTitle("Counted " + i);
+            notification.setMessage("Message " + i);
+            notification.setType(NotificationType.INFO);
+            notification.setPriority(NotificationPriority.LOW);
+            notification.setTimestamp(Timestamp.valueOf(LocalDateTime.now()));
+            Long id = entityManager.persist(notification).getId();
+            if (i % 2 == 0) {
+                entityManager.persist(new UserNotificationRead(null, user.getId(), id, null));
+                read.add(id);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<NotificationsDTO> result = notificationService.getNotificationsByType(NotificationType.INFO);
+
+        // One for the notifications, one for the user's read state
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(result).filteredOn(NotificationsDTO::getIsRead)
+                .extracting(NotificationsDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(read);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports 5M rows per format into a discarding stream and checks that the heap in use after GC
+ * does not grow with the number of rows written. PDF is left out: PDFBox keeps a small dictionary
+ * per page in memory until the document is saved. Run with a heap cap so any buffering fails fast:
+ * <pre>
+ * mvn test -Dtest=ReportExportBenchmark -Dbenchmark=true -DargLine=-Xmx64m
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReportExportBenchmark {
+
+    private static final int ROWS = 5_000_000;
+    private static final int SAMPLES = 10;
+    private static final long MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    @ParameterizedTest
+    @EnumSource(value = ReportExportFormat.class, names = {"CSV", "EXCEL"})
+    void export_shouldRunInConstantMemory(ReportExportFormat format) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        CountingSink sink = new CountingSink();
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 1, 12, 0);
+        long[] heapAfterGc = new long[SAMPLES];
+
+        long start = System.nanoTime();
+        try (ReportExportWriter writer = format.open(sink, "Benchmark")) {
+            writer.writeHeader(List.of("username", "activityCount", "lastActivity", "note"));
+            for (int i = 0; i < ROWS; i++) {
+                writer.writeRow(Arrays.asList("user-" + i, i, timestamp.plusSeconds(i).toString(), "a, \"quoted\" <note>"));
+                if ((i + 1) % (ROWS / SAMPLES) == 0) {
+                    System.gc();
+                    heapAfterGc[(i + 1) / (ROWS / SAMPLES) - 1] = memory.getHeapMemoryUsage().getUsed();
+                }
+            }
+            writer.finish();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long growth = heapAfterGc[SAMPLES - 1] - heapAfterGc[0];
+        log.info("{}: {} rows, {} bytes in {} ms; heap after GC {} -> {} bytes",
+                format, ROWS, sink.bytes, elapsedMs, heapAfterGc[0], heapAfterGc[SAMPLES - 1]);
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES, format + " heap grew by " + growth + " bytes");
+    }
+
+    private static final class CountingSink extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
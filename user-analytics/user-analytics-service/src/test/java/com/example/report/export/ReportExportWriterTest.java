@@ -0,0 +1,125 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.export;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportExportWriter Tests")
+class ReportExportWriterTest {
+
+    @Test
+    void csv_shouldQuoteFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        String csv = new String(export(ReportExportFormat.CSV, List.of("name", "note"),
+                Arrays.asList("plain", "a,b"),
+                Arrays.asList("say \"hi\"", "line1\nline2"),
+                Arrays.asList(null, 42)), StandardCharsets.UTF_8);
+
+        assertEquals("name,note\r\n"
+                + "plain,\"a,b\"\r\n"
+                + "\"say \"\"hi\"\"\",\"line1\nline2\"\r\n"
+                + ",42\r\n", csv);
+    }
+
+    @Test
+    void xlsx_shouldWriteNumbersAsNumbersAndEverythingElseAsText() throws IOException {
+        byte[] xlsx = export(ReportExportFormat.EXCEL, List.of("user", "count"),
+                Arrays.asList("<b>&co", 7),
+                Arrays.asList(null, Double.NaN));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+            Sheet sheet = workbook.getSheet("Report");
+            assertEquals("user", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("<b>&co", sheet.getRow(1).getCell(0).getStringCellValue());
+            assertEquals(CellType.NUMERIC, sheet.getRow(1).getCell(1).getCellType());
+            assertEquals(7, sheet.getRow(1).getCell(1).getNumericCellValue());
+            assertNull(sheet.getRow(2).getCell(0));
+            assertEquals("NaN", sheet.getRow(2).getCell(1).getStringCellValue());
+        }
+    }
+
+    @Test
+    void xlsx_shouldStartANewSheetWithTheHeaderWhenOneIsFull() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxReportWriter writer = new XlsxReportWriter(out, 3)) {
+            writer.writeHeader(List.of("n"));
+            for (int i = 0; i < 5; i++) {
+                writer.writeRow(List.of(i));
+            }
+            writer.finish();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            Sheet second = workbook.getSheet("Report 2");
+            assertEquals("n", second.getRow(0).getCell(0).getStringCellValue());
+            assertEquals(2, second.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals(4, workbook.getSheet("Report 3").getRow(1).getCell(0).getNumericCellValue());
+        }
+    }
+
+    @Test
+    void pdf_shouldSplitRowsIntoPagesWithTheHeaderOnEach() throws IOException {
+        List<?>[] rows = new List<?>[200];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = List.of("user (" + i + ")", i);
+        }
+        byte[] pdf = export(ReportExportFormat.PDF, List.of("user", "count"), rows);
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            assertTrue(document.getNumberOfPages() > 1);
+            assertEquals("Test Report", document.getDocumentInformation().getTitle());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(document.getNumberOfPages());
+            stripper.setEndPage(document.getNumberOfPages());
+            String lastPage = stripper.getText(document);
+            assertTrue(lastPage.startsWith("user count"), lastPage);
+            assertTrue(lastPage.contains("user (199) 199"), lastPage);
+        }
+    }
+
+    @Test
+    void pdf_shouldKeepWindows1252CharactersAndReplaceTheRest() throws IOException {
+        byte[] pdf = export(ReportExportFormat.PDF, List.of("note"),
+                List.of("€ 5 — café"),
+                List.of("日本 ok"));
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("€ 5 — café"), text);
+            assertTrue(text.contains("?? ok"), text);
+        }
+        assertEquals("a b ?", PdfReportWriter.toWinAnsi("a\tb \uD83D\uDE00"));
+    }
+
+    private static byte[] export(ReportExportFormat format, List<String> header, List<?>... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportExportWriter writer = format.open(out, "Test Report")) {
+            writer.writeHeader(header);
+            for (List<?> row : rows) {
+                writer.writeRow(row);
+            }
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.repository;
+
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.model.User;
+import com.example.demo.testutil.TestcontainersConfiguration;
+import com.example.report.model.ReportFrequency;
+import com.example.report.model.ScheduledReport;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the lease SQL against PostgreSQL. Reports are due in 2000 so that reports left by other
+ * tests, due at real dates, are never claimed.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, ScheduledReportClaimRepository.class})
+class ScheduledReportClaimRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2000, 1, 1, 12, 0);
+    private static final String OWNER_A = "replica-a";
+    private static final String OWNER_B = "replica-b";
+
+    @Autowired
+    private ScheduledReportClaimRepository claimRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    private Long userId;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = entityManager.persistAndFlush(new User.Builder()
+                .username("lease-user")
+                .email("lease@example.com")
+                .password("password")
+                .salt("salt")
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    @Test
+    void claimDue_shouldLeaseEachDueReportToOneOwnerOnly() {
+        String first = insert(NOW.minusHours(2), true);
+        String second = insert(NOW.minusHours(1), true);
+        insert(NOW.plusHours(1), true);
+        insert(NOW.minusHours(1), false);
+
+        List<ScheduledReport> claimedByA = claimRepository.claimDue(OWNER_A, NOW, NOW.plusMinutes(10), 10);
+        List<ScheduledReport> claimedByB = claimRepository.claimDue(OWNER_B, NOW, NOW.plusMinutes(10), 10);
+
+        assertThat(claimedByA).extracting(ScheduledReport::getId, ScheduledReport::getUserId,
+                        ScheduledReport::getFrequency)
+                .containsExactlyInAnyOrder(
+                        tuple(first, userId, ReportFrequency.DAILY),
+                        tuple(second, userId, ReportFrequency.DAILY));
+        assertThat(claimedByB).isEmpty();
+        assertThat(lease(first)).containsEntry("lease_owner", OWNER_A)
+                .containsEntry("lease_until", Timestamp.valueOf(NOW.plusMinutes(10)));
+    }
+
+    @Test
+    void claimDue_shouldTakeTheEarliestReportsUpToTheLimit() {
+        String earliest = insert(NOW.minusHours(3), true);
+        insert(NOW.minusHours(1), true);
+
+        List<ScheduledReport> claimed = claimRepository.claimDue(OWNER_A, NOW, NOW.plusMinutes(10), 1);
+
+        assertThat(claimed).extracting(ScheduledReport::getId).containsExactly(earliest);
+    }
+
+    @Test
+    void claimDue_shouldHandAnExpiredLeaseToAnotherOwner() {
+        String id = insert(NOW.minusHours(1), true);
+        claimRepository.claimDue(OWNER_A, NOW, NOW.plusMinutes(10), 10);
+
+        LocalDateTime afterExpiry = NOW.plusMinutes(11);
+        List<ScheduledReport> reclaimed = claimRepository.claimDue(OWNER_B, afterExpiry, afterExpiry.plusMinutes(10), 10);
+
+        assertThat(reclaimed).extracting(ScheduledReport::getId).containsExactly(id);
+        assertThat(lease(id)).containsEntry("lease_owner", OWNER_B);
+        // The owner that lost the lease can no longer complete or release the report
+        assertThat(claimRepository.complete(id, OWNER_A, NOW.plusDays(1), afterExpiry)).isFalse();
+        claimRepository.release(id, OWNER_A, afterExpiry.plusHours(1));
+        assertThat(lease(id)).containsEntry("lease_owner", OWNER_B);
+    }
+
+    @Test
+    void complete_shouldAdvanceTheNextRunAndEndTheLease() {
+        String id = insert(NOW.minusHours(1), true);
+        claimRepository.claimDue(OWNER_A, NOW, NOW.plusMinutes(10), 10);
+
+        assertThat(claimRepository.complete(id, OWNER_A, NOW.plusDays(1), NOW)).isTrue();
+
+        Map<String, Object> row = lease(id);
+        assertThat(row.get("lease_owner")).isNull();
+        assertThat(row.get("lease_until")).isNull();
+        assertThat(row).containsEntry("next_run", Timestamp.valueOf(NOW.plusDays(1)));
+        assertThat(claimRepository.claimDue(OWNER_B, NOW, NOW.plusMinutes(10), 10)).isEmpty();
+    }
+
+    @Test
+    void release_shouldKeepTheReportDueButUnclaimableUntilTheRetryTime() {
+        String id = insert(NOW.minusHours(1), true);
+        claimRepository.claimDue(OWNER_A, NOW, NOW.plusMinutes(10), 10);
+
+        claimRepository.release(id, OWNER_A, NOW.plusMinutes(5));
+
+        assertThat(lease(id).get("lease_owner")).isNull();
+        assertThat(claimRepository.claimDue(OWNER_B, NOW.plusMinutes(1), NOW.plusMinutes(11), 10)).isEmpty();
+        assertThat(claimRepository.claimDue(OWNER_B, NOW.plusMinutes(6), NOW.plusMinutes(16), 10))
+                .extracting(ScheduledReport::getId).containsExactly(id);
+    }
+
+    private String insert(LocalDateTime nextRun, boolean enabled) {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO scheduled_reports (id, user_id, name, template_id, frequency, recipients, " +
+                        "filters, enabled, next_run) VALUES (?, ?, 'Lease report', 'summary', 'daily', " +
+                        "ARRAY['ops@example.com'], '{}'::jsonb, ?, ?)",
+                id, userId, enabled, Timestamp.valueOf(nextRun));
+        return id;
+    }
+
+    private Map<String, Object> lease(String id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT lease_owner, lease_until, next_run FROM scheduled_reports WHERE id = ?", id);
+    }
+}
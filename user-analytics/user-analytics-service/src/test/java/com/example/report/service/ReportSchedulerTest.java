@@ -0,0 +1,143 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.service;
+
+import com.example.report.dto.ReportDataDTO;
+import com.example.report.dto.ReportFilterDTO;
+import com.example.report.model.ReportFrequency;
+import com.example.report.model.ScheduledReport;
+import com.example.report.repository.ScheduledReportClaimRepository;
+import com.example.report.service.impl.ReportsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSchedulerTest {
+
+    @Mock
+    private ScheduledReportClaimRepository claimRepository;
+
+    @Mock
+    private ReportsService reportsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportScheduler reportScheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reportScheduler = new ReportScheduler(claimRepository, reportsService, new ObjectMapper(),
+                transactionTemplate, meterRegistry, 2, 10, 600_000, 300_000, 300_000);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reportScheduler.shutdown();
+    }
+
+    @Test
+    void run_shouldSaveResultAndAdvanceNextRun() {
+        when(reportsService.generateReport(eq("user-activity"), any())).thenReturn(reportData());
+        when(claimRepository.complete(eq("r1"), anyString(), any(), any())).thenReturn(true);
+
+        reportScheduler.run(schedule("r1", "{\"startDate\":\"2025-01-01\"}"));
+
+        ArgumentCaptor<ReportDataDTO> saved = ArgumentCaptor.forClass(ReportDataDTO.class);
+        verify(reportsService).saveReportForUser(eq(7L), saved.capture());
+        assertEquals("Weekly activity r1", saved.getValue().getTitle());
+        ArgumentCaptor<LocalDateTime> nextRun = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(claimRepository).complete(eq("r1"), anyString(), nextRun.capture(), any());
+        assertTrue(nextRun.getValue().isAfter(LocalDateTime.now()));
+        verify(claimRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void run_shouldShareOneResultBetweenSchedulesWithEqualTemplateAndFilters() {
+        when(reportsService.generateReport(eq("user-activity"), any())).thenReturn(reportData());
+        when(claimRepository.complete(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        reportScheduler.run(schedule("r1", "{\"startDate\":\"2025-01-01\"}"));
+        reportScheduler.run(schedule("r2", "{ \"startDate\": \"2025-01-01\" }"));
+        reportScheduler.run(schedule("r3", "{\"startDate\":\"2025-02-01\"}"));
+
+        verify(reportsService, times(2)).generateReport(eq("user-activity"), any(ReportFilterDTO.class));
+        verify(reportsService, times(3)).saveReportForUser(eq(7L), any());
+        assertEquals(1.0, meterRegistry.get("reports.scheduled.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void run_shouldNotSaveWhenTheLeaseWasLost() {
+        when(reportsService.generateReport(eq("user-activity"), any())).thenReturn(reportData());
+        when(claimRepository.complete(eq("r1"), anyString(), any(), any())).thenReturn(false);
+
+        reportScheduler.run(schedule("r1", null));
+
+        verify(reportsService, never()).saveReportForUser(any(), any());
+        assertEquals(1, meterRegistry.get("reports.scheduled.run").tag("outcome", "lease_lost").timer().count());
+    }
+
+    @Test
+    void run_shouldReleaseTheLeaseForRetryWhenGenerationFails() {
+        when(reportsService.generateReport(eq("user-activity"), any())).thenThrow(new IllegalStateException("boom"));
+
+        reportScheduler.run(schedule("r1", null));
+
+        verify(claimRepository).release(eq("r1"), anyString(), any());
+        verify(claimRepository, never()).complete(any(), any(), any(), any());
+    }
+
+    @Test
+    void runDueReports_shouldClaimNoMoreThanTheBatchSize() {
+        when(claimRepository.claimDue(anyString(), any(), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, reportScheduler.runDueReports());
+
+        verify(claimRepository).claimDue(anyString(), any(), any(), eq(10));
+    }
+
+    private static ScheduledReport schedule(String id, String filters) {
+        return ScheduledReport.builder()
+                .id(id)
+                .userId(7L)
+                .name("Weekly activity " + id)
+                .templateId("user-activity")
+                .frequency(ReportFrequency.WEEKLY)
+                .filters(filters)
+                .nextRun(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+
+    private static ReportDataDTO reportData() {
+        return ReportDataDTO.builder()
+                .title("User Activity Report")
+                .type("user-activity")
+                .generatedAt(LocalDateTime.now().toString())
+                .data(List.of())
+                .build();
+    }
+}
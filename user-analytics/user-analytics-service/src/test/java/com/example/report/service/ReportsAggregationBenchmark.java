@@ -0,0 +1,136 @@
+/*
+ * © 2025 Yevhen Tereshchenko
+ * All rights reserved.
+ *
+ */
+
+package com.example.report.service;
+
+import com.example.activity.repository.ActivityRollupRepository;
+import com.example.demo.UserAnalyticsJavaApplication;
+import com.example.demo.dto.UserEventDTO;
+import com.example.demo.util.RollupWindow;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aggregates the user activity report over a month of raw activity against PostgreSQL, once
+ * straight from user_activity and once with the closed days read from activity_daily. Rows/s
+ * counts the raw activity rows the report covers. The fixtures live in 2019, away from other data.
+ * Run with
+ * <pre>
+ * mvn test -pl user-analytics-service -Dtest=ReportsAggregationBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {UserAnalyticsJavaApplication.class})
+@Import(ActivityRollupRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportsAggregationBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2019, 1, 1);
+    private static final int DAYS = 30;
+    private static final int USERS = 1_000;
+    private static final int ROWS_PER_DAY = 20_000;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private ActivityRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, UserEventDTO> kafkaTemplate;
+
+    @TestConfiguration
+    static class MockHttpServletRequestConfig {
+        @Bean
+        @Primary
+        public HttpServletRequest httpServletRequest() {
+            return Mockito.mock(HttpServletRequest.class);
+        }
+    }
+
+    @BeforeEach
+    void seedActivity() {
+        for (int day = 0; day < DAYS; day++) {
+            jdbcTemplate.update("INSERT INTO user_activity (username, type, description, timestamp) " +
+                            "SELECT 'agg-bench-' || (g % ?), CASE WHEN g % 2 = 0 THEN 'LOGIN' ELSE 'LOGOUT' END, " +
+                            "'Aggregation benchmark', ? + g * INTERVAL '4 seconds' FROM generate_series(0, ? - 1) g",
+                    USERS, Timestamp.valueOf(FIRST_DAY.plusDays(day).atStartOfDay()), ROWS_PER_DAY);
+        }
+        jdbcTemplate.execute("ANALYZE user_activity");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM activity_daily WHERE username LIKE 'agg-bench-%'");
+        jdbcTemplate.update("DELETE FROM user_activity WHERE username LIKE 'agg-bench-%'");
+    }
+
+    @Test
+    void userActivitySummary() {
+        LocalDateTime start = FIRST_DAY.atStartOfDay();
+        LocalDateTime end = FIRST_DAY.plusDays(DAYS - 1).atTime(23, 59, 59);
+
+        measure("raw", RollupWindow.of(start, end, null));
+
+        LocalDate lastClosedDay = FIRST_DAY.plusDays(DAYS - 2);
+        for (LocalDate day = FIRST_DAY; !day.isAfter(lastClosedDay); day = day.plusDays(1)) {
+            rollupRepository.rollUpDay(day);
+        }
+        measure("rolled up", RollupWindow.of(start, end, lastClosedDay));
+    }
+
+    private void measure(String label, RollupWindow window) {
+        for (int i = 0; i < WARMUP; i++) {
+            rollupRepository.getUserActivitySummary(window);
+        }
+
+        long started = System.nanoTime();
+        List<Object[]> summary = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            summary = rollupRepository.getUserActivitySummary(window);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertThat(summary).hasSize(USERS);
+        assertThat(summary.stream().mapToLong(row -> (Long) row[1]).sum()).isEqualTo((long) DAYS * ROWS_PER_DAY);
+        log.info("{}: {} ms per report, {} rows/s", label, String.format("%.1f", seconds * 1000 / ITERATIONS),
+                String.format("%.0f", (double) DAYS * ROWS_PER_DAY * ITERATIONS / seconds));
+    }
+}